@@ -0,0 +1,30 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JDK Flight Recorder de la construcción de las estructuras de aceleración de una
+ * escena: por ahora, el empaque de esferas en {@link
+ * unam.ciencias.modeladoyprogramacion.raytracer.primitives.SphereSet}.
+ *
+ * @author Cristopher Carrada
+ */
+@Name("unam.raytracer.AccelerationBuild")
+@Label("Acceleration Build")
+@Category({"Ray Tracer", "Scene"})
+@Description("Grouping scene primitives into acceleration structures")
+@StackTrace(false)
+final class AccelerationBuildEvent extends jdk.jfr.Event {
+  @Label("Input Primitives")
+  int inputPrimitives;
+
+  @Label("Output Primitives")
+  int outputPrimitives;
+
+  @Label("Packed Spheres")
+  int packedSpheres;
+}
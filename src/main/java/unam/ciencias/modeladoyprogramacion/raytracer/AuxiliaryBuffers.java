@@ -0,0 +1,264 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.Arrays;
+
+/**
+ * Datos de la superficie que ve cada píxel: profundidad, normal, albedo e identificadores de
+ * primitiva y material del primer impacto.
+ *
+ * <p>Los guarda el ray tracer junto con el color, para que el filtro de ruido distinga los bordes
+ * de la geometría y de los materiales del ruido del muestreo, o para escribirlos como imágenes
+ * auxiliares para composición. Se guardan en arreglos planos en orden por filas: un {@code float}
+ * por píxel para la profundidad, tres por píxel para la normal y el albedo, y un {@code int} por
+ * píxel para cada identificador. Los píxeles donde el rayo no golpea nada tienen profundidad
+ * infinita, normal cero, el color de fondo como albedo e identificadores -1.
+ *
+ * <p>Cada píxel lo escribe un solo worker, y se lee hasta que termina el render.
+ *
+ * @author Cristopher Carrada
+ */
+public final class AuxiliaryBuffers {
+  private final int width;
+  private final int height;
+  private final float[] depth;
+  private final float[] normals;
+  private final float[] albedo;
+  private final int[] primitiveIds;
+  private final int[] materialIds;
+
+  /**
+   * Construye buffers vacíos: todos los píxeles empiezan como fondo negro.
+   *
+   * @param width ancho de la imagen
+   * @param height altura de la imagen
+   */
+  public AuxiliaryBuffers(int width, int height) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Image size must be positive");
+    }
+    this.width = width;
+    this.height = height;
+    this.depth = new float[width * height];
+    this.normals = new float[3 * width * height];
+    this.albedo = new float[3 * width * height];
+    this.primitiveIds = new int[width * height];
+    this.materialIds = new int[width * height];
+    Arrays.fill(depth, Float.POSITIVE_INFINITY);
+    Arrays.fill(primitiveIds, -1);
+    Arrays.fill(materialIds, -1);
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Registra la superficie que ve un píxel.
+   *
+   * @param row fila del píxel
+   * @param col columna del píxel
+   * @param distance distancia de la cámara al impacto
+   * @param normal normal unitaria del lado que ve la cámara
+   * @param color albedo del material
+   * @param primitiveId identificador del objeto golpeado (ver {@link #getPrimitiveId(int)})
+   * @param materialId índice del material en la escena
+   */
+  public void setSurface(
+      int row,
+      int col,
+      double distance,
+      Vector3D normal,
+      Vector3D color,
+      int primitiveId,
+      int materialId) {
+    int pixel = row * width + col;
+    depth[pixel] = (float) distance;
+    set(normals, pixel, normal);
+    set(albedo, pixel, color);
+    primitiveIds[pixel] = primitiveId;
+    materialIds[pixel] = materialId;
+  }
+
+  /**
+   * Registra que el rayo de un píxel no golpea nada.
+   *
+   * @param row fila del píxel
+   * @param col columna del píxel
+   * @param background color de fondo de la escena
+   */
+  public void setBackground(int row, int col, Vector3D background) {
+    int pixel = row * width + col;
+    depth[pixel] = Float.POSITIVE_INFINITY;
+    set(normals, pixel, new Vector3D(0, 0, 0));
+    set(albedo, pixel, background);
+    primitiveIds[pixel] = -1;
+    materialIds[pixel] = -1;
+  }
+
+  /**
+   * Indica si el rayo del píxel golpea una superficie.
+   *
+   * @param pixel índice {@code fila * ancho + columna}
+   * @return {@code false} si el píxel muestra el fondo
+   */
+  public boolean isSurface(int pixel) {
+    return depth[pixel] != Float.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Distancia de la cámara a la superficie del píxel.
+   *
+   * @param pixel índice {@code fila * ancho + columna}
+   * @return distancia, o infinito si el píxel muestra el fondo
+   */
+  public float getDepth(int pixel) {
+    return depth[pixel];
+  }
+
+  /**
+   * Componente de la normal de la superficie del píxel.
+   *
+   * @param pixel índice {@code fila * ancho + columna}
+   * @param axis 0, 1 o 2 para x, y o z
+   * @return componente de la normal
+   */
+  public float getNormal(int pixel, int axis) {
+    return normals[3 * pixel + axis];
+  }
+
+  /**
+   * Canal del albedo de la superficie del píxel.
+   *
+   * @param pixel índice {@code fila * ancho + columna}
+   * @param channel 0, 1 o 2 para rojo, verde o azul
+   * @return canal del albedo
+   */
+  public float getAlbedo(int pixel, int channel) {
+    return albedo[3 * pixel + channel];
+  }
+
+  /**
+   * Identificador del objeto que ve el píxel.
+   *
+   * <p>Los objetos se numeran en el orden de {@link Scene#getPrimitives()} y, dentro de cada
+   * primitiva, en el de sus partes, así que cada esfera de un {@link
+   * unam.ciencias.modeladoyprogramacion.raytracer.primitives.SphereSet} tiene el suyo.
+   *
+   * @param pixel índice {@code fila * ancho + columna}
+   * @return identificador del objeto, o -1 si el píxel muestra el fondo
+   */
+  public int getPrimitiveId(int pixel) {
+    return primitiveIds[pixel];
+  }
+
+  /**
+   * Índice del material de la superficie que ve el píxel.
+   *
+   * @param pixel índice {@code fila * ancho + columna}
+   * @return posición del material en {@link Scene#getMaterialIds()}, o -1 si el píxel muestra el
+   *     fondo o la primitiva no tiene material
+   */
+  public int getMaterialId(int pixel) {
+    return materialIds[pixel];
+  }
+
+  /**
+   * Pinta la profundidad en escala de grises: blanco en la superficie más cercana, negro en la más
+   * lejana y en el fondo.
+   *
+   * <p>La escala es lineal entre la menor y la mayor profundidad de la imagen, con un nivel de gris
+   * mínimo de 1 para no confundir la superficie más lejana con el fondo.
+   *
+   * @return imagen del tamaño de los buffers
+   */
+  public Image toDepthImage() {
+    float nearest = Float.POSITIVE_INFINITY;
+    float farthest = 0;
+    for (float distance : depth) {
+      if (distance != Float.POSITIVE_INFINITY) {
+        nearest = Math.min(nearest, distance);
+        farthest = Math.max(farthest, distance);
+      }
+    }
+    float range = farthest - nearest;
+    int[] pixels = new int[depth.length];
+    for (int pixel = 0; pixel < pixels.length; pixel++) {
+      if (isSurface(pixel)) {
+        double closeness = range > 0 ? (farthest - depth[pixel]) / range : 1;
+        int level = 1 + (int) Math.round(closeness * 254);
+        pixels[pixel] = level << 16 | level << 8 | level;
+      }
+    }
+    return Image.fromPixels(width, height, pixels);
+  }
+
+  /**
+   * Pinta la normal con cada eje de [-1, 1] llevado a un canal de [0, 255]; el fondo queda gris.
+   *
+   * @return imagen del tamaño de los buffers
+   */
+  public Image toNormalImage() {
+    int[] pixels = new int[width * height];
+    for (int pixel = 0; pixel < pixels.length; pixel++) {
+      pixels[pixel] =
+          ColorHelper.vector3DToRGB(
+              new Vector3D(
+                  getNormal(pixel, 0) * 0.5 + 0.5,
+                  getNormal(pixel, 1) * 0.5 + 0.5,
+                  getNormal(pixel, 2) * 0.5 + 0.5));
+    }
+    return Image.fromPixels(width, height, pixels);
+  }
+
+  /**
+   * Pinta el albedo de cada píxel.
+   *
+   * @return imagen del tamaño de los buffers
+   */
+  public Image toAlbedoImage() {
+    int[] pixels = new int[width * height];
+    for (int pixel = 0; pixel < pixels.length; pixel++) {
+      pixels[pixel] =
+          ColorHelper.vector3DToRGB(
+              new Vector3D(getAlbedo(pixel, 0), getAlbedo(pixel, 1), getAlbedo(pixel, 2)));
+    }
+    return Image.fromPixels(width, height, pixels);
+  }
+
+  /**
+   * Codifica el índice de primitiva de cada píxel más uno como un entero RGB de 24 bits, así que el
+   * fondo queda negro y el índice se recupera sin pérdida restando uno al valor del píxel.
+   *
+   * @return imagen del tamaño de los buffers
+   */
+  public Image toPrimitiveIdImage() {
+    return idImage(primitiveIds);
+  }
+
+  /**
+   * Codifica el índice de material de cada píxel como {@link #toPrimitiveIdImage()}.
+   *
+   * @return imagen del tamaño de los buffers
+   */
+  public Image toMaterialIdImage() {
+    return idImage(materialIds);
+  }
+
+  private Image idImage(int[] ids) {
+    int[] pixels = new int[ids.length];
+    for (int pixel = 0; pixel < pixels.length; pixel++) {
+      pixels[pixel] = (ids[pixel] + 1) & 0xFFFFFF;
+    }
+    return Image.fromPixels(width, height, pixels);
+  }
+
+  private static void set(float[] buffer, int pixel, Vector3D value) {
+    buffer[3 * pixel] = (float) value.getX();
+    buffer[3 * pixel + 1] = (float) value.getY();
+    buffer[3 * pixel + 2] = (float) value.getZ();
+  }
+}
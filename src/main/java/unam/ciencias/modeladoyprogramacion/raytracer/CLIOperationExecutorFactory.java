@@ -1,13 +1,20 @@
 package unam.ciencias.modeladoyprogramacion.raytracer;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import unam.ciencias.modeladoyprogramacion.raytracer.distributed.RenderWorkerExecutor;
 import unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition.MatrixAdditionExecutor;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixoperations.MatrixOperationExecutor;
 
 /**
  * Clase Factory para crear instancias de CLIOperationExecutor basadas en CLIOptions.
  *
+ * <p>Sólo se construye el executor de la operación solicitada, de modo que las validaciones
+ * de un executor no afectan a las demás operaciones.
+ *
  * @author Cristopher Carrada
  */
 public class CLIOperationExecutorFactory
@@ -15,10 +22,15 @@ public class CLIOperationExecutorFactory
 
     @Override
     public Optional<CLIOperationExecutor> createObj(CLIOptions options) {
-        var executorsByOperation = Map.of(
-                "matrix-addition", new MatrixAdditionExecutor(options.threads()),
-                "ray-tracer", new RayTracerExecutor(options));
-        return Optional.ofNullable(
-                executorsByOperation.get(options.operation()));
+        Map<String, Supplier<CLIOperationExecutor>> executorsByOperation = new HashMap<>(Map.of(
+                "matrix-addition", () -> new MatrixAdditionExecutor(
+                        options.threads(), options.kernel(), options.inputFormat()),
+                "ray-tracer", () -> new RayTracerExecutor(options),
+                "ray-tracer-worker", () -> new RenderWorkerExecutor(options)));
+        for (String operation : MatrixOperationExecutor.OPERATIONS) {
+            executorsByOperation.put(operation, () -> new MatrixOperationExecutor(options));
+        }
+        return Optional.ofNullable(executorsByOperation.get(options.operation()))
+                .map(Supplier::get);
     }
 }
@@ -12,7 +12,36 @@ import lombok.Builder;
  * @param threads número de hilos para procesamiento concurrente
  * @param input archivo de entrada (opcional)
  * @param output archivo de salida (opcional)
+ * @param preview factor de reducción de la vista previa (0 = render completo)
+ * @param timeBudget límite de tiempo del render en segundos (0 = sin límite)
+ * @param workers workers de render distribuido como {@code host:puerto,...} (opcional)
+ * @param port puerto en el que escucha un worker (0 = puerto por defecto)
+ * @param kernel kernel de suma de matrices: scalar, vector o auto (opcional)
+ * @param scalar escalar de matrix-scale y matrix-add-scalar (opcional)
+ * @param inputFormat representación de las matrices de la suma: dense, sparse o auto (opcional)
+ * @param integrator integrador del ray tracer: recursive, wavefront o path (opcional)
+ * @param heatmap si se escribe el mapa de calor y el CSV del costo de cada tile del render
+ * @param metrics archivo de texto de Prometheus con las métricas de render (opcional)
+ * @param denoise si se filtra el ruido de la imagen del ray tracer
+ * @param aov si se escriben la profundidad, la normal, el albedo y los identificadores de cada
+ *     píxel
  * @author Cristopher Carrada
  */
 @Builder
-public record CLIOptions(String operation, int threads, String input, String output) {}
+public record CLIOptions(
+    String operation,
+    int threads,
+    String input,
+    String output,
+    int preview,
+    double timeBudget,
+    String workers,
+    int port,
+    String kernel,
+    Integer scalar,
+    String inputFormat,
+    String integrator,
+    boolean heatmap,
+    String metrics,
+    boolean denoise,
+    boolean aov) {}
@@ -1,5 +1,7 @@
 package unam.ciencias.modeladoyprogramacion.raytracer;
 
+import java.util.Set;
+
 /**
  * Implementación de CLIOptionsParser que analiza argumentos de línea de comandos.
  * Soporta las opciones --operation y --threads.
@@ -29,12 +31,26 @@ public final class CLIOptionsParserImpl implements CLIOptionsParser {
     }
 
     // Construye las opciones utilizando los métodos de parseo
-    return CLIOptions.builder()
+    CLIOptions options = CLIOptions.builder()
         .operation(parseOperationOption(args))
         .threads(parseThreadsOption(args))
         .input(parseStringOption(args, "--input", null))
         .output(parseStringOption(args, "--output", null))
+        .preview(parsePreviewOption(args))
+        .timeBudget(parseTimeBudgetOption(args))
+        .workers(parseStringOption(args, "--workers", null))
+        .port(parsePortOption(args))
+        .kernel(parseKernelOption(args))
+        .scalar(parseScalarOption(args))
+        .inputFormat(parseInputFormatOption(args))
+        .integrator(parseIntegratorOption(args))
+        .heatmap(parseFlagOption(args, "--heatmap"))
+        .metrics(parseStringOption(args, "--metrics", null))
+        .denoise(parseFlagOption(args, "--denoise"))
+        .aov(parseFlagOption(args, "--aov"))
         .build();
+    rejectLocalRenderOptions(options);
+    return options;
   }
 
   /**
@@ -44,12 +60,26 @@ public final class CLIOptionsParserImpl implements CLIOptionsParser {
     System.out.println("Usage: java -jar practica-03-1.0.jar [OPTIONS]");
     System.out.println();
     System.out.println("Required options:");
-    System.out.println("  --operation <name>    Operation to execute (matrix-addition, ray-tracer)");
+    System.out.println("  --operation <name>    Operation to execute (matrix-addition, matrix-multiply,");
+    System.out.println("                        matrix-transpose, matrix-scale, matrix-add-scalar,");
+    System.out.println("                        ray-tracer, ray-tracer-worker)");
     System.out.println();
     System.out.println("Optional options:");
     System.out.println("  --threads <n>         Number of threads (default: 1)");
     System.out.println("  --input <file>        Input file path (operation specific)");
     System.out.println("  --output <file>       Output file path (operation specific)");
+    System.out.println("  --preview <factor>    Fast ray-tracer preview at 1/2, 1/4 or 1/8 resolution");
+    System.out.println("  --time-budget <secs>  Ray-tracer deadline; quality is reduced to finish in time");
+    System.out.println("  --workers <list>      Render on remote workers (host:port,host:port,...)");
+    System.out.println("  --port <n>            Port a ray-tracer-worker listens on (default: 7070)");
+    System.out.println("  --kernel <name>       Matrix-addition kernel: scalar, vector or auto (default: auto)");
+    System.out.println("  --scalar <n>          Integer for matrix-scale and matrix-add-scalar");
+    System.out.println("  --input-format <f>    Matrix-addition storage: dense, sparse or auto (default: auto)");
+    System.out.println("  --integrator <name>   Ray-tracer integrator: recursive, wavefront or path (default: recursive)");
+    System.out.println("  --heatmap             Also write a per-tile render-time heatmap PNG and CSV");
+    System.out.println("  --metrics <file>      Ray-tracer metrics as a Prometheus text file (and JMX MBean)");
+    System.out.println("  --denoise             Filter ray-tracer noise guided by depth, normals and albedo");
+    System.out.println("  --aov                 Also write depth, normal, albedo and id PNGs of the render");
     System.out.println("  -h, --help            Show this help message");
     System.out.println();
     System.out.println("Examples:");
@@ -115,6 +145,177 @@ public final class CLIOptionsParserImpl implements CLIOptionsParser {
     }
   }
 
+  /**
+   * Analiza la opción --preview.
+   *
+   * @param args argumentos de línea de comandos
+   * @return el factor de reducción de la vista previa, o 0 si no se solicitó
+   */
+  private int parsePreviewOption(String[] args) {
+    String value = parseStringOption(args, "--preview", null);
+    if (value == null) {
+      return 0;
+    }
+    try {
+      int factor = Integer.parseInt(value);
+      if (factor != 2 && factor != 4 && factor != 8) throw new NumberFormatException();
+      return factor;
+    } catch (NumberFormatException nfe) {
+      throw new IllegalArgumentException("--preview must be 2, 4 or 8");
+    }
+  }
+
+  /**
+   * Analiza la opción --time-budget.
+   *
+   * @param args argumentos de línea de comandos
+   * @return el límite de tiempo en segundos, o 0 si no se especificó
+   */
+  private double parseTimeBudgetOption(String[] args) {
+    String value = parseStringOption(args, "--time-budget", null);
+    if (value == null) {
+      return 0;
+    }
+    try {
+      double seconds = Double.parseDouble(value);
+      if (!(seconds > 0) || Double.isInfinite(seconds)) throw new NumberFormatException();
+      return seconds;
+    } catch (NumberFormatException nfe) {
+      throw new IllegalArgumentException("--time-budget must be a positive number of seconds");
+    }
+  }
+
+  /**
+   * Rechaza las opciones que sólo aplican al render local si se pidió una vista previa o un render
+   * distribuido, que las ignorarían.
+   *
+   * @param options opciones analizadas
+   */
+  private void rejectLocalRenderOptions(CLIOptions options) {
+    if (options.preview() > 0) {
+      rejectCombination("--workers", options.workers() != null, "--preview");
+    }
+    String mode =
+        options.preview() > 0 ? "--preview" : options.workers() != null ? "--workers" : null;
+    if (mode == null) {
+      return;
+    }
+    rejectCombination("--time-budget", options.timeBudget() > 0, mode);
+    rejectCombination("--integrator", options.integrator() != null, mode);
+    rejectCombination("--heatmap", options.heatmap(), mode);
+    rejectCombination("--denoise", options.denoise(), mode);
+    rejectCombination("--aov", options.aov(), mode);
+  }
+
+  /**
+   * Lanza IllegalArgumentException si una opción aparece junto con un modo de render que no la usa.
+   *
+   * @param option nombre de la opción
+   * @param present si la opción aparece
+   * @param mode opción del modo de render
+   */
+  private void rejectCombination(String option, boolean present, String mode) {
+    if (present) {
+      throw new IllegalArgumentException(option + " cannot be combined with " + mode);
+    }
+  }
+
+  /**
+   * Analiza la opción --port.
+   *
+   * @param args argumentos de línea de comandos
+   * @return el puerto, o 0 si no se especificó
+   */
+  private int parsePortOption(String[] args) {
+    String value = parseStringOption(args, "--port", null);
+    if (value == null) {
+      return 0;
+    }
+    try {
+      int port = Integer.parseInt(value);
+      if (port < 1 || port > 65535) throw new NumberFormatException();
+      return port;
+    } catch (NumberFormatException nfe) {
+      throw new IllegalArgumentException("--port must be an integer between 1 and 65535");
+    }
+  }
+
+  /**
+   * Analiza la opción --scalar.
+   *
+   * @param args argumentos de línea de comandos
+   * @return el escalar, o null si no se especificó
+   */
+  private Integer parseScalarOption(String[] args) {
+    String value = parseStringOption(args, "--scalar", null);
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException nfe) {
+      throw new IllegalArgumentException("--scalar must be an integer");
+    }
+  }
+
+  /**
+   * Analiza la opción --input-format.
+   *
+   * @param args argumentos de línea de comandos
+   * @return el nombre del formato, o null si no se especificó
+   */
+  private String parseInputFormatOption(String[] args) {
+    String value = parseStringOption(args, "--input-format", null);
+    if (value != null && !Set.of("dense", "sparse", "auto").contains(value)) {
+      throw new IllegalArgumentException("--input-format must be dense, sparse or auto");
+    }
+    return value;
+  }
+
+  /**
+   * Analiza la opción --integrator.
+   *
+   * @param args argumentos de línea de comandos
+   * @return el nombre del integrador, o null si no se especificó
+   */
+  private String parseIntegratorOption(String[] args) {
+    String value = parseStringOption(args, "--integrator", null);
+    if (value != null && !Set.of("recursive", "wavefront", "path").contains(value)) {
+      throw new IllegalArgumentException("--integrator must be recursive, wavefront or path");
+    }
+    return value;
+  }
+
+  /**
+   * Analiza la opción --kernel.
+   *
+   * @param args argumentos de línea de comandos
+   * @return el nombre del kernel, o null si no se especificó
+   */
+  private String parseKernelOption(String[] args) {
+    String value = parseStringOption(args, "--kernel", null);
+    if (value != null && !Set.of("scalar", "vector", "auto").contains(value)) {
+      throw new IllegalArgumentException("--kernel must be scalar, vector or auto");
+    }
+    return value;
+  }
+
+  /**
+   * Analiza opciones sin valor.
+   *
+   * @param args argumentos de línea de comandos
+   * @param optionName el nombre de la opción
+   * @return {@code true} si la opción aparece
+   */
+  private boolean parseFlagOption(String[] args, String optionName) {
+    for (String arg : args) {
+      if (optionName.equals(arg)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Analiza opciones de tipo cadena (String).
    *
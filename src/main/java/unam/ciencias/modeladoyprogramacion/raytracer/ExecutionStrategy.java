@@ -0,0 +1,193 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Estrategia para ejecutar las tareas de una {@link MultiThreadedOperation} (patrón Strategy).
+ *
+ * <p>Desacopla el número de tareas en que se divide una operación del tipo de hilo que las
+ * ejecuta:
+ *
+ * <ul>
+ *   <li>{@link #forkJoin(int)}: las tareas se ejecutan en un {@link ForkJoinPool} con robo de
+ *       trabajo, compartido por todas las operaciones con el mismo número de hilos. Es la
+ *       estrategia por defecto, así que un proceso de larga duración no crea hilos en cada
+ *       operación y {@code threads} sigue acotando cuántas tareas corren a la vez.
+ *   <li>{@link #platformThreads()}: un hilo del sistema operativo por tarea (comportamiento
+ *       histórico).
+ *   <li>{@link #virtualThreads()}: un hilo virtual por tarea. Los hilos virtuales de todas las
+ *       operaciones comparten los carrier threads del scheduler de la JVM, acotados por defecto al
+ *       número de núcleos ({@code -Djdk.virtualThreadScheduler.parallelism}), por lo que cientos
+ *       de renders pequeños simultáneos no saturan la máquina con hilos del sistema.
+ *   <li>{@link #shared(Executor)}: las tareas se envían a un pool compartido y acotado.
+ * </ul>
+ *
+ * <p>Además de listas de tareas, las operaciones pueden repartir un rango de índices con {@link
+ * #forEachRange}: las estrategias de fork-join lo dividen recursivamente hasta el tamaño de grano
+ * y las demás lo parten en tantos bloques como hilos.
+ *
+ * @author Cristopher Carrada
+ */
+@FunctionalInterface
+public interface ExecutionStrategy {
+
+  /**
+   * Ejecuta las tareas y espera a que terminen todas.
+   *
+   * @param tasks tareas a ejecutar concurrentemente
+   * @throws InterruptedException si el hilo que espera es interrumpido
+   */
+  void runAndWait(List<Runnable> tasks) throws InterruptedException;
+
+  /**
+   * Ejecuta {@code task} sobre subrangos disjuntos que cubren {@code [from, to)} y espera.
+   *
+   * <p>Por defecto el rango se parte en a lo más {@code parallelism} bloques contiguos de al
+   * menos {@code grain} índices, que se ejecutan con {@link #runAndWait}.
+   *
+   * @param from inicio del rango (inclusivo)
+   * @param to fin del rango (exclusivo)
+   * @param grain tamaño mínimo de un subrango
+   * @param parallelism número máximo de bloques para las estrategias sin robo de trabajo
+   * @param task cálculo sobre un subrango
+   * @throws InterruptedException si el hilo que espera es interrumpido
+   */
+  default void forEachRange(int from, int to, int grain, int parallelism, RangeTask task)
+      throws InterruptedException {
+    int length = to - from;
+    if (length <= 0) {
+      return;
+    }
+    int blocks = Math.max(1, Math.min(parallelism, length / Math.max(1, grain)));
+    int blockSize = (length + blocks - 1) / blocks;
+    List<Runnable> tasks = new ArrayList<>(blocks);
+    for (int blockFrom = from; blockFrom < to; blockFrom += blockSize) {
+      int start = blockFrom;
+      int end = Math.min(blockFrom + blockSize, to);
+      tasks.add(() -> task.run(start, end));
+    }
+    runAndWait(tasks);
+  }
+
+  /**
+   * Estrategia sobre el {@link ForkJoinPool} compartido con un hilo por núcleo.
+   *
+   * @return estrategia de fork-join compartida
+   */
+  static ExecutionStrategy forkJoin() {
+    return forkJoin(sharedPool());
+  }
+
+  /**
+   * Estrategia sobre el {@link ForkJoinPool} compartido con {@code parallelism} hilos.
+   *
+   * @param parallelism número máximo de tareas que corren a la vez
+   * @return estrategia de fork-join compartida
+   */
+  static ExecutionStrategy forkJoin(int parallelism) {
+    return forkJoin(ForkJoinExecutionStrategy.sharedPool(parallelism));
+  }
+
+  /**
+   * Estrategia sobre un {@link ForkJoinPool} dado.
+   *
+   * @param pool pool donde se ejecutan las tareas
+   * @return estrategia de fork-join
+   */
+  static ExecutionStrategy forkJoin(ForkJoinPool pool) {
+    return new ForkJoinExecutionStrategy(pool);
+  }
+
+  /**
+   * Obtiene el pool compartido de {@link #forkJoin()}, para reutilizarlo en otros componentes.
+   * No debe cerrarse.
+   *
+   * @return pool compartido, con un hilo por núcleo
+   */
+  static ForkJoinPool sharedPool() {
+    return ForkJoinExecutionStrategy.sharedPool();
+  }
+
+  /**
+   * Obtiene el pool compartido de {@link #forkJoin(int)} con {@code parallelism} hilos, para
+   * reutilizarlo en otros componentes. No debe cerrarse.
+   *
+   * @param parallelism número máximo de tareas que corren a la vez
+   * @return pool compartido con ese número de hilos
+   */
+  static ForkJoinPool sharedPool(int parallelism) {
+    return ForkJoinExecutionStrategy.sharedPool(parallelism);
+  }
+
+  /**
+   * Estrategia que crea un hilo de plataforma por tarea.
+   *
+   * @return estrategia de hilos de plataforma
+   */
+  static ExecutionStrategy platformThreads() {
+    return tasks -> startAndJoin(tasks, Thread.ofPlatform().factory());
+  }
+
+  /**
+   * Estrategia que crea un hilo virtual por tarea.
+   *
+   * @return estrategia de hilos virtuales
+   */
+  static ExecutionStrategy virtualThreads() {
+    return tasks -> startAndJoin(tasks, Thread.ofVirtual().factory());
+  }
+
+  /**
+   * Estrategia que ejecuta las tareas en un executor compartido.
+   *
+   * <p>El hilo que invoca {@link #runAndWait} se bloquea hasta que el executor termina todas las
+   * tareas, por lo que no debe ser un hilo del mismo executor si éste tiene un tamaño fijo. Para
+   * no bloquear, usar {@link RayTracer#renderAsync} con el mismo executor.
+   *
+   * @param executor executor compartido entre operaciones
+   * @return estrategia sobre el executor
+   */
+  static ExecutionStrategy shared(Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Executor cannot be null");
+    }
+    return tasks -> {
+      CountDownLatch remaining = new CountDownLatch(tasks.size());
+      for (Runnable task : tasks) {
+        executor.execute(
+            () -> {
+              try {
+                task.run();
+              } finally {
+                remaining.countDown();
+              }
+            });
+      }
+      remaining.await();
+    };
+  }
+
+  /** Cálculo sobre el subrango {@code [from, to)} de un {@link #forEachRange}. */
+  @FunctionalInterface
+  interface RangeTask {
+    void run(int from, int to);
+  }
+
+  private static void startAndJoin(List<Runnable> tasks, ThreadFactory factory)
+      throws InterruptedException {
+    List<Thread> started = new ArrayList<>(tasks.size());
+    for (Runnable task : tasks) {
+      Thread thread = factory.newThread(task);
+      thread.start();
+      started.add(thread);
+    }
+    for (Thread thread : started) {
+      thread.join();
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Estrategia que ejecuta las tareas en un {@link ForkJoinPool}.
+ *
+ * <p>Los rangos se dividen recursivamente a la mitad hasta el tamaño de grano, y los hilos del
+ * pool que se quedan sin trabajo roban las mitades pendientes de los demás. A diferencia de las
+ * estrategias que crean hilos, la primera excepción de una tarea se vuelve a lanzar en el hilo
+ * que espera, después de que terminan las demás.
+ *
+ * <p>Se puede invocar desde un hilo del mismo pool: el hilo ayuda a ejecutar las subtareas en
+ * lugar de bloquearse.
+ *
+ * @author Cristopher Carrada
+ */
+final class ForkJoinExecutionStrategy implements ExecutionStrategy {
+  private final ForkJoinPool pool;
+
+  ForkJoinExecutionStrategy(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null");
+    }
+    this.pool = pool;
+  }
+
+  /**
+   * Pool compartido con un hilo por núcleo, creado la primera vez que se usa.
+   *
+   * <p>Sus hilos son daemon, así que no impiden que la JVM termine.
+   */
+  static ForkJoinPool sharedPool() {
+    return sharedPool(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Pool compartido por todas las operaciones con el mismo número de hilos, creado la primera vez
+   * que se usa.
+   *
+   * @param parallelism número máximo de hilos que ejecutan tareas a la vez
+   * @return pool con {@code parallelism} hilos daemon
+   */
+  static ForkJoinPool sharedPool(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    return SharedPools.POOLS.computeIfAbsent(parallelism, SharedPools::create);
+  }
+
+  @Override
+  public void runAndWait(List<Runnable> tasks) throws InterruptedException {
+    if (tasks.isEmpty()) {
+      return;
+    }
+    var failure = new AtomicReference<Throwable>();
+    List<ForkJoinTask<?>> adapted = new ArrayList<>(tasks.size());
+    for (Runnable task : tasks) {
+      adapted.add(ForkJoinTask.adapt(() -> runCapturing(task, failure)));
+    }
+    invoke(
+        new RecursiveAction() {
+          @Override
+          protected void compute() {
+            invokeAll(adapted);
+          }
+        },
+        failure);
+  }
+
+  @Override
+  public void forEachRange(int from, int to, int grain, int parallelism, RangeTask task)
+      throws InterruptedException {
+    if (from >= to) {
+      return;
+    }
+    var failure = new AtomicReference<Throwable>();
+    invoke(new RangeAction(task, Math.max(1, grain), from, to, failure), failure);
+  }
+
+  private void invoke(ForkJoinTask<?> root, AtomicReference<Throwable> failure)
+      throws InterruptedException {
+    try {
+      pool.submit(root).get();
+    } catch (ExecutionException e) {
+      // Las tareas capturan sus excepciones; esto sólo ocurre si el pool falla
+      failure.compareAndSet(null, e.getCause());
+    }
+    Throwable thrown = failure.get();
+    if (thrown instanceof RuntimeException runtimeException) {
+      throw runtimeException;
+    }
+    if (thrown instanceof Error error) {
+      throw error;
+    }
+    if (thrown != null) {
+      throw new RuntimeException(thrown);
+    }
+  }
+
+  private static void runCapturing(Runnable task, AtomicReference<Throwable> failure) {
+    try {
+      task.run();
+    } catch (RuntimeException | Error e) {
+      failure.compareAndSet(null, e);
+    }
+  }
+
+  /** Divide {@code [from, to)} a la mitad hasta que no pasa del tamaño de grano. */
+  private static final class RangeAction extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    // Las tareas nunca se serializan; el cálculo es una lambda
+    private final transient RangeTask task;
+    private final int grain;
+    private final int from;
+    private final int to;
+    private final AtomicReference<Throwable> failure;
+
+    RangeAction(
+        RangeTask task, int grain, int from, int to, AtomicReference<Throwable> failure) {
+      this.task = task;
+      this.grain = grain;
+      this.from = from;
+      this.to = to;
+      this.failure = failure;
+    }
+
+    @Override
+    protected void compute() {
+      if (failure.get() != null) {
+        return; // Otra hoja ya falló; no tiene caso seguir
+      }
+      if (to - from <= grain) {
+        runCapturing(() -> task.run(from, to), failure);
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(
+          new RangeAction(task, grain, from, middle, failure),
+          new RangeAction(task, grain, middle, to, failure));
+    }
+  }
+
+  /** Un pool por número de hilos; sólo se crean los niveles que se usan. */
+  private static final class SharedPools {
+    static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    static ForkJoinPool create(int parallelism) {
+      return new ForkJoinPool(
+          parallelism,
+          pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("raytracer-worker-" + parallelism + "-" + thread.getPoolIndex());
+            return thread;
+          },
+          null,
+          false);
+    }
+  }
+}
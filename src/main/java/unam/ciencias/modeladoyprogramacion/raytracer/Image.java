@@ -32,6 +32,32 @@ public class Image extends Matrix<Integer> {
     setValue(row, column, color.getRGB());
   }
 
+  /**
+   * Construye una imagen a partir de un arreglo de píxeles RGB en orden por filas.
+   *
+   * @param width ancho de la imagen
+   * @param height altura de la imagen
+   * @param data píxeles en formato 0xRRGGBB, fila por fila
+   * @return la imagen construida
+   */
+  public static Image fromPixels(int width, int height, int[] data) {
+    if (data.length != width * height) {
+      throw new IllegalArgumentException("Pixel data does not match image dimensions");
+    }
+    return new Image(width, height, data);
+  }
+
+  /**
+   * Copia los píxeles de la imagen a un arreglo en orden por filas.
+   *
+   * @return píxeles en formato 0xRRGGBB, fila por fila
+   */
+  public int[] toPixels() {
+    int[] data = new int[getRows() * getColumns()];
+    forEach((r, c, value) -> data[r * getColumns() + c] = value);
+    return data;
+  }
+
   public static Image build(BufferedImage image) {
     int width = image.getWidth();
     int height = image.getHeight();
@@ -0,0 +1,33 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JDK Flight Recorder de la codificación y escritura de la imagen renderizada.
+ *
+ * @author Cristopher Carrada
+ */
+@Name("unam.raytracer.ImageEncode")
+@Label("Image Encode")
+@Category({"Ray Tracer", "Output"})
+@Description("Encoding the rendered image as PNG and writing it")
+@StackTrace(false)
+final class ImageEncodeEvent extends jdk.jfr.Event {
+  @Label("File")
+  String file;
+
+  @Label("Width")
+  int width;
+
+  @Label("Height")
+  int height;
+
+  @Label("Bytes")
+  @DataAmount
+  long bytes;
+}
@@ -0,0 +1,157 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Matriz de enteros primitivos almacenada en un solo arreglo {@code int[]} por filas.
+ *
+ * <p>A diferencia de {@link Matrix}{@code <Integer>}, no crea un objeto por elemento: una matriz
+ * de {@code n x m} ocupa exactamente {@code 4·n·m} bytes contiguos, lo que permite recorrerla con
+ * ciclos planos sobre el arreglo.
+ *
+ * @author Cristopher Carrada
+ */
+@Getter
+@EqualsAndHashCode
+public final class IntMatrix implements IntMatrixStorage {
+  private final int rows;
+  private final int columns;
+
+  @Getter(AccessLevel.NONE)
+  private final int[] data;
+
+  /**
+   * Construye una matriz de ceros.
+   *
+   * @param rows número de filas
+   * @param columns número de columnas
+   */
+  public IntMatrix(int rows, int columns) {
+    this(rows, columns, new int[checkedSize(rows, columns)]);
+  }
+
+  /**
+   * Construye una matriz sobre un arreglo existente, sin copiarlo.
+   *
+   * @param rows número de filas
+   * @param columns número de columnas
+   * @param data elementos fila por fila; debe medir {@code rows * columns}
+   */
+  public IntMatrix(int rows, int columns, int[] data) {
+    if (data == null || data.length != checkedSize(rows, columns)) {
+      throw new IllegalArgumentException("Data does not match matrix dimensions");
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.data = data;
+  }
+
+  /**
+   * Construye una matriz a partir de un arreglo bidimensional.
+   *
+   * @param array elementos por filas; todas las filas deben medir lo mismo
+   */
+  public IntMatrix(int[][] array) {
+    this(array.length, array.length == 0 ? 0 : array[0].length);
+    for (int row = 0; row < rows; row++) {
+      if (array[row].length != columns) {
+        throw new IllegalArgumentException("All rows must have the same length");
+      }
+      System.arraycopy(array[row], 0, data, row * columns, columns);
+    }
+  }
+
+  /**
+   * Copia una matriz genérica de enteros.
+   *
+   * @param matrix matriz a copiar; no puede contener {@code null}
+   * @return matriz primitiva equivalente
+   */
+  public static IntMatrix from(Matrix<Integer> matrix) {
+    IntMatrix result = new IntMatrix(matrix.getRows(), matrix.getColumns());
+    matrix.forEach((row, col, value) -> result.setValue(row, col, value));
+    return result;
+  }
+
+  /**
+   * Copia la matriz a la representación genérica.
+   *
+   * @return matriz de {@code Integer} equivalente
+   */
+  public Matrix<Integer> toMatrix() {
+    Matrix<Integer> matrix = new Matrix<>(rows, columns);
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < columns; col++) {
+        matrix.setValue(row, col, getValue(row, col));
+      }
+    }
+    return matrix;
+  }
+
+  public int getValue(int row, int column) {
+    return data[index(row, column)];
+  }
+
+  public void setValue(int row, int column, int value) {
+    data[index(row, column)] = value;
+  }
+
+  /**
+   * Expone el arreglo interno para recorridos planos.
+   *
+   * <p>Los cambios al arreglo se reflejan en la matriz. El elemento {@code (r, c)} está en la
+   * posición {@code r * columns + c}.
+   *
+   * @return arreglo de elementos por filas
+   */
+  public int[] data() {
+    return data;
+  }
+
+  @Override
+  public void copyRow(int row, int[] target) {
+    if (row < 0 || row >= rows) {
+      throw new IndexOutOfBoundsException("Row " + row + " outside " + this);
+    }
+    System.arraycopy(data, row * columns, target, 0, columns);
+  }
+
+  @Override
+  public IntMatrix toDense() {
+    return this;
+  }
+
+  /**
+   * Obtiene el número total de elementos.
+   *
+   * @return {@code rows * columns}
+   */
+  public int size() {
+    return data.length;
+  }
+
+  private int index(int row, int column) {
+    if (row < 0 || row >= rows || column < 0 || column >= columns) {
+      throw new IndexOutOfBoundsException("(" + row + ", " + column + ") outside " + this);
+    }
+    return row * columns + column;
+  }
+
+  private static int checkedSize(int rows, int columns) {
+    if (rows < 0 || columns < 0) {
+      throw new IllegalArgumentException("Dimensions cannot be negative");
+    }
+    long size = (long) rows * columns;
+    if (size > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Matrix too large: " + rows + "x" + columns);
+    }
+    return (int) size;
+  }
+
+  @Override
+  public String toString() {
+    return "IntMatrix[" + rows + "x" + columns + "]";
+  }
+}
@@ -0,0 +1,32 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+/**
+ * Representación en memoria de una matriz de enteros: densa ({@link IntMatrix}) o dispersa
+ * ({@link SparseIntMatrix}).
+ *
+ * <p>Permite que la lectura elija la representación según la densidad de la entrada y que el
+ * resto del pipeline (suma, escritura) trabaje con cualquiera de las dos.
+ *
+ * @author Cristopher Carrada
+ */
+public sealed interface IntMatrixStorage permits IntMatrix, SparseIntMatrix {
+
+  int getRows();
+
+  int getColumns();
+
+  /**
+   * Copia una fila completa, incluyendo los ceros.
+   *
+   * @param row fila a copiar
+   * @param target arreglo de al menos {@code getColumns()} elementos
+   */
+  void copyRow(int row, int[] target);
+
+  /**
+   * Obtiene la matriz en representación densa.
+   *
+   * @return esta matriz si ya es densa, o una copia densa
+   */
+  IntMatrix toDense();
+}
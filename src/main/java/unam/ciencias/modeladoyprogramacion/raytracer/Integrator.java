@@ -0,0 +1,27 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+/**
+ * Forma en que el ray tracer recorre el árbol de rayos de cada píxel.
+ *
+ * @author Cristopher Carrada
+ */
+public enum Integrator {
+  /**
+   * En profundidad: cada material traza sus rayos de sombra, reflejados y refractados en cuanto
+   * los necesita, recursivamente. Es el modo por defecto.
+   */
+  RECURSIVE,
+
+  /**
+   * Por frentes de onda (en anchura): los rayos de cada rebote de un tile se juntan en una cola, se
+   * ordenan por celda de origen y octante de dirección, y se trazan en lote antes de sombrear.
+   */
+  WAVEFRONT,
+
+  /**
+   * Por etapas: el estado de los caminos de un tile vive en arreglos, y cada rebote se intersecta,
+   * se sombrea ordenado por material y se compacta en pasadas separadas sobre el pool de
+   * fork-join.
+   */
+  PATH
+}
@@ -15,6 +15,7 @@ public final class Intersection {
   private final Vector3D point;
   private final Vector3D normal;
   private final Primitive primitive;
+  private final int part;
 
   /**
    * Construye una intersección.
@@ -26,6 +27,22 @@ public final class Intersection {
    * @throws IllegalArgumentException si algún parámetro es null o distance es negativa
    */
   public Intersection(double distance, Vector3D point, Vector3D normal, Primitive primitive) {
+    this(distance, point, normal, primitive, 0);
+  }
+
+  /**
+   * Construye una intersección con una parte de una primitiva compuesta.
+   *
+   * @param distance distancia desde el origen del rayo hasta el punto de intersección
+   * @param point punto de intersección en el espacio 3D
+   * @param normal vector normal en el punto de intersección (normalizado)
+   * @param primitive la primitiva que fue intersectada
+   * @param part índice de la parte golpeada, entre 0 y {@link Primitive#getPartCount()} - 1
+   * @throws IllegalArgumentException si algún parámetro es null, distance es negativa o la parte no
+   *     existe
+   */
+  public Intersection(
+      double distance, Vector3D point, Vector3D normal, Primitive primitive, int part) {
     if (distance < 0 || !Double.isFinite(distance)) {
       throw new IllegalArgumentException("Distance must be non-negative and finite");
     }
@@ -38,10 +55,14 @@ public final class Intersection {
     if (primitive == null) {
       throw new IllegalArgumentException("Primitive cannot be null");
     }
+    if (part < 0 || part >= primitive.getPartCount()) {
+      throw new IllegalArgumentException("Part must be between 0 and the primitive's part count");
+    }
     this.distance = distance;
     this.point = point;
     this.normal = normal.normalize();
     this.primitive = primitive;
+    this.part = part;
   }
 
   public double getDistance() {
@@ -60,6 +81,16 @@ public final class Intersection {
     return primitive;
   }
 
+  /**
+   * Obtiene la parte de la primitiva que se golpeó, por ejemplo la esfera de un conjunto.
+   *
+   * @return índice de la parte; 0 en las primitivas simples
+   * @see Primitive#getPartName(int)
+   */
+  public int getPart() {
+    return part;
+  }
+
   @Override
   public String toString() {
     return String.format(
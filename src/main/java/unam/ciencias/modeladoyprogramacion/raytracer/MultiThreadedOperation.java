@@ -1,28 +1,146 @@
-package unam.ciencias.modeladoyprogramacion.raytracer;
-
-import java.util.List;
-
-/**
- * Clase base para operaciones multi-hilo.
- *
- * @author Cristopher Carrada
- */
-public abstract class MultiThreadedOperation {
-  protected final int threads;
-
-  public MultiThreadedOperation() {
-    this.threads = 1;
-  }
-
-  public MultiThreadedOperation(int threads) {
-    this.threads = threads;
-  }
-
-  protected void runAndWaitForThreads(List<Thread> threads)
-    throws InterruptedException {
-    threads.forEach(Thread::start);
-    for (Thread t : threads) {
-      t.join();
-    }
-  }
-}
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.ArrayList;
+import java.util.List;
+import unam.ciencias.modeladoyprogramacion.raytracer.ExecutionStrategy.RangeTask;
+
+/**
+ * Clase base para operaciones multi-hilo.
+ *
+ * <p>Las subclases dividen su trabajo en tareas y las ejecutan con {@link #runAndWait}, o reparten
+ * un rango de índices con {@link #forEachRange}; la {@link ExecutionStrategy} decide en qué tipo de
+ * hilo corre cada tarea. Por defecto es {@link ExecutionStrategy#forkJoin(int)} con {@code
+ * threads} hilos, de modo que las operaciones con el mismo número de hilos comparten un pool y no
+ * se crean hilos en cada llamada.
+ *
+ * <p>{@code threads} es el número máximo de tareas que corren a la vez; {@link #forEachRange}
+ * divide el trabajo en más partes para que los hilos que terminan antes roben las pendientes.
+ *
+ * @author Cristopher Carrada
+ */
+public abstract class MultiThreadedOperation {
+  // Subrangos por hilo: los hilos que terminan antes roban los pendientes
+  private static final int SPLITS_PER_THREAD = 4;
+
+  protected final int threads;
+  private ExecutionStrategy executionStrategy;
+  private int grainSize;
+  private TaskTimingListener taskTimingListener;
+
+  public MultiThreadedOperation() {
+    this(1);
+  }
+
+  public MultiThreadedOperation(int threads) {
+    this.threads = threads;
+    this.executionStrategy = ExecutionStrategy.forkJoin(Math.max(1, threads));
+  }
+
+  public MultiThreadedOperation(int threads, ExecutionStrategy executionStrategy) {
+    // Sin invocar al setter, que una subclase podría sobrescribir antes de inicializarse
+    this.threads = threads;
+    this.executionStrategy = requireStrategy(executionStrategy);
+  }
+
+  /**
+   * Cambia la estrategia con la que se ejecutan las tareas.
+   *
+   * @param executionStrategy estrategia de ejecución
+   */
+  public void setExecutionStrategy(ExecutionStrategy executionStrategy) {
+    this.executionStrategy = requireStrategy(executionStrategy);
+  }
+
+  public ExecutionStrategy getExecutionStrategy() {
+    return executionStrategy;
+  }
+
+  /**
+   * Fija el tamaño de grano de {@link #forEachRange}: el número de índices (filas, elementos...)
+   * a partir del cual ya no se divide un subrango.
+   *
+   * @param grainSize tamaño de grano, o 0 para que cada operación elija el suyo
+   */
+  public void setGrainSize(int grainSize) {
+    if (grainSize < 0) {
+      throw new IllegalArgumentException("Grain size cannot be negative");
+    }
+    this.grainSize = grainSize;
+  }
+
+  public int getGrainSize() {
+    return grainSize;
+  }
+
+  /**
+   * Registra un listener que recibe la duración de cada tarea, o lo quita con {@code null}.
+   *
+   * @param taskTimingListener listener de tiempos
+   */
+  public void setTaskTimingListener(TaskTimingListener taskTimingListener) {
+    this.taskTimingListener = taskTimingListener;
+  }
+
+  protected void runAndWait(List<Runnable> tasks) throws InterruptedException {
+    TaskTimingListener listener = taskTimingListener;
+    if (listener == null) {
+      executionStrategy.runAndWait(tasks);
+      return;
+    }
+    List<Runnable> timed = new ArrayList<>(tasks.size());
+    for (Runnable task : tasks) {
+      timed.add(() -> timed(listener, task));
+    }
+    executionStrategy.runAndWait(timed);
+  }
+
+  /**
+   * Reparte {@code [from, to)} entre los hilos y espera a que terminen todos los subrangos.
+   *
+   * <p>Si no se fijó un grano con {@link #setGrainSize}, el rango se divide en unos {@value
+   * #SPLITS_PER_THREAD} subrangos por hilo, sin bajar de {@code defaultGrain}. Con un solo hilo
+   * el rango se calcula completo en el hilo que invoca.
+   *
+   * @param from inicio del rango (inclusivo)
+   * @param to fin del rango (exclusivo)
+   * @param defaultGrain tamaño mínimo de subrango adecuado para la operación
+   * @param task cálculo sobre un subrango
+   * @throws InterruptedException si el hilo que espera es interrumpido
+   */
+  protected void forEachRange(int from, int to, int defaultGrain, RangeTask task)
+      throws InterruptedException {
+    int length = to - from;
+    if (length <= 0) {
+      return;
+    }
+    TaskTimingListener listener = taskTimingListener;
+    RangeTask body =
+        listener == null ? task : (start, end) -> timed(listener, () -> task.run(start, end));
+    if (grainSize == 0 && threads <= 1) {
+      body.run(from, to);
+      return;
+    }
+    int grain = grainSize;
+    if (grain == 0) {
+      int splits = threads * SPLITS_PER_THREAD;
+      grain = Math.max(defaultGrain, (length + splits - 1) / splits);
+    }
+    executionStrategy.forEachRange(from, to, grain, Math.max(1, threads), body);
+  }
+
+  private static ExecutionStrategy requireStrategy(ExecutionStrategy executionStrategy) {
+    if (executionStrategy == null) {
+      throw new IllegalArgumentException("Execution strategy cannot be null");
+    }
+    return executionStrategy;
+  }
+
+  private void timed(TaskTimingListener listener, Runnable task) {
+    long start = System.nanoTime();
+    try {
+      task.run();
+    } finally {
+      listener.onTaskCompleted(this, System.nanoTime() - start);
+    }
+  }
+}
@@ -0,0 +1,378 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.MaterialStrategy;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.SecondaryRay;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.ShadingPlan;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.ShadowRay;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Primitive;
+
+/**
+ * Integrador de caminos por etapas: la intersección y el sombreado de una región se hacen en
+ * pasadas separadas sobre todos los caminos activos.
+ *
+ * <p>Cada camino es un rayo con su peso acumulado (throughput), la muestra de píxel a la que aporta
+ * y su profundidad, guardados en arreglos primitivos. En cada iteración:
+ *
+ * <ol>
+ *   <li><b>Intersección:</b> se intersectan todos los caminos activos.
+ *   <li><b>Sombreado:</b> los caminos se ordenan por material y se sombrean con el {@link
+ *       ShadingPlan} de su material. El color local del punto, por el throughput, se suma a la
+ *       muestra; cada rayo secundario del plan continúa como un camino nuevo con el throughput
+ *       multiplicado por su peso.
+ *   <li><b>Compactación:</b> los caminos que terminaron se descartan y los nuevos se copian, sin
+ *       huecos, a los arreglos de la siguiente iteración.
+ * </ol>
+ *
+ * <p>Las tres etapas se reparten en el {@link ExecutionStrategy#forkJoin(int) pool de fork-join}
+ * compartido con tantos hilos como el ray tracer. Las contribuciones se suman a las muestras en el
+ * orden de los caminos, así que el resultado no depende del número de hilos.
+ *
+ * <p>El plan de Phong recorta a {@code [0, 1]} el color de cada punto después de mezclar los rayos
+ * secundarios; aquí sólo se recorta la parte local, porque lo que aportan los secundarios se suma
+ * después. Donde el color no se satura la imagen coincide con la del integrador recursivo salvo
+ * por redondeo. Los materiales sin plan terminan el camino con {@link MaterialStrategy#scatter}.
+ *
+ * @author Cristopher Carrada
+ */
+final class PathIntegrator {
+  // Caminos mínimos por subtarea de fork-join
+  private static final int GRAIN = 64;
+
+  private final Scene scene;
+  private final long seed;
+  private final int parallelism;
+  private final ExecutionStrategy executionStrategy;
+  private final Map<String, Integer> materialKeys = new HashMap<>();
+
+  /**
+   * Construye el integrador.
+   *
+   * @param scene escena a renderizar
+   * @param seed semilla del muestreo
+   * @param parallelism número máximo de hilos que ejecutan las etapas a la vez
+   */
+  PathIntegrator(Scene scene, long seed, int parallelism) {
+    this.scene = scene;
+    this.seed = seed;
+    this.parallelism = parallelism;
+    this.executionStrategy = ExecutionStrategy.forkJoin(parallelism);
+    for (Primitive primitive : scene.getPrimitives()) {
+      materialKeys.putIfAbsent(primitive.getMaterialId(), materialKeys.size());
+    }
+  }
+
+  /**
+   * Renderiza los píxeles de una región.
+   *
+   * @param region píxeles a renderizar
+   * @param blockSize lado en píxeles de resolución completa que cubre cada píxel
+   * @param fullWidth ancho de la imagen a resolución completa
+   * @param fullHeight altura de la imagen a resolución completa
+   * @param viewport plano de proyección de la cámara
+   * @param quality muestras por píxel y rebotes a usar
+   * @param sink destino del color de cada píxel, que recibe en orden por filas
+   */
+  void render(
+      Tile region,
+      int blockSize,
+      int fullWidth,
+      int fullHeight,
+      Viewport viewport,
+      RenderQuality quality,
+      PixelSink sink) {
+    int samples = quality.samplesPerPixel();
+    // Iniciar la recursión más adentro reduce los rebotes sin tocar los materiales
+    int initialDepth = Math.max(0, scene.getMaxBounces() - quality.maxBounces());
+    int sampleCount = region.pixelCount() * samples;
+    double[] radiance = new double[sampleCount * 3];
+
+    // Rayos primarios, con los mismos números aleatorios que el integrador recursivo
+    Paths paths = new Paths(sampleCount);
+    Vector3D background = scene.getBackgroundColor();
+    int sample = 0;
+    for (int row = region.y(); row < region.y() + region.height(); row++) {
+      for (int col = region.x(); col < region.x() + region.width(); col++) {
+        SampleRandom.seedPixel(seed, row, col);
+        for (int s = 0; s < samples; s++, sample++) {
+          Ray ray = RayTracer.sampleRay(row, col, s, blockSize, fullWidth, fullHeight, viewport);
+          if (initialDepth >= scene.getMaxBounces()) {
+            add(radiance, sample, 1.0, background);
+          } else {
+            paths.set(
+                paths.count++,
+                ray,
+                sample,
+                row,
+                col,
+                initialDepth,
+                1.0,
+                (long) s << 40 | 1,
+                background);
+          }
+        }
+      }
+    }
+
+    while (paths.count > 0) {
+      Intersection[] hits = intersect(paths);
+      int[] order = sortByMaterial(paths, hits);
+      List<List<SecondaryRay>> secondaries = shade(paths, hits, order);
+      accumulate(paths, radiance);
+      paths = compact(paths, secondaries);
+    }
+
+    sample = 0;
+    for (int row = region.y(); row < region.y() + region.height(); row++) {
+      for (int col = region.x(); col < region.x() + region.width(); col++) {
+        Vector3D color = new Vector3D(0, 0, 0);
+        for (int s = 0; s < samples; s++, sample++) {
+          color =
+              color.add(
+                  new Vector3D(
+                      radiance[sample * 3], radiance[sample * 3 + 1], radiance[sample * 3 + 2]));
+        }
+        sink.accept(row, col, color.multiply(1.0 / samples));
+      }
+    }
+  }
+
+  /** Etapa de intersección. */
+  private Intersection[] intersect(Paths paths) {
+    Intersection[] hits = new Intersection[paths.count];
+    forEachRange(
+        paths.count,
+        (from, to) -> {
+          for (int i = from; i < to; i++) {
+            hits[i] = scene.intersect(paths.ray(i)).orElse(null);
+          }
+        });
+    return hits;
+  }
+
+  /**
+   * Ordena los caminos por el material que golpearon; los que no golpearon nada van primero. Los
+   * empates conservan el orden de los caminos.
+   */
+  private int[] sortByMaterial(Paths paths, Intersection[] hits) {
+    long[] keys = new long[paths.count];
+    for (int i = 0; i < paths.count; i++) {
+      long material =
+          hits[i] == null
+              ? 0
+              : 1 + materialKeys.getOrDefault(hits[i].getPrimitive().getMaterialId(), -1);
+      keys[i] = material << 32 | i;
+    }
+    Arrays.sort(keys);
+    int[] order = new int[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      order[i] = (int) keys[i];
+    }
+    return order;
+  }
+
+  /**
+   * Etapa de sombreado: deja en {@code paths} la contribución de cada camino y devuelve los rayos
+   * secundarios que lo continúan.
+   */
+  private List<List<SecondaryRay>> shade(Paths paths, Intersection[] hits, int[] order) {
+    // Lista de tamaño fijo: cada hilo sólo reemplaza los elementos de sus caminos
+    List<List<SecondaryRay>> secondaries =
+        new ArrayList<>(Collections.nCopies(paths.count, List.of()));
+    forEachRange(
+        paths.count,
+        (from, to) -> {
+          for (int k = from; k < to; k++) {
+            int i = order[k];
+            Vector3D color = shade(paths, i, hits[i], secondaries);
+            paths.contribution[i * 3] = paths.throughput[i] * color.getX();
+            paths.contribution[i * 3 + 1] = paths.throughput[i] * color.getY();
+            paths.contribution[i * 3 + 2] = paths.throughput[i] * color.getZ();
+          }
+        });
+    return secondaries;
+  }
+
+  private Vector3D shade(
+      Paths paths, int i, Intersection hit, List<List<SecondaryRay>> secondaries) {
+    if (hit == null) {
+      return paths.missColor(i);
+    }
+    Optional<MaterialStrategy> material =
+        scene.getMaterialStrategy(hit.getPrimitive().getMaterialId());
+    if (material.isEmpty()) {
+      // Magenta en los rayos primarios, como PhongShader; en los secundarios, su color de fallo
+      return paths.isPrimary(i) ? new Vector3D(1, 0, 1) : paths.missColor(i);
+    }
+
+    SampleRandom.seedPath(seed, paths.row[i], paths.col[i], paths.path[i]);
+    Ray ray = paths.ray(i);
+    Optional<ShadingPlan> plan = material.get().plan(ray, hit, scene, paths.depth[i]);
+    if (plan.isEmpty()) {
+      return material.get().scatter(ray, hit, scene, paths.depth[i]);
+    }
+
+    List<ShadowRay> shadowRays = plan.get().shadowRays();
+    boolean[] visible = new boolean[shadowRays.size()];
+    for (int s = 0; s < visible.length; s++) {
+      visible[s] = shadowRays.get(s).isVisible(scene);
+    }
+    secondaries.set(i, plan.get().secondaryRays());
+    return plan.get().localColor(visible);
+  }
+
+  /** Suma las contribuciones a sus muestras, en el orden de los caminos. */
+  private static void accumulate(Paths paths, double[] radiance) {
+    for (int i = 0; i < paths.count; i++) {
+      int sample = paths.sample[i];
+      radiance[sample * 3] += paths.contribution[i * 3];
+      radiance[sample * 3 + 1] += paths.contribution[i * 3 + 1];
+      radiance[sample * 3 + 2] += paths.contribution[i * 3 + 2];
+    }
+  }
+
+  /** Etapa de compactación: arma los caminos de la siguiente iteración. */
+  private Paths compact(Paths paths, List<List<SecondaryRay>> secondaries) {
+    int[] offsets = new int[paths.count + 1];
+    for (int i = 0; i < paths.count; i++) {
+      offsets[i + 1] = offsets[i] + secondaries.get(i).size();
+    }
+    Paths next = new Paths(offsets[paths.count]);
+    next.count = next.capacity();
+    forEachRange(
+        paths.count,
+        (from, to) -> {
+          for (int i = from; i < to; i++) {
+            List<SecondaryRay> rays = secondaries.get(i);
+            for (int c = 0; c < rays.size(); c++) {
+              SecondaryRay secondary = rays.get(c);
+              next.set(
+                  offsets[i] + c,
+                  secondary.ray(),
+                  paths.sample[i],
+                  paths.row[i],
+                  paths.col[i],
+                  secondary.depth(),
+                  paths.throughput[i] * secondary.weight(),
+                  paths.path[i] * 4 + c, // Mismo identificador que en WavefrontIntegrator
+                  secondary.missColor());
+            }
+          }
+        });
+    return next;
+  }
+
+  private void forEachRange(int count, ExecutionStrategy.RangeTask task) {
+    // Los rayos de cada subtarea se pasan al hilo que renderiza el tile, que es el que se mide
+    LongAdder rays = new LongAdder();
+    try {
+      executionStrategy.forEachRange(
+          0,
+          count,
+          GRAIN,
+          parallelism,
+          (from, to) -> {
+            long before = RayCounter.current();
+            task.run(from, to);
+            long traced = RayCounter.current() - before;
+            RayCounter.add(-traced);
+            rays.add(traced);
+          });
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Rendering interrupted", e);
+    } finally {
+      RayCounter.add(rays.sum());
+    }
+  }
+
+  private static void add(double[] radiance, int sample, double weight, Vector3D color) {
+    radiance[sample * 3] += weight * color.getX();
+    radiance[sample * 3 + 1] += weight * color.getY();
+    radiance[sample * 3 + 2] += weight * color.getZ();
+  }
+
+  /** Estado de los caminos activos, un índice por camino. */
+  private static final class Paths {
+    private final double[] origin;
+    private final double[] direction;
+    private final double[] missColor;
+    private final double[] throughput;
+    private final double[] contribution;
+    private final int[] sample;
+    private final int[] row;
+    private final int[] col;
+    private final int[] depth;
+    // Identificador del camino para su secuencia aleatoria, como en WavefrontIntegrator
+    private final long[] path;
+    private int count;
+
+    Paths(int capacity) {
+      origin = new double[capacity * 3];
+      direction = new double[capacity * 3];
+      missColor = new double[capacity * 3];
+      throughput = new double[capacity];
+      contribution = new double[capacity * 3];
+      sample = new int[capacity];
+      row = new int[capacity];
+      col = new int[capacity];
+      depth = new int[capacity];
+      path = new long[capacity];
+    }
+
+    int capacity() {
+      return throughput.length;
+    }
+
+    void set(
+        int i,
+        Ray ray,
+        int sample,
+        int row,
+        int col,
+        int depth,
+        double throughput,
+        long path,
+        Vector3D missColor) {
+      Vector3D o = ray.getOrigin();
+      Vector3D d = ray.getDirection();
+      origin[i * 3] = o.getX();
+      origin[i * 3 + 1] = o.getY();
+      origin[i * 3 + 2] = o.getZ();
+      direction[i * 3] = d.getX();
+      direction[i * 3 + 1] = d.getY();
+      direction[i * 3 + 2] = d.getZ();
+      this.missColor[i * 3] = missColor.getX();
+      this.missColor[i * 3 + 1] = missColor.getY();
+      this.missColor[i * 3 + 2] = missColor.getZ();
+      this.throughput[i] = throughput;
+      this.sample[i] = sample;
+      this.row[i] = row;
+      this.col[i] = col;
+      this.depth[i] = depth;
+      this.path[i] = path;
+    }
+
+    Ray ray(int i) {
+      return new Ray(
+          new Vector3D(origin[i * 3], origin[i * 3 + 1], origin[i * 3 + 2]),
+          new Vector3D(direction[i * 3], direction[i * 3 + 1], direction[i * 3 + 2]));
+    }
+
+    boolean isPrimary(int i) {
+      // Los rayos primarios tienen 1 en los bits bajos; sus descendientes, al menos 4
+      return (path[i] & ((1L << 40) - 1)) == 1;
+    }
+
+    Vector3D missColor(int i) {
+      return new Vector3D(missColor[i * 3], missColor[i * 3 + 1], missColor[i * 3 + 2]);
+    }
+  }
+}
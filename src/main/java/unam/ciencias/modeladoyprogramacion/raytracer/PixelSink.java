@@ -0,0 +1,11 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+/**
+ * Destino del color de cada píxel renderizado.
+ *
+ * @author Cristopher Carrada
+ */
+@FunctionalInterface
+interface PixelSink {
+  void accept(int row, int col, Vector3D color);
+}
@@ -0,0 +1,72 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.Set;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.Light;
+import unam.ciencias.modeladoyprogramacion.raytracer.postprocessing.EdgeAwareUpsampler;
+
+/**
+ * Renderizador de vista previa rápida.
+ *
+ * <p>Renderiza la escena a 1/2, 1/4 o 1/8 de la resolución con una sola muestra por píxel y un
+ * número acotado de rayos de sombra por luz, y después escala el resultado al tamaño final con un
+ * filtro que preserva bordes. Usa la misma cámara y el mismo viewport que {@link RayTracer}, por
+ * lo que el encuadre coincide exactamente con el del render final.
+ *
+ * @author Cristopher Carrada
+ */
+public final class PreviewRenderer {
+  /** Factores de reducción soportados. */
+  public static final Set<Integer> SUPPORTED_FACTORS = Set.of(2, 4, 8);
+
+  /** Número máximo de rayos de sombra por luz en la vista previa. */
+  public static final int MAX_SHADOW_SAMPLES_PER_LIGHT = 4;
+
+  private final Scene scene;
+  private final int threads;
+  private final int downscaleFactor;
+  private final EdgeAwareUpsampler upsampler;
+
+  /**
+   * Construye un renderizador de vista previa.
+   *
+   * @param scene escena a previsualizar
+   * @param threads número de hilos a usar
+   * @param downscaleFactor factor de reducción (2, 4 u 8)
+   */
+  public PreviewRenderer(Scene scene, int threads, int downscaleFactor) {
+    if (scene == null) {
+      throw new IllegalArgumentException("Scene cannot be null");
+    }
+    if (!SUPPORTED_FACTORS.contains(downscaleFactor)) {
+      throw new IllegalArgumentException("Preview factor must be 2, 4 or 8");
+    }
+    this.scene = scene;
+    this.threads = threads;
+    this.downscaleFactor = downscaleFactor;
+    this.upsampler = new EdgeAwareUpsampler();
+  }
+
+  /**
+   * Renderiza la vista previa y la escala al tamaño de la escena.
+   *
+   * @return imagen de vista previa con la resolución final de la escena
+   */
+  public Image render() {
+    Image lowResolution = new RayTracer(buildPreviewScene(), threads).render(downscaleFactor);
+    return upsampler.upsample(lowResolution, scene.getImageWidth(), scene.getImageHeight());
+  }
+
+  /**
+   * Deriva la escena de vista previa: misma cámara, geometría y materiales, una muestra por píxel
+   * y luces con el muestreo de sombras acotado.
+   *
+   * @return escena reducida para la vista previa
+   */
+  Scene buildPreviewScene() {
+    Scene.Builder builder = scene.toBuilder().samplesPerPixel(1).clearLights();
+    for (Light light : scene.getLights()) {
+      builder.addLight(light.withShadowSampleCap(MAX_SHADOW_SAMPLES_PER_LIGHT));
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,227 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import unam.ciencias.modeladoyprogramacion.raytracer.observers.RenderProgress;
+import unam.ciencias.modeladoyprogramacion.raytracer.observers.RenderProgressListener;
+
+/**
+ * Entrega el progreso de un render a sus listeners a intervalos fijos.
+ *
+ * <p>Los workers sólo registran cada tile al terminarlo con {@link #tileCompleted}; a cada
+ * intervalo se leen esos contadores, se arma un {@link RenderProgress} y se entrega. Un listener
+ * lento retrasa las notificaciones siguientes, que se funden en una sola con el estado más
+ * reciente, pero nunca a los workers.
+ *
+ * <p>Todos los renders del proceso comparten un solo hilo {@value #THREAD_NAME} que marca los
+ * intervalos. Las entregas de cada render forman una cadena que corre en un hilo virtual del mismo
+ * nombre: los listeners de un render nunca se invocan en paralelo, y un listener bloqueado sólo
+ * detiene el progreso de su render.
+ *
+ * @author Cristopher Carrada
+ */
+final class ProgressReporter {
+  private static final Logger logger = LoggerFactory.getLogger(ProgressReporter.class);
+
+  /** Nombre del hilo que notifica a los listeners. */
+  static final String THREAD_NAME = "raytracer-progress";
+
+  /** Intervalo entre notificaciones de progreso. */
+  static final Duration INTERVAL = Duration.ofMillis(250);
+
+  /** Tiempo máximo que {@link #awaitFinalNotification} espera a los listeners. */
+  static final Duration FINAL_NOTIFICATION_TIMEOUT = Duration.ofSeconds(1);
+
+  private static final ScheduledExecutorService SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          task -> {
+            Thread thread = new Thread(task, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // Cada tramo de una cadena de entregas corre en su propio hilo virtual
+  private static final Executor DELIVERY = task -> Thread.ofVirtual().name(THREAD_NAME).start(task);
+
+  private final List<RenderProgressListener> listeners;
+  private final RenderJob job;
+  private final int totalTiles;
+  private final long startNanos;
+  private final LongAdder rays = new LongAdder();
+  private final Queue<Integer> completedTiles = new ConcurrentLinkedQueue<>();
+  private final ScheduledFuture<?> periodic;
+  // Entregas pedidas que la cadena aún no atiende; con 0 no hay cadena en curso
+  private final AtomicInteger requests = new AtomicInteger();
+  // Resultado del render, escrito por finish antes de pedir la entrega final
+  private volatile Boolean outcome;
+
+  // Sólo los usa la cadena de entregas
+  private int tilesReported;
+  private int lastPixels = -1;
+
+  /**
+   * Empieza a notificar el progreso de un render.
+   *
+   * <p>Sin listeners no se programa nada.
+   *
+   * @param listeners listeners a notificar; la lista no debe cambiar durante el render
+   * @param job render en curso
+   * @param totalTiles tiles del render
+   * @param startNanos inicio del render según {@link System#nanoTime()}
+   * @param interval tiempo entre notificaciones
+   */
+  ProgressReporter(
+      List<RenderProgressListener> listeners,
+      RenderJob job,
+      int totalTiles,
+      long startNanos,
+      Duration interval) {
+    this.listeners = listeners;
+    this.job = job;
+    this.totalTiles = totalTiles;
+    this.startNanos = startNanos;
+    long millis = interval.toMillis();
+    this.periodic =
+        listeners.isEmpty()
+            ? null
+            : SCHEDULER.scheduleAtFixedRate(
+                this::requestDelivery, millis, millis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Registra un tile terminado. Lo invocan los workers después de sumar sus píxeles al job.
+   *
+   * @param tileId identificador del tile
+   * @param tileRays rayos intersectados en el tile
+   */
+  void tileCompleted(int tileId, long tileRays) {
+    if (periodic == null) {
+      return;
+    }
+    rays.add(tileRays);
+    completedTiles.add(tileId);
+  }
+
+  /**
+   * Detiene las notificaciones periódicas y entrega el estado final.
+   *
+   * <p>Los listeners reciben el último progreso y, si el render terminó con una imagen, {@link
+   * RenderProgressListener#onRenderComplete()}. Después se completa {@link
+   * RenderJob#listenersNotified()} y la cadena de entregas del render termina.
+   *
+   * @param completed {@code true} si el render terminó normalmente
+   */
+  void finish(boolean completed) {
+    if (periodic == null) {
+      job.listenersNotified().complete(null);
+      return;
+    }
+    periodic.cancel(false);
+    outcome = completed;
+    requestDelivery();
+  }
+
+  /**
+   * Espera a que los listeners reciban la notificación final de un render, como máximo {@link
+   * #FINAL_NOTIFICATION_TIMEOUT}.
+   *
+   * <p>Un listener que tarda más no retiene el resultado: la espera termina y la notificación se
+   * entrega después, desde la cadena de entregas del render.
+   *
+   * @param job render terminado
+   */
+  static void awaitFinalNotification(RenderJob job) {
+    try {
+      job.listenersNotified().get(FINAL_NOTIFICATION_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      logger.warn(
+          "Progress listeners still busy after {} ms; not waiting for the final notification",
+          FINAL_NOTIFICATION_TIMEOUT.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // Sólo se completa con null; no hay fallo que propagar
+      logger.warn("Progress delivery failed", e);
+    }
+  }
+
+  /** Pide una entrega; si la cadena del render no está en curso, la inicia. */
+  private void requestDelivery() {
+    if (requests.getAndIncrement() == 0) {
+      DELIVERY.execute(this::deliver);
+    }
+  }
+
+  /**
+   * Atiende las entregas pedidas hasta que no queden. Las que llegan durante una entrega se funden
+   * en la siguiente. Después de la entrega final la cadena no se vuelve a iniciar.
+   */
+  private void deliver() {
+    int handled;
+    do {
+      handled = requests.get();
+      Boolean finalOutcome = outcome;
+      if (finalOutcome != null) {
+        try {
+          publish();
+          if (finalOutcome) {
+            notifyListeners(RenderProgressListener::onRenderComplete);
+          }
+        } finally {
+          job.listenersNotified().complete(null);
+        }
+        return;
+      }
+      publish();
+    } while (requests.addAndGet(-handled) > 0);
+  }
+
+  /** Entrega los tiles terminados y el progreso, si cambió desde la notificación anterior. */
+  private void publish() {
+    Integer tileId;
+    while ((tileId = completedTiles.poll()) != null) {
+      int id = tileId;
+      tilesReported++;
+      notifyListeners(listener -> listener.onTileCompleted(id));
+    }
+    int pixels = job.getPixelsCompleted();
+    if (pixels == lastPixels) {
+      return;
+    }
+    lastPixels = pixels;
+    RenderProgress progress =
+        new RenderProgress(
+            pixels,
+            job.getTotalPixels(),
+            tilesReported,
+            totalTiles,
+            rays.sum(),
+            Duration.ofNanos(System.nanoTime() - startNanos));
+    notifyListeners(listener -> listener.onProgress(progress));
+  }
+
+  private void notifyListeners(Consumer<RenderProgressListener> notification) {
+    for (RenderProgressListener listener : listeners) {
+      try {
+        notification.accept(listener);
+      } catch (RuntimeException e) {
+        // Un listener que falla no debe detener las notificaciones de los demás
+        logger.warn("Progress listener {} failed", listener, e);
+      }
+    }
+  }
+}
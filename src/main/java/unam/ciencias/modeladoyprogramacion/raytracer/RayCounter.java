@@ -0,0 +1,33 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+/**
+ * Cuenta los rayos que intersecta cada hilo con {@link Scene#intersect}.
+ *
+ * <p>El contador es por hilo, así que no se comparte entre núcleos; para saber cuántos rayos costó
+ * un trabajo se toma la diferencia de {@link #current()} antes y después en el mismo hilo.
+ *
+ * @author Cristopher Carrada
+ */
+final class RayCounter {
+  private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+  private RayCounter() {}
+
+  /**
+   * Suma rayos al contador del hilo actual.
+   *
+   * @param rays rayos intersectados; puede ser negativo para pasarlos a otro hilo
+   */
+  static void add(long rays) {
+    COUNT.get()[0] += rays;
+  }
+
+  /**
+   * Obtiene los rayos intersectados por el hilo actual desde que empezó.
+   *
+   * @return total acumulado del hilo
+   */
+  static long current() {
+    return COUNT.get()[0];
+  }
+}
@@ -0,0 +1,93 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Orden coherente para trazar un lote de rayos.
+ *
+ * <p>Los rayos se agrupan primero por el octante de su dirección (los signos de sus tres
+ * componentes) y luego por la celda de su origen en una rejilla de {@value #CELLS}³ celdas sobre la
+ * caja que envuelve a todos los orígenes del lote. Las celdas se recorren en orden de Morton, así
+ * que rayos consecutivos salen de puntos cercanos hacia direcciones parecidas y recorren los mismos
+ * primitivos.
+ *
+ * @author Cristopher Carrada
+ */
+final class RayOrder {
+  static final int CELLS = 256;
+
+  // Bits de la clave (3 de octante + 24 de celda) y, debajo, el índice del rayo
+  private static final int INDEX_BITS = 36;
+
+  private RayOrder() {}
+
+  /**
+   * Calcula el orden en que conviene trazar los rayos.
+   *
+   * @param rays lote de rayos
+   * @return índices de los rayos en orden coherente; los empates conservan el orden original
+   */
+  static int[] coherent(List<Ray> rays) {
+    int count = rays.size();
+    if (count < 2) {
+      return count == 0 ? new int[0] : new int[] {0};
+    }
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double minZ = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    double maxZ = Double.NEGATIVE_INFINITY;
+    for (Ray ray : rays) {
+      Vector3D origin = ray.getOrigin();
+      minX = Math.min(minX, origin.getX());
+      minY = Math.min(minY, origin.getY());
+      minZ = Math.min(minZ, origin.getZ());
+      maxX = Math.max(maxX, origin.getX());
+      maxY = Math.max(maxY, origin.getY());
+      maxZ = Math.max(maxZ, origin.getZ());
+    }
+
+    // Clave en los bits altos e índice en los bajos: ordenar los long ordena por clave y es estable
+    long[] keys = new long[count];
+    for (int i = 0; i < count; i++) {
+      Ray ray = rays.get(i);
+      Vector3D origin = ray.getOrigin();
+      Vector3D direction = ray.getDirection();
+      int octant =
+          (direction.getX() < 0 ? 4 : 0)
+              | (direction.getY() < 0 ? 2 : 0)
+              | (direction.getZ() < 0 ? 1 : 0);
+      int cell =
+          interleave(cell(origin.getX(), minX, maxX))
+              | interleave(cell(origin.getY(), minY, maxY)) << 1
+              | interleave(cell(origin.getZ(), minZ, maxZ)) << 2;
+      keys[i] = ((long) (octant << 24 | cell) << INDEX_BITS) | i;
+    }
+    Arrays.sort(keys);
+
+    int[] order = new int[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = (int) (keys[i] & ((1L << INDEX_BITS) - 1));
+    }
+    return order;
+  }
+
+  /** Celda de una coordenada dentro de {@code [min, max]}. */
+  private static int cell(double value, double min, double max) {
+    if (!(max > min)) {
+      return 0;
+    }
+    return (int) Math.min(CELLS - 1, (value - min) / (max - min) * CELLS);
+  }
+
+  /** Separa los 8 bits de {@code value} dejando dos ceros entre cada uno (código de Morton). */
+  private static int interleave(int value) {
+    int bits = value & 0xFF;
+    bits = (bits | bits << 8) & 0x00F00F;
+    bits = (bits | bits << 4) & 0x0C30C3;
+    bits = (bits | bits << 2) & 0x249249;
+    return bits;
+  }
+}
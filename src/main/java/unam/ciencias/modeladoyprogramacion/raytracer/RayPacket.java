@@ -0,0 +1,252 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Paquete de rayos coherentes con el mismo origen, como los rayos primarios de un bloque de
+ * píxeles vecinos.
+ *
+ * <p>Las direcciones se guardan como estructura de arreglos para que los primitivos prueben todos
+ * los rayos en un mismo ciclo sobre memoria contigua. Cada rayo (carril) lleva la distancia de la
+ * intersección más cercana encontrada hasta ahora y el índice del primitivo que la produjo.
+ *
+ * <p>El paquete también guarda un cono que contiene todas sus direcciones. Un primitivo cuyo
+ * volumen envolvente queda fuera del cono no puede intersectar ningún rayo del paquete, así que
+ * se descarta con una sola prueba en lugar de una por rayo.
+ *
+ * @author Cristopher Carrada
+ */
+public final class RayPacket {
+  /** Número máximo de rayos en un paquete (un bloque de 4x4 píxeles). */
+  public static final int MAX_SIZE = 16;
+
+  // Apertura máxima del cono de un paquete coherente; con más, conviene dividirlo
+  private static final double COHERENT_COS = Math.cos(Math.toRadians(10));
+  // Holgura relativa de la prueba del cono para no descartar por redondeo
+  private static final double CONE_TOLERANCE = 1e-6;
+
+  private final List<Ray> rays;
+  private final int size;
+  private final double originX;
+  private final double originY;
+  private final double originZ;
+  private final double[] directionX;
+  private final double[] directionY;
+  private final double[] directionZ;
+  private final double[] distance;
+  private final int[] hitPrimitive;
+  private final double axisX;
+  private final double axisY;
+  private final double axisZ;
+  private final double cosAngle;
+  private final double sinAngle;
+
+  /**
+   * Construye un paquete.
+   *
+   * @param rays entre 1 y {@value #MAX_SIZE} rayos con el mismo origen
+   * @throws IllegalArgumentException si los rayos no tienen el mismo origen o son demasiados
+   */
+  public RayPacket(List<Ray> rays) {
+    if (rays == null || rays.isEmpty() || rays.size() > MAX_SIZE) {
+      throw new IllegalArgumentException("A packet must have between 1 and " + MAX_SIZE + " rays");
+    }
+    Vector3D origin = rays.get(0).getOrigin();
+    this.rays = List.copyOf(rays);
+    this.size = rays.size();
+    this.originX = origin.getX();
+    this.originY = origin.getY();
+    this.originZ = origin.getZ();
+    this.directionX = new double[size];
+    this.directionY = new double[size];
+    this.directionZ = new double[size];
+    this.distance = new double[size];
+    this.hitPrimitive = new int[size];
+
+    double sumX = 0;
+    double sumY = 0;
+    double sumZ = 0;
+    for (int lane = 0; lane < size; lane++) {
+      Ray ray = this.rays.get(lane);
+      if (!ray.getOrigin().equals(origin)) {
+        throw new IllegalArgumentException("Rays in a packet must share their origin");
+      }
+      Vector3D direction = ray.getDirection();
+      directionX[lane] = direction.getX();
+      directionY[lane] = direction.getY();
+      directionZ[lane] = direction.getZ();
+      sumX += direction.getX();
+      sumY += direction.getY();
+      sumZ += direction.getZ();
+    }
+    reset();
+
+    // Eje del cono: la dirección promedio; la apertura, la del rayo más alejado de él
+    double length = Math.sqrt(sumX * sumX + sumY * sumY + sumZ * sumZ);
+    if (length < 1e-9) {
+      // Direcciones opuestas: el cono es todo el espacio
+      this.axisX = directionX[0];
+      this.axisY = directionY[0];
+      this.axisZ = directionZ[0];
+      this.cosAngle = -1;
+    } else {
+      this.axisX = sumX / length;
+      this.axisY = sumY / length;
+      this.axisZ = sumZ / length;
+      double cos = 1;
+      for (int lane = 0; lane < size; lane++) {
+        cos =
+            Math.min(
+                cos, directionX[lane] * axisX + directionY[lane] * axisY + directionZ[lane] * axisZ);
+      }
+      this.cosAngle = Math.max(-1, cos - 1e-12);
+    }
+    this.sinAngle = Math.sqrt(Math.max(0, 1 - cosAngle * cosAngle));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Obtiene el rayo de un carril.
+   *
+   * @param lane índice del rayo en el paquete
+   * @return el rayo
+   */
+  public Ray ray(int lane) {
+    return rays.get(lane);
+  }
+
+  public double originX() {
+    return originX;
+  }
+
+  public double originY() {
+    return originY;
+  }
+
+  public double originZ() {
+    return originZ;
+  }
+
+  /**
+   * Componentes X de las direcciones normalizadas, por carril.
+   *
+   * <p>Es el arreglo interno; no debe modificarse.
+   *
+   * @return arreglo de {@link #size()} elementos
+   */
+  public double[] directionX() {
+    return directionX;
+  }
+
+  /** Componentes Y de las direcciones; ver {@link #directionX()}. */
+  public double[] directionY() {
+    return directionY;
+  }
+
+  /** Componentes Z de las direcciones; ver {@link #directionX()}. */
+  public double[] directionZ() {
+    return directionZ;
+  }
+
+  /**
+   * Obtiene la distancia de la intersección más cercana de un carril.
+   *
+   * @param lane índice del rayo
+   * @return distancia, o {@code +∞} si no se ha encontrado ninguna
+   */
+  public double distance(int lane) {
+    return distance[lane];
+  }
+
+  /**
+   * Obtiene el primitivo de la intersección más cercana de un carril.
+   *
+   * @param lane índice del rayo
+   * @return índice del primitivo en la escena, o -1 si no se ha encontrado ninguno
+   */
+  public int hitPrimitive(int lane) {
+    return hitPrimitive[lane];
+  }
+
+  /**
+   * Registra una intersección si está estrictamente antes que la más cercana del carril.
+   *
+   * <p>Con la comparación estricta, entre dos primitivos a la misma distancia gana el primero en
+   * probarse, igual que en {@link Scene#intersect(Ray)}.
+   *
+   * @param lane índice del rayo
+   * @param t distancia de la intersección ({@code +∞} si no hay)
+   * @param primitive índice del primitivo en la escena
+   */
+  public void record(int lane, double t, int primitive) {
+    if (t < distance[lane]) {
+      distance[lane] = t;
+      hitPrimitive[lane] = primitive;
+    }
+  }
+
+  /** Olvida las intersecciones registradas. */
+  public void reset() {
+    Arrays.fill(distance, Double.POSITIVE_INFINITY);
+    Arrays.fill(hitPrimitive, -1);
+  }
+
+  /**
+   * Indica si las direcciones son lo bastante parecidas para que el cono descarte primitivos.
+   *
+   * @return {@code true} si la apertura del cono es pequeña
+   */
+  public boolean isCoherent() {
+    return size == 1 || cosAngle >= COHERENT_COS;
+  }
+
+  /**
+   * Divide el paquete en dos mitades, conservando el orden de los rayos.
+   *
+   * @return las dos mitades; con un solo rayo, el mismo paquete
+   */
+  public List<RayPacket> split() {
+    if (size == 1) {
+      return List.of(this);
+    }
+    int half = size / 2;
+    return List.of(
+        new RayPacket(rays.subList(0, half)), new RayPacket(rays.subList(half, size)));
+  }
+
+  /**
+   * Prueba conservadora de si algún rayo del paquete puede tocar una esfera.
+   *
+   * <p>Calcula la distancia del centro al cono de direcciones; si es mayor que el radio, ningún
+   * rayo del paquete toca la esfera. Sirve para cualquier primitivo con una esfera envolvente.
+   *
+   * @param centerX coordenada X del centro
+   * @param centerY coordenada Y del centro
+   * @param centerZ coordenada Z del centro
+   * @param radius radio de la esfera
+   * @return {@code false} sólo si ningún rayo puede tocar la esfera
+   */
+  public boolean mayHitSphere(double centerX, double centerY, double centerZ, double radius) {
+    if (cosAngle <= 0) {
+      return true;
+    }
+    double vx = centerX - originX;
+    double vy = centerY - originY;
+    double vz = centerZ - originZ;
+    double centerDistance = Math.sqrt(vx * vx + vy * vy + vz * vz);
+    double along = vx * axisX + vy * axisY + vz * axisZ;
+    double across = Math.sqrt(Math.max(0, centerDistance * centerDistance - along * along));
+    double gap;
+    if (across * sinAngle + along * cosAngle < 0) {
+      // El punto del cono más cercano al centro es el vértice
+      gap = centerDistance;
+    } else {
+      gap = across * cosAngle - along * sinAngle;
+    }
+    return gap <= radius + CONE_TOLERANCE * (centerDistance + radius);
+  }
+}
@@ -1,11 +1,26 @@
 package unam.ciencias.modeladoyprogramacion.raytracer;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongBiFunction;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.MaterialStrategy;
+import unam.ciencias.modeladoyprogramacion.raytracer.metrics.RenderMetrics;
 import unam.ciencias.modeladoyprogramacion.raytracer.observers.RenderProgressListener;
+import unam.ciencias.modeladoyprogramacion.raytracer.postprocessing.EdgeAwareDenoiser;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Primitive;
 
 /**
  * Motor de Ray Tracing.
@@ -15,11 +30,32 @@ import unam.ciencias.modeladoyprogramacion.raytracer.observers.RenderProgressLis
  * @author Cristopher Carrada
  */
 public final class RayTracer extends MultiThreadedOperation {
-  private static final int PROGRESS_UPDATE_INTERVAL = 1000;
-  
+  private static final int TILE_SIZE = 32;
+  // Semilla del muestreo; junto con las coordenadas del píxel define sus números aleatorios
+  private static final long SAMPLE_SEED = 42;
+  // Lado en píxeles de los paquetes de rayos primarios
+  private static final int PACKET_SIZE = 4;
+  // Separación en píxeles de los puntos que llenan la caché de irradiancia antes del render
+  private static final int PREPASS_STRIDE = 4;
+
   private final Scene scene;
   private final PhongShader shader;
+  private final WavefrontIntegrator wavefront;
+  private final PathIntegrator pathIntegrator;
   private final List<RenderProgressListener> progressListeners;
+  // Identificador de la primera parte de cada primitiva
+  private final Map<Primitive, Integer> primitiveIds;
+  private final Map<String, Integer> materialIds;
+  private Duration timeBudget;
+  private boolean packetTracing = true;
+  private Integrator integrator = Integrator.RECURSIVE;
+  private boolean profiling;
+  private boolean denoising;
+  private boolean auxiliaryOutputs;
+  private RenderMetrics metrics = RenderMetrics.global();
+  private volatile RenderStats lastRenderStats;
+  private volatile RenderProfile lastRenderProfile;
+  private volatile AuxiliaryBuffers lastAuxiliaryBuffers;
 
   /**
    * Construye un ray tracer.
@@ -43,7 +79,34 @@ public final class RayTracer extends MultiThreadedOperation {
     }
     this.scene = scene;
     this.shader = new PhongShader(scene);
-    this.progressListeners = new ArrayList<>();
+    this.wavefront = new WavefrontIntegrator(scene, SAMPLE_SEED);
+    this.pathIntegrator = new PathIntegrator(scene, SAMPLE_SEED, Math.max(1, threads));
+    this.progressListeners = new CopyOnWriteArrayList<>();
+    // Los impactos apuntan a las primitivas de la escena, así que se buscan por identidad. Cada
+    // parte (cada esfera de un SphereSet) recibe su propio identificador, en orden
+    this.primitiveIds = new IdentityHashMap<>();
+    int nextId = 0;
+    for (Primitive primitive : scene.getPrimitives()) {
+      primitiveIds.put(primitive, nextId);
+      nextId += primitive.getPartCount();
+    }
+    this.materialIds = new HashMap<>();
+    List<String> materials = scene.getMaterialIds();
+    for (int i = 0; i < materials.size(); i++) {
+      materialIds.put(materials.get(i), i);
+    }
+  }
+
+  /**
+   * Construye un ray tracer con multithreading y una estrategia de ejecución.
+   *
+   * @param scene la escena a renderizar
+   * @param threads número de workers por render
+   * @param executionStrategy tipo de hilos en los que corren los workers
+   */
+  public RayTracer(Scene scene, int threads, ExecutionStrategy executionStrategy) {
+    this(scene, threads);
+    setExecutionStrategy(executionStrategy);
   }
 
   /**
@@ -67,120 +130,526 @@ public final class RayTracer extends MultiThreadedOperation {
   }
 
   /**
-   * Notifica a todos los listeners de una actualización de progreso.
+   * Notifica a los listeners que el renderizado comenzó.
    */
-  private void notifyProgressUpdate(int pixelsRendered, int totalPixels) {
-    for (RenderProgressListener listener : progressListeners) {
-      listener.onProgressUpdate(pixelsRendered, totalPixels);
+  private void notifyRenderStart(List<RenderProgressListener> listeners, int totalPixels) {
+    for (RenderProgressListener listener : listeners) {
+      listener.onRenderStart(totalPixels);
     }
   }
 
   /**
-   * Notifica a todos los listeners que el renderizado comenzó.
+   * Renderiza la escena completa.
+   *
+   * @return imagen renderizada
    */
-  private void notifyRenderStart(int totalPixels) {
-    for (RenderProgressListener listener : progressListeners) {
-      listener.onRenderStart(totalPixels);
-    }
+  public Image render() {
+    return render(1);
   }
 
   /**
-   * Notifica a todos los listeners que el renderizado terminó.
+   * Renderiza la escena a una resolución reducida por un factor entero.
+   *
+   * <p>Cada píxel de la imagen resultante muestrea el centro del bloque de {@code
+   * downscaleFactor x downscaleFactor} píxeles que cubre en la resolución completa, de modo que el
+   * encuadre coincide exactamente con el de {@link #render()}.
+   *
+   * <p>Antes de regresar espera a que los listeners de progreso reciban la notificación final, pero
+   * no más de un segundo: un listener bloqueado no retiene la imagen.
+   *
+   * @param downscaleFactor factor de reducción (1 = resolución completa)
+   * @return imagen de {@code ceil(ancho / factor) x ceil(alto / factor)} píxeles
    */
-  private void notifyRenderComplete() {
-    for (RenderProgressListener listener : progressListeners) {
-      listener.onRenderComplete();
+  public Image render(int downscaleFactor) {
+    // Los workers se ejecutan con la estrategia de ejecución configurada
+    List<Runnable> tasks = new ArrayList<>();
+    RenderJob job = renderAsync(tasks::add, downscaleFactor);
+
+    // Ejecutar y esperar a que terminen todos los workers
+    try {
+      runAndWait(tasks);
+    } catch (InterruptedException e) {
+      job.cancel();
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Rendering interrupted", e);
+    }
+
+    // Al regresar, los listeners ya recibieron la última notificación, salvo uno bloqueado
+    ProgressReporter.awaitFinalNotification(job);
+    try {
+      return job.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
     }
   }
 
   /**
-   * Renderiza la escena completa.
+   * Inicia el render de la escena completa sin bloquear al hilo que lo invoca.
    *
-   * @return imagen renderizada
+   * @param executor executor donde se ejecutan los workers del render
+   * @return job para consultar el progreso, cancelar u obtener el resultado
    */
-  public Image render() {
-    int width = scene.getImageWidth();
-    int height = scene.getImageHeight();
+  public RenderJob renderAsync(Executor executor) {
+    return renderAsync(executor, 1);
+  }
+
+  /**
+   * Inicia un render a resolución reducida sin bloquear al hilo que lo invoca.
+   *
+   * <p>Se envían tantos workers al executor como hilos tenga el ray tracer; cada uno toma tiles
+   * hasta que se acaban o el job se cancela. El último worker en terminar construye la imagen y
+   * registra las estadísticas, por lo que los callbacks del future se ejecutan en un hilo del
+   * executor.
+   *
+   * <p>{@link RenderProgressListener#onRenderStart} se invoca antes de regresar; el resto de las
+   * notificaciones las entrega {@link ProgressReporter} desde su propio hilo, así que los workers
+   * nunca esperan a un listener. Los workers sólo cuentan píxeles y rayos al terminar cada tile.
+   *
+   * @param executor executor donde se ejecutan los workers del render
+   * @param downscaleFactor factor de reducción (1 = resolución completa)
+   * @return job para consultar el progreso, cancelar u obtener el resultado
+   * @see #render(int)
+   */
+  public RenderJob renderAsync(Executor executor, int downscaleFactor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Executor cannot be null");
+    }
+    if (downscaleFactor < 1) {
+      throw new IllegalArgumentException("Downscale factor must be at least 1");
+    }
+    long startNanos = System.nanoTime();
+    int fullWidth = scene.getImageWidth();
+    int fullHeight = scene.getImageHeight();
+    int width = (fullWidth + downscaleFactor - 1) / downscaleFactor;
+    int height = (fullHeight + downscaleFactor - 1) / downscaleFactor;
     int totalPixels = width * height;
+    RenderJob job = new RenderJob(width, height);
+
+    // Notificar inicio; los listeners agregados durante el render ya no se notifican
+    List<RenderProgressListener> listeners = List.copyOf(progressListeners);
+    notifyRenderStart(listeners, totalPixels);
+
+    Viewport viewport = new Viewport(scene);
+
+    // Dividir la imagen en tiles que los threads toman dinámicamente
+    List<Tile> tiles = Tile.split(width, height, TILE_SIZE);
+    ProgressReporter progress =
+        new ProgressReporter(listeners, job, tiles.size(), startNanos, ProgressReporter.INTERVAL);
+    AtomicInteger nextTile = new AtomicInteger(0);
+    // Sin materiales con luz indirecta no hay prepaso
+    AtomicInteger nextPrepassTile =
+        new AtomicInteger(scene.usesIrradianceCache() ? 0 : tiles.size());
+    AtomicLong pixelsClaimed = new AtomicLong(0);
+    RenderQuality target = targetQuality();
+    TimeBudget budget =
+        timeBudget == null ? null : new TimeBudget(timeBudget, target, threads * 2);
+    QualityTracker qualityTracker = new QualityTracker(target, tiles.size());
+    // Cada worker escribe sólo los tiles que toma; finish los lee después del último
+    TileTiming[] timings = profiling ? new TileTiming[tiles.size()] : null;
+    AuxiliaryBuffers guides =
+        denoising || auxiliaryOutputs ? new AuxiliaryBuffers(width, height) : null;
+    if (budget != null) {
+      budget.start();
+    }
+
+    int workers = Math.max(1, threads);
+    AtomicInteger activeWorkers = new AtomicInteger(workers);
+    RenderMetrics renderMetrics = metrics;
+    renderMetrics.addQueuedTiles(tiles.size());
+    Runnable finish =
+        () -> {
+          // Los tiles que nadie tomó (cancelación o fallo) salen de la cola
+          renderMetrics.addQueuedTiles(-(tiles.size() - Math.min(nextTile.get(), tiles.size())));
+          if (job.isDone()) {
+            progress.finish(false);
+            return; // Cancelado o fallido: no hay imagen final
+          }
+          Image image = job.getPartialImage();
+          if (denoising) {
+            try {
+              image = new EdgeAwareDenoiser(workers, getExecutionStrategy()).denoise(image, guides);
+            } catch (RuntimeException | Error e) {
+              job.fail(e);
+              progress.finish(false);
+              return;
+            }
+          }
+          Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+          renderMetrics.renderFinished(elapsed);
+          lastRenderStats =
+              qualityTracker.toStats(elapsed, budget == null ? null : budget.getBudget());
+          if (timings != null) {
+            lastRenderProfile = new RenderProfile(width, height, Arrays.asList(timings));
+          }
+          if (auxiliaryOutputs) {
+            lastAuxiliaryBuffers = guides;
+          }
+          job.complete(image);
+
+          // Notificar finalización después del último progreso
+          progress.finish(true);
+        };
+
+    // Renderiza un tile con la calidad indicada y regresa los rayos que trazó
+    ToLongBiFunction<Tile, RenderQuality> tileRenderer =
+        (tile, quality) -> {
+          renderMetrics.tileStarted();
+          TileRenderEvent event = new TileRenderEvent();
+          event.begin();
+          long tileStart = System.nanoTime();
+          long raysBefore = RayCounter.current();
+
+          try {
+            renderRegion(
+                tile,
+                downscaleFactor,
+                fullWidth,
+                fullHeight,
+                viewport,
+                quality,
+                (row, col, color) -> job.setPixel(row, col, ColorHelper.vector3DToRGB(color)),
+                guides);
+          } catch (RuntimeException | Error e) {
+            renderMetrics.tileAborted();
+            throw e;
+          }
+
+          long tileRays = RayCounter.current() - raysBefore;
+          renderMetrics.tileFinished(
+              tileRays, (long) tile.pixelCount() * quality.samplesPerPixel());
+          event.end();
+          if (event.shouldCommit()) {
+            recordTileEvent(event, tile, quality, tileRays);
+          }
+          if (timings != null) {
+            // Un tile de calibración que se vuelve a renderizar suma ambos tiempos
+            TileTiming previous = timings[tile.id()];
+            long nanos = System.nanoTime() - tileStart;
+            timings[tile.id()] =
+                previous == null
+                    ? new TileTiming(tile, nanos, tileRays)
+                    : new TileTiming(tile, previous.nanos() + nanos, previous.rays() + tileRays);
+          }
+
+          // Registrar el tile en el presupuesto lo deja disponible para que otro worker lo refine
+          qualityTracker.record(tile, quality);
+          if (budget != null) {
+            budget.recordTile(tile, quality);
+          }
+          return tileRays;
+        };
+
+    Runnable worker =
+        () -> {
+          try {
+            // Prepaso de cáusticas: los workers emiten los fotones y esperan el kd-tree
+            if (scene.usesCausticPhotons()) {
+              scene.getCausticPhotonMap();
+            }
+
+            // Prepaso: los workers llenan la caché de irradiancia en una malla dispersa de píxeles
+            int prepassIndex;
+            while (!job.isDone()
+                && (prepassIndex = nextPrepassTile.getAndIncrement()) < tiles.size()) {
+              prepassTile(tiles.get(prepassIndex), downscaleFactor, fullWidth, fullHeight, viewport);
+            }
+
+            int tileIndex;
+            // La cancelación se revisa entre tiles para no dejar tiles a medias
+            while (!job.isDone() && (tileIndex = nextTile.getAndIncrement()) < tiles.size()) {
+              Tile tile = tiles.get(tileIndex);
+
+              // Elegir la calidad del tile según el tiempo restante
+              RenderQuality quality =
+                  budget == null
+                      ? target
+                      : budget.nextQuality(tile, totalPixels - pixelsClaimed.get());
+              pixelsClaimed.addAndGet(tile.pixelCount());
+              renderMetrics.addQueuedTiles(-1);
+              long tileRays = tileRenderer.applyAsLong(tile, quality);
+
+              // El progreso se cuenta una vez por tile, no por píxel
+              job.addPixelsCompleted(tile.pixelCount());
+              progress.tileCompleted(tile.id(), tileRays);
+            }
+
+            // Los tiles de calibración se vuelven a renderizar si el tiempo alcanza
+            TimeBudget.Refinement refinement;
+            while (budget != null
+                && !job.isDone()
+                && (refinement = budget.nextRefinement()) != null) {
+              if (refinement.improves()) {
+                tileRenderer.applyAsLong(refinement.tile(), refinement.quality());
+              }
+            }
+          } catch (RuntimeException | Error e) {
+            job.fail(e);
+            throw e;
+          } finally {
+            if (activeWorkers.decrementAndGet() == 0) {
+              finish.run();
+            }
+          }
+        };
+
+    for (int t = 0; t < workers; t++) {
+      try {
+        executor.execute(worker);
+      } catch (RejectedExecutionException e) {
+        job.fail(e);
+        // Los workers que no se enviaron ya no van a terminar por sí mismos
+        if (activeWorkers.addAndGet(-(workers - t)) == 0) {
+          finish.run();
+        }
+        break;
+      }
+    }
+
+    return job;
+  }
+
+  /**
+   * Calcula la luz indirecta en cada {@value #PREPASS_STRIDE}-ésimo píxel de un tile, para que la
+   * caché de irradiancia tenga registros antes de que los workers empiecen a renderizar.
+   *
+   * <p>Los workers se reparten los tiles del prepaso igual que los del render. Los rayos del centro
+   * del píxel no consumen números aleatorios, así que el prepaso no cambia el muestreo de ningún
+   * píxel; los registros que faltan después se calculan durante el render.
+   */
+  private void prepassTile(
+      Tile tile, int blockSize, int fullWidth, int fullHeight, Viewport viewport) {
+    for (int row = tile.y(); row < tile.y() + tile.height(); row += PREPASS_STRIDE) {
+      for (int col = tile.x(); col < tile.x() + tile.width(); col += PREPASS_STRIDE) {
+        Ray ray = sampleRay(row, col, 0, blockSize, fullWidth, fullHeight, viewport);
+        Optional<Intersection> hit = scene.intersect(ray);
+        if (hit.isPresent()
+            && scene
+                .getMaterialStrategy(hit.get().getPrimitive().getMaterialId())
+                .filter(MaterialStrategy::usesIrradianceCache)
+                .isPresent()) {
+          scene.getIrradianceCache().irradiance(ray, hit.get(), scene);
+        }
+      }
+    }
+  }
+
+  private void recordTileEvent(
+      TileRenderEvent event, Tile tile, RenderQuality quality, long rays) {
+    event.tileId = tile.id();
+    event.x = tile.x();
+    event.y = tile.y();
+    event.width = tile.width();
+    event.height = tile.height();
+    event.samples = (long) tile.pixelCount() * quality.samplesPerPixel();
+    event.maxBounces = quality.maxBounces();
+    event.rays = rays;
+    event.integrator = integrator.name();
+    event.commit();
+  }
 
-    // Notificar inicio
-    notifyRenderStart(totalPixels);
-
-    // Usar AtomicIntegerArray para eliminar locks
-    AtomicIntegerArray pixelData = new AtomicIntegerArray(totalPixels);
-    AtomicInteger pixelsCompleted = new AtomicInteger(0);
-
-    Camera camera = scene.getCamera();
-    double aspectRatio = (double) width / height;
-    double fovRadians = Math.toRadians(camera.getFov());
-    double viewportHeight = 2.0 * Math.tan(fovRadians / 2.0);
-    double viewportWidth = viewportHeight * aspectRatio;
-
-    // Vectores de la base de la cámara
-    Vector3D w = camera.getDirection().negate(); // Apunta hacia atrás
-    Vector3D u = camera.getUp().cross(w).normalize(); // Derecha
-    Vector3D v = w.cross(u); // Arriba real
-
-    // Esquina superior izquierda del viewport
-    Vector3D horizontal = u.multiply(viewportWidth);
-    Vector3D vertical = v.multiply(viewportHeight);
-    Vector3D lowerLeft =
-        camera
-            .getPosition()
-            .subtract(horizontal.multiply(0.5))
-            .subtract(vertical.multiply(0.5))
-            .subtract(w);
-
-    // Dividir el trabajo en bloques de filas para cada thread
-    List<Thread> threadList = new ArrayList<>();
-    int rowsPerThread = (int) Math.ceil((double) height / threads);
-
-    for (int t = 0; t < threads; t++) {
-      final int startRow = t * rowsPerThread;
-      final int endRow = Math.min(startRow + rowsPerThread, height);
-
-      Thread thread =
-          new Thread(
-              () -> {
-                for (int row = startRow; row < endRow; row++) {
-                  for (int col = 0; col < width; col++) {
-                    // Calcular color del píxel (función pura)
-                    Vector3D color =
-                        calculatePixelColor(row, col, width, height, lowerLeft, horizontal, vertical, camera);
-
-                    // Escribir resultado (efecto secundario)
-                    int rgb = ColorHelper.vector3DToRGB(color);
-                    pixelData.set(row * width + col, rgb);
-
-                    // Notificar progreso (efecto secundario)
-                    notifyProgress(pixelsCompleted, totalPixels);
-                  }
-                }
-              });
-      threadList.add(thread);
+  /**
+   * Renderiza un solo tile a resolución y calidad completas.
+   *
+   * <p>Las filas del tile se reparten entre los hilos del ray tracer. Como el muestreo es
+   * determinista por píxel, el resultado es idéntico bit a bit a la misma región de {@link
+   * #render()}, sin importar en qué proceso se renderice el tile. La excepción son las escenas que
+   * usan la caché de irradiancia: sin el prepaso de {@link #render()}, la caché se llena con los
+   * tiles que renderiza cada proceso, por lo que {@code RenderCoordinator} las rechaza.
+   *
+   * @param tile región de la imagen a renderizar
+   * @return píxeles del tile en formato 0xRRGGBB, fila por fila
+   */
+  public int[] renderTile(Tile tile) {
+    int fullWidth = scene.getImageWidth();
+    int fullHeight = scene.getImageHeight();
+    if (tile == null
+        || tile.x() < 0
+        || tile.y() < 0
+        || tile.width() <= 0
+        || tile.height() <= 0
+        || tile.x() + tile.width() > fullWidth
+        || tile.y() + tile.height() > fullHeight) {
+      throw new IllegalArgumentException("Tile must lie inside the image");
+    }
+    Viewport viewport = new Viewport(scene);
+    RenderQuality quality = targetQuality();
+    int[] pixels = new int[tile.pixelCount()];
+    int lastRow = tile.y() + tile.height();
+    AtomicInteger nextRow = new AtomicInteger(tile.y());
+
+    List<Runnable> tasks = new ArrayList<>();
+    LongAdder rays = new LongAdder();
+    int rowGroups = (tile.height() + PACKET_SIZE - 1) / PACKET_SIZE;
+    for (int t = 0; t < Math.max(1, Math.min(threads, rowGroups)); t++) {
+      tasks.add(
+          () -> {
+            long raysBefore = RayCounter.current();
+            int row;
+            // Las filas se toman de PACKET_SIZE en PACKET_SIZE para trazar paquetes completos
+            while ((row = nextRow.getAndAdd(PACKET_SIZE)) < lastRow) {
+              Tile rows =
+                  new Tile(tile.id(), tile.x(), row, tile.width(), Math.min(PACKET_SIZE, lastRow - row));
+              renderRegion(
+                  rows,
+                  1,
+                  fullWidth,
+                  fullHeight,
+                  viewport,
+                  quality,
+                  (pixelRow, col, color) ->
+                      pixels[(pixelRow - tile.y()) * tile.width() + col - tile.x()] =
+                          ColorHelper.vector3DToRGB(color),
+                  null);
+            }
+            rays.add(RayCounter.current() - raysBefore);
+          });
     }
 
-    // Ejecutar y esperar a que terminen todos los threads
+    metrics.tileStarted();
     try {
-      runAndWaitForThreads(threadList);
+      runAndWait(tasks);
     } catch (InterruptedException e) {
+      metrics.tileAborted();
       Thread.currentThread().interrupt();
       throw new RuntimeException("Rendering interrupted", e);
+    } catch (RuntimeException | Error e) {
+      metrics.tileAborted();
+      throw e;
     }
+    metrics.tileFinished(rays.sum(), (long) tile.pixelCount() * quality.samplesPerPixel());
+    return pixels;
+  }
 
-    // Construir imagen desde AtomicIntegerArray
-    Image image = new Image(width, height);
-    for (int row = 0; row < height; row++) {
-      for (int col = 0; col < width; col++) {
-        int rgb = pixelData.get(row * width + col);
-        image.setValue(row, col, rgb);
-      }
+  /**
+   * Establece un límite de tiempo para los siguientes renders.
+   *
+   * <p>Con un límite, el renderizador mide su rendimiento al inicio del cuadro y ajusta las
+   * muestras por píxel y los rebotes de cada tile para terminar a tiempo.
+   *
+   * @param timeBudget límite de tiempo, o {@code null} para renderizar siempre a calidad completa
+   */
+  public void setTimeBudget(Duration timeBudget) {
+    if (timeBudget != null && (timeBudget.isNegative() || timeBudget.isZero())) {
+      throw new IllegalArgumentException("Time budget must be positive");
     }
+    this.timeBudget = timeBudget;
+  }
 
-    // Notificar finalización
-    notifyRenderComplete();
+  /**
+   * Activa o desactiva el trazado en paquetes de los rayos primarios.
+   *
+   * <p>Con paquetes, la primera muestra de cada bloque de {@value #PACKET_SIZE}x{@value
+   * #PACKET_SIZE} píxeles se intersecta con {@link Scene#intersect(RayPacket)}. La imagen es
+   * idéntica en ambos modos; está activado por defecto.
+   *
+   * @param packetTracing {@code true} para trazar los rayos primarios en paquetes
+   */
+  public void setPacketTracing(boolean packetTracing) {
+    this.packetTracing = packetTracing;
+  }
 
-    return image;
+  /**
+   * Elige cómo se recorre el árbol de rayos de cada píxel.
+   *
+   * <p>Con {@link Integrator#WAVEFRONT} cada tile se renderiza como un frente de onda con {@link
+   * WavefrontIntegrator}, y con {@link Integrator#PATH} por etapas con {@link PathIntegrator}; en
+   * ambos casos el trazado en paquetes no aplica.
+   *
+   * @param integrator integrador a usar; {@link Integrator#RECURSIVE} por defecto
+   */
+  public void setIntegrator(Integrator integrator) {
+    if (integrator == null) {
+      throw new IllegalArgumentException("Integrator cannot be null");
+    }
+    this.integrator = integrator;
+  }
+
+  /**
+   * Activa la medición del tiempo de pared y de los rayos de cada tile en los siguientes renders.
+   *
+   * <p>El resultado se consulta con {@link #getLastRenderProfile()}. Los rayos incluyen los de
+   * sombra y los secundarios que trazan los materiales.
+   *
+   * @param profiling {@code true} para medir cada tile
+   */
+  public void setProfiling(boolean profiling) {
+    this.profiling = profiling;
+  }
+
+  /**
+   * Activa el filtro de ruido en los siguientes renders.
+   *
+   * <p>Con el filtro, el render guarda la profundidad, la normal y el albedo del primer impacto de
+   * cada píxel, y al terminar el último tile los hilos del ray tracer filtran la imagen por tiles
+   * con {@link EdgeAwareDenoiser}. Así unas cuantas muestras por píxel bastan para sombras suaves
+   * limpias. El integrador recursivo reutiliza el rayo de la primera muestra; los demás trazan un
+   * rayo más por píxel.
+   *
+   * @param denoising {@code true} para filtrar el ruido de la imagen final
+   */
+  public void setDenoising(boolean denoising) {
+    this.denoising = denoising;
+  }
+
+  /**
+   * Activa la captura de buffers auxiliares (profundidad, normal, albedo e identificadores de
+   * primitiva y material) en los siguientes renders.
+   *
+   * <p>Se llenan con el impacto del rayo central de cada píxel, el mismo que usa el filtro de ruido,
+   * y se consultan con {@link #getLastAuxiliaryBuffers()}.
+   *
+   * @param auxiliaryOutputs {@code true} para guardar los buffers del render
+   */
+  public void setAuxiliaryOutputs(boolean auxiliaryOutputs) {
+    this.auxiliaryOutputs = auxiliaryOutputs;
+  }
+
+  /**
+   * Cambia el registro al que se reportan rayos, muestras y tiles.
+   *
+   * @param metrics registro de métricas; {@link RenderMetrics#global()} por defecto
+   */
+  public void setMetrics(RenderMetrics metrics) {
+    if (metrics == null) {
+      throw new IllegalArgumentException("Metrics cannot be null");
+    }
+    this.metrics = metrics;
+  }
+
+  /**
+   * Obtiene el costo por tile del último render terminado con la medición activada.
+   *
+   * @return perfil del último render medido, o vacío si no ha terminado ninguno
+   */
+  public Optional<RenderProfile> getLastRenderProfile() {
+    return Optional.ofNullable(lastRenderProfile);
+  }
+
+  /**
+   * Obtiene los buffers auxiliares del último render terminado con la captura activada.
+   *
+   * @return buffers del último render, o vacío si no ha terminado ninguno
+   */
+  public Optional<AuxiliaryBuffers> getLastAuxiliaryBuffers() {
+    return Optional.ofNullable(lastAuxiliaryBuffers);
+  }
+
+  /**
+   * Obtiene las estadísticas del último render terminado.
+   *
+   * @return Optional con las estadísticas, vacío si aún no se ha renderizado
+   */
+  public Optional<RenderStats> getLastRenderStats() {
+    return Optional.ofNullable(lastRenderStats);
+  }
+
+  /** Calidad solicitada por la escena. */
+  private RenderQuality targetQuality() {
+    return new RenderQuality(
+        Math.max(1, scene.getSamplesPerPixel()), Math.max(1, scene.getMaxBounces()));
   }
 
   /**
@@ -195,7 +664,11 @@ public final class RayTracer extends MultiThreadedOperation {
       return scene.getBackgroundColor();
     }
 
-    Optional<Intersection> intersection = scene.intersect(ray);
+    return shade(scene.intersect(ray), ray, depth);
+  }
+
+  /** Color de un rayo cuya intersección ya se conoce. */
+  private Vector3D shade(Optional<Intersection> intersection, Ray ray, int depth) {
     if (intersection.isEmpty()) {
       return scene.getBackgroundColor();
     }
@@ -203,61 +676,254 @@ public final class RayTracer extends MultiThreadedOperation {
     return shader.shade(intersection.get(), ray, depth);
   }
 
+  /**
+   * Renderiza los píxeles de una región con el integrador elegido; con el recursivo, en paquetes de
+   * {@value #PACKET_SIZE}x{@value #PACKET_SIZE} si el trazado en paquetes está activado.
+   *
+   * <p>Sólo la primera muestra de cada píxel pasa por el paquete: su rayo atraviesa el centro del
+   * píxel y no consume números aleatorios, así que intersectarla antes no altera la secuencia de
+   * {@link SampleRandom} del píxel. El sombreado y las demás muestras siguen siendo por píxel.
+   *
+   * <p>Con {@code guides}, el impacto de ese mismo rayo llena los buffers auxiliares de la región.
+   */
+  private void renderRegion(
+      Tile region,
+      int blockSize,
+      int fullWidth,
+      int fullHeight,
+      Viewport viewport,
+      RenderQuality quality,
+      PixelSink sink,
+      AuxiliaryBuffers guides) {
+    int lastRow = region.y() + region.height();
+    int lastCol = region.x() + region.width();
+    if (integrator == Integrator.WAVEFRONT || integrator == Integrator.PATH) {
+      if (integrator == Integrator.WAVEFRONT) {
+        wavefront.render(region, blockSize, fullWidth, fullHeight, viewport, quality, sink);
+      } else {
+        pathIntegrator.render(region, blockSize, fullWidth, fullHeight, viewport, quality, sink);
+      }
+      if (guides != null) {
+        // Estos integradores no exponen sus impactos primarios: se trazan de nuevo
+        for (int row = region.y(); row < lastRow; row++) {
+          for (int col = region.x(); col < lastCol; col++) {
+            Ray ray = sampleRay(row, col, 0, blockSize, fullWidth, fullHeight, viewport);
+            captureGuides(guides, row, col, ray, scene.intersect(ray));
+          }
+        }
+      }
+      return;
+    }
+    // Sin rebotes traceRay no intersecta nada; no hay nada que adelantar
+    if (!packetTracing || scene.getMaxBounces() <= 0) {
+      for (int row = region.y(); row < lastRow; row++) {
+        for (int col = region.x(); col < lastCol; col++) {
+          Optional<Intersection> primaryHit = null;
+          if (guides != null) {
+            // El rayo central no consume números aleatorios: intersectarlo antes no cambia el color
+            Ray ray = sampleRay(row, col, 0, blockSize, fullWidth, fullHeight, viewport);
+            if (scene.getMaxBounces() > 0) {
+              primaryHit = scene.intersect(ray);
+            }
+            captureGuides(
+                guides, row, col, ray, primaryHit == null ? Optional.empty() : primaryHit);
+          }
+          // Calcular color del píxel (función pura)
+          sink.accept(
+              row,
+              col,
+              calculatePixelColor(
+                  row, col, blockSize, fullWidth, fullHeight, viewport, quality, primaryHit));
+        }
+      }
+      return;
+    }
+
+    List<Ray> rays = new ArrayList<>(RayPacket.MAX_SIZE);
+    for (int packetRow = region.y(); packetRow < lastRow; packetRow += PACKET_SIZE) {
+      int rows = Math.min(PACKET_SIZE, lastRow - packetRow);
+      for (int packetCol = region.x(); packetCol < lastCol; packetCol += PACKET_SIZE) {
+        int cols = Math.min(PACKET_SIZE, lastCol - packetCol);
+        rays.clear();
+        for (int row = packetRow; row < packetRow + rows; row++) {
+          for (int col = packetCol; col < packetCol + cols; col++) {
+            rays.add(sampleRay(row, col, 0, blockSize, fullWidth, fullHeight, viewport));
+          }
+        }
+        List<Optional<Intersection>> hits = scene.intersect(new RayPacket(rays));
+        for (int i = 0; i < hits.size(); i++) {
+          int row = packetRow + i / cols;
+          int col = packetCol + i % cols;
+          if (guides != null) {
+            captureGuides(guides, row, col, rays.get(i), hits.get(i));
+          }
+          sink.accept(
+              row,
+              col,
+              calculatePixelColor(
+                  row, col, blockSize, fullWidth, fullHeight, viewport, quality, hits.get(i)));
+        }
+      }
+    }
+  }
+
+  /**
+   * Guarda la profundidad, la normal del lado de la cámara, el albedo y los identificadores del
+   * impacto de un píxel.
+   */
+  private void captureGuides(
+      AuxiliaryBuffers guides, int row, int col, Ray ray, Optional<Intersection> hit) {
+    if (hit.isEmpty()) {
+      guides.setBackground(row, col, scene.getBackgroundColor());
+      return;
+    }
+    Intersection intersection = hit.get();
+    Vector3D normal = intersection.getNormal();
+    if (normal.dot(ray.getDirection()) > 0) {
+      normal = normal.negate();
+    }
+    String material = intersection.getPrimitive().getMaterialId();
+    Vector3D albedo =
+        scene
+            .getMaterialStrategy(material)
+            .map(MaterialStrategy::getColor)
+            .orElse(new Vector3D(0, 0, 0));
+    guides.setSurface(
+        row,
+        col,
+        intersection.getDistance(),
+        normal,
+        albedo,
+        primitiveId(intersection),
+        material == null ? -1 : materialIds.getOrDefault(material, -1));
+  }
+
+  /** Identificador de la parte golpeada, o -1 si la primitiva no es de la escena. */
+  private int primitiveId(Intersection intersection) {
+    Integer first = primitiveIds.get(intersection.getPrimitive());
+    return first == null ? -1 : first + intersection.getPart();
+  }
+
+  /**
+   * Rayo de una muestra de un píxel.
+   *
+   * <p>La primera muestra pasa por el centro del bloque que cubre el píxel; las demás por un punto
+   * aleatorio del bloque, que consume dos números de {@link SampleRandom}.
+   */
+  static Ray sampleRay(
+      int row,
+      int col,
+      int sample,
+      int blockSize,
+      int fullWidth,
+      int fullHeight,
+      Viewport viewport) {
+    int firstCol = col * blockSize;
+    int firstRow = row * blockSize;
+    int blockWidth = Math.min(blockSize, fullWidth - firstCol);
+    int blockHeight = Math.min(blockSize, fullHeight - firstRow);
+    double uOffset =
+        (firstCol + (sample > 0 ? SampleRandom.nextDouble() : 0.5) * blockWidth) / fullWidth;
+    double vOffset =
+        (firstRow + (sample > 0 ? SampleRandom.nextDouble() : 0.5) * blockHeight) / fullHeight;
+    return viewport.rayThrough(uOffset, vOffset);
+  }
+
   /**
    * Calcula el color de un píxel mediante muestreo Monte Carlo.
    *
    * <p>Esta función es PURA: no modifica estado y siempre produce el mismo resultado para los
-   * mismos parámetros (salvo por el componente aleatorio del antialiasing).
+   * mismos parámetros. Los números aleatorios del antialiasing y del sombreado salen de {@link
+   * SampleRandom}, que se reinicia con las coordenadas del píxel.
    *
    * @param row fila del píxel
    * @param col columna del píxel
-   * @param width ancho de la imagen
-   * @param height altura de la imagen
-   * @param lowerLeft esquina inferior izquierda del viewport
-   * @param horizontal vector horizontal del viewport
-   * @param vertical vector vertical del viewport
-   * @param camera cámara de la escena
+   * @param blockSize lado en píxeles de resolución completa que cubre este píxel
+   * @param fullWidth ancho de la imagen a resolución completa
+   * @param fullHeight altura de la imagen a resolución completa
+   * @param viewport plano de proyección de la cámara
+   * @param quality muestras por píxel y rebotes a usar
+   * @param primaryHit intersección ya calculada del rayo de la primera muestra, o {@code null}
+   *     para trazarlo aquí
    * @return color final promediado de las muestras
    */
   private Vector3D calculatePixelColor(
       int row,
       int col,
-      int width,
-      int height,
-      Vector3D lowerLeft,
-      Vector3D horizontal,
-      Vector3D vertical,
-      Camera camera) {
+      int blockSize,
+      int fullWidth,
+      int fullHeight,
+      Viewport viewport,
+      RenderQuality quality,
+      Optional<Intersection> primaryHit) {
     Vector3D color = new Vector3D(0, 0, 0);
 
-    // Múltiples muestras por píxel (antialiasing básico)
-    for (int s = 0; s < scene.getSamplesPerPixel(); s++) {
-      double uOffset = (col + (s > 0 ? Math.random() : 0.5)) / width;
-      double vOffset = (row + (s > 0 ? Math.random() : 0.5)) / height;
+    // Iniciar la recursión más adentro reduce los rebotes sin tocar los materiales
+    int initialDepth = Math.max(0, scene.getMaxBounces() - quality.maxBounces());
 
-      Vector3D pixelCenter =
-          lowerLeft.add(horizontal.multiply(uOffset)).add(vertical.multiply(vOffset));
+    SampleRandom.seedPixel(SAMPLE_SEED, row, col);
 
-      Ray ray = new Ray(camera.getPosition(), pixelCenter.subtract(camera.getPosition()));
-      color = color.add(traceRay(ray, 0));
+    // Múltiples muestras por píxel (antialiasing básico)
+    for (int s = 0; s < quality.samplesPerPixel(); s++) {
+      Ray ray = sampleRay(row, col, s, blockSize, fullWidth, fullHeight, viewport);
+      if (s == 0 && primaryHit != null) {
+        color = color.add(shade(primaryHit, ray, initialDepth));
+      } else {
+        color = color.add(traceRay(ray, initialDepth));
+      }
     }
 
     // Promediar las muestras
-    return color.multiply(1.0 / scene.getSamplesPerPixel());
+    return color.multiply(1.0 / quality.samplesPerPixel());
   }
 
   /**
-   * Notifica el progreso del renderizado de forma thread-safe.
-   *
-   * <p>EFECTO SECUNDARIO: Incrementa contador atómico y notifica a observers.
+   * Guarda la calidad final de cada tile para reportarla en las estadísticas.
    *
-   * @param pixelsCompleted contador atómico de píxeles completados
-   * @param totalPixels total de píxeles a renderizar
+   * <p>Cada worker escribe sólo los tiles que toma; un tile de calibración que se vuelve a
+   * renderizar reemplaza su calidad. {@link #toStats} se lee después del último worker.
    */
-  private void notifyProgress(AtomicInteger pixelsCompleted, int totalPixels) {
-    int completed = pixelsCompleted.incrementAndGet();
-    if (completed % PROGRESS_UPDATE_INTERVAL == 0 || completed == totalPixels) {
-      notifyProgressUpdate(completed, totalPixels);
+  private static final class QualityTracker {
+    private final RenderQuality target;
+    private final RenderQuality[] qualities;
+
+    QualityTracker(RenderQuality target, int tiles) {
+      this.target = target;
+      this.qualities = new RenderQuality[tiles];
+    }
+
+    void record(Tile tile, RenderQuality quality) {
+      qualities[tile.id()] = quality;
+    }
+
+    RenderStats toStats(Duration elapsed, Duration timeBudget) {
+      RenderQuality lowest = null;
+      RenderQuality highest = null;
+      int tiles = 0;
+      int degradedTiles = 0;
+      for (RenderQuality quality : qualities) {
+        if (quality == null) {
+          continue;
+        }
+        tiles++;
+        if (!quality.equals(target)) {
+          degradedTiles++;
+        }
+        if (lowest == null || quality.cost() < lowest.cost()) {
+          lowest = quality;
+        }
+        if (highest == null || quality.cost() > highest.cost()) {
+          highest = quality;
+        }
+      }
+      return new RenderStats(
+          elapsed,
+          tiles,
+          target,
+          lowest == null ? target : lowest,
+          highest == null ? target : highest,
+          degradedTiles,
+          timeBudget);
     }
   }
 }
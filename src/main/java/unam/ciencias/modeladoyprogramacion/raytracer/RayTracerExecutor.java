@@ -3,9 +3,20 @@ package unam.ciencias.modeladoyprogramacion.raytracer;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
 import javax.imageio.ImageIO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import unam.ciencias.modeladoyprogramacion.raytracer.distributed.RenderCoordinator;
+import unam.ciencias.modeladoyprogramacion.raytracer.metrics.MetricsReporter;
+import unam.ciencias.modeladoyprogramacion.raytracer.metrics.RenderMetrics;
+import unam.ciencias.modeladoyprogramacion.raytracer.observers.ConsoleProgressListener;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Primitive;
 
 /**
  * Executor para ray tracing desde la línea de comandos.
@@ -50,24 +61,73 @@ public final class RayTracerExecutor implements CLIOperationExecutor {
       throw new IllegalArgumentException("Output file is required for ray-tracer operation");
     }
 
-    try {
+    try (var ignored = MetricsReporter.exportGlobal(options.metrics())) {
       // Carga de la escena desde el archivo JSON
       logger.info("Loading scene from: {}", inputFile);
       SceneLoader loader = new SceneLoader();
       Scene scene = loader.loadFromFile(inputFile);
 
-      // Renderizado de la imagen con el número de hilos especificado
-      logger.info(
-          "Rendering image ({}x{}) with {} threads...",
-          scene.getImageWidth(),
-          scene.getImageHeight(),
-          options.threads());
+      Image image;
+      RenderProfile profile = null;
+      AuxiliaryBuffers auxiliaryBuffers = null;
+      if (options.preview() > 0) {
+        // Vista previa a resolución reducida, escalada al tamaño final
+        logger.info(
+            "Rendering 1/{} preview ({}x{}) with {} threads...",
+            options.preview(),
+            scene.getImageWidth(),
+            scene.getImageHeight(),
+            options.threads());
 
-      RayTracer rayTracer = new RayTracer(scene, options.threads());
-      Image image = rayTracer.render();
+        image = new PreviewRenderer(scene, options.threads(), options.preview()).render();
+      } else if (options.workers() != null) {
+        // Render distribuido: la escena se envía tal cual a los workers
+        logger.info(
+            "Rendering image ({}x{}) on workers {}...",
+            scene.getImageWidth(),
+            scene.getImageHeight(),
+            options.workers());
+
+        RenderCoordinator coordinator =
+            new RenderCoordinator(
+                Files.readString(Path.of(inputFile)),
+                RenderCoordinator.parseWorkers(options.workers()));
+        image = coordinator.render();
+      } else {
+        // Renderizado de la imagen con el número de hilos especificado
+        logger.info(
+            "Rendering image ({}x{}) with {} threads...",
+            scene.getImageWidth(),
+            scene.getImageHeight(),
+            options.threads());
+
+        RayTracer rayTracer = new RayTracer(scene, options.threads());
+        if (options.integrator() != null) {
+          logger.info("Integrator: {}", options.integrator());
+          rayTracer.setIntegrator(Integrator.valueOf(options.integrator().toUpperCase(Locale.ROOT)));
+        }
+        if (options.timeBudget() > 0) {
+          logger.info("Time budget: {}s", options.timeBudget());
+          rayTracer.setTimeBudget(Duration.ofNanos((long) (options.timeBudget() * 1e9)));
+        }
+        rayTracer.setProfiling(options.heatmap());
+        if (options.denoise()) {
+          logger.info("Denoising enabled");
+          rayTracer.setDenoising(true);
+        }
+        rayTracer.setAuxiliaryOutputs(options.aov());
+        rayTracer.addProgressListener(new ConsoleProgressListener());
+        image = rayTracer.render();
+        rayTracer.getLastRenderStats().ifPresent(stats -> logger.info("Render stats: {}", stats));
+        profile = rayTracer.getLastRenderProfile().orElse(null);
+        auxiliaryBuffers = rayTracer.getLastAuxiliaryBuffers().orElse(null);
+      }
 
       // Guardado de la imagen renderizada en el archivo de salida
       logger.info("Saving image to: {}", outputFile);
+      ImageEncodeEvent encodeEvent = new ImageEncodeEvent();
+      encodeEvent.begin();
+      long encodeStart = System.nanoTime();
       BufferedImage bufferedImage = Image.buildBufferedImage(image);
 
       File outputImageFile = new File(outputFile);
@@ -76,6 +136,21 @@ public final class RayTracerExecutor implements CLIOperationExecutor {
         parentDir.mkdirs();
       }
       ImageIO.write(bufferedImage, "PNG", outputImageFile);
+      RenderMetrics.global().recordEncode(Duration.ofNanos(System.nanoTime() - encodeStart));
+      encodeEvent.end();
+      if (encodeEvent.shouldCommit()) {
+        encodeEvent.file = outputImageFile.getPath();
+        encodeEvent.width = bufferedImage.getWidth();
+        encodeEvent.height = bufferedImage.getHeight();
+        encodeEvent.bytes = outputImageFile.length();
+        encodeEvent.commit();
+      }
+      if (profile != null) {
+        writeProfile(profile, outputImageFile);
+      }
+      if (auxiliaryBuffers != null) {
+        writeAuxiliaryOutputs(auxiliaryBuffers, scene, outputImageFile);
+      }
 
       logger.info("Rendering complete!");
 
@@ -85,4 +160,87 @@ public final class RayTracerExecutor implements CLIOperationExecutor {
       System.exit(1);
     }
   }
+
+  /**
+   * Escribe el mapa de calor y el CSV del perfil junto a la imagen, como {@code
+   * <nombre>_heatmap.png} y {@code <nombre>_tiles.csv}.
+   *
+   * @param profile costo por tile del render
+   * @param outputImageFile imagen renderizada
+   * @throws IOException si falla la escritura
+   */
+  private static void writeProfile(RenderProfile profile, File outputImageFile)
+      throws IOException {
+    String baseName = baseName(outputImageFile);
+
+    File heatmapFile = new File(outputImageFile.getParentFile(), baseName + "_heatmap.png");
+    logger.info("Saving render-time heatmap to: {}", heatmapFile);
+    ImageIO.write(Image.buildBufferedImage(profile.toHeatmap()), "PNG", heatmapFile);
+
+    Path csvFile = new File(outputImageFile.getParentFile(), baseName + "_tiles.csv").toPath();
+    logger.info("Saving per-tile timings to: {}", csvFile);
+    try (Writer writer = Files.newBufferedWriter(csvFile)) {
+      profile.writeCsv(writer);
+    }
+  }
+
+  /**
+   * Escribe los buffers auxiliares junto a la imagen como {@code <nombre>_depth.png}, {@code
+   * <nombre>_normal.png}, {@code <nombre>_albedo.png}, {@code <nombre>_primitive.png} y {@code
+   * <nombre>_material.png}, más {@code <nombre>_ids.csv} con el nombre de cada identificador.
+   *
+   * @param buffers buffers auxiliares del render
+   * @param scene escena renderizada
+   * @param outputImageFile imagen renderizada
+   * @throws IOException si falla la escritura
+   */
+  private static void writeAuxiliaryOutputs(
+      AuxiliaryBuffers buffers, Scene scene, File outputImageFile) throws IOException {
+    String baseName = baseName(outputImageFile);
+    File directory = outputImageFile.getParentFile();
+    logger.info("Saving auxiliary outputs to: {}", new File(directory, baseName + "_*.png"));
+    ImageIO.write(
+        Image.buildBufferedImage(buffers.toDepthImage()),
+        "PNG",
+        new File(directory, baseName + "_depth.png"));
+    ImageIO.write(
+        Image.buildBufferedImage(buffers.toNormalImage()),
+        "PNG",
+        new File(directory, baseName + "_normal.png"));
+    ImageIO.write(
+        Image.buildBufferedImage(buffers.toAlbedoImage()),
+        "PNG",
+        new File(directory, baseName + "_albedo.png"));
+    ImageIO.write(
+        Image.buildBufferedImage(buffers.toPrimitiveIdImage()),
+        "PNG",
+        new File(directory, baseName + "_primitive.png"));
+    ImageIO.write(
+        Image.buildBufferedImage(buffers.toMaterialIdImage()),
+        "PNG",
+        new File(directory, baseName + "_material.png"));
+
+    try (Writer writer =
+        Files.newBufferedWriter(new File(directory, baseName + "_ids.csv").toPath())) {
+      writer.write("kind,id,name\n");
+      // Una fila por objeto original, con la numeración de RayTracer: por primitiva y por parte
+      int id = 0;
+      for (Primitive primitive : scene.getPrimitives()) {
+        for (int part = 0; part < primitive.getPartCount(); part++, id++) {
+          writer.write("primitive," + id + "," + primitive.getPartName(part) + "\n");
+        }
+      }
+      List<String> materials = scene.getMaterialIds();
+      for (int i = 0; i < materials.size(); i++) {
+        writer.write("material," + i + "," + materials.get(i) + "\n");
+      }
+    }
+  }
+
+  /** Nombre del archivo sin extensión. */
+  private static String baseName(File file) {
+    String name = file.getName();
+    int extension = name.lastIndexOf('.');
+    return extension > 0 ? name.substring(0, extension) : name;
+  }
 }
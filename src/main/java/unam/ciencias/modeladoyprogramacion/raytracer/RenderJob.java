@@ -0,0 +1,192 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Render en curso iniciado con {@link RayTracer#renderAsync}.
+ *
+ * <p>Permite consultar el progreso, obtener la imagen parcial y cancelar el render sin dedicar un
+ * hilo bloqueado a esperarlo. La cancelación es cooperativa: los workers terminan el tile que
+ * están renderizando y ya no toman tiles nuevos.
+ *
+ * <p>El resultado se expone como {@link CompletableFuture}, por lo que se pueden encadenar
+ * callbacks con {@code thenAccept}, {@code whenComplete}, etc. Cancelar el future tiene el mismo
+ * efecto que {@link #cancel()}.
+ *
+ * @author Cristopher Carrada
+ */
+public final class RenderJob {
+  private final int width;
+  private final int height;
+  private final AtomicIntegerArray pixelData;
+  private final AtomicInteger pixelsCompleted;
+  private final CompletableFuture<Image> future;
+  private final CompletableFuture<Void> listenersNotified;
+
+  /**
+   * Construye un job para una imagen del tamaño indicado.
+   *
+   * @param width ancho de la imagen a renderizar
+   * @param height altura de la imagen a renderizar
+   */
+  RenderJob(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.pixelData = new AtomicIntegerArray(width * height);
+    this.pixelsCompleted = new AtomicInteger(0);
+    this.future = new CompletableFuture<>();
+    this.listenersNotified = new CompletableFuture<>();
+  }
+
+  /**
+   * Obtiene el future que se completa con la imagen final.
+   *
+   * @return future del render; se cancela si el job se cancela
+   */
+  public CompletableFuture<Image> future() {
+    return future;
+  }
+
+  /**
+   * Solicita la cancelación del render.
+   *
+   * <p>Los workers se detienen en el siguiente límite de tile.
+   *
+   * @return {@code true} si el render se canceló, {@code false} si ya había terminado
+   */
+  public boolean cancel() {
+    return future.cancel(false);
+  }
+
+  /**
+   * Indica si el render fue cancelado.
+   *
+   * @return {@code true} si se canceló antes de terminar
+   */
+  public boolean isCancelled() {
+    return future.isCancelled();
+  }
+
+  /**
+   * Indica si el render terminó (normalmente, con error o por cancelación).
+   *
+   * @return {@code true} si el job ya no está en curso
+   */
+  public boolean isDone() {
+    return future.isDone();
+  }
+
+  /**
+   * Espera a que el render termine.
+   *
+   * @return imagen final
+   * @throws java.util.concurrent.CancellationException si el render fue cancelado
+   * @throws java.util.concurrent.CompletionException si el render falló
+   */
+  public Image join() {
+    return future.join();
+  }
+
+  /**
+   * Obtiene el número de píxeles ya renderizados.
+   *
+   * <p>El conteo avanza al terminar cada tile, no en cada píxel.
+   *
+   * @return píxeles completados
+   */
+  public int getPixelsCompleted() {
+    return pixelsCompleted.get();
+  }
+
+  /**
+   * Obtiene el número total de píxeles del render.
+   *
+   * @return total de píxeles
+   */
+  public int getTotalPixels() {
+    return pixelData.length();
+  }
+
+  /**
+   * Obtiene la fracción del render completada.
+   *
+   * @return progreso en el rango [0, 1]
+   */
+  public double getProgress() {
+    return (double) getPixelsCompleted() / getTotalPixels();
+  }
+
+  /**
+   * Copia el estado actual de la imagen.
+   *
+   * <p>Los píxeles que aún no se renderizan aparecen en negro. Se puede invocar en cualquier
+   * momento, incluso después de cancelar el render.
+   *
+   * @return imagen parcial con las dimensiones finales
+   */
+  public Image getPartialImage() {
+    int[] pixels = new int[pixelData.length()];
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] = pixelData.get(i);
+    }
+    return Image.fromPixels(width, height, pixels);
+  }
+
+  /**
+   * Escribe un píxel renderizado.
+   *
+   * @param row fila del píxel
+   * @param col columna del píxel
+   * @param rgb color en formato 0xRRGGBB
+   */
+  void setPixel(int row, int col, int rgb) {
+    pixelData.set(row * width + col, rgb);
+  }
+
+  /**
+   * Suma al progreso los píxeles de un tile terminado.
+   *
+   * <p>Los workers cuentan por tile para no competir por el contador en cada píxel.
+   *
+   * @param pixels píxeles escritos en el tile
+   * @return número de píxeles completados, incluyendo éstos
+   */
+  int addPixelsCompleted(int pixels) {
+    return pixelsCompleted.addAndGet(pixels);
+  }
+
+  /**
+   * Future que se completa cuando los listeners de progreso recibieron la última notificación del
+   * render.
+   *
+   * @return future de la entrega a los listeners
+   */
+  CompletableFuture<Void> listenersNotified() {
+    return listenersNotified;
+  }
+
+  /** Completa el job con la imagen renderizada, si no fue cancelado. */
+  void complete() {
+    future.complete(getPartialImage());
+  }
+
+  /**
+   * Completa el job con una imagen ya procesada, si no fue cancelado.
+   *
+   * @param image imagen final del render
+   */
+  void complete(Image image) {
+    future.complete(image);
+  }
+
+  /**
+   * Termina el job con un error.
+   *
+   * @param error causa del fallo
+   */
+  void fail(Throwable error) {
+    future.completeExceptionally(error);
+  }
+}
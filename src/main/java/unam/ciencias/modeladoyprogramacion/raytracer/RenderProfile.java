@@ -0,0 +1,126 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tiempo y rayos de cada tile de un render, para ubicar las regiones caras de una escena.
+ *
+ * @author Cristopher Carrada
+ */
+public final class RenderProfile {
+  // Paleta del mapa de calor, de frío a caliente
+  private static final Vector3D[] PALETTE = {
+    new Vector3D(0, 0, 0),
+    new Vector3D(0, 0, 1),
+    new Vector3D(0, 1, 1),
+    new Vector3D(0, 1, 0),
+    new Vector3D(1, 1, 0),
+    new Vector3D(1, 0, 0),
+    new Vector3D(1, 1, 1)
+  };
+
+  private final int width;
+  private final int height;
+  private final List<TileTiming> tiles;
+
+  /**
+   * Construye el perfil de un render.
+   *
+   * @param width ancho de la imagen renderizada
+   * @param height altura de la imagen renderizada
+   * @param tiles costo de cada tile renderizado
+   */
+  public RenderProfile(int width, int height, List<TileTiming> tiles) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Image size must be positive");
+    }
+    if (tiles == null) {
+      throw new IllegalArgumentException("Tiles cannot be null");
+    }
+    this.width = width;
+    this.height = height;
+    this.tiles =
+        tiles.stream().sorted(Comparator.comparingInt(timing -> timing.tile().id())).toList();
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Obtiene el costo de cada tile.
+   *
+   * @return tiles ordenados por id
+   */
+  public List<TileTiming> getTiles() {
+    return tiles;
+  }
+
+  /**
+   * Pinta cada tile con un color falso según su tiempo por píxel.
+   *
+   * <p>La escala es lineal de cero (negro) al tile más lento (blanco), pasando por azul, cian,
+   * verde, amarillo y rojo.
+   *
+   * @return imagen del tamaño del render
+   */
+  public Image toHeatmap() {
+    double slowest = 0;
+    for (TileTiming timing : tiles) {
+      slowest = Math.max(slowest, timing.nanosPerPixel());
+    }
+    int[] pixels = new int[width * height];
+    for (TileTiming timing : tiles) {
+      double value = slowest == 0 ? 0 : timing.nanosPerPixel() / slowest;
+      int rgb = ColorHelper.vector3DToRGB(falseColor(value));
+      Tile tile = timing.tile();
+      for (int row = tile.y(); row < tile.y() + tile.height(); row++) {
+        Arrays.fill(pixels, row * width + tile.x(), row * width + tile.x() + tile.width(), rgb);
+      }
+    }
+    return Image.fromPixels(width, height, pixels);
+  }
+
+  /**
+   * Escribe el perfil como CSV, un tile por línea.
+   *
+   * @param writer destino del CSV; no se cierra
+   * @throws IOException si falla la escritura
+   */
+  public void writeCsv(Writer writer) throws IOException {
+    writer.write("tile,x,y,width,height,millis,rays,nanos_per_pixel,rays_per_pixel\n");
+    for (TileTiming timing : tiles) {
+      Tile tile = timing.tile();
+      writer.write(
+          String.format(
+              Locale.ROOT,
+              "%d,%d,%d,%d,%d,%.3f,%d,%.1f,%.2f\n",
+              tile.id(),
+              tile.x(),
+              tile.y(),
+              tile.width(),
+              tile.height(),
+              timing.nanos() / 1e6,
+              timing.rays(),
+              timing.nanosPerPixel(),
+              timing.raysPerPixel()));
+    }
+  }
+
+  /** Interpola la paleta en {@code value} dentro de [0, 1]. */
+  private static Vector3D falseColor(double value) {
+    double position = Math.max(0, Math.min(1, value)) * (PALETTE.length - 1);
+    int index = Math.min((int) position, PALETTE.length - 2);
+    double t = position - index;
+    return PALETTE[index].multiply(1 - t).add(PALETTE[index + 1].multiply(t));
+  }
+}
@@ -0,0 +1,39 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+/**
+ * Ajustes de calidad con los que se renderiza un tile.
+ *
+ * <p>Utiliza Java 21 record para inmutabilidad automática y métodos generados (equals, hashCode,
+ * toString).
+ *
+ * @param samplesPerPixel muestras por píxel (mínimo 1)
+ * @param maxBounces niveles de recursión permitidos, incluyendo el impacto primario (mínimo 1)
+ * @author Cristopher Carrada
+ */
+public record RenderQuality(int samplesPerPixel, int maxBounces) {
+  /** Calidad más baja posible: una muestra y solo el impacto primario. */
+  public static final RenderQuality MINIMUM = new RenderQuality(1, 1);
+
+  public RenderQuality {
+    if (samplesPerPixel < 1) {
+      throw new IllegalArgumentException("Samples per pixel must be at least 1");
+    }
+    if (maxBounces < 1) {
+      throw new IllegalArgumentException("Max bounces must be at least 1");
+    }
+  }
+
+  /**
+   * Costo relativo por píxel de esta calidad (muestras por niveles de rebote).
+   *
+   * @return unidades de trabajo por píxel
+   */
+  public long cost() {
+    return (long) samplesPerPixel * maxBounces;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d spp / %d bounces", samplesPerPixel, maxBounces);
+  }
+}
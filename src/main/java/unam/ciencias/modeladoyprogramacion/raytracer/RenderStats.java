@@ -0,0 +1,50 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.time.Duration;
+
+/**
+ * Estadísticas de un render terminado.
+ *
+ * <p>Utiliza Java 21 record para inmutabilidad automática y métodos generados (equals, hashCode,
+ * toString).
+ *
+ * @param elapsed tiempo de pared del render
+ * @param tiles número de tiles renderizados
+ * @param target calidad solicitada por la escena
+ * @param lowest calidad más baja usada en algún tile
+ * @param highest calidad más alta usada en algún tile
+ * @param degradedTiles tiles renderizados por debajo de la calidad solicitada
+ * @param timeBudget límite de tiempo del render, o {@code null} si no tenía
+ * @author Cristopher Carrada
+ */
+public record RenderStats(
+    Duration elapsed,
+    int tiles,
+    RenderQuality target,
+    RenderQuality lowest,
+    RenderQuality highest,
+    int degradedTiles,
+    Duration timeBudget) {
+
+  /**
+   * Indica si el render completo usó la calidad solicitada.
+   *
+   * @return {@code true} si ningún tile se degradó
+   */
+  public boolean isFullQuality() {
+    return degradedTiles == 0;
+  }
+
+  @Override
+  public String toString() {
+    String quality =
+        lowest.equals(highest)
+            ? lowest.toString()
+            : String.format("%s .. %s", lowest, highest);
+    String budget =
+        timeBudget == null ? "none" : String.format("%.3fs", timeBudget.toNanos() / 1e9);
+    return String.format(
+        "elapsed=%.3fs, budget=%s, tiles=%d, target=%s, used=%s, degradedTiles=%d",
+        elapsed.toNanos() / 1e9, budget, tiles, target, quality, degradedTiles);
+  }
+}
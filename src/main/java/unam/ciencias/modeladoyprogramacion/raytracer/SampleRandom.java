@@ -0,0 +1,87 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+/**
+ * Generador de números aleatorios para el muestreo Monte Carlo del render.
+ *
+ * <p>Cada hilo tiene su propio estado (SplitMix64), que el ray tracer reinicia al comenzar cada
+ * píxel a partir de la semilla del cuadro y las coordenadas del píxel. Así, la secuencia de
+ * números que consume un píxel (antialiasing, sombras suaves, reflexiones difusas) no depende de
+ * qué hilo, tile o proceso lo renderiza, y dos renders de la misma escena son idénticos bit a bit.
+ *
+ * <p>Fuera de un píxel (por ejemplo en pruebas unitarias) el estado del hilo sigue siendo
+ * determinista, aunque depende de los números consumidos antes en ese hilo.
+ *
+ * @author Cristopher Carrada
+ */
+public final class SampleRandom {
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+  private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[1]);
+
+  private SampleRandom() {}
+
+  /**
+   * Reinicia la secuencia del hilo actual para un píxel.
+   *
+   * @param seed semilla del cuadro
+   * @param row fila del píxel
+   * @param col columna del píxel
+   */
+  public static void seedPixel(long seed, int row, int col) {
+    STATE.get()[0] = mix(seed ^ mix(((long) row << 32) | (col & 0xFFFFFFFFL)));
+  }
+
+  /**
+   * Reinicia la secuencia del hilo actual para un nodo del árbol de rayos de un píxel.
+   *
+   * <p>Lo usan los integradores que no recorren el árbol en profundidad: cada nodo tiene su propia
+   * secuencia, así que el resultado no depende del orden en que se sombrean los nodos.
+   *
+   * @param seed semilla del cuadro
+   * @param row fila del píxel
+   * @param col columna del píxel
+   * @param path identificador del nodo dentro del píxel (muestra y posición en el árbol)
+   */
+  public static void seedPath(long seed, int row, int col, long path) {
+    STATE.get()[0] =
+        mix(seed ^ mix(((long) row << 32) | (col & 0xFFFFFFFFL)) ^ mix(path * GOLDEN_GAMMA));
+  }
+
+  /**
+   * Obtiene el siguiente número de la secuencia del hilo actual.
+   *
+   * @return número uniforme en [0, 1)
+   */
+  public static double nextDouble() {
+    long[] state = STATE.get();
+    state[0] += GOLDEN_GAMMA;
+    return (mix(state[0]) >>> 11) * 0x1.0p-53;
+  }
+
+  /**
+   * Obtiene el estado de la secuencia del hilo actual.
+   *
+   * <p>Junto con {@link #restore(long)} permite consumir números en un cálculo auxiliar (por
+   * ejemplo, un registro de caché) sin alterar la secuencia del píxel en curso.
+   *
+   * @return estado actual
+   */
+  public static long state() {
+    return STATE.get()[0];
+  }
+
+  /**
+   * Restablece un estado obtenido con {@link #state()}.
+   *
+   * @param state estado a restablecer
+   */
+  public static void restore(long state) {
+    STATE.get()[0] = state;
+  }
+
+  // Función de mezcla de SplitMix64
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -6,6 +6,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import unam.ciencias.modeladoyprogramacion.raytracer.lights.Light;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.CausticPhotonMap;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.CausticPhotonTracer;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.IrradianceCache;
 import unam.ciencias.modeladoyprogramacion.raytracer.materials.MaterialStrategy;
 import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Primitive;
 
@@ -26,6 +29,8 @@ public final class Scene {
   private final int samplesPerPixel;
   private final int maxBounces;
   private final Vector3D backgroundColor;
+  private final IrradianceCache irradianceCache;
+  private final CausticPhotonTracer causticPhotons;
 
   /**
    * Constructor privado. Usar Builder para crear instancias.
@@ -39,7 +44,8 @@ public final class Scene {
       int imageHeight,
       int samplesPerPixel,
       int maxBounces,
-      Vector3D backgroundColor) {
+      Vector3D backgroundColor,
+      int causticPhotons) {
     this.camera = camera;
     this.primitives = new ArrayList<>(primitives);
     this.lights = new ArrayList<>(lights);
@@ -49,6 +55,11 @@ public final class Scene {
     this.samplesPerPixel = samplesPerPixel;
     this.maxBounces = maxBounces;
     this.backgroundColor = backgroundColor;
+    // Tamaño de un píxel a distancia 1 de la cámara, como en Viewport
+    double pixelAngle =
+        2.0 * Math.tan(Math.toRadians(camera.getFov()) / 2.0) / Math.max(1, imageHeight);
+    this.irradianceCache = new IrradianceCache(camera.getPosition(), pixelAngle);
+    this.causticPhotons = new CausticPhotonTracer(causticPhotons);
   }
 
   public Camera getCamera() {
@@ -77,6 +88,17 @@ public final class Scene {
     return getMaterial(id).map(Material::getStrategy);
   }
 
+  /**
+   * Obtiene los IDs de los materiales en orden alfabético.
+   *
+   * <p>La posición de cada ID es el índice de material de los buffers auxiliares.
+   *
+   * @return IDs ordenados
+   */
+  public List<String> getMaterialIds() {
+    return materials.keySet().stream().sorted().toList();
+  }
+
   public int getImageWidth() {
     return imageWidth;
   }
@@ -97,6 +119,58 @@ public final class Scene {
     return backgroundColor;
   }
 
+  /**
+   * Obtiene la caché de irradiancia indirecta de la escena.
+   *
+   * <p>Cada escena tiene la suya, porque sus registros sólo son válidos para la geometría y las
+   * luces con las que se calcularon. Sólo se llena si algún material usa luz indirecta.
+   *
+   * @return caché de irradiancia
+   */
+  public IrradianceCache getIrradianceCache() {
+    return irradianceCache;
+  }
+
+  /**
+   * Indica si algún material de la escena usa la caché de irradiancia.
+   *
+   * @return {@code true} si al menos un material calcula luz indirecta difusa
+   */
+  public boolean usesIrradianceCache() {
+    return materials.values().stream()
+        .anyMatch(material -> material.getStrategy().usesIrradianceCache());
+  }
+
+  /**
+   * Obtiene el número de fotones de cáusticas que se emiten antes de renderizar.
+   *
+   * @return fotones a emitir; 0 si la escena no calcula cáusticas
+   */
+  public int getCausticPhotons() {
+    return causticPhotons.getPhotonCount();
+  }
+
+  /**
+   * Indica si la escena calcula cáusticas con un mapa de fotones.
+   *
+   * @return {@code true} si se emiten fotones de cáusticas
+   */
+  public boolean usesCausticPhotons() {
+    return causticPhotons.getPhotonCount() > 0;
+  }
+
+  /**
+   * Obtiene el mapa de fotones de cáusticas de la escena.
+   *
+   * <p>La primera vez los hilos que lo piden emiten los fotones entre todos; los siguientes
+   * reciben el mismo mapa.
+   *
+   * @return mapa de fotones; vacío si la escena no calcula cáusticas
+   */
+  public CausticPhotonMap getCausticPhotonMap() {
+    return causticPhotons.photonMap(this);
+  }
+
   /**
    * Encuentra la intersección más cercana con los primitivos de la escena.
    *
@@ -104,22 +178,83 @@ public final class Scene {
    * @return Optional con la intersección más cercana, vacío si no hay
    */
   public Optional<Intersection> intersect(Ray ray) {
+    RayCounter.add(1);
     Intersection closest = null;
     double minDistance = Double.POSITIVE_INFINITY;
 
     for (Primitive primitive : primitives) {
-      Optional<Double> t = primitive.intersect(ray);
-      if (t.isPresent() && t.get() < minDistance) {
-        minDistance = t.get();
-        Vector3D point = ray.at(t.get());
-        Vector3D normal = primitive.getNormalAt(point);
-        closest = new Intersection(minDistance, point, normal, primitive);
+      Optional<Intersection> hit = primitive.intersect(ray, minDistance);
+      if (hit.isPresent()) {
+        closest = hit.get();
+        minDistance = closest.getDistance();
       }
     }
 
     return Optional.ofNullable(closest);
   }
 
+  /**
+   * Encuentra la intersección más cercana de cada rayo de un paquete.
+   *
+   * <p>Cada primitivo prueba el paquete completo de una vez, y sólo el primitivo más cercano de
+   * cada rayo calcula la intersección completa. Si las direcciones del paquete divergen demasiado
+   * para que su cono descarte primitivos, el paquete se divide en mitades. Los resultados son
+   * idénticos a llamar a {@link #intersect(Ray)} con cada rayo.
+   *
+   * @param packet rayos a intersectar; sus intersecciones registradas se reinician
+   * @return intersección más cercana de cada rayo, en el orden del paquete
+   */
+  public List<Optional<Intersection>> intersect(RayPacket packet) {
+    RayCounter.add(packet.size());
+    List<Optional<Intersection>> hits = new ArrayList<>(packet.size());
+    intersect(packet, hits);
+    return hits;
+  }
+
+  private void intersect(RayPacket packet, List<Optional<Intersection>> hits) {
+    if (!packet.isCoherent()) {
+      for (RayPacket half : packet.split()) {
+        intersect(half, hits);
+      }
+      return;
+    }
+
+    packet.reset();
+    for (int i = 0; i < primitives.size(); i++) {
+      primitives.get(i).intersect(packet, i);
+    }
+    for (int lane = 0; lane < packet.size(); lane++) {
+      int index = packet.hitPrimitive(lane);
+      hits.add(
+          index < 0
+              ? Optional.empty()
+              : primitives.get(index).intersect(packet.ray(lane), Double.POSITIVE_INFINITY));
+    }
+  }
+
+  /**
+   * Crea un builder inicializado con la configuración de esta escena.
+   *
+   * <p>Permite derivar variantes de la escena (por ejemplo, con otra calidad de muestreo) que
+   * comparten la misma cámara, geometría y materiales.
+   *
+   * @return builder con una copia de la configuración actual
+   */
+  public Builder toBuilder() {
+    Builder builder =
+        new Builder()
+            .camera(camera)
+            .imageSize(imageWidth, imageHeight)
+            .samplesPerPixel(samplesPerPixel)
+            .maxBounces(maxBounces)
+            .backgroundColor(backgroundColor)
+            .causticPhotons(causticPhotons.getPhotonCount());
+    primitives.forEach(builder::addPrimitive);
+    lights.forEach(builder::addLight);
+    materials.values().forEach(builder::addMaterial);
+    return builder;
+  }
+
   /** Builder para construir escenas. */
   public static class Builder {
     private Camera camera;
@@ -131,6 +266,7 @@ public final class Scene {
     private int samplesPerPixel = 1;
     private int maxBounces = 3;
     private Vector3D backgroundColor = new Vector3D(0.2, 0.2, 0.2);
+    private int causticPhotons = 0;
 
     public Builder camera(Camera camera) {
       this.camera = camera;
@@ -147,6 +283,11 @@ public final class Scene {
       return this;
     }
 
+    public Builder clearLights() {
+      this.lights.clear();
+      return this;
+    }
+
     public Builder addMaterial(Material material) {
       this.materials.put(material.getId(), material);
       return this;
@@ -173,6 +314,17 @@ public final class Scene {
       return this;
     }
 
+    /**
+     * Configura los fotones de cáusticas que se emiten antes de renderizar.
+     *
+     * @param photons fotones a emitir entre todas las luces; 0 desactiva las cáusticas
+     * @return este builder
+     */
+    public Builder causticPhotons(int photons) {
+      this.causticPhotons = photons;
+      return this;
+    }
+
     public Scene build() {
       if (camera == null) {
         throw new IllegalStateException("Camera is required");
@@ -186,7 +338,8 @@ public final class Scene {
           imageHeight,
           samplesPerPixel,
           maxBounces,
-          backgroundColor);
+          backgroundColor,
+          causticPhotons);
     }
   }
 }
@@ -0,0 +1,35 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JDK Flight Recorder de la carga de una escena con {@link SceneLoader}.
+ *
+ * @author Cristopher Carrada
+ */
+@Name("unam.raytracer.SceneLoad")
+@Label("Scene Load")
+@Category({"Ray Tracer", "Scene"})
+@Description("Parsing a JSON scene, including the acceleration build")
+@StackTrace(false)
+final class SceneLoadEvent extends jdk.jfr.Event {
+  @Label("Source")
+  @Description("Scene file, or <string> for in-memory JSON")
+  String source;
+
+  @Label("Primitives")
+  int primitives;
+
+  @Label("Lights")
+  int lights;
+
+  @Label("Image Width")
+  int imageWidth;
+
+  @Label("Image Height")
+  int imageHeight;
+}
@@ -6,6 +6,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import unam.ciencias.modeladoyprogramacion.raytracer.lights.DirectionalLight;
@@ -16,17 +17,22 @@ import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Box;
 import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Plane;
 import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Primitive;
 import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Sphere;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.SphereSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Carga escenas desde archivos JSON.
  *
- * <p>Lee archivos JSON que describen escenas 3D completas y las convierte en objetos Scene.
+ * <p>Lee archivos JSON que describen escenas 3D completas y las convierte en objetos Scene. Las
+ * esferas que comparten material se empacan en un {@link SphereSet}.
  *
  * @author Cristopher Carrada
  */
 public final class SceneLoader {
+  // Esferas del mismo material a partir de las cuales conviene empacarlas
+  private static final int MIN_PACKED_SPHERES = 2;
+
   // Mapper para convertir JSON en objetos Java
   private final ObjectMapper mapper;
 
@@ -46,6 +52,9 @@ public final class SceneLoader {
    * @throws IllegalArgumentException si el JSON es inválido
    */
   public Scene loadFromFile(String jsonFile) throws IOException {
+    SceneLoadEvent event = new SceneLoadEvent();
+    event.begin();
+
     // Verifica que el archivo exista antes de intentar cargarlo
     File file = new File(jsonFile);
     if (!file.exists()) {
@@ -54,7 +63,7 @@ public final class SceneLoader {
 
     // Lee el archivo JSON y lo convierte en un árbol de nodos
     JsonNode root = mapper.readTree(file);
-    return parseScene(root);
+    return commit(event, jsonFile, parseScene(root));
   }
 
   /**
@@ -65,9 +74,26 @@ public final class SceneLoader {
    * @throws IOException si hay error al parsear
    */
   public Scene loadFromString(String jsonString) throws IOException {
+    SceneLoadEvent event = new SceneLoadEvent();
+    event.begin();
+
     // Convierte el string JSON en un árbol de nodos
     JsonNode root = mapper.readTree(jsonString);
-    return parseScene(root);
+    return commit(event, "<string>", parseScene(root));
+  }
+
+  /** Registra la carga en JFR si el evento está activo. */
+  private static Scene commit(SceneLoadEvent event, String source, Scene scene) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.source = source;
+      event.primitives = scene.getPrimitives().size();
+      event.lights = scene.getLights().size();
+      event.imageWidth = scene.getImageWidth();
+      event.imageHeight = scene.getImageHeight();
+      event.commit();
+    }
+    return scene;
   }
 
   /**
@@ -83,6 +109,7 @@ public final class SceneLoader {
     double focalDistance = root.path("focalDistance").asDouble(5.0);
     int samplesPerPixel = root.path("samplesPerPixel").asInt(1);
     int rayMaxBounces = root.path("rayMaxBounces").asInt(3);
+    int causticPhotons = root.path("causticPhotons").asInt(0);
 
     // Cámara
     Camera camera = parseCamera(root.path("camera"), focalDistance);
@@ -131,7 +158,8 @@ public final class SceneLoader {
             .imageSize(imageWidth, imageHeight)
             .samplesPerPixel(samplesPerPixel)
             .maxBounces(rayMaxBounces)
-            .backgroundColor(backgroundColor);
+            .backgroundColor(backgroundColor)
+            .causticPhotons(causticPhotons);
 
     // Agregar materiales
     for (Material material : materials.values()) {
@@ -143,8 +171,8 @@ public final class SceneLoader {
       builder.addLight(light);
     }
 
-    // Agregar primitivos
-    for (Primitive primitive : primitives) {
+    // Agregar primitivos, con las esferas del mismo material empacadas
+    for (Primitive primitive : packSpheres(primitives)) {
       builder.addPrimitive(primitive);
     }
 
@@ -192,9 +220,11 @@ public final class SceneLoader {
     double reflectivity = matNode.path("reflectivity").asDouble(0.0);
     double transparency = matNode.path("transparency").asDouble(0.0);
     double refractiveIndex = matNode.path("refractiveIndex").asDouble(1.0);
+    boolean indirectDiffuse = matNode.path("indirectDiffuse").asBoolean(false);
 
-    // Si hay transparencia o índice de refracción diferente de aire, usar constructor completo
-    if (transparency > 0 || refractiveIndex > 1.0) {
+    // Si hay transparencia, índice de refracción diferente de aire o luz indirecta, usar
+    // constructor completo
+    if (transparency > 0 || refractiveIndex > 1.0 || indirectDiffuse) {
       return new Material(
           id,
           new unam.ciencias.modeladoyprogramacion.raytracer.materials.PhongMaterialStrategy(
@@ -206,7 +236,8 @@ public final class SceneLoader {
               reflectivity,
               transparency,
               refractiveIndex,
-              new Vector3D(0.1, 0.1, 0.1)));
+              new Vector3D(0.1, 0.1, 0.1),
+              indirectDiffuse));
     }
 
     return new Material(id, color, diffuse, specular, hardness, reflectivity);
@@ -288,6 +319,54 @@ public final class SceneLoader {
     }
   }
 
+  /**
+   * Agrupa en un {@link SphereSet} las esferas que comparten material.
+   *
+   * <p>Cada conjunto ocupa la posición de su primera esfera; los demás primitivos conservan su
+   * orden. Un material con una sola esfera la deja como {@link Sphere}.
+   *
+   * @param primitives primitivos en el orden del archivo
+   * @return primitivos con las esferas empacadas
+   */
+  private List<Primitive> packSpheres(List<Primitive> primitives) {
+    AccelerationBuildEvent event = new AccelerationBuildEvent();
+    event.begin();
+
+    Map<String, List<Sphere>> spheresByMaterial = new LinkedHashMap<>();
+    for (Primitive primitive : primitives) {
+      if (primitive instanceof Sphere sphere) {
+        spheresByMaterial
+            .computeIfAbsent(sphere.getMaterialId(), id -> new ArrayList<>())
+            .add(sphere);
+      }
+    }
+
+    List<Primitive> packed = new ArrayList<>();
+    for (Primitive primitive : primitives) {
+      if (!(primitive instanceof Sphere sphere)) {
+        packed.add(primitive);
+        continue;
+      }
+      List<Sphere> group = spheresByMaterial.get(sphere.getMaterialId());
+      if (group.size() < MIN_PACKED_SPHERES) {
+        packed.add(sphere);
+      } else if (group.get(0) == sphere) {
+        String materialId = sphere.getMaterialId();
+        packed.add(new SphereSet("spheres:" + materialId, materialId, group));
+      }
+    }
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.inputPrimitives = primitives.size();
+      event.outputPrimitives = packed.size();
+      event.packedSpheres =
+          packed.stream().mapToInt(p -> p instanceof SphereSet set ? set.size() : 0).sum();
+      event.commit();
+    }
+    return packed;
+  }
+
   /**
    * Analiza un nodo vectorial 3D y lo convierte en un objeto Vector3D.
    *
@@ -0,0 +1,213 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Matriz dispersa de enteros en formato CSR (<i>compressed sparse row</i>).
+ *
+ * <p>Sólo se guardan los elementos distintos de cero, fila por fila:
+ *
+ * <ul>
+ *   <li>{@code rowPointers}: {@code rows + 1} posiciones; los elementos de la fila {@code r} están
+ *       en {@code [rowPointers[r], rowPointers[r + 1])}.
+ *   <li>{@code columnIndices}: columna de cada elemento, creciente dentro de cada fila.
+ *   <li>{@code values}: valor de cada elemento, distinto de cero.
+ * </ul>
+ *
+ * <p>Una matriz con densidad {@code d} ocupa unos {@code 8·d·n·m} bytes en lugar de {@code 4·n·m},
+ * y las operaciones recorren sólo los elementos guardados.
+ *
+ * @author Cristopher Carrada
+ */
+@Getter
+@EqualsAndHashCode
+public final class SparseIntMatrix implements IntMatrixStorage {
+  private final int rows;
+  private final int columns;
+
+  @Getter(AccessLevel.NONE)
+  private final int[] rowPointers;
+
+  @Getter(AccessLevel.NONE)
+  private final int[] columnIndices;
+
+  @Getter(AccessLevel.NONE)
+  private final int[] values;
+
+  /**
+   * Construye una matriz sobre arreglos CSR existentes, sin copiarlos.
+   *
+   * @param rows número de filas
+   * @param columns número de columnas
+   * @param rowPointers inicio de cada fila y fin de la última
+   * @param columnIndices columna de cada elemento
+   * @param values valor de cada elemento
+   */
+  public SparseIntMatrix(
+      int rows, int columns, int[] rowPointers, int[] columnIndices, int[] values) {
+    if (rows < 0 || columns < 0) {
+      throw new IllegalArgumentException("Dimensions cannot be negative");
+    }
+    if (rowPointers == null || rowPointers.length != rows + 1 || rowPointers[0] != 0) {
+      throw new IllegalArgumentException("Row pointers must have rows + 1 entries starting at 0");
+    }
+    int nonZeros = rowPointers[rows];
+    if (columnIndices == null
+        || values == null
+        || columnIndices.length != nonZeros
+        || values.length != nonZeros) {
+      throw new IllegalArgumentException("Column indices and values must have one entry per element");
+    }
+    for (int row = 0; row < rows; row++) {
+      if (rowPointers[row] > rowPointers[row + 1]) {
+        throw new IllegalArgumentException("Row pointers must be non-decreasing");
+      }
+      for (int i = rowPointers[row]; i < rowPointers[row + 1]; i++) {
+        if (columnIndices[i] < 0
+            || columnIndices[i] >= columns
+            || (i > rowPointers[row] && columnIndices[i] <= columnIndices[i - 1])) {
+          throw new IllegalArgumentException("Column indices must be increasing within row " + row);
+        }
+      }
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.rowPointers = rowPointers;
+    this.columnIndices = columnIndices;
+    this.values = values;
+  }
+
+  /**
+   * Construye una matriz vacía (todos los elementos son cero).
+   *
+   * @param rows número de filas
+   * @param columns número de columnas
+   */
+  public SparseIntMatrix(int rows, int columns) {
+    this(rows, columns, new int[Math.max(0, rows) + 1], new int[0], new int[0]);
+  }
+
+  /**
+   * Comprime una matriz densa.
+   *
+   * @param matrix matriz densa
+   * @return matriz dispersa equivalente
+   */
+  public static SparseIntMatrix fromDense(IntMatrix matrix) {
+    int[] data = matrix.data();
+    int nonZeros = 0;
+    for (int value : data) {
+      if (value != 0) {
+        nonZeros++;
+      }
+    }
+    int columns = matrix.getColumns();
+    int[] rowPointers = new int[matrix.getRows() + 1];
+    int[] columnIndices = new int[nonZeros];
+    int[] values = new int[nonZeros];
+    int next = 0;
+    for (int row = 0; row < matrix.getRows(); row++) {
+      for (int col = 0; col < columns; col++) {
+        int value = data[row * columns + col];
+        if (value != 0) {
+          columnIndices[next] = col;
+          values[next++] = value;
+        }
+      }
+      rowPointers[row + 1] = next;
+    }
+    return new SparseIntMatrix(matrix.getRows(), columns, rowPointers, columnIndices, values);
+  }
+
+  /**
+   * Obtiene un elemento buscando su columna en la fila.
+   *
+   * @param row fila
+   * @param column columna
+   * @return el valor, o cero si no está guardado
+   */
+  public int getValue(int row, int column) {
+    if (row < 0 || row >= rows || column < 0 || column >= columns) {
+      throw new IndexOutOfBoundsException("(" + row + ", " + column + ") outside " + this);
+    }
+    int index = Arrays.binarySearch(columnIndices, rowPointers[row], rowPointers[row + 1], column);
+    return index >= 0 ? values[index] : 0;
+  }
+
+  /**
+   * Obtiene el número de elementos guardados.
+   *
+   * @return elementos distintos de cero
+   */
+  public int nonZeros() {
+    return rowPointers[rows];
+  }
+
+  /**
+   * Obtiene la fracción de elementos distintos de cero.
+   *
+   * @return densidad en [0, 1]; 0 para una matriz sin elementos
+   */
+  public double density() {
+    long size = (long) rows * columns;
+    return size == 0 ? 0 : (double) nonZeros() / size;
+  }
+
+  /**
+   * Expone el arreglo de inicios de fila; no debe modificarse.
+   *
+   * @return arreglo de {@code rows + 1} posiciones
+   */
+  public int[] rowPointers() {
+    return rowPointers;
+  }
+
+  /**
+   * Expone el arreglo de columnas; no debe modificarse.
+   *
+   * @return columna de cada elemento guardado
+   */
+  public int[] columnIndices() {
+    return columnIndices;
+  }
+
+  /**
+   * Expone el arreglo de valores; no debe modificarse.
+   *
+   * @return valor de cada elemento guardado
+   */
+  public int[] values() {
+    return values;
+  }
+
+  @Override
+  public void copyRow(int row, int[] target) {
+    if (row < 0 || row >= rows) {
+      throw new IndexOutOfBoundsException("Row " + row + " outside " + this);
+    }
+    Arrays.fill(target, 0, columns, 0);
+    for (int i = rowPointers[row]; i < rowPointers[row + 1]; i++) {
+      target[columnIndices[i]] = values[i];
+    }
+  }
+
+  @Override
+  public IntMatrix toDense() {
+    IntMatrix dense = new IntMatrix(rows, columns);
+    int[] data = dense.data();
+    for (int row = 0; row < rows; row++) {
+      for (int i = rowPointers[row]; i < rowPointers[row + 1]; i++) {
+        data[row * columns + columnIndices[i]] = values[i];
+      }
+    }
+    return dense;
+  }
+
+  @Override
+  public String toString() {
+    return "SparseIntMatrix[" + rows + "x" + columns + ", " + nonZeros() + " non-zeros]";
+  }
+}
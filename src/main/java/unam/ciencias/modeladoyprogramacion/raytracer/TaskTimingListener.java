@@ -0,0 +1,21 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+/**
+ * Recibe la duración de cada tarea que ejecuta una {@link MultiThreadedOperation}.
+ *
+ * <p>Se invoca en el hilo que ejecutó la tarea, justo después de que termina (también si falló),
+ * por lo que debe ser seguro para hilos y barato: queda dentro del tiempo de la operación.
+ *
+ * @author Cristopher Carrada
+ */
+@FunctionalInterface
+public interface TaskTimingListener {
+
+  /**
+   * Notifica que una tarea terminó.
+   *
+   * @param operation operación a la que pertenece la tarea
+   * @param elapsedNanos duración de la tarea en nanosegundos
+   */
+  void onTaskCompleted(MultiThreadedOperation operation, long elapsedNanos);
+}
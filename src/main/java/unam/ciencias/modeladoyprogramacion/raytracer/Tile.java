@@ -0,0 +1,56 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Región rectangular de la imagen que se renderiza como una unidad de trabajo.
+ *
+ * <p>Utiliza Java 21 record para inmutabilidad automática y métodos generados (equals, hashCode,
+ * toString).
+ *
+ * @param id identificador del tile (orden de recorrido por filas)
+ * @param x columna inicial
+ * @param y fila inicial
+ * @param width ancho en píxeles
+ * @param height altura en píxeles
+ * @author Cristopher Carrada
+ */
+public record Tile(int id, int x, int y, int width, int height) {
+
+  /**
+   * Divide una imagen en tiles cuadrados, recortando los del borde.
+   *
+   * @param imageWidth ancho de la imagen
+   * @param imageHeight altura de la imagen
+   * @param tileSize lado de cada tile en píxeles
+   * @return tiles en orden por filas
+   */
+  public static List<Tile> split(int imageWidth, int imageHeight, int tileSize) {
+    if (tileSize <= 0) {
+      throw new IllegalArgumentException("Tile size must be positive");
+    }
+    List<Tile> tiles = new ArrayList<>();
+    for (int y = 0; y < imageHeight; y += tileSize) {
+      for (int x = 0; x < imageWidth; x += tileSize) {
+        tiles.add(
+            new Tile(
+                tiles.size(),
+                x,
+                y,
+                Math.min(tileSize, imageWidth - x),
+                Math.min(tileSize, imageHeight - y)));
+      }
+    }
+    return tiles;
+  }
+
+  /**
+   * Número de píxeles del tile.
+   *
+   * @return ancho por alto
+   */
+  public int pixelCount() {
+    return width * height;
+  }
+}
@@ -0,0 +1,51 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JDK Flight Recorder del render de un tile en {@link RayTracer}.
+ *
+ * <p>Se registra en el hilo del worker que renderizó el tile, así que la grabación muestra la
+ * línea de tiempo de cada worker.
+ *
+ * @author Cristopher Carrada
+ */
+@Name("unam.raytracer.TileRender")
+@Label("Tile Render")
+@Category({"Ray Tracer", "Render"})
+@Description("Rendering one tile of a frame")
+@StackTrace(false)
+final class TileRenderEvent extends jdk.jfr.Event {
+  @Label("Tile Id")
+  int tileId;
+
+  @Label("X")
+  int x;
+
+  @Label("Y")
+  int y;
+
+  @Label("Width")
+  int width;
+
+  @Label("Height")
+  int height;
+
+  @Label("Samples")
+  @Description("Pixel samples traced in the tile")
+  long samples;
+
+  @Label("Max Bounces")
+  int maxBounces;
+
+  @Label("Rays")
+  @Description("Primary, shadow and secondary rays intersected")
+  long rays;
+
+  @Label("Integrator")
+  String integrator;
+}
@@ -0,0 +1,30 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+/**
+ * Costo de renderizar un tile.
+ *
+ * @param tile región renderizada
+ * @param nanos tiempo de pared del tile en nanosegundos
+ * @param rays rayos intersectados (primarios, de sombra y secundarios)
+ * @author Cristopher Carrada
+ */
+public record TileTiming(Tile tile, long nanos, long rays) {
+
+  /**
+   * Tiempo promedio por píxel.
+   *
+   * @return nanosegundos por píxel del tile
+   */
+  public double nanosPerPixel() {
+    return (double) nanos / tile.pixelCount();
+  }
+
+  /**
+   * Rayos promedio por píxel.
+   *
+   * @return rayos por píxel del tile
+   */
+  public double raysPerPixel() {
+    return (double) rays / tile.pixelCount();
+  }
+}
@@ -0,0 +1,175 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Controlador de calidad para renders con límite de tiempo.
+ *
+ * <p>Mide el rendimiento real del render (unidades de trabajo por segundo, donde una unidad es una
+ * muestra con un nivel de rebote) y, antes de cada tile, elige la calidad más alta que permite
+ * terminar los píxeles restantes dentro del tiempo disponible. Si el render se retrasa, los tiles
+ * restantes se terminan con calidad reducida en lugar de exceder el límite.
+ *
+ * <p>Los primeros tiles se renderizan con una calidad de calibración barata (una muestra por
+ * píxel) para medir el rendimiento sin consumir una parte grande del presupuesto. Al terminar
+ * quedan pendientes de {@link #nextRefinement()}, que los vuelve a renderizar con la calidad que
+ * alcance; mientras tanto sus píxeles cuentan como trabajo restante.
+ *
+ * <p>Es thread-safe: los métodos se sincronizan, lo cual es barato porque se invocan una vez por
+ * tile y no por píxel.
+ *
+ * @author Cristopher Carrada
+ */
+final class TimeBudget {
+  // Fracción del presupuesto que se reserva como margen de seguridad
+  private static final double SAFETY_MARGIN = 0.1;
+
+  private final long budgetNanos;
+  private final RenderQuality target;
+  private final RenderQuality calibration;
+  private final int calibrationTiles;
+  // Tiles de calibración en curso y terminados que falta volver a renderizar
+  private final Set<Integer> calibrating = new HashSet<>();
+  private final Queue<Tile> calibrated = new ArrayDeque<>();
+
+  private long startNanos;
+  private long completedWork;
+  private int tilesRecorded;
+  private long calibrationPixels;
+
+  /**
+   * Construye un controlador de presupuesto de tiempo.
+   *
+   * @param budget tiempo total disponible para el render
+   * @param target calidad deseada si el tiempo alcanza
+   * @param calibrationTiles número de tiles a renderizar con calidad de calibración
+   */
+  TimeBudget(Duration budget, RenderQuality target, int calibrationTiles) {
+    if (budget == null || budget.isNegative() || budget.isZero()) {
+      throw new IllegalArgumentException("Time budget must be positive");
+    }
+    this.budgetNanos = budget.toNanos();
+    this.target = target;
+    this.calibration = new RenderQuality(1, target.maxBounces());
+    this.calibrationTiles = Math.max(1, calibrationTiles);
+  }
+
+  /** Marca el inicio del render. */
+  synchronized void start() {
+    this.startNanos = System.nanoTime();
+    this.completedWork = 0;
+    this.tilesRecorded = 0;
+    this.calibrationPixels = 0;
+    calibrating.clear();
+    calibrated.clear();
+  }
+
+  /**
+   * Elige la calidad del siguiente tile.
+   *
+   * @param tile tile que se va a renderizar
+   * @param remainingPixels píxeles que aún no se han renderizado (incluyendo el siguiente tile)
+   * @return calidad con la que se debe renderizar el siguiente tile
+   */
+  synchronized RenderQuality nextQuality(Tile tile, long remainingPixels) {
+    if (calibration.equals(target)) {
+      return measuredQuality(remainingPixels);
+    }
+    if (tilesRecorded < calibrationTiles || completedWork == 0) {
+      calibrating.add(tile.id());
+      calibrationPixels += tile.pixelCount();
+      return calibration;
+    }
+    return measuredQuality(remainingPixels + calibrationPixels);
+  }
+
+  /**
+   * Toma el siguiente tile de calibración terminado para volver a renderizarlo.
+   *
+   * <p>Se invoca cuando ya no quedan tiles nuevos. Un tile de calibración aún en curso se agrega a
+   * la cola hasta que se registra, así que el worker que lo termina también debe consultar esta
+   * cola.
+   *
+   * @return tile y calidad que alcanza para él, o {@code null} si no hay tiles pendientes
+   */
+  synchronized Refinement nextRefinement() {
+    Tile tile = calibrated.poll();
+    if (tile == null) {
+      return null;
+    }
+    RenderQuality quality = measuredQuality(calibrationPixels);
+    calibrationPixels -= tile.pixelCount();
+    return new Refinement(tile, calibration, quality);
+  }
+
+  /**
+   * Registra un tile terminado.
+   *
+   * @param tile tile renderizado
+   * @param quality calidad con la que se renderizó
+   */
+  synchronized void recordTile(Tile tile, RenderQuality quality) {
+    completedWork += (long) tile.pixelCount() * quality.cost();
+    tilesRecorded++;
+    if (calibrating.remove(tile.id())) {
+      calibrated.add(tile);
+    }
+  }
+
+  Duration getBudget() {
+    return Duration.ofNanos(budgetNanos);
+  }
+
+  /** Calidad más alta que permite terminar los píxeles restantes con el rendimiento medido. */
+  private RenderQuality measuredQuality(long remainingPixels) {
+    if (completedWork == 0) {
+      return calibration;
+    }
+
+    long elapsed = System.nanoTime() - startNanos;
+    double remainingNanos = budgetNanos * (1.0 - SAFETY_MARGIN) - elapsed;
+    if (remainingNanos <= 0 || remainingPixels <= 0) {
+      return RenderQuality.MINIMUM;
+    }
+
+    // Unidades de trabajo que caben en el tiempo restante, repartidas entre los píxeles restantes
+    double workPerNano = (double) completedWork / elapsed;
+    double affordablePerPixel = remainingNanos * workPerNano / remainingPixels;
+    if (affordablePerPixel >= target.cost()) {
+      return target;
+    }
+
+    // Primero se reducen las muestras, conservando todos los rebotes
+    int samples = (int) (affordablePerPixel / target.maxBounces());
+    if (samples >= 1) {
+      return new RenderQuality(Math.min(samples, target.samplesPerPixel()), target.maxBounces());
+    }
+
+    // Con una sola muestra, se reducen los rebotes
+    int bounces = (int) Math.max(1, Math.min(target.maxBounces(), affordablePerPixel));
+    return new RenderQuality(1, bounces);
+  }
+
+  /**
+   * Tile de calibración que se puede volver a renderizar.
+   *
+   * @param tile tile de calibración
+   * @param previous calidad con la que ya se renderizó
+   * @param quality calidad que alcanza con el tiempo restante
+   */
+  record Refinement(Tile tile, RenderQuality previous, RenderQuality quality) {
+
+    /**
+     * Indica si vale la pena volver a renderizar el tile.
+     *
+     * @return {@code true} si la calidad que alcanza es mayor que la de calibración
+     */
+    boolean improves() {
+      return quality.cost() > previous.cost();
+    }
+  }
+}
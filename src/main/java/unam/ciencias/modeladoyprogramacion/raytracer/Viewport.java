@@ -0,0 +1,54 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+/**
+ * Plano de proyección de la cámara para una escena.
+ *
+ * <p>Concentra la geometría de la vista (esquina inferior izquierda y vectores horizontal y
+ * vertical del viewport) para que todos los modos de renderizado generen exactamente los mismos
+ * rayos primarios para las mismas coordenadas normalizadas.
+ *
+ * @author Cristopher Carrada
+ */
+final class Viewport {
+  private final Vector3D origin;
+  private final Vector3D lowerLeft;
+  private final Vector3D horizontal;
+  private final Vector3D vertical;
+
+  /**
+   * Construye el viewport a partir de la cámara y la resolución de la escena.
+   *
+   * @param scene escena cuya cámara y relación de aspecto definen la vista
+   */
+  Viewport(Scene scene) {
+    Camera camera = scene.getCamera();
+    double aspectRatio = (double) scene.getImageWidth() / scene.getImageHeight();
+    double fovRadians = Math.toRadians(camera.getFov());
+    double viewportHeight = 2.0 * Math.tan(fovRadians / 2.0);
+    double viewportWidth = viewportHeight * aspectRatio;
+
+    // Vectores de la base de la cámara
+    Vector3D w = camera.getDirection().negate(); // Apunta hacia atrás
+    Vector3D u = camera.getUp().cross(w).normalize(); // Derecha
+    Vector3D v = w.cross(u); // Arriba real
+
+    this.origin = camera.getPosition();
+    this.horizontal = u.multiply(viewportWidth);
+    this.vertical = v.multiply(viewportHeight);
+    this.lowerLeft =
+        origin.subtract(horizontal.multiply(0.5)).subtract(vertical.multiply(0.5)).subtract(w);
+  }
+
+  /**
+   * Genera el rayo primario que atraviesa el viewport en coordenadas normalizadas.
+   *
+   * @param uOffset fracción horizontal del viewport [0, 1]
+   * @param vOffset fracción vertical del viewport [0, 1]
+   * @return rayo desde la cámara hacia ese punto del viewport
+   */
+  Ray rayThrough(double uOffset, double vOffset) {
+    Vector3D pixelCenter =
+        lowerLeft.add(horizontal.multiply(uOffset)).add(vertical.multiply(vOffset));
+    return new Ray(origin, pixelCenter.subtract(origin));
+  }
+}
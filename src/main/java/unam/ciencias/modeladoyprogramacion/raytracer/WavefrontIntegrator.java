@@ -0,0 +1,240 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.MaterialStrategy;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.SecondaryRay;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.ShadingPlan;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.ShadowRay;
+
+/**
+ * Integrador por frentes de onda: recorre en anchura los árboles de rayos de una región.
+ *
+ * <p>En lugar de que cada material trace recursivamente sus rayos en cuanto los necesita, todos los
+ * rayos de un mismo rebote de la región avanzan juntos:
+ *
+ * <ol>
+ *   <li>Los rayos del frente se ordenan con {@link RayOrder} y se intersectan en lote.
+ *   <li>Cada intersección se sombrea con el {@link ShadingPlan} de su material, que sólo enumera
+ *       los rayos de sombra y los rayos secundarios que necesita.
+ *   <li>Los rayos de sombra del frente se ordenan y se trazan en lote.
+ *   <li>Los rayos secundarios forman el siguiente frente.
+ * </ol>
+ *
+ * <p>Cuando no quedan rayos, los planes se resuelven de las hojas hacia la raíz. Los materiales sin
+ * plan se sombrean con {@link MaterialStrategy#scatter}, recursivamente, en el paso 2.
+ *
+ * <p>Cada nodo del árbol reinicia {@link SampleRandom} con {@link SampleRandom#seedPath}, así que el
+ * render es determinista. En escenas sin muestreo aleatorio en el sombreado (sin luces de
+ * superficie) la imagen es idéntica bit a bit a la del integrador recursivo; con luces de
+ * superficie las sombras usan otras muestras y el ruido cambia, pero no el valor esperado.
+ *
+ * @author Cristopher Carrada
+ */
+final class WavefrontIntegrator {
+  private final Scene scene;
+  private final long seed;
+
+  /**
+   * Construye el integrador.
+   *
+   * @param scene escena a renderizar
+   * @param seed semilla del muestreo
+   */
+  WavefrontIntegrator(Scene scene, long seed) {
+    this.scene = scene;
+    this.seed = seed;
+  }
+
+  /**
+   * Renderiza los píxeles de una región.
+   *
+   * @param region píxeles a renderizar
+   * @param blockSize lado en píxeles de resolución completa que cubre cada píxel
+   * @param fullWidth ancho de la imagen a resolución completa
+   * @param fullHeight altura de la imagen a resolución completa
+   * @param viewport plano de proyección de la cámara
+   * @param quality muestras por píxel y rebotes a usar
+   * @param sink destino del color de cada píxel, que recibe en orden por filas
+   */
+  void render(
+      Tile region,
+      int blockSize,
+      int fullWidth,
+      int fullHeight,
+      Viewport viewport,
+      RenderQuality quality,
+      PixelSink sink) {
+    int samples = quality.samplesPerPixel();
+    // Iniciar la recursión más adentro reduce los rebotes sin tocar los materiales
+    int initialDepth = Math.max(0, scene.getMaxBounces() - quality.maxBounces());
+
+    // Rayos primarios, con los mismos números aleatorios que el integrador recursivo
+    List<PathNode> roots = new ArrayList<>(region.pixelCount() * samples);
+    List<PathNode> wave = new ArrayList<>();
+    for (int row = region.y(); row < region.y() + region.height(); row++) {
+      for (int col = region.x(); col < region.x() + region.width(); col++) {
+        SampleRandom.seedPixel(seed, row, col);
+        for (int s = 0; s < samples; s++) {
+          Ray ray = RayTracer.sampleRay(row, col, s, blockSize, fullWidth, fullHeight, viewport);
+          PathNode root =
+              new PathNode(
+                  ray,
+                  initialDepth,
+                  row,
+                  col,
+                  (long) s << 40 | 1,
+                  scene.getBackgroundColor(),
+                  new Vector3D(1, 0, 1)); // Magenta si falta material, como PhongShader
+          roots.add(root);
+          if (initialDepth >= scene.getMaxBounces()) {
+            root.color = scene.getBackgroundColor();
+          } else {
+            wave.add(root);
+          }
+        }
+      }
+    }
+
+    List<List<PathNode>> waves = new ArrayList<>();
+    while (!wave.isEmpty()) {
+      waves.add(wave);
+      wave = advance(wave);
+    }
+
+    // Resolver los planes de las hojas hacia la raíz
+    for (int w = waves.size() - 1; w >= 0; w--) {
+      for (PathNode node : waves.get(w)) {
+        node.resolve();
+      }
+    }
+
+    int index = 0;
+    for (int row = region.y(); row < region.y() + region.height(); row++) {
+      for (int col = region.x(); col < region.x() + region.width(); col++) {
+        Vector3D color = new Vector3D(0, 0, 0);
+        for (int s = 0; s < samples; s++) {
+          color = color.add(roots.get(index++).color);
+        }
+        sink.accept(row, col, color.multiply(1.0 / samples));
+      }
+    }
+  }
+
+  /**
+   * Intersecta y sombrea un frente, traza sus rayos de sombra y devuelve el siguiente frente.
+   */
+  private List<PathNode> advance(List<PathNode> wave) {
+    List<Ray> rays = new ArrayList<>(wave.size());
+    for (PathNode node : wave) {
+      rays.add(node.ray);
+    }
+    for (int i : RayOrder.coherent(rays)) {
+      PathNode node = wave.get(i);
+      node.hit = scene.intersect(node.ray).orElse(null);
+    }
+
+    List<PathNode> next = new ArrayList<>();
+    List<Ray> shadowRays = new ArrayList<>();
+    List<PathNode> shadowOwners = new ArrayList<>();
+    List<Integer> shadowIndices = new ArrayList<>();
+    for (PathNode node : wave) {
+      if (node.hit == null) {
+        node.color = node.missColor;
+        continue;
+      }
+      Optional<MaterialStrategy> material =
+          scene.getMaterialStrategy(node.hit.getPrimitive().getMaterialId());
+      if (material.isEmpty()) {
+        node.color = node.noMaterialColor;
+        continue;
+      }
+
+      SampleRandom.seedPath(seed, node.row, node.col, node.path);
+      Optional<ShadingPlan> plan = material.get().plan(node.ray, node.hit, scene, node.depth);
+      if (plan.isEmpty()) {
+        node.color = material.get().scatter(node.ray, node.hit, scene, node.depth);
+        continue;
+      }
+
+      node.plan = plan.get();
+      List<ShadowRay> shadows = node.plan.shadowRays();
+      node.visible = new boolean[shadows.size()];
+      for (int i = 0; i < shadows.size(); i++) {
+        shadowRays.add(shadows.get(i).ray());
+        shadowOwners.add(node);
+        shadowIndices.add(i);
+      }
+      List<SecondaryRay> secondaries = node.plan.secondaryRays();
+      node.children = new PathNode[secondaries.size()];
+      for (int i = 0; i < secondaries.size(); i++) {
+        SecondaryRay secondary = secondaries.get(i);
+        node.children[i] =
+            new PathNode(
+                secondary.ray(),
+                secondary.depth(),
+                node.row,
+                node.col,
+                node.path * 4 + i,
+                secondary.missColor(),
+                secondary.missColor());
+        next.add(node.children[i]);
+      }
+    }
+
+    for (int i : RayOrder.coherent(shadowRays)) {
+      PathNode owner = shadowOwners.get(i);
+      int index = shadowIndices.get(i);
+      owner.visible[index] = owner.plan.shadowRays().get(index).isVisible(scene);
+    }
+    return next;
+  }
+
+  /** Nodo del árbol de rayos de una muestra. */
+  private static final class PathNode {
+    private final Ray ray;
+    private final int depth;
+    private final int row;
+    private final int col;
+    // Identifica al nodo dentro del píxel para su secuencia aleatoria: la muestra en los bits
+    // altos y, en los bajos, la posición en el árbol (cada nodo multiplica por 4 la de su padre)
+    private final long path;
+    private final Vector3D missColor;
+    private final Vector3D noMaterialColor;
+    private Intersection hit;
+    private ShadingPlan plan;
+    private boolean[] visible;
+    private PathNode[] children;
+    private Vector3D color;
+
+    PathNode(
+        Ray ray,
+        int depth,
+        int row,
+        int col,
+        long path,
+        Vector3D missColor,
+        Vector3D noMaterialColor) {
+      this.ray = ray;
+      this.depth = depth;
+      this.row = row;
+      this.col = col;
+      this.path = path;
+      this.missColor = missColor;
+      this.noMaterialColor = noMaterialColor;
+    }
+
+    /** Calcula el color con los de los hijos, que ya están resueltos. */
+    void resolve() {
+      if (plan == null) {
+        return;
+      }
+      Vector3D[] childColors = new Vector3D[children.length];
+      for (int i = 0; i < children.length; i++) {
+        childColors[i] = children[i].color;
+      }
+      color = plan.resolve(visible, childColors);
+    }
+  }
+}
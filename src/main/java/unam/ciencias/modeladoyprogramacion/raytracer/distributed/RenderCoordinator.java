@@ -0,0 +1,238 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import unam.ciencias.modeladoyprogramacion.raytracer.Image;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+import unam.ciencias.modeladoyprogramacion.raytracer.SceneLoader;
+import unam.ciencias.modeladoyprogramacion.raytracer.Tile;
+
+/**
+ * Coordinador de render distribuido.
+ *
+ * <p>Envía la escena una sola vez a cada {@link RenderWorker} y reparte los tiles de la imagen
+ * dinámicamente: cada worker pide el siguiente tile pendiente en cuanto entrega el anterior, así
+ * que los workers rápidos renderizan más tiles. Si un worker se cae o deja de responder, su tile
+ * en curso vuelve a la cola y lo renderiza otro worker.
+ *
+ * <p>Como el muestreo es determinista por píxel, la imagen resultante es idéntica bit a bit a la
+ * de {@code RayTracer.render()} en un solo proceso. Las escenas con materiales de luz indirecta se
+ * rechazan: cada worker llenaría su propia caché de irradiancia con los tiles que le tocan y se
+ * verían costuras entre ellos.
+ *
+ * @author Cristopher Carrada
+ */
+public final class RenderCoordinator {
+  private static final Logger logger = LoggerFactory.getLogger(RenderCoordinator.class);
+  private static final int TILE_SIZE = 32;
+  private static final int CONNECT_TIMEOUT_MILLIS = 5_000;
+  private static final long POLL_INTERVAL_MILLIS = 100;
+  private static final Duration DEFAULT_TILE_TIMEOUT = Duration.ofMinutes(5);
+
+  private final String sceneJson;
+  private final List<InetSocketAddress> workers;
+  private Duration tileTimeout = DEFAULT_TILE_TIMEOUT;
+
+  /**
+   * Construye un coordinador.
+   *
+   * @param sceneJson escena en formato JSON, tal como se envía a los workers
+   * @param workers direcciones de los workers
+   */
+  public RenderCoordinator(String sceneJson, List<InetSocketAddress> workers) {
+    if (sceneJson == null) {
+      throw new IllegalArgumentException("Scene cannot be null");
+    }
+    if (workers == null || workers.isEmpty()) {
+      throw new IllegalArgumentException("At least one worker is required");
+    }
+    this.sceneJson = sceneJson;
+    this.workers = List.copyOf(workers);
+  }
+
+  /**
+   * Interpreta una lista de workers de la forma {@code host:puerto,host:puerto}.
+   *
+   * @param value lista separada por comas
+   * @return direcciones de los workers
+   */
+  public static List<InetSocketAddress> parseWorkers(String value) {
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException("Worker list cannot be empty");
+    }
+    List<InetSocketAddress> addresses = new ArrayList<>();
+    for (String entry : value.split(",")) {
+      String worker = entry.trim();
+      int separator = worker.lastIndexOf(':');
+      if (separator <= 0) {
+        throw new IllegalArgumentException("Worker must be host:port: " + worker);
+      }
+      try {
+        int port = Integer.parseInt(worker.substring(separator + 1));
+        addresses.add(InetSocketAddress.createUnresolved(worker.substring(0, separator), port));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Worker must be host:port: " + worker);
+      }
+    }
+    return addresses;
+  }
+
+  /**
+   * Establece cuánto se espera la respuesta de un tile antes de dar por muerto al worker.
+   *
+   * @param tileTimeout tiempo máximo por tile
+   */
+  public void setTileTimeout(Duration tileTimeout) {
+    if (tileTimeout == null || tileTimeout.isNegative() || tileTimeout.isZero()) {
+      throw new IllegalArgumentException("Tile timeout must be positive");
+    }
+    this.tileTimeout = tileTimeout;
+  }
+
+  /**
+   * Renderiza la escena repartiendo los tiles entre los workers.
+   *
+   * @return imagen renderizada
+   * @throws IOException si la escena es inválida, usa la caché de irradiancia o todos los workers
+   *     fallan antes de terminar
+   */
+  public Image render() throws IOException {
+    // La escena se interpreta localmente para conocer la resolución y fallar antes de conectar
+    Scene scene = new SceneLoader().loadFromString(sceneJson);
+    if (scene.usesIrradianceCache()) {
+      throw new IOException("Distributed rendering does not support indirectDiffuse materials");
+    }
+    int width = scene.getImageWidth();
+    int height = scene.getImageHeight();
+
+    List<Tile> tiles = Tile.split(width, height, TILE_SIZE);
+    Frame frame = new Frame(width, height, tiles, workers.size());
+
+    List<Thread> sessions = new ArrayList<>();
+    for (InetSocketAddress worker : workers) {
+      sessions.add(
+          Thread.ofPlatform().name("coordinator-" + describe(worker)).start(() -> run(worker, frame)));
+    }
+
+    boolean completed = false;
+    try {
+      while (!frame.remaining.await(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+        if (frame.aliveWorkers.get() == 0 && frame.remaining.getCount() > 0) {
+          throw new IOException(
+              "All workers failed; " + frame.remaining.getCount() + " tiles were not rendered");
+        }
+      }
+      completed = true;
+      // Esperar a que cada sesión cierre con BYE para liberar a los workers
+      for (Thread session : sessions) {
+        session.join();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Distributed render interrupted", e);
+    } finally {
+      if (!completed) {
+        sessions.forEach(Thread::interrupt);
+      }
+    }
+
+    return Image.fromPixels(width, height, frame.pixels);
+  }
+
+  /**
+   * Sesión con un worker: le envía la escena y le pasa tiles hasta que no queden.
+   *
+   * @param address dirección del worker
+   * @param frame estado compartido del render
+   */
+  private void run(InetSocketAddress address, Frame frame) {
+    String worker = describe(address);
+    try (Socket socket = new Socket()) {
+      InetSocketAddress resolved = new InetSocketAddress(address.getHostString(), address.getPort());
+      socket.connect(resolved, CONNECT_TIMEOUT_MILLIS);
+      socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, tileTimeout.toMillis()));
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+      RenderProtocol.writeHello(out, sceneJson);
+      int workerThreads = RenderProtocol.readReady(in);
+      logger.info("Worker {} ready with {} threads", worker, workerThreads);
+
+      int rendered = 0;
+      while (frame.remaining.getCount() > 0) {
+        Tile tile = frame.pending.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (tile == null) {
+          continue; // Puede volver un tile si otro worker falla
+        }
+        try {
+          RenderProtocol.writeTile(out, tile);
+          frame.store(tile, RenderProtocol.readPixels(in, tile));
+          rendered++;
+        } catch (IOException e) {
+          // Devolver el tile para que lo renderice otro worker
+          frame.pending.addFirst(tile);
+          throw e;
+        }
+      }
+
+      RenderProtocol.writeBye(out);
+      logger.info("Worker {} rendered {} tiles", worker, rendered);
+    } catch (IOException e) {
+      logger.warn("Worker {} failed, reassigning its tiles: {}", worker, e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      frame.aliveWorkers.decrementAndGet();
+    }
+  }
+
+  private static String describe(InetSocketAddress address) {
+    return address.getHostString() + ":" + address.getPort();
+  }
+
+  /** Estado compartido entre las sesiones de un render. */
+  private static final class Frame {
+    private final int width;
+    private final int[] pixels;
+    private final BlockingDeque<Tile> pending;
+    private final CountDownLatch remaining;
+    private final AtomicInteger aliveWorkers;
+
+    Frame(int width, int height, List<Tile> tiles, int workers) {
+      this.width = width;
+      this.pixels = new int[width * height];
+      this.pending = new LinkedBlockingDeque<>(tiles);
+      this.remaining = new CountDownLatch(tiles.size());
+      this.aliveWorkers = new AtomicInteger(workers);
+    }
+
+    /** Copia los píxeles de un tile terminado; cada tile se guarda exactamente una vez. */
+    void store(Tile tile, int[] tilePixels) {
+      for (int row = 0; row < tile.height(); row++) {
+        System.arraycopy(
+            tilePixels,
+            row * tile.width(),
+            pixels,
+            (tile.y() + row) * width + tile.x(),
+            tile.width());
+      }
+      remaining.countDown();
+    }
+  }
+}
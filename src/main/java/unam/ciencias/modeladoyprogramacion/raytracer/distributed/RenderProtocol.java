@@ -0,0 +1,124 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.distributed;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import unam.ciencias.modeladoyprogramacion.raytracer.Tile;
+
+/**
+ * Protocolo binario entre el coordinador y los workers de render distribuido.
+ *
+ * <p>Una sesión sigue esta secuencia sobre una conexión TCP:
+ *
+ * <ol>
+ *   <li>Coordinador → worker: {@code MAGIC, VERSION, longitud, escena JSON (UTF-8)}. La escena se
+ *       envía una sola vez por sesión.
+ *   <li>Worker → coordinador: {@code MAGIC, hilos}.
+ *   <li>Coordinador → worker: {@code TILE, id, x, y, ancho, alto}; el worker responde {@code id,
+ *       píxeles} con los colores del tile fila por fila. Se repite mientras queden tiles.
+ *   <li>Coordinador → worker: {@code BYE}.
+ * </ol>
+ *
+ * <p>Todos los enteros son de 32 bits en orden big-endian.
+ *
+ * @author Cristopher Carrada
+ */
+final class RenderProtocol {
+  static final int MAGIC = 0x52545243; // "RTRC"
+  static final int VERSION = 1;
+  static final int TILE = 1;
+  static final int BYE = 2;
+
+  // Límite de tamaño de la escena para no reservar memoria por un mensaje corrupto
+  private static final int MAX_SCENE_BYTES = 64 * 1024 * 1024;
+
+  private RenderProtocol() {}
+
+  static void writeHello(DataOutputStream out, String sceneJson) throws IOException {
+    byte[] scene = sceneJson.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(scene.length);
+    out.write(scene);
+    out.flush();
+  }
+
+  static String readHello(DataInputStream in) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a render coordinator");
+    }
+    int version = in.readInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported protocol version: " + version);
+    }
+    int length = in.readInt();
+    if (length < 0 || length > MAX_SCENE_BYTES) {
+      throw new IOException("Invalid scene size: " + length);
+    }
+    byte[] scene = new byte[length];
+    in.readFully(scene);
+    return new String(scene, StandardCharsets.UTF_8);
+  }
+
+  static void writeReady(DataOutputStream out, int threads) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(threads);
+    out.flush();
+  }
+
+  static int readReady(DataInputStream in) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a render worker");
+    }
+    return in.readInt();
+  }
+
+  static void writeTile(DataOutputStream out, Tile tile) throws IOException {
+    out.writeInt(TILE);
+    out.writeInt(tile.id());
+    out.writeInt(tile.x());
+    out.writeInt(tile.y());
+    out.writeInt(tile.width());
+    out.writeInt(tile.height());
+    out.flush();
+  }
+
+  static Tile readTile(DataInputStream in) throws IOException {
+    return new Tile(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+  }
+
+  static void writeBye(DataOutputStream out) throws IOException {
+    out.writeInt(BYE);
+    out.flush();
+  }
+
+  static void writePixels(DataOutputStream out, int tileId, int[] pixels) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(pixels.length * Integer.BYTES);
+    buffer.asIntBuffer().put(pixels);
+    out.writeInt(tileId);
+    out.write(buffer.array());
+    out.flush();
+  }
+
+  /**
+   * Lee la respuesta de un tile.
+   *
+   * @param in flujo de entrada
+   * @param tile tile solicitado
+   * @return píxeles del tile
+   * @throws IOException si la conexión falla o la respuesta no corresponde al tile
+   */
+  static int[] readPixels(DataInputStream in, Tile tile) throws IOException {
+    int tileId = in.readInt();
+    if (tileId != tile.id()) {
+      throw new IOException("Expected tile " + tile.id() + " but received " + tileId);
+    }
+    byte[] bytes = new byte[tile.pixelCount() * Integer.BYTES];
+    in.readFully(bytes);
+    int[] pixels = new int[tile.pixelCount()];
+    ByteBuffer.wrap(bytes).asIntBuffer().get(pixels);
+    return pixels;
+  }
+}
@@ -0,0 +1,127 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayTracer;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+import unam.ciencias.modeladoyprogramacion.raytracer.SceneLoader;
+import unam.ciencias.modeladoyprogramacion.raytracer.Tile;
+
+/**
+ * Worker de render distribuido.
+ *
+ * <p>Escucha en un puerto TCP y atiende a un coordinador a la vez: recibe la escena, y después
+ * renderiza los tiles que el coordinador le pide hasta que éste cierra la sesión. Al terminar una
+ * sesión vuelve a esperar a otro coordinador.
+ *
+ * @author Cristopher Carrada
+ * @see RenderCoordinator
+ */
+public final class RenderWorker implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(RenderWorker.class);
+
+  private final ServerSocket serverSocket;
+  private final int threads;
+
+  /**
+   * Construye un worker y abre su puerto.
+   *
+   * @param port puerto TCP donde escuchar (0 = cualquier puerto libre)
+   * @param threads número de hilos con los que renderiza cada tile
+   * @throws IOException si no se puede abrir el puerto
+   */
+  public RenderWorker(int port, int threads) throws IOException {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Threads must be at least 1");
+    }
+    this.serverSocket = new ServerSocket(port);
+    this.threads = threads;
+  }
+
+  /**
+   * Obtiene el puerto en el que escucha el worker.
+   *
+   * @return puerto TCP local
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Atiende coordinadores hasta que el worker se cierra.
+   *
+   * @throws IOException si falla el socket de escucha
+   */
+  public void serve() throws IOException {
+    logger.info("Render worker listening on port {} with {} threads", getPort(), threads);
+    while (!serverSocket.isClosed()) {
+      Socket socket;
+      try {
+        socket = serverSocket.accept();
+      } catch (SocketException e) {
+        if (serverSocket.isClosed()) {
+          return;
+        }
+        throw e;
+      }
+
+      try (socket) {
+        handleSession(socket);
+      } catch (IOException | RuntimeException e) {
+        // Una sesión fallida (conexión, escena o tile inválidos) no detiene al worker
+        logger.warn("Session with {} ended: {}", socket.getRemoteSocketAddress(), e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Atiende a un coordinador: recibe la escena y renderiza tiles hasta recibir {@code BYE}.
+   *
+   * @param socket conexión con el coordinador
+   * @throws IOException si la conexión falla o el coordinador viola el protocolo
+   */
+  private void handleSession(Socket socket) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+    Scene scene = new SceneLoader().loadFromString(RenderProtocol.readHello(in));
+    RayTracer rayTracer = new RayTracer(scene, threads);
+    RenderProtocol.writeReady(out, threads);
+    logger.info(
+        "Rendering {}x{} scene for {}",
+        scene.getImageWidth(),
+        scene.getImageHeight(),
+        socket.getRemoteSocketAddress());
+
+    while (true) {
+      int message = in.readInt();
+      if (message == RenderProtocol.BYE) {
+        return;
+      }
+      if (message != RenderProtocol.TILE) {
+        throw new IOException("Unexpected message: " + message);
+      }
+      Tile tile = RenderProtocol.readTile(in);
+      RenderProtocol.writePixels(out, tile.id(), rayTracer.renderTile(tile));
+    }
+  }
+
+  /**
+   * Cierra el puerto del worker; {@link #serve()} termina después de la sesión en curso.
+   *
+   * @throws IOException si falla el cierre del socket
+   */
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+}
@@ -0,0 +1,45 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.distributed;
+
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import unam.ciencias.modeladoyprogramacion.raytracer.CLIOperationExecutor;
+import unam.ciencias.modeladoyprogramacion.raytracer.CLIOptions;
+import unam.ciencias.modeladoyprogramacion.raytracer.metrics.MetricsReporter;
+
+/**
+ * Executor que ejecuta un {@link RenderWorker} desde la línea de comandos.
+ *
+ * <p>El proceso queda atendiendo coordinadores hasta que se termina.
+ *
+ * @author Cristopher Carrada
+ */
+public final class RenderWorkerExecutor implements CLIOperationExecutor {
+  /** Puerto por defecto si no se especifica {@code --port}. */
+  public static final int DEFAULT_PORT = 7070;
+
+  private static final Logger logger = LoggerFactory.getLogger(RenderWorkerExecutor.class);
+
+  /**
+   * Constructor que inicializa el executor con las opciones de CLI.
+   *
+   * @param options Opciones proporcionadas desde la línea de comandos.
+   */
+  public RenderWorkerExecutor(CLIOptions options) {
+    if (options == null) {
+      throw new IllegalArgumentException("Options cannot be null");
+    }
+  }
+
+  @Override
+  public void execute(CLIOptions options) {
+    int port = options.port() > 0 ? options.port() : DEFAULT_PORT;
+    try (var ignored = MetricsReporter.exportGlobal(options.metrics());
+        RenderWorker worker = new RenderWorker(port, options.threads())) {
+      worker.serve();
+    } catch (IOException e) {
+      logger.error("Render worker error: {}", e.getMessage(), e);
+      System.exit(1);
+    }
+  }
+}
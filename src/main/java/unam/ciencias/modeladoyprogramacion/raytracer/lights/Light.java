@@ -58,4 +58,20 @@ public abstract class Light {
    * @return distancia a la luz
    */
   public abstract double getDistanceFrom(Vector3D point);
+
+  /**
+   * Obtiene una versión de esta luz que dispara como máximo el número indicado de rayos de
+   * sombra por punto sombreado.
+   *
+   * <p>Las luces que usan un solo rayo de sombra se devuelven sin cambios.
+   *
+   * @param maxShadowSamples número máximo de rayos de sombra (mínimo 1)
+   * @return luz con el muestreo de sombras acotado
+   */
+  public Light withShadowSampleCap(int maxShadowSamples) {
+    if (maxShadowSamples < 1) {
+      throw new IllegalArgumentException("Shadow sample cap must be at least 1");
+    }
+    return this;
+  }
 }
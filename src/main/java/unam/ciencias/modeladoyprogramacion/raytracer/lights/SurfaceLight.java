@@ -3,6 +3,7 @@ package unam.ciencias.modeladoyprogramacion.raytracer.lights;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.function.DoubleSupplier;
 import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
 
 /**
@@ -119,6 +120,15 @@ public final class SurfaceLight extends Light {
     return samples;
   }
 
+  @Override
+  public Light withShadowSampleCap(int maxShadowSamples) {
+    super.withShadowSampleCap(maxShadowSamples);
+    if (samples <= maxShadowSamples) {
+      return this;
+    }
+    return new SurfaceLight(color, intensity, position, normal, width, height, maxShadowSamples);
+  }
+
   /**
    * Genera puntos de muestreo distribuidos sobre la superficie rectangular.
    *
@@ -128,6 +138,19 @@ public final class SurfaceLight extends Light {
    * @return lista de puntos sobre la superficie
    */
   public List<Vector3D> getSamplePoints() {
+    return getSamplePoints(random::nextDouble);
+  }
+
+  /**
+   * Genera puntos de muestreo usando una fuente de números aleatorios externa.
+   *
+   * <p>El ray tracer usa esta variante con {@code SampleRandom} para que las sombras de cada píxel
+   * no dependan del orden en que los hilos consultan la luz.
+   *
+   * @param jitter fuente de números uniformes en [0, 1)
+   * @return lista de puntos sobre la superficie
+   */
+  public List<Vector3D> getSamplePoints(DoubleSupplier jitter) {
     List<Vector3D> points = new ArrayList<>(samples);
 
     // Usar grid estratificado para mejor cobertura
@@ -139,22 +162,28 @@ public final class SurfaceLight extends Light {
       int col = i % sqrtSamples;
 
       // Offset aleatorio dentro de la celda del grid (jittering)
-      double uOffset = (col + random.nextDouble()) / sqrtSamples;
-      double vOffset = (row + random.nextDouble()) / sqrtSamples;
+      double uOffset = (col + jitter.getAsDouble()) / sqrtSamples;
+      double vOffset = (row + jitter.getAsDouble()) / sqrtSamples;
 
-      // Mapear de [0,1] a [-width/2, width/2] y [-height/2, height/2]
-      double u = (uOffset - 0.5) * width;
-      double v = (vOffset - 0.5) * height;
-
-      // Calcular posición en espacio 3D
-      Vector3D offset = uAxis.multiply(u).add(vAxis.multiply(v));
-      Vector3D samplePoint = position.add(offset);
-      points.add(samplePoint);
+      points.add(pointAt(uOffset, vOffset));
     }
 
     return points;
   }
 
+  /**
+   * Obtiene el punto de la superficie con coordenadas relativas {@code (u, v)}.
+   *
+   * @param u coordenada a lo ancho en [0, 1]
+   * @param v coordenada a lo alto en [0, 1]
+   * @return punto de la superficie; {@code (0.5, 0.5)} es el centro
+   */
+  public Vector3D pointAt(double u, double v) {
+    // Mapear de [0,1] a [-width/2, width/2] y [-height/2, height/2]
+    Vector3D offset = uAxis.multiply((u - 0.5) * width).add(vAxis.multiply((v - 0.5) * height));
+    return position.add(offset);
+  }
+
   @Override
   public Vector3D getDirectionFrom(Vector3D point) {
     if (point == null) {
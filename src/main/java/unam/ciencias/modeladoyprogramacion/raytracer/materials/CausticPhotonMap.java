@@ -0,0 +1,334 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.materials;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+
+/**
+ * Mapa de fotones de cáusticas (Jensen, 1996) guardado como kd-tree en arreglos planos.
+ *
+ * <p>Cada fotón ocupa tres posiciones consecutivas en cada arreglo: su posición, su dirección de
+ * llegada y su potencia RGB. Los arreglos se reordenan para que el árbol sea implícito: el nodo del
+ * rango {@code [lo, hi)} es el fotón de en medio, la mediana en el eje de mayor extensión del
+ * rango, y sus hijos son las dos mitades; los rangos pequeños son hojas que se revisan completas.
+ * Así el árbol no tiene nodos ni referencias, y los fotones cercanos quedan cerca en memoria.
+ *
+ * <p>La irradiancia se estima con los {@code gatherCount} fotones más cercanos dentro de {@code
+ * maxRadius}, ponderados con el filtro de cono de Jensen para conservar los bordes de las
+ * cáusticas. El mapa es inmutable, así que lo consultan varios hilos sin sincronizar.
+ *
+ * @author Cristopher Carrada
+ * @see CausticPhotonTracer
+ */
+public final class CausticPhotonMap {
+  /** Fotones que se promedian en cada estimación. */
+  public static final int DEFAULT_GATHER_COUNT = 64;
+
+  /** Radio máximo de búsqueda de fotones, en unidades de la escena. */
+  public static final double DEFAULT_MAX_RADIUS = 0.25;
+
+  // Fotones por hoja: los rangos de este tamaño se revisan completos en lugar de dividirse
+  private static final int LEAF_SIZE = 8;
+
+  // Constante k del filtro de cono: pesa 1 en el punto y 1 - 1/k en el borde de la búsqueda
+  private static final double CONE_FILTER = 1.1;
+
+  private final double[] positions;
+  private final double[] directions;
+  private final double[] power;
+  // Eje de corte del nodo de cada fotón (0 = x, 1 = y, 2 = z)
+  private final byte[] axes;
+  private final int gatherCount;
+  private final double maxRadius;
+
+  /**
+   * Construye el kd-tree de un conjunto de fotones.
+   *
+   * <p>El mapa guarda copias de los arreglos en el orden del árbol.
+   *
+   * @param positions posiciones x, y, z de cada fotón
+   * @param directions direcciones unitarias de llegada x, y, z de cada fotón
+   * @param power potencias r, g, b de cada fotón
+   * @param gatherCount fotones por estimación
+   * @param maxRadius radio máximo de búsqueda
+   */
+  CausticPhotonMap(
+      double[] positions,
+      double[] directions,
+      double[] power,
+      int gatherCount,
+      double maxRadius) {
+    if (positions.length % 3 != 0
+        || directions.length != positions.length
+        || power.length != positions.length) {
+      throw new IllegalArgumentException("Photon arrays must hold three values per photon");
+    }
+    if (gatherCount < 1) {
+      throw new IllegalArgumentException("Gather count must be at least 1");
+    }
+    if (maxRadius <= 0) {
+      throw new IllegalArgumentException("Maximum radius must be positive");
+    }
+    int size = positions.length / 3;
+    int[] order = new int[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    this.axes = new byte[size];
+    build(order, positions, 0, size);
+    this.positions = permute(positions, order);
+    this.directions = permute(directions, order);
+    this.power = permute(power, order);
+    this.gatherCount = gatherCount;
+    this.maxRadius = maxRadius;
+  }
+
+  /**
+   * Crea un mapa sin fotones.
+   *
+   * @return mapa vacío, cuya irradiancia es cero en todo punto
+   */
+  public static CausticPhotonMap empty() {
+    return new CausticPhotonMap(
+        new double[0], new double[0], new double[0], DEFAULT_GATHER_COUNT, DEFAULT_MAX_RADIUS);
+  }
+
+  /**
+   * Número de fotones guardados.
+   *
+   * @return fotones en el mapa
+   */
+  public int size() {
+    return axes.length;
+  }
+
+  /**
+   * Estima la irradiancia de las cáusticas en una intersección, del lado por el que llega el rayo.
+   *
+   * @param incident rayo que produjo la intersección
+   * @param hit intersección a iluminar
+   * @return irradiancia RGB en las mismas unidades que la luz directa
+   */
+  public Vector3D irradiance(Ray incident, Intersection hit) {
+    Vector3D normal = hit.getNormal();
+    if (incident.getDirection().dot(normal) > 0) {
+      normal = normal.negate();
+    }
+    return irradiance(hit.getPoint(), normal);
+  }
+
+  /**
+   * Estima la irradiancia de las cáusticas en un punto.
+   *
+   * <p>Sólo cuentan los fotones que llegan por el lado hacia el que apunta la normal, para que una
+   * cáustica no se filtre a la cara opuesta de una superficie delgada.
+   *
+   * @param point punto a iluminar
+   * @param normal normal unitaria del lado iluminado
+   * @return irradiancia RGB en las mismas unidades que la luz directa ({@code intensidad · cos})
+   */
+  public Vector3D irradiance(Vector3D point, Vector3D normal) {
+    if (axes.length == 0) {
+      return new Vector3D(0, 0, 0);
+    }
+    double[] query = {point.getX(), point.getY(), point.getZ()};
+    Neighbors neighbors = new Neighbors(gatherCount, maxRadius * maxRadius);
+    gather(0, axes.length, query, new double[3], 0, neighbors);
+    if (neighbors.count == 0) {
+      return new Vector3D(0, 0, 0);
+    }
+
+    double radius = Math.sqrt(neighbors.limit());
+    double red = 0;
+    double green = 0;
+    double blue = 0;
+    for (int i = 0; i < neighbors.count; i++) {
+      int photon = 3 * neighbors.photons[i];
+      double arriving =
+          directions[photon] * normal.getX()
+              + directions[photon + 1] * normal.getY()
+              + directions[photon + 2] * normal.getZ();
+      if (arriving >= 0) {
+        continue;
+      }
+      double weight = 1 - Math.sqrt(neighbors.distances[i]) / (CONE_FILTER * radius);
+      red += weight * power[photon];
+      green += weight * power[photon + 1];
+      blue += weight * power[photon + 2];
+    }
+    double area = (1 - 2 / (3 * CONE_FILTER)) * Math.PI * radius * radius;
+    return new Vector3D(red / area, green / area, blue / area);
+  }
+
+  /**
+   * Busca los vecinos más cercanos en el subárbol del rango {@code [lo, hi)}.
+   *
+   * <p>{@code offsets} guarda, por eje, la distancia del punto a la celda del subárbol, y {@code
+   * cellDistance} la suma de sus cuadrados: una cota inferior de la distancia a cualquier fotón del
+   * subárbol que descarta celdas que sólo están cerca en un eje (Arya y Mount, 1993).
+   */
+  private void gather(
+      int lo, int hi, double[] query, double[] offsets, double cellDistance, Neighbors neighbors) {
+    if (hi - lo <= LEAF_SIZE) {
+      for (int photon = lo; photon < hi; photon++) {
+        offer(photon, query, neighbors);
+      }
+      return;
+    }
+    int node = (lo + hi) >>> 1;
+    int axis = axes[node];
+    double delta = query[axis] - positions[3 * node + axis];
+    boolean left = delta < 0;
+    // Primero el lado del punto; el otro sólo si su celda está dentro del radio actual
+    gather(left ? lo : node + 1, left ? node : hi, query, offsets, cellDistance, neighbors);
+    offer(node, query, neighbors);
+    double previous = offsets[axis];
+    double farDistance = cellDistance - previous * previous + delta * delta;
+    if (farDistance < neighbors.limit()) {
+      offsets[axis] = delta;
+      gather(left ? node + 1 : lo, left ? hi : node, query, offsets, farDistance, neighbors);
+      offsets[axis] = previous;
+    }
+  }
+
+  private void offer(int photon, double[] query, Neighbors neighbors) {
+    double dx = query[0] - positions[3 * photon];
+    double dy = query[1] - positions[3 * photon + 1];
+    double dz = query[2] - positions[3 * photon + 2];
+    neighbors.offer(photon, dx * dx + dy * dy + dz * dz);
+  }
+
+  /** Ordena recursivamente el rango {@code [lo, hi)} como subárbol. */
+  private void build(int[] order, double[] positions, int lo, int hi) {
+    if (hi - lo <= LEAF_SIZE) {
+      return;
+    }
+    int axis = widestAxis(order, positions, lo, hi);
+    int middle = (lo + hi) >>> 1;
+    select(order, positions, axis, lo, hi, middle);
+    axes[middle] = (byte) axis;
+    build(order, positions, lo, middle);
+    build(order, positions, middle + 1, hi);
+  }
+
+  private static int widestAxis(int[] order, double[] positions, int lo, int hi) {
+    double[] min = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+    double[] max = {-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+    for (int i = lo; i < hi; i++) {
+      for (int axis = 0; axis < 3; axis++) {
+        double value = positions[3 * order[i] + axis];
+        min[axis] = Math.min(min[axis], value);
+        max[axis] = Math.max(max[axis], value);
+      }
+    }
+    double x = max[0] - min[0];
+    double y = max[1] - min[1];
+    double z = max[2] - min[2];
+    return x >= y && x >= z ? 0 : y >= z ? 1 : 2;
+  }
+
+  /**
+   * Deja en {@code order[k]} el fotón que le toca en el orden por {@code axis} (quickselect), con
+   * los menores o iguales antes y los mayores o iguales después.
+   */
+  private static void select(
+      int[] order, double[] positions, int axis, int lo, int hi, int k) {
+    int left = lo;
+    int right = hi - 1;
+    while (left < right) {
+      double pivot = positions[3 * order[(left + right) >>> 1] + axis];
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (positions[3 * order[i] + axis] < pivot) {
+          i++;
+        }
+        while (positions[3 * order[j] + axis] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          int swap = order[i];
+          order[i] = order[j];
+          order[j] = swap;
+          i++;
+          j--;
+        }
+      }
+      if (k <= j) {
+        right = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  private static double[] permute(double[] values, int[] order) {
+    double[] permuted = new double[values.length];
+    for (int i = 0; i < order.length; i++) {
+      System.arraycopy(values, 3 * order[i], permuted, 3 * i, 3);
+    }
+    return permuted;
+  }
+
+  /** Montículo de máximos con los fotones más cercanos encontrados hasta ahora. */
+  private static final class Neighbors {
+    private final int[] photons;
+    private final double[] distances;
+    private final double maxDistance;
+    private int count;
+
+    Neighbors(int capacity, double maxDistance) {
+      this.photons = new int[capacity];
+      this.distances = new double[capacity];
+      this.maxDistance = maxDistance;
+    }
+
+    /** Distancia al cuadrado a partir de la cual un fotón ya no entra. */
+    double limit() {
+      return count < photons.length ? maxDistance : distances[0];
+    }
+
+    void offer(int photon, double distance) {
+      if (distance >= limit()) {
+        return;
+      }
+      if (count < photons.length) {
+        // Subir el nuevo elemento desde la última hoja
+        int child = count++;
+        while (child > 0) {
+          int parent = (child - 1) / 2;
+          if (distances[parent] >= distance) {
+            break;
+          }
+          photons[child] = photons[parent];
+          distances[child] = distances[parent];
+          child = parent;
+        }
+        photons[child] = photon;
+        distances[child] = distance;
+        return;
+      }
+      // Reemplazar el más lejano y bajarlo a su lugar
+      int parent = 0;
+      while (true) {
+        int child = 2 * parent + 1;
+        if (child >= count) {
+          break;
+        }
+        if (child + 1 < count && distances[child + 1] > distances[child]) {
+          child++;
+        }
+        if (distances[child] <= distance) {
+          break;
+        }
+        photons[parent] = photons[child];
+        distances[parent] = distances[child];
+        parent = child;
+      }
+      photons[parent] = photon;
+      distances[parent] = distance;
+    }
+  }
+}
@@ -0,0 +1,378 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.materials;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.DirectionalLight;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.Light;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.SurfaceLight;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Box;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Primitive;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.PrimitiveGroup;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Sphere;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.SphereSet;
+
+/**
+ * Prepaso que emite fotones de cáusticas y arma el {@link CausticPhotonMap} de una escena.
+ *
+ * <p>Las cáusticas son luz que llega a una superficie difusa después de pasar por objetos
+ * transparentes o espejos; los rayos de sombra no las ven porque esos objetos los bloquean. Los
+ * fotones se disparan desde cada luz sólo hacia la esfera que envuelve a cada objeto transparente
+ * o espejo, rebotan con las mismas reglas de {@link ReflectionHandler} y {@link
+ * RefractionHandler} (eligiendo reflexión, refracción o absorción con ruleta rusa) y se guardan
+ * donde caen en una superficie difusa. Los planos no se acotan, así que no se les apuntan fotones.
+ *
+ * <p>Las luces del trazador no se atenúan con la distancia. Para que las cáusticas coincidan con la
+ * luz directa, cada fotón de una luz puntual o de superficie lleva la potencia que, a la distancia
+ * del objeto al que apunta, produce la misma irradiancia que la luz directa; los de una luz
+ * direccional cubren el disco que el objeto proyecta.
+ *
+ * <p>Los fotones se emiten en lotes que toman los hilos que piden el mapa: cada uno emite lotes
+ * hasta que no quedan, el que termina el último arma el kd-tree y todos reciben el mismo mapa. Cada
+ * lote usa su propia semilla, así que el mapa no depende del número de hilos.
+ *
+ * @author Cristopher Carrada
+ */
+public final class CausticPhotonTracer {
+  /** Fotones por lote de emisión. */
+  public static final int BATCH_SIZE = 4096;
+
+  // Distancia desde la que llegan los fotones de una luz direccional
+  private static final double DIRECTIONAL_DISTANCE = 1e4;
+
+  private final int photonCount;
+  private final ReflectionHandler reflectionHandler = new ReflectionHandler();
+  private final RefractionHandler refractionHandler = new RefractionHandler();
+  private final AtomicInteger nextBatch = new AtomicInteger();
+  private final AtomicInteger completedBatches = new AtomicInteger();
+  private final CompletableFuture<CausticPhotonMap> map = new CompletableFuture<>();
+  private List<Batch> batches;
+  private Photons[] emitted;
+
+  /**
+   * Construye el prepaso de una escena.
+   *
+   * @param photonCount fotones a emitir entre todas las luces; 0 desactiva las cáusticas
+   */
+  public CausticPhotonTracer(int photonCount) {
+    if (photonCount < 0) {
+      throw new IllegalArgumentException("Photon count must be non-negative");
+    }
+    this.photonCount = photonCount;
+  }
+
+  /**
+   * Fotones a emitir entre todas las luces.
+   *
+   * @return número de fotones configurado
+   */
+  public int getPhotonCount() {
+    return photonCount;
+  }
+
+  /**
+   * Obtiene el mapa de fotones, emitiendo los lotes pendientes si aún no está listo.
+   *
+   * <p>El hilo que llama ayuda a emitir y espera a que los demás terminen sus lotes.
+   *
+   * @param scene escena a la que pertenece el prepaso
+   * @return mapa de fotones de cáusticas
+   */
+  public CausticPhotonMap photonMap(Scene scene) {
+    if (!map.isDone()) {
+      List<Batch> plan = plan(scene);
+      int index;
+      while ((index = nextBatch.getAndIncrement()) < plan.size()) {
+        try {
+          emitted[index] = emit(plan.get(index), index, scene);
+        } catch (RuntimeException | Error e) {
+          map.completeExceptionally(e);
+          throw e;
+        }
+        if (completedBatches.incrementAndGet() == plan.size()) {
+          map.complete(merge());
+        }
+      }
+    }
+    try {
+      return map.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Indica si un material transmite o refleja los fotones que le llegan.
+   *
+   * @param material material a revisar
+   * @return {@code true} si es transparente o un espejo sin componente difusa
+   */
+  static boolean isSpecular(MaterialStrategy material) {
+    return material.getTransparency() > 0
+        || (material.getDiffuseCoefficient() == 0 && material.getReflectivity() > 0);
+  }
+
+  /**
+   * Indica si un material guarda los fotones que le llegan y, por lo tanto, muestra cáusticas.
+   *
+   * @param material material a revisar
+   * @return {@code true} si es opaco y difuso
+   */
+  static boolean receivesCaustics(MaterialStrategy material) {
+    return material.getTransparency() <= 0 && material.getDiffuseCoefficient() > 0;
+  }
+
+  /** Reparte los fotones entre cada par de luz y objeto especular, la primera vez. */
+  private synchronized List<Batch> plan(Scene scene) {
+    if (batches != null) {
+      return batches;
+    }
+    List<Target> targets = new ArrayList<>();
+    for (Primitive primitive : scene.getPrimitives()) {
+      addTargets(primitive, scene, targets);
+    }
+    List<Light> lights = scene.getLights();
+    List<Batch> plan = new ArrayList<>();
+    int emitters = lights.size() * targets.size();
+    if (photonCount > 0 && emitters > 0) {
+      int perEmitter = Math.max(1, photonCount / emitters);
+      for (Light light : lights) {
+        for (Target target : targets) {
+          for (int first = 0; first < perEmitter; first += BATCH_SIZE) {
+            plan.add(
+                new Batch(light, target, perEmitter, Math.min(BATCH_SIZE, perEmitter - first)));
+          }
+        }
+      }
+    }
+    emitted = new Photons[plan.size()];
+    batches = List.copyOf(plan);
+    if (batches.isEmpty()) {
+      map.complete(CausticPhotonMap.empty());
+    }
+    return batches;
+  }
+
+  /** Agrega las esferas envolventes de los objetos especulares de un primitivo. */
+  private static void addTargets(Primitive primitive, Scene scene, List<Target> targets) {
+    if (primitive instanceof PrimitiveGroup group) {
+      for (Primitive child : group.getChildren()) {
+        addTargets(child, scene, targets);
+      }
+      return;
+    }
+    boolean specular =
+        scene
+            .getMaterialStrategy(primitive.getMaterialId())
+            .map(CausticPhotonTracer::isSpecular)
+            .orElse(false);
+    if (!specular) {
+      return;
+    }
+    if (primitive instanceof Sphere sphere) {
+      targets.add(new Target(sphere.getCenter(), sphere.getRadius()));
+    } else if (primitive instanceof SphereSet set) {
+      for (Sphere sphere : set.getSpheres()) {
+        targets.add(new Target(sphere.getCenter(), sphere.getRadius()));
+      }
+    } else if (primitive instanceof Box box) {
+      Vector3D center = box.getMin().add(box.getMax()).multiply(0.5);
+      targets.add(new Target(center, box.getMax().distance(center)));
+    }
+  }
+
+  /** Emite los fotones de un lote. */
+  private Photons emit(Batch batch, int index, Scene scene) {
+    SplittableRandom random = new SplittableRandom(0x9E3779B97F4A7C15L * (index + 1));
+    Photons photons = new Photons();
+    Light light = batch.light();
+    Target target = batch.target();
+    Vector3D color = light.getColor().multiply(light.getIntensity() / batch.emitterPhotons());
+
+    for (int i = 0; i < batch.photons(); i++) {
+      Ray ray;
+      Vector3D power;
+      if (light instanceof DirectionalLight directional) {
+        // Un punto uniforme del disco que el objeto proyecta en la dirección de la luz
+        Vector3D direction = directional.getDirection();
+        Vector3D tangent = perpendicular(direction);
+        Vector3D bitangent = direction.cross(tangent);
+        double radius = target.radius() * Math.sqrt(random.nextDouble());
+        double phi = 2 * Math.PI * random.nextDouble();
+        Vector3D onDisk =
+            target
+                .center()
+                .add(tangent.multiply(radius * Math.cos(phi)))
+                .add(bitangent.multiply(radius * Math.sin(phi)));
+        ray = new Ray(onDisk.subtract(direction.multiply(DIRECTIONAL_DISTANCE)), direction);
+        power = color.multiply(Math.PI * target.radius() * target.radius());
+      } else {
+        Vector3D origin =
+            light instanceof SurfaceLight surface
+                ? surface.pointAt(random.nextDouble(), random.nextDouble())
+                : light.getPosition();
+        Vector3D toTarget = target.center().subtract(origin);
+        double distance = toTarget.magnitude();
+        Vector3D axis;
+        double cosMax;
+        if (distance <= target.radius()) {
+          // La luz está dentro de la esfera envolvente: se emite en todas direcciones
+          axis = new Vector3D(0, 1, 0);
+          cosMax = -1;
+        } else {
+          axis = toTarget.multiply(1 / distance);
+          double sinMax = target.radius() / distance;
+          cosMax = Math.sqrt(1 - sinMax * sinMax);
+        }
+        ray = new Ray(origin, coneDirection(axis, cosMax, random));
+        double solidAngle = 2 * Math.PI * (1 - cosMax);
+        power = color.multiply(distance * distance * solidAngle);
+      }
+      trace(ray, power, scene, random, photons);
+    }
+    return photons;
+  }
+
+  /** Sigue un fotón por los objetos especulares y lo guarda en la primera superficie difusa. */
+  private void trace(
+      Ray ray, Vector3D power, Scene scene, SplittableRandom random, Photons photons) {
+    boolean specularPath = false;
+    for (int depth = 0; ; depth++) {
+      Optional<Intersection> hit = scene.intersect(ray);
+      if (hit.isEmpty()) {
+        return;
+      }
+      Intersection intersection = hit.get();
+      Optional<MaterialStrategy> material =
+          scene.getMaterialStrategy(intersection.getPrimitive().getMaterialId());
+      if (material.isEmpty()) {
+        return;
+      }
+      MaterialStrategy strategy = material.get();
+      if (!isSpecular(strategy)) {
+        // Los fotones que llegan directo de la luz ya los cubren los rayos de sombra
+        if (specularPath && receivesCaustics(strategy)) {
+          photons.add(intersection.getPoint(), ray.getDirection(), power);
+        }
+        return;
+      }
+
+      Optional<SecondaryRay> reflection =
+          reflectionHandler.reflectionRay(
+              ray, intersection, scene, depth, strategy.getReflectivity());
+      Optional<SecondaryRay> refraction =
+          refractionHandler.refractionRay(
+              ray,
+              intersection,
+              scene,
+              depth,
+              strategy.getTransparency(),
+              strategy.getRefractiveIndex());
+      double reflectWeight = reflection.map(SecondaryRay::weight).orElse(0.0);
+      double refractWeight = refraction.map(SecondaryRay::weight).orElse(0.0);
+      double total = reflectWeight + refractWeight;
+      // Ruleta rusa: sin pesos que sumen más de 1, la potencia del fotón no cambia
+      double choice = random.nextDouble() * Math.max(1, total);
+      if (choice < reflectWeight) {
+        ray = reflection.get().ray();
+      } else if (choice < total) {
+        ray = refraction.get().ray();
+      } else {
+        return;
+      }
+      if (total > 1) {
+        power = power.multiply(total);
+      }
+      specularPath = true;
+    }
+  }
+
+  /** Junta los lotes en orden y arma el kd-tree. */
+  private CausticPhotonMap merge() {
+    int size = 0;
+    for (Photons photons : emitted) {
+      size += photons.size;
+    }
+    double[] positions = new double[size];
+    double[] directions = new double[size];
+    double[] power = new double[size];
+    int offset = 0;
+    for (Photons photons : emitted) {
+      System.arraycopy(photons.positions, 0, positions, offset, photons.size);
+      System.arraycopy(photons.directions, 0, directions, offset, photons.size);
+      System.arraycopy(photons.power, 0, power, offset, photons.size);
+      offset += photons.size;
+    }
+    emitted = null;
+    return new CausticPhotonMap(
+        positions,
+        directions,
+        power,
+        CausticPhotonMap.DEFAULT_GATHER_COUNT,
+        CausticPhotonMap.DEFAULT_MAX_RADIUS);
+  }
+
+  /** Dirección uniforme dentro del cono de eje {@code axis} y coseno mínimo {@code cosMax}. */
+  private static Vector3D coneDirection(Vector3D axis, double cosMax, SplittableRandom random) {
+    double cosTheta = 1 - random.nextDouble() * (1 - cosMax);
+    double sinTheta = Math.sqrt(Math.max(0, 1 - cosTheta * cosTheta));
+    double phi = 2 * Math.PI * random.nextDouble();
+    Vector3D tangent = perpendicular(axis);
+    Vector3D bitangent = axis.cross(tangent);
+    return axis.multiply(cosTheta)
+        .add(tangent.multiply(sinTheta * Math.cos(phi)))
+        .add(bitangent.multiply(sinTheta * Math.sin(phi)))
+        .normalize();
+  }
+
+  private static Vector3D perpendicular(Vector3D vector) {
+    Vector3D helper =
+        Math.abs(vector.getX()) < 0.9 ? new Vector3D(1, 0, 0) : new Vector3D(0, 1, 0);
+    return vector.cross(helper).normalize();
+  }
+
+  /** Esfera que envuelve a un objeto especular. */
+  private record Target(Vector3D center, double radius) {}
+
+  /** Fotones de una luz hacia un objeto; {@code emitterPhotons} es el total de ese par. */
+  private record Batch(Light light, Target target, int emitterPhotons, int photons) {}
+
+  /** Fotones guardados por un lote, en arreglos que crecen. */
+  private static final class Photons {
+    private double[] positions = new double[3 * 256];
+    private double[] directions = new double[3 * 256];
+    private double[] power = new double[3 * 256];
+    // Valores usados de cada arreglo (tres por fotón)
+    private int size;
+
+    void add(Vector3D position, Vector3D direction, Vector3D color) {
+      if (size == positions.length) {
+        positions = Arrays.copyOf(positions, 2 * size);
+        directions = Arrays.copyOf(directions, 2 * size);
+        power = Arrays.copyOf(power, 2 * size);
+      }
+      put(positions, position);
+      put(directions, direction);
+      put(power, color);
+      size += 3;
+    }
+
+    private void put(double[] values, Vector3D vector) {
+      values[size] = vector.getX();
+      values[size + 1] = vector.getY();
+      values[size + 2] = vector.getZ();
+    }
+  }
+}
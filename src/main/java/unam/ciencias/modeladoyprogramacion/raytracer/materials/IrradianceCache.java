@@ -0,0 +1,527 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.materials;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.SampleRandom;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+
+/**
+ * Caché de irradiancia indirecta (Ward, 1988) con gradientes (Ward y Heckbert, 1992).
+ *
+ * <p>La luz indirecta difusa cambia poco sobre una superficie, así que se muestrea el hemisferio
+ * sólo en algunos puntos y se interpola en los demás. Cada registro guarda la irradiancia de su
+ * punto, la distancia media armónica a lo que ve (que define qué tan lejos es válido) y sus
+ * gradientes de rotación y traslación, con los que la interpolación sigue los cambios de la
+ * irradiancia en lugar de promediarlos.
+ *
+ * <p>Los registros se calculan la primera vez que un punto no tiene registros válidos cerca y se
+ * guardan en un octree que crece para contenerlos. Las búsquedas no toman candados: cada nodo
+ * publica sus registros en un arreglo que sólo se reemplaza, así que varios hilos pueden consultar
+ * y agregar registros a la vez. Como el conjunto de registros depende del orden en que los hilos
+ * los agregan, la imagen puede variar ligeramente entre renders con distinto número de hilos.
+ *
+ * <p>Los rayos del hemisferio sombrean lo que golpean sin rebotes ni luz indirecta, por lo que la
+ * caché aporta un rebote difuso.
+ *
+ * @author Cristopher Carrada
+ */
+public final class IrradianceCache {
+  /** Error máximo permitido al reutilizar un registro (el parámetro {@code a} de Ward). */
+  public static final double DEFAULT_ACCURACY = 0.25;
+
+  /** Divisiones del hemisferio en ángulo polar. */
+  public static final int DEFAULT_THETA_STRATA = 8;
+
+  /** Divisiones del hemisferio en azimut. */
+  public static final int DEFAULT_PHI_STRATA = 16;
+
+  // Límites del radio de validez, en píxeles proyectados a la distancia del registro
+  private static final double MIN_PIXEL_SPACING = 1.5;
+  private static final double MAX_PIXEL_SPACING = 20;
+  private static final double EPSILON = 1e-4;
+  private static final Record[] NO_RECORDS = new Record[0];
+
+  private final Vector3D eye;
+  private final double pixelAngle;
+  private final double accuracy;
+  private final int thetaStrata;
+  private final int phiStrata;
+  private final AtomicReference<Node> root = new AtomicReference<>();
+  private final AtomicInteger size = new AtomicInteger();
+
+  /**
+   * Construye una caché vacía con la precisión y el muestreo por defecto.
+   *
+   * @param eye posición de la cámara
+   * @param pixelAngle tamaño de un píxel a distancia 1 de la cámara
+   */
+  public IrradianceCache(Vector3D eye, double pixelAngle) {
+    this(eye, pixelAngle, DEFAULT_ACCURACY, DEFAULT_THETA_STRATA, DEFAULT_PHI_STRATA);
+  }
+
+  /**
+   * Construye una caché vacía.
+   *
+   * @param eye posición de la cámara
+   * @param pixelAngle tamaño de un píxel a distancia 1 de la cámara
+   * @param accuracy error máximo al reutilizar un registro; menor es más preciso y más lento
+   * @param thetaStrata divisiones del hemisferio en ángulo polar
+   * @param phiStrata divisiones del hemisferio en azimut
+   */
+  public IrradianceCache(
+      Vector3D eye, double pixelAngle, double accuracy, int thetaStrata, int phiStrata) {
+    if (eye == null) {
+      throw new IllegalArgumentException("Eye position cannot be null");
+    }
+    if (pixelAngle <= 0) {
+      throw new IllegalArgumentException("Pixel angle must be positive");
+    }
+    if (accuracy <= 0) {
+      throw new IllegalArgumentException("Accuracy must be positive");
+    }
+    if (thetaStrata < 2 || phiStrata < 2) {
+      throw new IllegalArgumentException("Hemisphere needs at least 2x2 strata");
+    }
+    this.eye = eye;
+    this.pixelAngle = pixelAngle;
+    this.accuracy = accuracy;
+    this.thetaStrata = thetaStrata;
+    this.phiStrata = phiStrata;
+  }
+
+  /**
+   * Obtiene la irradiancia indirecta en una intersección, del lado por el que llega el rayo.
+   *
+   * @param incident rayo que produjo la intersección
+   * @param hit intersección a iluminar
+   * @param scene escena a la que pertenece la caché
+   * @return irradiancia entre π, es decir, la radiancia promedio que llega al punto ponderada por el
+   *     coseno; multiplicada por el albedo difuso da la radiancia reflejada
+   */
+  public Vector3D irradiance(Ray incident, Intersection hit, Scene scene) {
+    Vector3D normal = hit.getNormal();
+    if (incident.getDirection().dot(normal) > 0) {
+      normal = normal.negate();
+    }
+    return irradiance(hit.getPoint(), normal, scene);
+  }
+
+  /**
+   * Obtiene la irradiancia indirecta en un punto, interpolándola de los registros cercanos o
+   * calculando un registro nuevo si no hay ninguno válido.
+   *
+   * @param point punto a iluminar
+   * @param normal normal unitaria del lado iluminado
+   * @param scene escena a la que pertenece la caché
+   * @return irradiancia entre π
+   */
+  public Vector3D irradiance(Vector3D point, Vector3D normal, Scene scene) {
+    Optional<Vector3D> cached = interpolate(point, normal);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    Record record = computeRecord(point, normal, scene);
+    insert(record);
+    return new Vector3D(record.irradiance[0], record.irradiance[1], record.irradiance[2]);
+  }
+
+  /**
+   * Interpola la irradiancia de los registros válidos en un punto, sin calcular registros nuevos.
+   *
+   * @param point punto a iluminar
+   * @param normal normal unitaria del lado iluminado
+   * @return irradiancia entre π, o vacío si ningún registro es válido en el punto
+   */
+  public Optional<Vector3D> interpolate(Vector3D point, Vector3D normal) {
+    Node node = root.get();
+    // Todo registro válido en el punto está en un nodo que contiene al punto
+    if (node == null || !node.contains(point)) {
+      return Optional.empty();
+    }
+    double[] sum = new double[3];
+    double weightSum = 0;
+    while (node != null) {
+      for (Record record : node.records) {
+        weightSum += accumulate(record, point, normal, sum);
+      }
+      node = node.children.get(node.octant(point));
+    }
+    if (weightSum == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new Vector3D(
+            Math.max(0, sum[0] / weightSum),
+            Math.max(0, sum[1] / weightSum),
+            Math.max(0, sum[2] / weightSum)));
+  }
+
+  /**
+   * Obtiene el número de registros calculados.
+   *
+   * @return registros en la caché
+   */
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Suma la extrapolación de un registro con su peso.
+   *
+   * @return peso del registro, o 0 si no es válido en el punto
+   */
+  private double accumulate(Record record, Vector3D point, Vector3D normal, double[] sum) {
+    double normalDot = normal.dot(record.normal);
+    if (normalDot <= 0) {
+      return 0;
+    }
+    Vector3D offset = point.subtract(record.point);
+    double error = offset.magnitude() / record.radius + Math.sqrt(Math.max(0, 1 - normalDot));
+    if (error >= accuracy) {
+      return 0;
+    }
+    // Un registro delante del punto ve luz que el punto no ve
+    if (offset.dot(normal.add(record.normal)) * 0.5 < -0.05 * record.radius) {
+      return 0;
+    }
+    double weight = 1 / Math.max(error, 1e-6);
+    Vector3D axis = record.normal.cross(normal);
+    for (int c = 0; c < 3; c++) {
+      sum[c] +=
+          weight
+              * (record.irradiance[c]
+                  + dot(record.rotationGradient[c], axis)
+                  + dot(record.translationGradient[c], offset));
+    }
+    return weight;
+  }
+
+  /**
+   * Muestrea el hemisferio de un punto con estratos de igual peso según el coseno y estima la
+   * irradiancia y sus gradientes.
+   */
+  private Record computeRecord(Vector3D point, Vector3D normal, Scene scene) {
+    int m = thetaStrata;
+    int n = phiStrata;
+    Vector3D tangent = perpendicular(normal);
+    Vector3D bitangent = normal.cross(tangent);
+    Vector3D origin = point.add(normal.multiply(EPSILON));
+
+    // Los números del registro dependen sólo de su punto, no del píxel que lo pidió
+    long seed = seedFor(point);
+    SplittableRandom random = new SplittableRandom(seed);
+    long pixelState = SampleRandom.state();
+    double[][][] radiance = new double[m][n][];
+    double[][] distance = new double[m][n];
+    double[] irradiance = new double[3];
+    double[][] rotation = new double[3][3];
+    double inverseDistanceSum = 0;
+    for (int j = 0; j < m; j++) {
+      for (int k = 0; k < n; k++) {
+        double sin2 = (j + random.nextDouble()) / m;
+        double sinTheta = Math.sqrt(sin2);
+        double cosTheta = Math.max(Math.sqrt(1 - sin2), 1e-3);
+        double phi = 2 * Math.PI * (k + random.nextDouble()) / n;
+        Vector3D direction =
+            tangent
+                .multiply(Math.cos(phi) * sinTheta)
+                .add(bitangent.multiply(Math.sin(phi) * sinTheta))
+                .add(normal.multiply(cosTheta));
+
+        SampleRandom.seedPixel(seed, j, k);
+        Ray ray = new Ray(origin, direction);
+        Optional<Intersection> hit = scene.intersect(ray);
+        double[] light;
+        if (hit.isPresent()) {
+          distance[j][k] = hit.get().getDistance();
+          inverseDistanceSum += 1 / distance[j][k];
+          light = toArray(shadeHit(ray, hit.get(), scene));
+        } else {
+          distance[j][k] = Double.POSITIVE_INFINITY;
+          light = toArray(scene.getBackgroundColor());
+        }
+        radiance[j][k] = light;
+
+        // Gradiente de rotación: hacia dónde cambia la irradiancia al inclinar la normal
+        Vector3D toward = tangent.multiply(-Math.sin(phi)).add(bitangent.multiply(Math.cos(phi)));
+        double tanTheta = sinTheta / cosTheta;
+        for (int c = 0; c < 3; c++) {
+          irradiance[c] += light[c];
+          addScaled(rotation[c], toward, -tanTheta * light[c]);
+        }
+      }
+    }
+    SampleRandom.restore(pixelState);
+
+    double samples = (double) m * n;
+    for (int c = 0; c < 3; c++) {
+      irradiance[c] /= samples;
+      for (int axis = 0; axis < 3; axis++) {
+        rotation[c][axis] /= samples;
+      }
+    }
+    double[][] translation = translationGradient(radiance, distance, tangent, bitangent);
+
+    // Radio de validez: distancia media armónica, acotada por el tamaño del píxel
+    double footprint = Math.max(point.distance(eye) * pixelAngle, EPSILON);
+    double radius = inverseDistanceSum == 0 ? Double.POSITIVE_INFINITY : samples / inverseDistanceSum;
+    for (int c = 0; c < 3; c++) {
+      double gradient = norm(translation[c]);
+      if (gradient > 0) {
+        radius = Math.min(radius, irradiance[c] / gradient);
+      }
+    }
+    radius =
+        Math.max(MIN_PIXEL_SPACING * footprint, Math.min(MAX_PIXEL_SPACING * footprint, radius));
+    // Con el radio mínimo, el gradiente no debe extrapolar valores negativos dentro del registro
+    for (int c = 0; c < 3; c++) {
+      double gradient = norm(translation[c]);
+      if (gradient * radius > irradiance[c]) {
+        double scale = irradiance[c] / (gradient * radius);
+        for (int axis = 0; axis < 3; axis++) {
+          translation[c][axis] *= scale;
+        }
+      }
+    }
+    return new Record(point, normal, irradiance, radius, rotation, translation);
+  }
+
+  /**
+   * Gradiente de traslación de Ward y Heckbert, a partir de las diferencias entre estratos vecinos
+   * y la distancia a lo que ve cada uno.
+   */
+  private double[][] translationGradient(
+      double[][][] radiance, double[][] distance, Vector3D tangent, Vector3D bitangent) {
+    int m = thetaStrata;
+    int n = phiStrata;
+    double[][] gradient = new double[3][3];
+    for (int k = 0; k < n; k++) {
+      double phiCenter = 2 * Math.PI * (k + 0.5) / n;
+      double phiEdge = 2 * Math.PI * k / n;
+      Vector3D radial =
+          tangent.multiply(Math.cos(phiCenter)).add(bitangent.multiply(Math.sin(phiCenter)));
+      Vector3D across =
+          tangent.multiply(-Math.sin(phiEdge)).add(bitangent.multiply(Math.cos(phiEdge)));
+
+      // Fronteras en ángulo polar, entre el estrato j-1 y el j
+      for (int j = 1; j < m; j++) {
+        double sin2 = (double) j / m;
+        double coefficient =
+            2 * Math.PI / n * Math.sqrt(sin2) * (1 - sin2)
+                / Math.min(distance[j][k], distance[j - 1][k]);
+        for (int c = 0; c < 3; c++) {
+          addScaled(gradient[c], radial, coefficient * (radiance[j][k][c] - radiance[j - 1][k][c]));
+        }
+      }
+
+      // Fronteras en azimut, entre el estrato k-1 y el k
+      int previous = (k + n - 1) % n;
+      for (int j = 0; j < m; j++) {
+        double cosLower = Math.sqrt(1 - (double) j / m);
+        double cosUpper = Math.sqrt(1 - (double) (j + 1) / m);
+        double sinCenter = Math.sqrt((j + 0.5) / m);
+        double coefficient =
+            (cosLower - cosUpper) / (sinCenter * Math.min(distance[j][k], distance[j][previous]));
+        for (int c = 0; c < 3; c++) {
+          addScaled(
+              gradient[c], across, coefficient * (radiance[j][k][c] - radiance[j][previous][c]));
+        }
+      }
+    }
+    // Las fórmulas son para la irradiancia; el registro guarda irradiancia entre π
+    for (int c = 0; c < 3; c++) {
+      for (int axis = 0; axis < 3; axis++) {
+        gradient[c][axis] /= Math.PI;
+      }
+    }
+    return gradient;
+  }
+
+  /** Radiancia que sale de un punto golpeado por un rayo del hemisferio: sólo luz directa. */
+  private static Vector3D shadeHit(Ray ray, Intersection hit, Scene scene) {
+    return scene
+        .getMaterialStrategy(hit.getPrimitive().getMaterialId())
+        // Con la profundidad máxima el material no traza rebotes ni consulta la caché
+        .map(material -> material.scatter(ray, hit, scene, scene.getMaxBounces()))
+        .orElse(new Vector3D(0, 0, 0));
+  }
+
+  /** Agrega un registro al nodo más profundo que contiene su región de validez. */
+  private void insert(Record record) {
+    double extent = accuracy * record.radius;
+    Node node = rootContaining(record.point, extent);
+    while (true) {
+      int octant = node.octant(record.point);
+      Node child = node.childBounds(octant);
+      if (node.size / 2 < 2 * extent || !child.containsBox(record.point, extent)) {
+        break;
+      }
+      node = node.child(octant, child);
+    }
+    node.add(record);
+    size.incrementAndGet();
+  }
+
+  /** Crece la raíz hasta que contenga la región de validez de un registro. */
+  private Node rootContaining(Vector3D center, double extent) {
+    while (true) {
+      Node current = root.get();
+      if (current == null) {
+        Node created =
+            new Node(
+                center.getX() - 2 * extent,
+                center.getY() - 2 * extent,
+                center.getZ() - 2 * extent,
+                4 * extent);
+        root.compareAndSet(null, created);
+        continue;
+      }
+      if (current.containsBox(center, extent)) {
+        return current;
+      }
+      root.compareAndSet(current, current.grow(center, extent));
+    }
+  }
+
+  private static Vector3D perpendicular(Vector3D normal) {
+    Vector3D helper =
+        Math.abs(normal.getX()) < 0.9 ? new Vector3D(1, 0, 0) : new Vector3D(0, 1, 0);
+    return normal.cross(helper).normalize();
+  }
+
+  private static long seedFor(Vector3D point) {
+    long hash = Double.doubleToLongBits(point.getX());
+    hash = hash * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(point.getY());
+    return hash * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(point.getZ());
+  }
+
+  private static double[] toArray(Vector3D color) {
+    return new double[] {color.getX(), color.getY(), color.getZ()};
+  }
+
+  private static void addScaled(double[] target, Vector3D direction, double scale) {
+    target[0] += direction.getX() * scale;
+    target[1] += direction.getY() * scale;
+    target[2] += direction.getZ() * scale;
+  }
+
+  private static double dot(double[] vector, Vector3D other) {
+    return vector[0] * other.getX() + vector[1] * other.getY() + vector[2] * other.getZ();
+  }
+
+  private static double norm(double[] vector) {
+    return Math.sqrt(vector[0] * vector[0] + vector[1] * vector[1] + vector[2] * vector[2]);
+  }
+
+  /** Irradiancia (entre π) de un punto, con sus gradientes por canal de color. */
+  private static final class Record {
+    private final Vector3D point;
+    private final Vector3D normal;
+    private final double[] irradiance;
+    private final double radius;
+    private final double[][] rotationGradient;
+    private final double[][] translationGradient;
+
+    Record(
+        Vector3D point,
+        Vector3D normal,
+        double[] irradiance,
+        double radius,
+        double[][] rotationGradient,
+        double[][] translationGradient) {
+      this.point = point;
+      this.normal = normal;
+      this.irradiance = irradiance;
+      this.radius = radius;
+      this.rotationGradient = rotationGradient;
+      this.translationGradient = translationGradient;
+    }
+  }
+
+  /** Cubo del octree; sus hijos y registros se publican sin candados para las búsquedas. */
+  private static final class Node {
+    private final double minX;
+    private final double minY;
+    private final double minZ;
+    private final double size;
+    private final AtomicReferenceArray<Node> children = new AtomicReferenceArray<>(8);
+    private volatile Record[] records = NO_RECORDS;
+
+    Node(double minX, double minY, double minZ, double size) {
+      this.minX = minX;
+      this.minY = minY;
+      this.minZ = minZ;
+      this.size = size;
+    }
+
+    boolean contains(Vector3D point) {
+      return point.getX() >= minX
+          && point.getX() <= minX + size
+          && point.getY() >= minY
+          && point.getY() <= minY + size
+          && point.getZ() >= minZ
+          && point.getZ() <= minZ + size;
+    }
+
+    boolean containsBox(Vector3D center, double extent) {
+      return center.getX() - extent >= minX
+          && center.getX() + extent <= minX + size
+          && center.getY() - extent >= minY
+          && center.getY() + extent <= minY + size
+          && center.getZ() - extent >= minZ
+          && center.getZ() + extent <= minZ + size;
+    }
+
+    int octant(Vector3D point) {
+      double half = size / 2;
+      return (point.getX() >= minX + half ? 1 : 0)
+          | (point.getY() >= minY + half ? 2 : 0)
+          | (point.getZ() >= minZ + half ? 4 : 0);
+    }
+
+    /** Cubo que ocuparía un hijo, sin crearlo en el árbol. */
+    Node childBounds(int octant) {
+      double half = size / 2;
+      return new Node(
+          minX + ((octant & 1) != 0 ? half : 0),
+          minY + ((octant & 2) != 0 ? half : 0),
+          minZ + ((octant & 4) != 0 ? half : 0),
+          half);
+    }
+
+    /** Obtiene un hijo, instalando {@code candidate} si aún no existe. */
+    Node child(int octant, Node candidate) {
+      if (children.compareAndSet(octant, null, candidate)) {
+        return candidate;
+      }
+      return children.get(octant);
+    }
+
+    synchronized void add(Record record) {
+      Record[] updated = Arrays.copyOf(records, records.length + 1);
+      updated[records.length] = record;
+      records = updated;
+    }
+
+    /**
+     * Raíz del doble de tamaño que contiene a ésta como hijo, extendida hacia la región de un
+     * registro: en cada eje, hacia abajo si la región sale por abajo y hacia arriba si no.
+     */
+    Node grow(Vector3D center, double extent) {
+      double newMinX = center.getX() - extent < minX ? minX - size : minX;
+      double newMinY = center.getY() - extent < minY ? minY - size : minY;
+      double newMinZ = center.getZ() - extent < minZ ? minZ - size : minZ;
+      Node parent = new Node(newMinX, newMinY, newMinZ, size * 2);
+      int octant = (newMinX < minX ? 1 : 0) | (newMinY < minY ? 2 : 0) | (newMinZ < minZ ? 4 : 0);
+      parent.children.set(octant, this);
+      return parent;
+    }
+  }
+}
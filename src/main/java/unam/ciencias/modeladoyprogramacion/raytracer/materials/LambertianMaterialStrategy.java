@@ -20,6 +20,8 @@ public final class LambertianMaterialStrategy implements MaterialStrategy {
   private final double diffuseCoefficient;
   // Luz ambiente aplicada al material
   private final Vector3D ambientLight;
+  // Si suma la luz indirecta difusa de la caché de irradiancia
+  private final boolean indirectDiffuse;
 
   /**
    * Construye un material Lambertiano.
@@ -30,12 +32,27 @@ public final class LambertianMaterialStrategy implements MaterialStrategy {
    */
   public LambertianMaterialStrategy(
       Vector3D color, double diffuseCoefficient, Vector3D ambientLight) {
+    this(color, diffuseCoefficient, ambientLight, false);
+  }
+
+  /**
+   * Construye un material Lambertiano que, opcionalmente, suma la luz indirecta difusa de la
+   * {@link IrradianceCache} de la escena.
+   *
+   * @param color color del material
+   * @param diffuseCoefficient coeficiente difuso [0, 1]
+   * @param ambientLight luz ambiente
+   * @param indirectDiffuse {@code true} para sumar la luz indirecta difusa
+   */
+  public LambertianMaterialStrategy(
+      Vector3D color, double diffuseCoefficient, Vector3D ambientLight, boolean indirectDiffuse) {
     if (color == null) {
       throw new IllegalArgumentException("Color cannot be null");
     }
     this.color = color;
     this.diffuseCoefficient = Math.max(0, Math.min(1, diffuseCoefficient));
     this.ambientLight = ambientLight != null ? ambientLight : new Vector3D(0.1, 0.1, 0.1);
+    this.indirectDiffuse = indirectDiffuse;
   }
 
   /**
@@ -63,6 +80,28 @@ public final class LambertianMaterialStrategy implements MaterialStrategy {
 
     Vector3D resultColor = ambient;
 
+    // Luz indirecta difusa; en la profundidad máxima la piden los rayos de la propia caché
+    if (indirectDiffuse && depth < scene.getMaxBounces()) {
+      Vector3D irradiance = scene.getIrradianceCache().irradiance(incident, intersection, scene);
+      resultColor =
+          resultColor.add(
+              new Vector3D(
+                  diffuseCoefficient * color.getX() * irradiance.getX(),
+                  diffuseCoefficient * color.getY() * irradiance.getY(),
+                  diffuseCoefficient * color.getZ() * irradiance.getZ()));
+    }
+
+    // Cáusticas: luz que llegó a través de objetos transparentes o espejos
+    if (scene.usesCausticPhotons() && CausticPhotonTracer.receivesCaustics(this)) {
+      Vector3D irradiance = scene.getCausticPhotonMap().irradiance(incident, intersection);
+      resultColor =
+          resultColor.add(
+              new Vector3D(
+                  diffuseCoefficient * color.getX() * irradiance.getX(),
+                  diffuseCoefficient * color.getY() * irradiance.getY(),
+                  diffuseCoefficient * color.getZ() * irradiance.getZ()));
+    }
+
     // Solo componente difuso
     for (Light light : scene.getLights()) {
       Vector3D lightDir = light.getDirectionFrom(point);
@@ -126,6 +165,11 @@ public final class LambertianMaterialStrategy implements MaterialStrategy {
     return 0.0; // Sin reflexión
   }
 
+  @Override
+  public boolean usesIrradianceCache() {
+    return indirectDiffuse;
+  }
+
   private Vector3D clamp(Vector3D color) {
     return new Vector3D(
         Math.max(0, Math.min(1, color.getX())),
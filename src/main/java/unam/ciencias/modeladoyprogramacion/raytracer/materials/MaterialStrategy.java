@@ -1,5 +1,6 @@
 package unam.ciencias.modeladoyprogramacion.raytracer.materials;
 
+import java.util.Optional;
 import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
 import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
 import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
@@ -25,6 +26,33 @@ public interface MaterialStrategy {
    */
   Vector3D scatter(Ray incident, Intersection intersection, Scene scene, int depth);
 
+  /**
+   * Arma el sombreado de una intersección sin trazar rayos, para que un integrador los trace en
+   * lotes.
+   *
+   * <p>Resolver el plan con {@link ShadingPlan#resolve(Scene)} debe dar el mismo color que {@link
+   * #scatter}. Por defecto no hay plan y el integrador usa {@link #scatter} directamente.
+   *
+   * @param incident rayo incidente
+   * @param intersection información de la intersección
+   * @param scene escena completa
+   * @param depth profundidad de recursión actual
+   * @return plan de sombreado, o vacío si el material sólo sabe sombrear recursivamente
+   */
+  default Optional<ShadingPlan> plan(
+      Ray incident, Intersection intersection, Scene scene, int depth) {
+    return Optional.empty();
+  }
+
+  /**
+   * Indica si el material suma luz indirecta difusa de la {@link IrradianceCache} de la escena.
+   *
+   * @return {@code true} si el material consulta la caché de irradiancia
+   */
+  default boolean usesIrradianceCache() {
+    return false;
+  }
+
   /**
    * Obtiene el color base del material.
    *
@@ -3,6 +3,7 @@ package unam.ciencias.modeladoyprogramacion.raytracer.materials;
 import java.util.Optional;
 import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
 import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.SampleRandom;
 import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
 import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
 
@@ -131,9 +132,9 @@ public final class MetalMaterialStrategy implements MaterialStrategy {
    */
   private Vector3D randomInUnitSphere() {
     // Generación simple de vector aleatorio en esfera unitaria
-    double theta = 2 * Math.PI * Math.random();
-    double phi = Math.acos(2 * Math.random() - 1);
-    double r = Math.cbrt(Math.random());
+    double theta = 2 * Math.PI * SampleRandom.nextDouble();
+    double phi = Math.acos(2 * SampleRandom.nextDouble() - 1);
+    double r = Math.cbrt(SampleRandom.nextDouble());
 
     double x = r * Math.sin(phi) * Math.cos(theta);
     double y = r * Math.sin(phi) * Math.sin(theta);
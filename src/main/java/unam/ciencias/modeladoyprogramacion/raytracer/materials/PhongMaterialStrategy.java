@@ -1,9 +1,11 @@
 package unam.ciencias.modeladoyprogramacion.raytracer.materials;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
 import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.SampleRandom;
 import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
 import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
 import unam.ciencias.modeladoyprogramacion.raytracer.lights.Light;
@@ -36,6 +38,8 @@ public final class PhongMaterialStrategy implements MaterialStrategy {
   private final double refractiveIndex;
   // Luz ambiente aplicada al material
   private final Vector3D ambientLight;
+  // Si suma la luz indirecta difusa de la caché de irradiancia
+  private final boolean indirectDiffuse;
 
   // Colaboradores (Principio de Responsabilidad Única)
   private final AmbientCalculator ambientCalculator;
@@ -96,6 +100,49 @@ public final class PhongMaterialStrategy implements MaterialStrategy {
       double transparency,
       double refractiveIndex,
       Vector3D ambientLight) {
+    this(
+        id,
+        color,
+        diffuseCoefficient,
+        specularCoefficient,
+        specularHardness,
+        reflectivity,
+        transparency,
+        refractiveIndex,
+        ambientLight,
+        false);
+  }
+
+  /**
+   * Construye una estrategia de material Phong con refracción y, opcionalmente, luz indirecta.
+   *
+   * <p>Con luz indirecta, el material suma a su componente ambiente la irradiancia de la {@link
+   * IrradianceCache} de la escena por su color y su coeficiente difuso, lo que produce sangrado de
+   * color entre superficies cercanas. El ambiente se conserva como aproximación de los rebotes que
+   * la caché no calcula.
+   *
+   * @param id identificador único del material
+   * @param color color del material (RGB en rango [0, 1])
+   * @param diffuseCoefficient coeficiente de reflexión difusa [0, 1]
+   * @param specularCoefficient coeficiente de reflexión especular [0, 1]
+   * @param specularHardness dureza especular (brillo)
+   * @param reflectivity reflectividad del material [0, 1]
+   * @param transparency transparencia del material [0, 1]
+   * @param refractiveIndex índice de refracción (≥ 1.0)
+   * @param ambientLight luz ambiente
+   * @param indirectDiffuse {@code true} para sumar la luz indirecta difusa
+   */
+  public PhongMaterialStrategy(
+      String id,
+      Vector3D color,
+      double diffuseCoefficient,
+      double specularCoefficient,
+      double specularHardness,
+      double reflectivity,
+      double transparency,
+      double refractiveIndex,
+      Vector3D ambientLight,
+      boolean indirectDiffuse) {
     if (id == null || id.trim().isEmpty()) {
       throw new IllegalArgumentException("Material ID cannot be null or empty");
     }
@@ -111,6 +158,7 @@ public final class PhongMaterialStrategy implements MaterialStrategy {
     this.transparency = Math.max(0, Math.min(1, transparency));
     this.refractiveIndex = Math.max(1.0, refractiveIndex);
     this.ambientLight = ambientLight != null ? ambientLight : new Vector3D(0.1, 0.1, 0.1);
+    this.indirectDiffuse = indirectDiffuse;
 
     // Inicializar colaboradores
     this.ambientCalculator = new AmbientCalculator();
@@ -118,31 +166,147 @@ public final class PhongMaterialStrategy implements MaterialStrategy {
     this.refractionHandler = new RefractionHandler();
   }
 
+  /**
+   * Sombrea el punto trazando de inmediato sus rayos de sombra y secundarios.
+   *
+   * <p>Da el mismo color que resolver {@link #plan}, pero no arma el plan: no reserva listas ni
+   * lambdas por intersección y sólo evalúa el difuso y el especular de las luces visibles.
+   */
   @Override
   public Vector3D scatter(Ray incident, Intersection intersection, Scene scene, int depth) {
     Vector3D point = intersection.getPoint();
     Vector3D normal = intersection.getNormal();
     Vector3D viewDir = incident.getDirection().negate();
 
+    // Contribución de las luces visibles (difuso + especular)
+    Vector3D lighting = new Vector3D(0, 0, 0);
+    for (Light light : scene.getLights()) {
+      if (light instanceof SurfaceLight surfaceLight) {
+        lighting = addSurfaceLight(lighting, surfaceLight, point, normal, viewDir, scene);
+        continue;
+      }
+      Vector3D lightDir = light.getDirectionFrom(point);
+      if (shadowRay(point, lightDir, light.getDistanceFrom(point)).isVisible(scene)) {
+        lighting = addLight(lighting, light, lightDir, normal, viewDir);
+      }
+    }
+
+    Vector3D indirect = indirectTerm(incident, intersection, scene, depth);
+    Vector3D caustic = causticTerm(incident, intersection, scene);
+
+    // Reflexión y refracción (delegados a ReflectionHandler y RefractionHandler)
+    Vector3D reflectionColor =
+        reflectivity > 0
+            ? reflectionHandler.handleReflection(incident, intersection, scene, depth, reflectivity)
+            : null;
+    Vector3D refractionColor =
+        transparency > 0
+            ? refractionHandler.handleRefraction(
+                incident, intersection, scene, depth, transparency, refractiveIndex)
+            : null;
+
+    return combine(indirect, caustic, lighting, reflectionColor, refractionColor);
+  }
+
+  @Override
+  public Optional<ShadingPlan> plan(
+      Ray incident, Intersection intersection, Scene scene, int depth) {
+    return Optional.of(createPlan(incident, intersection, scene, depth));
+  }
+
+  /**
+   * Arma el plan de sombreado: ambiente, luces (difuso + especular) si son visibles, reflexión y
+   * refracción.
+   *
+   * <p>El plan suma las luces visibles en el mismo orden que {@link #scatter}, así que el color no
+   * depende de cuándo se tracen los rayos.
+   */
+  private ShadingPlan createPlan(Ray incident, Intersection intersection, Scene scene, int depth) {
+    Vector3D point = intersection.getPoint();
+    Vector3D normal = intersection.getNormal();
+    Vector3D viewDir = incident.getDirection().negate();
+
+    // Contribución de cada luz (difuso + especular), condicionada a sus rayos de sombra
+    List<ShadowRay> shadowRays = new ArrayList<>();
+    List<LightTerm> lightTerms = new ArrayList<>();
+    for (Light light : scene.getLights()) {
+      if (light instanceof SurfaceLight surfaceLight) {
+        lightTerms.add(surfaceLightTerm(surfaceLight, point, normal, viewDir, shadowRays));
+      } else {
+        lightTerms.add(lightTerm(light, point, normal, viewDir, shadowRays));
+      }
+    }
+
+    Vector3D indirect = indirectTerm(incident, intersection, scene, depth);
+    Vector3D caustic = causticTerm(incident, intersection, scene);
+
+    // Reflexión y refracción (delegados a ReflectionHandler y RefractionHandler)
+    List<SecondaryRay> secondaryRays = new ArrayList<>(2);
+    int reflectionIndex =
+        addSecondaryRay(
+            secondaryRays,
+            reflectionHandler.reflectionRay(incident, intersection, scene, depth, reflectivity));
+    int refractionIndex =
+        addSecondaryRay(
+            secondaryRays,
+            refractionHandler.refractionRay(
+                incident, intersection, scene, depth, transparency, refractiveIndex));
+
+    return new ShadingPlan(
+        shadowRays,
+        secondaryRays,
+        (visible, secondaryColors) -> {
+          Vector3D lighting = new Vector3D(0, 0, 0);
+          for (LightTerm term : lightTerms) {
+            lighting = term.accumulate(lighting, visible);
+          }
+          Vector3D reflectionColor =
+              reflectionIndex < 0 ? new Vector3D(0, 0, 0) : secondaryColors[reflectionIndex];
+          Vector3D refractionColor =
+              refractionIndex < 0
+                  ? new Vector3D(0, 0, 0)
+                  : secondaryColors[refractionIndex].multiply(
+                      secondaryRays.get(refractionIndex).weight());
+          return combine(indirect, caustic, lighting, reflectionColor, refractionColor);
+        });
+  }
+
+  /**
+   * Suma las componentes del color en el orden de Phong y lo recorta a {@code [0, 1]}.
+   *
+   * @param indirect luz indirecta difusa, o {@code null}
+   * @param caustic luz de cáusticas, o {@code null}
+   * @param lighting difuso y especular de las luces visibles
+   * @param reflectionColor color del rayo reflejado (sólo se usa si el material refleja)
+   * @param refractionColor color refractado ya ponderado (sólo se usa si el material es
+   *     transparente)
+   * @return color final del punto
+   */
+  private Vector3D combine(
+      Vector3D indirect,
+      Vector3D caustic,
+      Vector3D lighting,
+      Vector3D reflectionColor,
+      Vector3D refractionColor) {
     // 1. Componente ambiente (delegado a AmbientCalculator)
     Vector3D resultColor = ambientCalculator.calculate(ambientLight, color);
+    if (indirect != null) {
+      resultColor = resultColor.add(indirect);
+    }
+    if (caustic != null) {
+      resultColor = resultColor.add(caustic);
+    }
 
-    // 2. Contribución de cada luz (difuso + especular)
-    resultColor = resultColor.add(calculateLightingContribution(point, normal, viewDir, scene));
+    // 2. Luces visibles
+    resultColor = resultColor.add(lighting);
 
-    // 3. Reflexión (delegado a ReflectionHandler)
+    // 3. Reflexión
     if (reflectivity > 0) {
-      Vector3D reflectionColor =
-          reflectionHandler.handleReflection(incident, intersection, scene, depth, reflectivity);
       resultColor = blendColors(resultColor, reflectionColor, reflectivity);
     }
 
-    // 4. Refracción (delegado a RefractionHandler)
+    // 4. Refracción, ya ponderada por Fresnel
     if (transparency > 0) {
-      Vector3D refractionColor =
-          refractionHandler.handleRefraction(
-              incident, intersection, scene, depth, transparency, refractiveIndex);
-      // RefractionHandler ya aplica el peso, solo sumar
       resultColor = resultColor.add(refractionColor);
     }
 
@@ -150,68 +314,108 @@ public final class PhongMaterialStrategy implements MaterialStrategy {
   }
 
   /**
-   * Calcula la contribución de todas las luces de la escena (difuso + especular).
+   * Luz indirecta difusa; en la profundidad máxima la piden los rayos de la propia caché.
    *
-   * @param point punto de intersección
-   * @param normal normal en el punto
-   * @param viewDir dirección de vista
-   * @param scene escena completa
-   * @return color de iluminación directa
+   * @return irradiancia de la caché reflejada por la componente difusa, o {@code null} si el
+   *     material no la usa
    */
-  private Vector3D calculateLightingContribution(
-      Vector3D point, Vector3D normal, Vector3D viewDir, Scene scene) {
-    Vector3D lighting = new Vector3D(0, 0, 0);
+  private Vector3D indirectTerm(Ray incident, Intersection intersection, Scene scene, int depth) {
+    if (!indirectDiffuse || depth >= scene.getMaxBounces()) {
+      return null;
+    }
+    return diffuseReflection(
+        scene.getIrradianceCache().irradiance(incident, intersection, scene));
+  }
 
-    for (Light light : scene.getLights()) {
-      if (light instanceof SurfaceLight) {
-        lighting =
-            lighting.add(
-                computeSurfaceLightContribution(
-                    (SurfaceLight) light, point, normal, viewDir, scene));
-        continue;
-      }
+  /**
+   * Cáusticas: luz que llegó a través de objetos transparentes o espejos.
+   *
+   * @return luz de cáusticas reflejada por la componente difusa, o {@code null} si no aplica
+   */
+  private Vector3D causticTerm(Ray incident, Intersection intersection, Scene scene) {
+    if (!scene.usesCausticPhotons() || !CausticPhotonTracer.receivesCaustics(this)) {
+      return null;
+    }
+    return diffuseReflection(scene.getCausticPhotonMap().irradiance(incident, intersection));
+  }
 
-      // Luces puntuales y direccionales (un solo rayo)
-      Vector3D lightDir = light.getDirectionFrom(point);
-      double lightDistance = light.getDistanceFrom(point);
+  /** Luz que refleja la componente difusa de una irradiancia. */
+  private Vector3D diffuseReflection(Vector3D irradiance) {
+    return new Vector3D(
+        diffuseCoefficient * color.getX() * irradiance.getX(),
+        diffuseCoefficient * color.getY() * irradiance.getY(),
+        diffuseCoefficient * color.getZ() * irradiance.getZ());
+  }
 
-      if (isInShadow(point, lightDir, lightDistance, scene)) {
-        continue;
-      }
-      // Componente difuso (Lambert)
-      double diffuseIntensity = Math.max(0, normal.dot(lightDir));
-      Vector3D diffuse =
-          new Vector3D(
-              diffuseCoefficient
-                  * diffuseIntensity
-                  * color.getX()
-                  * light.getColor().getX()
-                  * light.getIntensity(),
-              diffuseCoefficient
-                  * diffuseIntensity
-                  * color.getY()
-                  * light.getColor().getY()
-                  * light.getIntensity(),
-              diffuseCoefficient
-                  * diffuseIntensity
-                  * color.getZ()
-                  * light.getColor().getZ()
-                  * light.getIntensity());
-
-      // Componente especular (Phong)
-      Vector3D reflectDir = reflect(lightDir.negate(), normal);
-      double specularIntensity =
-          Math.pow(Math.max(0, viewDir.dot(reflectDir)), specularHardness);
-      Vector3D specular =
-          new Vector3D(
-              specularCoefficient * specularIntensity * light.getColor().getX() * light.getIntensity(),
-              specularCoefficient * specularIntensity * light.getColor().getY() * light.getIntensity(),
-              specularCoefficient * specularIntensity * light.getColor().getZ() * light.getIntensity());
-
-      lighting = lighting.add(diffuse).add(specular);
+  private static int addSecondaryRay(List<SecondaryRay> rays, Optional<SecondaryRay> ray) {
+    if (ray.isEmpty()) {
+      return -1;
     }
+    rays.add(ray.get());
+    return rays.size() - 1;
+  }
+
+  /**
+   * Término de una luz puntual o direccional (un solo rayo de sombra).
+   *
+   * @param light la luz
+   * @param point punto de intersección
+   * @param normal normal en el punto
+   * @param viewDir dirección de vista
+   * @param shadowRays lista a la que se agrega el rayo de sombra
+   * @return término que suma difuso y especular si la luz es visible
+   */
+  private LightTerm lightTerm(
+      Light light, Vector3D point, Vector3D normal, Vector3D viewDir, List<ShadowRay> shadowRays) {
+    Vector3D lightDir = light.getDirectionFrom(point);
+    int shadow = shadowRays.size();
+    shadowRays.add(shadowRay(point, lightDir, light.getDistanceFrom(point)));
+    return (lighting, visible) ->
+        visible[shadow] ? addLight(lighting, light, lightDir, normal, viewDir) : lighting;
+  }
 
-    return lighting;
+  /**
+   * Suma el difuso y el especular de una luz puntual o direccional visible.
+   *
+   * @param lighting iluminación acumulada
+   * @param light la luz
+   * @param lightDir dirección hacia la luz
+   * @param normal normal en el punto
+   * @param viewDir dirección de vista
+   * @return iluminación con la de la luz sumada
+   */
+  private Vector3D addLight(
+      Vector3D lighting, Light light, Vector3D lightDir, Vector3D normal, Vector3D viewDir) {
+    // Componente difuso (Lambert)
+    double diffuseIntensity = Math.max(0, normal.dot(lightDir));
+    Vector3D diffuse =
+        new Vector3D(
+            diffuseCoefficient
+                * diffuseIntensity
+                * color.getX()
+                * light.getColor().getX()
+                * light.getIntensity(),
+            diffuseCoefficient
+                * diffuseIntensity
+                * color.getY()
+                * light.getColor().getY()
+                * light.getIntensity(),
+            diffuseCoefficient
+                * diffuseIntensity
+                * color.getZ()
+                * light.getColor().getZ()
+                * light.getIntensity());
+
+    // Componente especular (Phong)
+    Vector3D reflectDir = reflect(lightDir.negate(), normal);
+    double specularIntensity = Math.pow(Math.max(0, viewDir.dot(reflectDir)), specularHardness);
+    Vector3D specular =
+        new Vector3D(
+            specularCoefficient * specularIntensity * light.getColor().getX() * light.getIntensity(),
+            specularCoefficient * specularIntensity * light.getColor().getY() * light.getIntensity(),
+            specularCoefficient * specularIntensity * light.getColor().getZ() * light.getIntensity());
+
+    return lighting.add(diffuse).add(specular);
   }
 
   /**
@@ -264,23 +468,35 @@ public final class PhongMaterialStrategy implements MaterialStrategy {
     return refractiveIndex;
   }
 
+  @Override
+  public boolean usesIrradianceCache() {
+    return indirectDiffuse;
+  }
+
   public String getId() {
     return id;
   }
 
   /**
-   * Calcula la contribución de una luz de superficie usando muestreo Monte Carlo.
+   * Suma la contribución de una luz de superficie muestreada con Monte Carlo, trazando de inmediato
+   * un rayo de sombra por muestra.
    *
+   * @param lighting iluminación acumulada
    * @param surfaceLight la luz de superficie
    * @param point punto de intersección
    * @param normal normal en el punto
    * @param viewDir dirección de vista
    * @param scene escena para verificar sombras
-   * @return color contribuido por la luz de superficie
+   * @return iluminación con el promedio de las muestras visibles sumado
    */
-  private Vector3D computeSurfaceLightContribution(
-      SurfaceLight surfaceLight, Vector3D point, Vector3D normal, Vector3D viewDir, Scene scene) {
-    List<Vector3D> samplePoints = surfaceLight.getSamplePoints();
+  private Vector3D addSurfaceLight(
+      Vector3D lighting,
+      SurfaceLight surfaceLight,
+      Vector3D point,
+      Vector3D normal,
+      Vector3D viewDir,
+      Scene scene) {
+    List<Vector3D> samplePoints = surfaceLight.getSamplePoints(SampleRandom::nextDouble);
     int visibleSamples = 0;
     Vector3D totalDiffuse = new Vector3D(0, 0, 0);
     Vector3D totalSpecular = new Vector3D(0, 0, 0);
@@ -289,55 +505,105 @@ public final class PhongMaterialStrategy implements MaterialStrategy {
     for (Vector3D samplePoint : samplePoints) {
       Vector3D lightDir = surfaceLight.getDirectionFromToSample(point, samplePoint);
       double lightDistance = surfaceLight.getDistanceFromToSample(point, samplePoint);
-
-      // Verificar si este punto está en sombra
-      if (isInShadow(point, lightDir, lightDistance, scene)) {
+      if (!shadowRay(point, lightDir, lightDistance).isVisible(scene)) {
         continue;
       }
-
       visibleSamples++;
-
-      // Componente difuso
-      double diffuseIntensity = Math.max(0, normal.dot(lightDir));
-      Vector3D diffuse =
-          new Vector3D(
-              diffuseCoefficient * diffuseIntensity * color.getX() * surfaceLight.getColor().getX(),
-              diffuseCoefficient * diffuseIntensity * color.getY() * surfaceLight.getColor().getY(),
-              diffuseCoefficient * diffuseIntensity * color.getZ() * surfaceLight.getColor().getZ());
-
-      // Componente especular
-      Vector3D reflectDir = reflect(lightDir.negate(), normal);
-      double specularIntensity = Math.pow(Math.max(0, viewDir.dot(reflectDir)), specularHardness);
-      Vector3D specular =
-          new Vector3D(
-              specularCoefficient * specularIntensity * surfaceLight.getColor().getX(),
-              specularCoefficient * specularIntensity * surfaceLight.getColor().getY(),
-              specularCoefficient * specularIntensity * surfaceLight.getColor().getZ());
-
-      totalDiffuse = totalDiffuse.add(diffuse);
-      totalSpecular = totalSpecular.add(specular);
+      totalDiffuse = totalDiffuse.add(surfaceDiffuse(surfaceLight, lightDir, normal));
+      totalSpecular = totalSpecular.add(surfaceSpecular(surfaceLight, lightDir, normal, viewDir));
     }
+    return addSurfaceAverage(
+        lighting, surfaceLight, visibleSamples, samplePoints.size(), totalDiffuse, totalSpecular);
+  }
 
-    // Promediar las contribuciones y aplicar intensidad
-    if (visibleSamples == 0) {
-      return new Vector3D(0, 0, 0);
+  /**
+   * Término de una luz de superficie muestreada con Monte Carlo.
+   *
+   * @param surfaceLight la luz de superficie
+   * @param point punto de intersección
+   * @param normal normal en el punto
+   * @param viewDir dirección de vista
+   * @param shadowRays lista a la que se agrega un rayo de sombra por muestra
+   * @return término que suma el promedio de las muestras visibles
+   */
+  private LightTerm surfaceLightTerm(
+      SurfaceLight surfaceLight,
+      Vector3D point,
+      Vector3D normal,
+      Vector3D viewDir,
+      List<ShadowRay> shadowRays) {
+    List<Vector3D> samplePoints = surfaceLight.getSamplePoints(SampleRandom::nextDouble);
+    int firstShadow = shadowRays.size();
+    Vector3D[] lightDirs = new Vector3D[samplePoints.size()];
+
+    // Muestrear múltiples puntos en la superficie de la luz
+    for (int i = 0; i < samplePoints.size(); i++) {
+      Vector3D samplePoint = samplePoints.get(i);
+      lightDirs[i] = surfaceLight.getDirectionFromToSample(point, samplePoint);
+      double lightDistance = surfaceLight.getDistanceFromToSample(point, samplePoint);
+      shadowRays.add(shadowRay(point, lightDirs[i], lightDistance));
     }
 
-    double samples = samplePoints.size();
-    double intensity = surfaceLight.getIntensity();
+    return (lighting, visible) -> {
+      int visibleSamples = 0;
+      Vector3D totalDiffuse = new Vector3D(0, 0, 0);
+      Vector3D totalSpecular = new Vector3D(0, 0, 0);
+      for (int i = 0; i < lightDirs.length; i++) {
+        if (visible[firstShadow + i]) {
+          visibleSamples++;
+          totalDiffuse = totalDiffuse.add(surfaceDiffuse(surfaceLight, lightDirs[i], normal));
+          totalSpecular =
+              totalSpecular.add(surfaceSpecular(surfaceLight, lightDirs[i], normal, viewDir));
+        }
+      }
+      return addSurfaceAverage(
+          lighting, surfaceLight, visibleSamples, lightDirs.length, totalDiffuse, totalSpecular);
+    };
+  }
+
+  /** Componente difuso de una muestra visible de una luz de superficie. */
+  private Vector3D surfaceDiffuse(SurfaceLight surfaceLight, Vector3D lightDir, Vector3D normal) {
+    double diffuseIntensity = Math.max(0, normal.dot(lightDir));
+    return new Vector3D(
+        diffuseCoefficient * diffuseIntensity * color.getX() * surfaceLight.getColor().getX(),
+        diffuseCoefficient * diffuseIntensity * color.getY() * surfaceLight.getColor().getY(),
+        diffuseCoefficient * diffuseIntensity * color.getZ() * surfaceLight.getColor().getZ());
+  }
+
+  /** Componente especular de una muestra visible de una luz de superficie. */
+  private Vector3D surfaceSpecular(
+      SurfaceLight surfaceLight, Vector3D lightDir, Vector3D normal, Vector3D viewDir) {
+    Vector3D reflectDir = reflect(lightDir.negate(), normal);
+    double specularIntensity = Math.pow(Math.max(0, viewDir.dot(reflectDir)), specularHardness);
     return new Vector3D(
-        (totalDiffuse.getX() + totalSpecular.getX()) * intensity / samples,
-        (totalDiffuse.getY() + totalSpecular.getY()) * intensity / samples,
-        (totalDiffuse.getZ() + totalSpecular.getZ()) * intensity / samples);
+        specularCoefficient * specularIntensity * surfaceLight.getColor().getX(),
+        specularCoefficient * specularIntensity * surfaceLight.getColor().getY(),
+        specularCoefficient * specularIntensity * surfaceLight.getColor().getZ());
   }
 
-  private boolean isInShadow(
-      Vector3D point, Vector3D lightDir, double lightDistance, Scene scene) {
-    Ray shadowRay = new Ray(point.add(lightDir.multiply(1e-4)), lightDir);
-    Optional<Intersection> shadowIntersection = scene.intersect(shadowRay);
+  /** Promedia las muestras visibles de una luz de superficie, aplica su intensidad y lo suma. */
+  private Vector3D addSurfaceAverage(
+      Vector3D lighting,
+      SurfaceLight surfaceLight,
+      int visibleSamples,
+      int sampleCount,
+      Vector3D totalDiffuse,
+      Vector3D totalSpecular) {
+    if (visibleSamples == 0) {
+      return lighting.add(new Vector3D(0, 0, 0));
+    }
+    double samples = sampleCount;
+    double intensity = surfaceLight.getIntensity();
+    return lighting.add(
+        new Vector3D(
+            (totalDiffuse.getX() + totalSpecular.getX()) * intensity / samples,
+            (totalDiffuse.getY() + totalSpecular.getY()) * intensity / samples,
+            (totalDiffuse.getZ() + totalSpecular.getZ()) * intensity / samples));
+  }
 
-    return shadowIntersection.isPresent()
-        && shadowIntersection.get().getDistance() < lightDistance;
+  /** Rayo de sombra desplazado del punto para evitar la autointersección. */
+  private static ShadowRay shadowRay(Vector3D point, Vector3D lightDir, double lightDistance) {
+    return new ShadowRay(new Ray(point.add(lightDir.multiply(1e-4)), lightDir), lightDistance);
   }
 
   private Vector3D reflect(Vector3D incident, Vector3D normal) {
@@ -351,6 +617,12 @@ public final class PhongMaterialStrategy implements MaterialStrategy {
         Math.max(0, Math.min(1, color.getZ())));
   }
 
+  /** Contribución de una luz, condicionada a la visibilidad de sus rayos de sombra. */
+  @FunctionalInterface
+  private interface LightTerm {
+    Vector3D accumulate(Vector3D lighting, boolean[] visible);
+  }
+
   @Override
   public String toString() {
     return String.format(
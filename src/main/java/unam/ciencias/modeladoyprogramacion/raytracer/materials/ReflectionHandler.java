@@ -69,8 +69,32 @@ public final class ReflectionHandler {
       Scene scene,
       int depth,
       double reflectivity) {
+    return reflectionRay(incident, intersection, scene, depth, reflectivity)
+        .map(reflectRay -> reflectRay.trace(scene))
+        .orElse(new Vector3D(0, 0, 0));
+  }
+
+  /**
+   * Construye el rayo reflejado sin trazarlo.
+   *
+   * <p>Si no golpea nada, o lo que golpea no tiene material, su color es negro.
+   *
+   * @param incident rayo incidente que golpeó la superficie
+   * @param intersection punto de intersección con normal de superficie
+   * @param scene escena completa (para la profundidad máxima)
+   * @param depth profundidad de recursión actual
+   * @param reflectivity coeficiente de reflectividad del material [0, 1]
+   * @return rayo reflejado con peso {@code reflectivity}, o vacío si no hay reflexión o se excedió
+   *     la profundidad máxima
+   */
+  public Optional<SecondaryRay> reflectionRay(
+      Ray incident,
+      Intersection intersection,
+      Scene scene,
+      int depth,
+      double reflectivity) {
     if (reflectivity <= 0 || depth >= scene.getMaxBounces()) {
-      return new Vector3D(0, 0, 0);
+      return Optional.empty();
     }
 
     Vector3D point = intersection.getPoint();
@@ -81,21 +105,8 @@ public final class ReflectionHandler {
 
     // Offset para evitar self-intersection
     Ray reflectRay = new Ray(point.add(normal.multiply(1e-4)), reflectDir);
-    Optional<Intersection> reflectIntersection = scene.intersect(reflectRay);
-
-    if (reflectIntersection.isEmpty()) {
-      return new Vector3D(0, 0, 0);
-    }
-
-    Intersection reflectHit = reflectIntersection.get();
-    Optional<MaterialStrategy> reflectMaterial =
-        scene.getMaterialStrategy(reflectHit.getPrimitive().getMaterialId());
-
-    if (reflectMaterial.isEmpty()) {
-      return new Vector3D(0, 0, 0);
-    }
-
-    return reflectMaterial.get().scatter(reflectRay, reflectHit, scene, depth + 1);
+    return Optional.of(
+        new SecondaryRay(reflectRay, depth + 1, new Vector3D(0, 0, 0), reflectivity));
   }
 
   /**
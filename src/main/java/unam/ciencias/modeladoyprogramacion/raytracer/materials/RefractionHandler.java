@@ -87,8 +87,35 @@ public final class RefractionHandler {
       int depth,
       double transparency,
       double refractiveIndex) {
+    return refractionRay(incident, intersection, scene, depth, transparency, refractiveIndex)
+        .map(refractRay -> refractRay.trace(scene).multiply(refractRay.weight()))
+        .orElse(new Vector3D(0, 0, 0));
+  }
+
+  /**
+   * Construye el rayo refractado sin trazarlo.
+   *
+   * <p>Su peso es {@code transparency * (1 - fresnel)}. Si no golpea nada, o lo que golpea no tiene
+   * material, su color es el fondo de la escena.
+   *
+   * @param incident rayo incidente que golpeó la superficie transparente
+   * @param intersection punto de intersección con normal de superficie
+   * @param scene escena completa (para la profundidad máxima y el fondo)
+   * @param depth profundidad de recursión actual
+   * @param transparency transparencia del material [0, 1]
+   * @param refractiveIndex índice de refracción del material
+   * @return rayo refractado, o vacío si el material es opaco, hay reflexión interna total o se
+   *     excedió la profundidad máxima
+   */
+  public Optional<SecondaryRay> refractionRay(
+      Ray incident,
+      Intersection intersection,
+      Scene scene,
+      int depth,
+      double transparency,
+      double refractiveIndex) {
     if (transparency <= 0 || depth >= scene.getMaxBounces()) {
-      return new Vector3D(0, 0, 0);
+      return Optional.empty();
     }
 
     Vector3D point = intersection.getPoint();
@@ -113,31 +140,19 @@ public final class RefractionHandler {
 
     if (refractDir.isEmpty()) {
       // Reflexión interna total - no hay refracción
-      return new Vector3D(0, 0, 0);
+      return Optional.empty();
     }
 
     // Calcular coeficiente de Fresnel
     double fresnel = schlickApproximation(cosThetaI, n1, n2);
 
-    // Trazar rayo refractado
-    Vector3D refractOffset = entering ? effectiveNormal.negate() : effectiveNormal;
-    Ray refractRay = new Ray(point.add(refractOffset.multiply(1e-4)), refractDir.get());
-    Optional<Intersection> refractIntersection = scene.intersect(refractRay);
-
-    Vector3D refractColor = scene.getBackgroundColor();
-    if (refractIntersection.isPresent()) {
-      Intersection refractHit = refractIntersection.get();
-      Optional<MaterialStrategy> refractMaterial =
-          scene.getMaterialStrategy(refractHit.getPrimitive().getMaterialId());
-
-      if (refractMaterial.isPresent()) {
-        refractColor = refractMaterial.get().scatter(refractRay, refractHit, scene, depth + 1);
-      }
-    }
+    // El rayo refractado sigue del otro lado de la superficie, al entrar y al salir
+    Ray refractRay = new Ray(point.add(effectiveNormal.multiply(-1e-4)), refractDir.get());
 
     // Aplicar peso de Fresnel (menos reflexión = más refracción)
     double refractWeight = transparency * (1.0 - fresnel);
-    return refractColor.multiply(refractWeight);
+    return Optional.of(
+        new SecondaryRay(refractRay, depth + 1, scene.getBackgroundColor(), refractWeight));
   }
 
   /**
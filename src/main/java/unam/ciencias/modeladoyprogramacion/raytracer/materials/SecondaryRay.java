@@ -0,0 +1,38 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.materials;
+
+import java.util.Optional;
+import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+
+/**
+ * Rayo reflejado o refractado que sale de un punto sombreado.
+ *
+ * @param ray rayo a trazar
+ * @param depth profundidad con la que se sombrea lo que golpee
+ * @param missColor color si no golpea nada o lo que golpea no tiene material
+ * @param weight peso con el que el material mezcla el color del rayo
+ * @author Cristopher Carrada
+ */
+public record SecondaryRay(Ray ray, int depth, Vector3D missColor, double weight) {
+
+  /**
+   * Traza el rayo y sombrea recursivamente lo que golpea.
+   *
+   * @param scene escena a trazar
+   * @return color visto por el rayo, sin aplicar el peso
+   */
+  public Vector3D trace(Scene scene) {
+    Optional<Intersection> hit = scene.intersect(ray);
+    if (hit.isEmpty()) {
+      return missColor;
+    }
+    Optional<MaterialStrategy> material =
+        scene.getMaterialStrategy(hit.get().getPrimitive().getMaterialId());
+    if (material.isEmpty()) {
+      return missColor;
+    }
+    return material.get().scatter(ray, hit.get(), scene, depth);
+  }
+}
@@ -0,0 +1,83 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.materials;
+
+import java.util.Arrays;
+import java.util.List;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+
+/**
+ * Sombreado de una intersección separado en los rayos que necesita y el cálculo del color.
+ *
+ * <p>Un material arma el plan sin trazar ningún rayo: lista los rayos de sombra cuya visibilidad
+ * necesita y los rayos secundarios cuyo color mezcla. Quien ejecuta el plan decide cuándo trazarlos
+ * (de inmediato y en profundidad con {@link #resolve(Scene)}, o en lotes junto con los de otros
+ * píxeles) y al final entrega los resultados a {@link #resolve(boolean[], Vector3D[])}.
+ *
+ * @param shadowRays rayos de sombra, en el orden en que se entregan sus visibilidades
+ * @param secondaryRays rayos secundarios, en el orden en que se entregan sus colores
+ * @param resolver cálculo del color a partir de los resultados
+ * @author Cristopher Carrada
+ */
+public record ShadingPlan(
+    List<ShadowRay> shadowRays, List<SecondaryRay> secondaryRays, Resolver resolver) {
+
+  /** Construye un plan con copias inmutables de las listas. */
+  public ShadingPlan {
+    shadowRays = List.copyOf(shadowRays);
+    secondaryRays = List.copyOf(secondaryRays);
+  }
+
+  /**
+   * Calcula el color con los resultados de los rayos.
+   *
+   * @param visible visibilidad de cada rayo de sombra
+   * @param secondaryColors color visto por cada rayo secundario, sin el peso aplicado
+   * @return color final del punto
+   */
+  public Vector3D resolve(boolean[] visible, Vector3D[] secondaryColors) {
+    return resolver.resolve(visible, secondaryColors);
+  }
+
+  /**
+   * Calcula el color del punto sin lo que aportan los rayos secundarios.
+   *
+   * <p>Los materiales de Phong mezclan los rayos secundarios linealmente, así que el color completo
+   * es este más el color de cada rayo secundario por su {@link SecondaryRay#weight()} (salvo el
+   * recorte a {@code [0, 1]}, que aquí se aplica sólo a la parte local).
+   *
+   * @param visible visibilidad de cada rayo de sombra
+   * @return color del punto como si los rayos secundarios vieran negro
+   */
+  public Vector3D localColor(boolean[] visible) {
+    Vector3D[] black = new Vector3D[secondaryRays.size()];
+    Arrays.fill(black, new Vector3D(0, 0, 0));
+    return resolve(visible, black);
+  }
+
+  /**
+   * Traza los rayos de inmediato, en orden, y calcula el color.
+   *
+   * <p>Los rayos secundarios se sombrean recursivamente; es el recorrido en profundidad de {@link
+   * MaterialStrategy#scatter}.
+   *
+   * @param scene escena a trazar
+   * @return color final del punto
+   */
+  public Vector3D resolve(Scene scene) {
+    boolean[] visible = new boolean[shadowRays.size()];
+    for (int i = 0; i < visible.length; i++) {
+      visible[i] = shadowRays.get(i).isVisible(scene);
+    }
+    Vector3D[] secondaryColors = new Vector3D[secondaryRays.size()];
+    for (int i = 0; i < secondaryColors.length; i++) {
+      secondaryColors[i] = secondaryRays.get(i).trace(scene);
+    }
+    return resolve(visible, secondaryColors);
+  }
+
+  /** Cálculo del color de un plan. */
+  @FunctionalInterface
+  public interface Resolver {
+    Vector3D resolve(boolean[] visible, Vector3D[] secondaryColors);
+  }
+}
@@ -0,0 +1,24 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.materials;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+
+/**
+ * Rayo de sombra hacia una luz (o hacia una muestra de una luz de superficie).
+ *
+ * @param ray rayo desde el punto sombreado hacia la luz
+ * @param maxDistance distancia a la luz; sólo la bloquean intersecciones más cercanas
+ * @author Cristopher Carrada
+ */
+public record ShadowRay(Ray ray, double maxDistance) {
+
+  /**
+   * Indica si la luz es visible desde el origen del rayo.
+   *
+   * @param scene escena con los objetos que pueden bloquear la luz
+   * @return {@code true} si ningún objeto está entre el punto y la luz
+   */
+  public boolean isVisible(Scene scene) {
+    return scene.intersect(ray).filter(hit -> hit.getDistance() < maxDistance).isEmpty();
+  }
+}
@@ -0,0 +1,62 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrixStorage;
+import unam.ciencias.modeladoyprogramacion.raytracer.SparseIntMatrix;
+
+/**
+ * Suma que elige el algoritmo según la representación de cada sumando.
+ *
+ * <ul>
+ *   <li>Densa + densa: {@link MultiThreadedIntMatrixAddition}.</li>
+ *   <li>Dispersa + dispersa: {@link SparseIntMatrixAddition}; el resultado es disperso.</li>
+ *   <li>Dispersa + densa (en cualquier orden): {@link SparseIntMatrixAddition}; el resultado
+ *       es denso.</li>
+ * </ul>
+ *
+ * <p>Un sumando disperso con densidad mayor que {@link MatrixFormat#SPARSE_DENSITY_THRESHOLD}
+ * se convierte antes a denso, porque recorrer CSR cuesta más que el ciclo denso.
+ *
+ * @author Cristopher Carrada
+ */
+public class AdaptiveIntMatrixAddition {
+    private final MultiThreadedIntMatrixAddition denseAdder;
+    private final SparseIntMatrixAddition sparseAdder;
+
+    public AdaptiveIntMatrixAddition(int threads, IntAdditionKernel kernel) {
+        this.denseAdder = new MultiThreadedIntMatrixAddition(threads, kernel);
+        this.sparseAdder = new SparseIntMatrixAddition(threads);
+    }
+
+    /**
+     * Suma dos matrices en cualquier representación.
+     *
+     * @param matrixA primer sumando
+     * @param matrixB segundo sumando
+     * @return suma, dispersa sólo si ambos sumandos lo son
+     */
+    public IntMatrixStorage add(IntMatrixStorage matrixA, IntMatrixStorage matrixB) {
+        IntMatrixStorage a = toDenseIfAboveThreshold(matrixA);
+        IntMatrixStorage b = toDenseIfAboveThreshold(matrixB);
+        if (a instanceof SparseIntMatrix sparseA) {
+            return b instanceof SparseIntMatrix sparseB
+                ? sparseAdder.add(sparseA, sparseB)
+                : sparseAdder.add(sparseA, (IntMatrix) b);
+        }
+        return b instanceof SparseIntMatrix sparseB
+            ? sparseAdder.add(sparseB, (IntMatrix) a)
+            : denseAdder.add((IntMatrix) a, (IntMatrix) b);
+    }
+
+    /**
+     * Convierte a densa una matriz dispersa con más elementos distintos de cero que {@link
+     * MatrixFormat#SPARSE_DENSITY_THRESHOLD}; las demás se regresan sin cambios.
+     */
+    private static IntMatrixStorage toDenseIfAboveThreshold(IntMatrixStorage matrix) {
+        if (matrix instanceof SparseIntMatrix sparse
+            && sparse.density() > MatrixFormat.SPARSE_DENSITY_THRESHOLD) {
+            return sparse.toDense();
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,79 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.shared.VectorSupport;
+
+/**
+ * Ciclo interno de la suma de matrices de enteros: suma elemento a elemento
+ * un rango de arreglos planos.
+ *
+ * <p>Hay dos implementaciones:
+ * <ul>
+ *   <li>{@link #scalar()}: un ciclo escalar simple.</li>
+ *   <li>{@link #vector()}: usa la Vector API ({@code jdk.incubator.vector}) con
+ *       la especie preferida de la plataforma y un ciclo escalar para la cola.
+ *       Requiere ejecutar la JVM con {@code --add-modules jdk.incubator.vector}.</li>
+ * </ul>
+ *
+ * @author Cristopher Carrada
+ */
+@FunctionalInterface
+public interface IntAdditionKernel {
+    /**
+     * Calcula {@code result[i] = a[i] + b[i]} para {@code i} en {@code [from, to)}.
+     */
+    void add(int[] a, int[] b, int[] result, int from, int to);
+
+    /**
+     * Kernel escalar.
+     *
+     * @return kernel escalar
+     */
+    static IntAdditionKernel scalar() {
+        return (a, b, result, from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = a[i] + b[i];
+            }
+        };
+    }
+
+    /**
+     * Kernel SIMD basado en la Vector API.
+     *
+     * @return kernel vectorial
+     * @throws IllegalStateException si el módulo {@code jdk.incubator.vector} no está habilitado
+     */
+    static IntAdditionKernel vector() {
+        if (!VectorSupport.isAvailable()) {
+            throw new IllegalStateException(
+                "Vector kernel requires the JVM option --add-modules " + VectorSupport.MODULE);
+        }
+        return new VectorIntAdditionKernel();
+    }
+
+    /**
+     * Kernel vectorial si el módulo está habilitado; escalar en otro caso.
+     *
+     * @return el mejor kernel disponible
+     */
+    static IntAdditionKernel auto() {
+        return VectorSupport.isAvailable() ? vector() : scalar();
+    }
+
+    /**
+     * Obtiene un kernel por nombre ({@code scalar}, {@code vector} o {@code auto}).
+     *
+     * @param name nombre del kernel; {@code null} equivale a {@code auto}
+     * @return kernel correspondiente
+     */
+    static IntAdditionKernel byName(String name) {
+        if (name == null) {
+            return auto();
+        }
+        return switch (name) {
+            case "scalar" -> scalar();
+            case "vector" -> vector();
+            case "auto" -> auto();
+            default -> throw new IllegalArgumentException("Unknown kernel: " + name);
+        };
+    }
+}
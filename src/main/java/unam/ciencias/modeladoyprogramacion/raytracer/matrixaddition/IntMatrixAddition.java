@@ -0,0 +1,13 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+
+/**
+ * Suma de matrices especializada para enteros primitivos.
+ *
+ * @author Cristopher Carrada
+ * @see MatrixAddition
+ */
+public interface IntMatrixAddition {
+    IntMatrix add(IntMatrix matrixA, IntMatrix matrixB);
+}
@@ -0,0 +1,15 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+
+/**
+ * Objeto de entrada para la suma de matrices de enteros primitivos.
+ *
+ * <p>Utiliza Java 21 record para inmutabilidad automática y métodos generados
+ * (equals, hashCode, toString).
+ *
+ * @param matrixA primera matriz a sumar
+ * @param matrixB segunda matriz a sumar
+ * @author Cristopher Carrada
+ */
+public record IntMatrixAdditionInput(IntMatrix matrixA, IntMatrix matrixB) {}
@@ -0,0 +1,62 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.shared.CLIInputReader;
+
+/**
+ * Implementación de CLIInputReader que lee la entrada de suma de matrices
+ * directamente a matrices de enteros primitivos.
+ *
+ * <p>Usa el mismo formato que {@link MatrixAdditionInputReaderImpl}, pero
+ * escribe cada valor en el arreglo de la matriz sin pasar por {@code Integer[][]}.
+ *
+ * @author Cristopher Carrada
+ */
+public class IntMatrixAdditionInputReaderImpl
+    implements CLIInputReader<IntMatrixAdditionInput> {
+
+    @Override
+    public IntMatrixAdditionInput read(InputStream inputStream) {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(inputStream))) {
+            // Read matrix dimensions
+            String line = br.readLine();
+            String[] dims = line.trim().split("\\s+");
+            int rows = Integer.parseInt(dims[0]),
+                columns = Integer.parseInt(dims[1]);
+
+            // read empty line
+            br.readLine();
+
+            // Read first matrix
+            var matrixA = readMatrix(br, rows, columns);
+
+            // read empty line
+            br.readLine();
+
+            // Read second matrix
+            var matrixB = readMatrix(br, rows, columns);
+
+            return new IntMatrixAdditionInput(matrixA, matrixB);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private IntMatrix readMatrix(BufferedReader br, int rows, int columns)
+        throws IOException {
+        var matrix = new IntMatrix(rows, columns);
+        int[] data = matrix.data();
+        for (int row = 0; row < rows; row++) {
+            String[] values = br.readLine().trim().split("\\s+");
+            for (int col = 0; col < columns; col++) {
+                data[row * columns + col] = Integer.parseInt(values[col]);
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,36 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.shared.CLIOutputFormatter;
+
+/**
+ * Implementación de CLIOutputFormatter para matrices de enteros primitivos.
+ *
+ * <p>Produce el mismo formato que {@link MatrixAdditionOutputFormatterImpl}:
+ * una fila por línea con los valores separados por espacios.
+ *
+ * @author Cristopher Carrada
+ */
+public class IntMatrixOutputFormatterImpl
+    implements CLIOutputFormatter<IntMatrix> {
+
+    @Override
+    public String format(IntMatrix result) {
+        int rows = result.getRows();
+        int cols = result.getColumns();
+        int[] data = result.data();
+        var stringBuilder = new StringBuilder();
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                stringBuilder.append(data[i * cols + j]);
+                if (j < cols - 1) {
+                    stringBuilder.append(' ');
+                }
+            }
+            stringBuilder.append('\n');
+        }
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,185 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Decodificador de enteros en texto, byte por byte, sin crear cadenas.
+ *
+ * <p>Lee de un búfer en memoria o de un archivo a través de una ventana mapeada que se
+ * desplaza conforme avanza la lectura, de modo que archivos más grandes que la memoria
+ * se recorren con un consumo acotado. Cada hilo debe usar su propia instancia.
+ *
+ * <p>Las entradas mal formadas producen un {@link IllegalArgumentException} que indica
+ * el desplazamiento en bytes del error.
+ *
+ * @author Cristopher Carrada
+ */
+public final class IntTokenizer {
+    public static final int DEFAULT_WINDOW_BYTES = 64 << 20;
+
+    private static final long INT_LIMIT = -(long) Integer.MIN_VALUE;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowBytes;
+    private ByteBuffer window;
+    private long windowStart;
+    private int index;
+
+    /**
+     * Lee de un búfer en memoria a partir de {@code position}.
+     */
+    public IntTokenizer(ByteBuffer buffer, int position) {
+        this.channel = null;
+        this.size = buffer.limit();
+        this.windowBytes = buffer.limit();
+        this.window = buffer;
+        this.index = position;
+    }
+
+    /**
+     * Lee de un archivo a partir de {@code position}, mapeando ventanas de
+     * {@code windowBytes} bytes.
+     */
+    public IntTokenizer(FileChannel channel, long position, int windowBytes) throws IOException {
+        if (windowBytes < 1) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        this.channel = channel;
+        this.size = channel.size();
+        this.windowBytes = windowBytes;
+        map(Math.min(position, size));
+    }
+
+    /**
+     * Obtiene la posición actual dentro de la entrada.
+     *
+     * @return desplazamiento en bytes desde el inicio
+     */
+    public long position() {
+        return windowStart + index;
+    }
+
+    /**
+     * Decodifica el siguiente entero de la línea actual.
+     */
+    public int nextInt() {
+        skipSpaces();
+        boolean negative = false;
+        int b = peek();
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            index++;
+        }
+        long start = position();
+        long value = 0;
+        for (b = peek(); b >= '0' && b <= '9'; b = peek()) {
+            value = value * 10 + (b - '0');
+            if (value > INT_LIMIT) {
+                throw error("Integer out of range");
+            }
+            index++;
+        }
+        boolean atEndOfLine = b == -1 || b == '\n';
+        if (position() == start && atEndOfLine) {
+            throw error("Missing values in row");
+        }
+        if (position() == start || !(atEndOfLine || isBlank(b))) {
+            throw error("Invalid integer");
+        }
+        if (!negative && value == INT_LIMIT) {
+            throw error("Integer out of range");
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Verifica que no queden valores en la línea y avanza a la siguiente.
+     */
+    public void endOfLine() {
+        skipSpaces();
+        int b = peek();
+        if (b != -1 && b != '\n') {
+            throw error("Too many values in row");
+        }
+        index++;
+    }
+
+    /**
+     * Salta líneas en blanco y espacios hasta el siguiente valor.
+     */
+    public void skipBlankLines() {
+        for (int b = peek(); b != -1 && (isBlank(b) || b == '\n'); b = peek()) {
+            index++;
+        }
+    }
+
+    /**
+     * Indica si quedan valores por leer, saltando las líneas en blanco.
+     *
+     * @return {@code true} si no se ha llegado al final de la entrada
+     */
+    public boolean hasMoreValues() {
+        skipBlankLines();
+        return peek() != -1;
+    }
+
+    /**
+     * Salta {@code count} líneas con datos sin decodificarlas, ignorando las líneas en blanco.
+     */
+    public void skipDataLines(long count) {
+        for (long line = 0; line < count; line++) {
+            skipBlankLines();
+            if (peek() == -1) {
+                throw error("Expected " + count + " matrix rows but found " + line);
+            }
+            for (int b = peek(); b != -1 && b != '\n'; b = peek()) {
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Indica si un byte es un espacio dentro de una línea.
+     */
+    public static boolean isBlank(int b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private void skipSpaces() {
+        while (isBlank(peek())) {
+            index++;
+        }
+    }
+
+    /** Devuelve el byte actual sin consumirlo, o -1 al final de la entrada. */
+    private int peek() {
+        if (index < window.limit()) {
+            return window.get(index);
+        }
+        long position = position();
+        if (channel == null || position >= size) {
+            return -1;
+        }
+        map(position);
+        return window.get(index);
+    }
+
+    private void map(long position) {
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                                 Math.min(windowBytes, size - position));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        windowStart = position;
+        index = 0;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at byte " + position());
+    }
+}
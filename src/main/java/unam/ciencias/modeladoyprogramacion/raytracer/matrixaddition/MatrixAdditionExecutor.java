@@ -1,47 +1,110 @@
 package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import unam.ciencias.modeladoyprogramacion.raytracer.CLIOperationExecutor;
 import unam.ciencias.modeladoyprogramacion.raytracer.CLIOptions;
-import unam.ciencias.modeladoyprogramacion.raytracer.Matrix;
-import unam.ciencias.modeladoyprogramacion.raytracer.shared.CLIInputReader;
-import unam.ciencias.modeladoyprogramacion.raytracer.shared.CLIOutputFormatter;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.shared.CLIChannels;
 
 /**
  * Ejecutor para realizar la operación de suma de matrices en un contexto CLI.
  * Lee las matrices de entrada, realiza la suma usando un enfoque multihilo,
  * y muestra el resultado.
+ *
+ * <p>La entrada siempre es de enteros, por lo que se usa la representación
+ * primitiva {@link IntMatrix}; {@link MultiThreadedMatrixAddition} sigue
+ * disponible para otros tipos de elemento.
+ *
+ * <p>Con {@code --input} las matrices se leen de un archivo y se suman por bandas
+ * con {@link OutOfCoreMatrixAddition}, así que pueden ser más grandes que el heap.
+ * Con {@code --output} el resultado se escribe a un archivo en lugar de stdout.
+ *
+ * <p>Con {@code --input-format} cada matriz se guarda densa o dispersa (CSR) y la suma
+ * se elige con {@link AdaptiveIntMatrixAddition}. Sin la opción se elige automáticamente
+ * por densidad, salvo con un archivo de entrada que podría no caber en el heap, que sigue
+ * el camino por bandas.
  */
 public final class MatrixAdditionExecutor implements CLIOperationExecutor {
-    private CLIInputReader<MatrixAdditionInput> inputReader;
-    private CLIOutputFormatter<Matrix<Integer>> outputFormatter;
-    private MatrixAddition<Integer> matrixAdder;
+    // Cada elemento ocupa al menos dos bytes de texto y cuatro en cada una de las tres
+    // matrices en memoria, así que el heap necesario es a lo más seis veces el archivo
+    private static final int HEAP_BYTES_PER_INPUT_BYTE = 6;
+
+    private ParallelIntMatrixAdditionInputReaderImpl inputReader;
+    private ParallelIntMatrixOutputWriterImpl outputWriter;
+    private AdaptiveIntMatrixAddition matrixAdder;
+    private OutOfCoreMatrixAddition outOfCoreAdder;
+    private String inputFormat;
 
     public MatrixAdditionExecutor(int numberOfThreads) {
+        this(numberOfThreads, null);
+    }
+
+    public MatrixAdditionExecutor(int numberOfThreads, String kernel) {
+        this(numberOfThreads, kernel, null);
+    }
+
+    /**
+     * @param numberOfThreads número de hilos
+     * @param kernel kernel de suma ({@code scalar}, {@code vector} o {@code auto});
+     *               {@code null} equivale a {@code auto}
+     * @param inputFormat representación de las matrices ({@code dense}, {@code sparse} o
+     *                    {@code auto}); {@code null} elige automáticamente
+     */
+    public MatrixAdditionExecutor(int numberOfThreads, String kernel, String inputFormat) {
         // NOTA: las dependencias deberían inyectarse usando un framework DI
         // o al menos manualmente para mejor testeabilidad, pero por simplicidad
         // las instanciamos directamente aquí. Si escribimos código así
         // no podemos hacer pruebas unitarias correctamente ya que las dependencias están hardcodeadas
         // y no podemos mockearlas.
         // Dado que esta clase no tiene lógica, la dejaremos así por ahora.
-        this.inputReader = new MatrixAdditionInputReaderImpl();
-        this.outputFormatter = new MatrixAdditionOutputFormatterImpl<>();
-        this.matrixAdder = new MultiThreadedMatrixAddition<>(
-                numberOfThreads, (a, b) -> a + b);
+        this.inputReader = new ParallelIntMatrixAdditionInputReaderImpl(numberOfThreads);
+        this.outputWriter = new ParallelIntMatrixOutputWriterImpl(numberOfThreads);
+        var additionKernel = IntAdditionKernel.byName(kernel);
+        this.matrixAdder = new AdaptiveIntMatrixAddition(numberOfThreads, additionKernel);
+        this.outOfCoreAdder = new OutOfCoreMatrixAddition(numberOfThreads, additionKernel);
+        // Validar el nombre antes de leer la entrada
+        MatrixFormat.byName(inputFormat);
+        this.inputFormat = inputFormat;
     }
     
     @Override
     public void execute(CLIOptions options) {
         // NOTA: No hay lógica que probar aquí, ya que toda la lógica se delega
         // a las dependencias, este método solo orquesta las llamadas.
+        try (WritableByteChannel output = CLIChannels.openOutput(options.output())) {
+            if (options.input() != null && inputFormat == null
+                    && exceedsHeap(Path.of(options.input()))) {
+                // Con un archivo que podría no caber se suma por bandas, sin cargar las matrices
+                outOfCoreAdder.add(Path.of(options.input()), output);
+                return;
+            }
 
-        // Leer entrada desde stdin
-        var matrixAdditionInput = inputReader.read(System.in);
+            // Leer entrada desde el archivo o stdin en la representación pedida
+            var format = MatrixFormat.byName(inputFormat);
+            var matrixAdditionInput = options.input() != null
+                ? inputReader.read(Path.of(options.input()), format)
+                : inputReader.read(System.in, format);
 
-        // Realizar suma de matrices
-        var result = matrixAdder.add(matrixAdditionInput.matrixA(),
-                                     matrixAdditionInput.matrixB());
+            // Realizar suma de matrices
+            var result = matrixAdder.add(matrixAdditionInput.matrixA(),
+                                         matrixAdditionInput.matrixB());
+
+            // Escribir la salida por bloques, sin construir el texto completo
+            outputWriter.write(result, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        // Formatear e imprimir salida a stdout
-        System.out.print(outputFormatter.format(result));
+    /**
+     * Indica si cargar el archivo de entrada en memoria podría agotar el heap.
+     */
+    private static boolean exceedsHeap(Path input) throws IOException {
+        return Files.size(input) > Runtime.getRuntime().maxMemory() / HEAP_BYTES_PER_INPUT_BYTE;
     }
 }
@@ -0,0 +1,14 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrixStorage;
+
+/**
+ * Objeto de entrada para la suma de matrices en la representación elegida al leerlas.
+ *
+ * <p>Cada matriz puede ser densa o dispersa de forma independiente.
+ *
+ * @param matrixA primera matriz a sumar
+ * @param matrixB segunda matriz a sumar
+ * @author Cristopher Carrada
+ */
+public record MatrixAdditionOperands(IntMatrixStorage matrixA, IntMatrixStorage matrixB) {}
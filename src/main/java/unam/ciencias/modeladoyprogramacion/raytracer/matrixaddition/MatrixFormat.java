@@ -0,0 +1,41 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+/**
+ * Representación en memoria de las matrices leídas por la suma de matrices.
+ *
+ * @author Cristopher Carrada
+ */
+public enum MatrixFormat {
+    /** Siempre {@link unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix}. */
+    DENSE,
+    /** Siempre {@link unam.ciencias.modeladoyprogramacion.raytracer.SparseIntMatrix}. */
+    SPARSE,
+    /** Dispersa si la densidad estimada no pasa de {@link #SPARSE_DENSITY_THRESHOLD}. */
+    AUTO;
+
+    /**
+     * Densidad máxima con la que conviene la representación dispersa.
+     *
+     * <p>Con esta densidad CSR ocupa la quinta parte que la matriz densa, y la suma recorre
+     * una décima parte de los elementos; por encima, los ciclos densos (vectorizados) ganan.
+     */
+    public static final double SPARSE_DENSITY_THRESHOLD = 0.1;
+
+    /**
+     * Obtiene un formato por nombre ({@code dense}, {@code sparse} o {@code auto}).
+     *
+     * @param name nombre del formato; {@code null} equivale a {@code auto}
+     * @return formato correspondiente
+     */
+    public static MatrixFormat byName(String name) {
+        if (name == null) {
+            return AUTO;
+        }
+        return switch (name) {
+            case "dense" -> DENSE;
+            case "sparse" -> SPARSE;
+            case "auto" -> AUTO;
+            default -> throw new IllegalArgumentException("Unknown input format: " + name);
+        };
+    }
+}
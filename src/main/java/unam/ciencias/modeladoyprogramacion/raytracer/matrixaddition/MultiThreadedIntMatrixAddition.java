@@ -0,0 +1,78 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.MultiThreadedOperation;
+
+/**
+ * Suma multihilo de matrices de enteros primitivos.
+ *
+ * <p>Recorre los arreglos planos de las matrices sin crear objetos por elemento. Los elementos se
+ * reparten entre los hilos en bloques contiguos de filas completas de al menos
+ * {@value #MIN_ELEMENTS_PER_TASK} elementos, de modo que cada hilo lee y escribe memoria
+ * secuencial. El ciclo interno lo ejecuta un
+ * {@link IntAdditionKernel}, escalar o SIMD.
+ *
+ * @author Cristopher Carrada
+ */
+public class MultiThreadedIntMatrixAddition
+    extends MultiThreadedOperation
+    implements IntMatrixAddition {
+
+    static final int MIN_ELEMENTS_PER_TASK = 1 << 14;
+
+    private final IntAdditionKernel kernel;
+
+    public MultiThreadedIntMatrixAddition() {
+        this(1);
+    }
+
+    public MultiThreadedIntMatrixAddition(int threads) {
+        this(threads, IntAdditionKernel.scalar());
+    }
+
+    public MultiThreadedIntMatrixAddition(int threads, IntAdditionKernel kernel) {
+        super(threads);
+        if (kernel == null) {
+            throw new IllegalArgumentException("Kernel cannot be null");
+        }
+        this.kernel = kernel;
+    }
+
+    @Override
+    public IntMatrix add(IntMatrix matrixA, IntMatrix matrixB) {
+        var result = new IntMatrix(matrixA.getRows(), matrixA.getColumns());
+        add(matrixA, matrixB, result);
+        return result;
+    }
+
+    /**
+     * Suma dos matrices escribiendo en una matriz existente, sin reservar memoria.
+     *
+     * @param matrixA primer sumando
+     * @param matrixB segundo sumando
+     * @param result matriz destino; puede ser uno de los sumandos
+     */
+    public void add(IntMatrix matrixA, IntMatrix matrixB, IntMatrix result) {
+        if (matrixA.getRows() != matrixB.getRows()
+            || matrixA.getColumns() != matrixB.getColumns()
+            || matrixA.getRows() != result.getRows()
+            || matrixA.getColumns() != result.getColumns()) {
+            throw new IllegalArgumentException("Matrices must have the same dimensions to be added");
+        }
+        int columns = matrixA.getColumns();
+        if (columns == 0) {
+            return;
+        }
+        int[] a = matrixA.data();
+        int[] b = matrixB.data();
+        int[] c = result.data();
+        try {
+            // Cada subrango son filas completas: memoria contigua para el kernel
+            this.forEachRange(0, matrixA.getRows(), Math.max(1, MIN_ELEMENTS_PER_TASK / columns),
+                              (from, to) -> kernel.add(a, b, c, from * columns, to * columns));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
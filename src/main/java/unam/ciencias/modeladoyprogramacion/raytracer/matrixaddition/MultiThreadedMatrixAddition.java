@@ -1,15 +1,10 @@
 package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.function.BiFunction;
-import java.util.stream.IntStream;
 
 import unam.ciencias.modeladoyprogramacion.raytracer.Matrix;
 import unam.ciencias.modeladoyprogramacion.raytracer.MultiThreadedOperation;
 
-import static java.lang.Math.min;
-
 /**
  * MultiThreadedMatrixAddition es una clase que implementa la interfaz MatrixAddition
  * usando múltiples hilos para realizar la operación de suma.
@@ -40,39 +35,18 @@ public class MultiThreadedMatrixAddition<T>
         }
         try {
             var result = new Matrix<T>(matrixA.getRows(), matrixA.getColumns());
-            var threads = initializeThreads(matrixA, matrixB, result);
-            this.runAndWaitForThreads(threads);
+            this.forEachRange(0, matrixA.getRows(), 1, (initialRow, lastRow) -> {
+                for (int row = initialRow; row < lastRow; row++) {
+                    for (int column = 0; column < matrixA.getColumns(); column++) {
+                        var add = addition.apply(matrixA.getValue(row, column),
+                                                 matrixB.getValue(row, column));
+                        result.setValue(row, column, add);
+                    }
+                }
+            });
             return result;
         } catch(InterruptedException e) {
             throw new RuntimeException(e);
         }
     }
-
-    private List<Thread> initializeThreads(Matrix<T> matrixA,
-                                           Matrix<T> matrixB,
-                                           Matrix<T> result) {
-      if (result.getRows() == 0) {
-        return Collections.emptyList();
-      }
-      final int totalRows = matrixA.getRows();
-      int threadsToUse = min(this.threads, totalRows);
-      int remainingRows = totalRows % threadsToUse;
-      int chunkSize = totalRows / threadsToUse  + (remainingRows > 0 ? 1 : 0);
-
-      return IntStream.range(0, threadsToUse)
-        .mapToObj(i -> {
-          int initialRow = i * chunkSize;
-          int lastRow = min((i+1) * chunkSize, totalRows);
-          Runnable task = () -> {
-              for(int row = initialRow; row < lastRow; row++) {
-                  for (int column = 0; column < matrixA.getColumns(); column++) {
-                      var add = addition.apply(matrixA.getValue(row, column),
-                                               matrixB.getValue(row, column));
-                      result.setValue(row, column, add);
-                  }
-              }
-          };
-          return new Thread(task);
-        }).toList();
-    }
 }
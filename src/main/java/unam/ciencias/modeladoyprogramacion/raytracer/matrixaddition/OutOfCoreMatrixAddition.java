@@ -0,0 +1,141 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.MultiThreadedOperation;
+
+/**
+ * Suma de matrices fuera de memoria: procesa archivos de entrada más grandes que el heap.
+ *
+ * <p>El archivo de entrada tiene el mismo formato que la entrada estándar de la suma de
+ * matrices. Se recorre con dos {@link IntTokenizer} sobre ventanas mapeadas en memoria, uno
+ * para cada matriz, y la suma avanza por bandas de filas:
+ * <ol>
+ *   <li>Se decodifica la siguiente banda de cada matriz (ambas en paralelo).</li>
+ *   <li>Se suman con {@link MultiThreadedIntMatrixAddition}, sobre la banda de la primera matriz.</li>
+ *   <li>Se escribe el resultado con {@link ParallelIntMatrixOutputWriterImpl}.</li>
+ * </ol>
+ *
+ * <p>Para saber dónde empieza la segunda matriz hay que recorrer una vez las líneas de la
+ * primera, así que ésta se lee dos veces del disco. El heap usado es de dos bandas de
+ * aproximadamente {@value #DEFAULT_BAND_BYTES} bytes más los búferes del escritor, sin importar
+ * el tamaño de las matrices; las ventanas mapeadas viven fuera del heap.
+ *
+ * @author Cristopher Carrada
+ */
+public class OutOfCoreMatrixAddition extends MultiThreadedOperation {
+    static final int DEFAULT_BAND_BYTES = 16 << 20;
+
+    private final MultiThreadedIntMatrixAddition adder;
+    private final ParallelIntMatrixOutputWriterImpl writer;
+    private final int bandBytes;
+    private final int windowBytes;
+
+    public OutOfCoreMatrixAddition(int threads, IntAdditionKernel kernel) {
+        this(threads, kernel, DEFAULT_BAND_BYTES, IntTokenizer.DEFAULT_WINDOW_BYTES);
+    }
+
+    OutOfCoreMatrixAddition(int threads, IntAdditionKernel kernel, int bandBytes, int windowBytes) {
+        super(threads);
+        if (bandBytes < 1 || windowBytes < 1) {
+            throw new IllegalArgumentException("Band and window sizes must be positive");
+        }
+        this.adder = new MultiThreadedIntMatrixAddition(threads, kernel);
+        this.writer = new ParallelIntMatrixOutputWriterImpl(threads);
+        this.bandBytes = bandBytes;
+        this.windowBytes = windowBytes;
+    }
+
+    /**
+     * Suma las dos matrices del archivo de entrada y escribe el resultado.
+     *
+     * @param input archivo con las dimensiones y las dos matrices
+     * @param output canal donde se escribe la matriz resultante
+     * @throws IOException si falla la lectura o la escritura
+     */
+    public void add(Path input, WritableByteChannel output) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            // Read matrix dimensions
+            var header = new IntTokenizer(channel, 0, windowBytes);
+            header.skipBlankLines();
+            int rows = header.nextInt();
+            int columns = header.nextInt();
+            header.endOfLine();
+            if (rows < 0 || columns < 0) {
+                throw new IllegalArgumentException("Dimensions cannot be negative");
+            }
+            if ((long) rows * columns == 0) {
+                writer.write(new IntMatrix(rows, columns), output);
+                return;
+            }
+
+            var tokenizerA = new IntTokenizer(channel, header.position(), windowBytes);
+            var tokenizerB = new IntTokenizer(channel, header.position(), windowBytes);
+            // Primera pasada: saltar las filas de A para encontrar dónde empieza B
+            tokenizerB.skipDataLines(rows);
+
+            int bandRows = (int) Math.max(1, Math.min(rows, bandBytes / ((long) columns * Integer.BYTES)));
+            IntMatrix bandA = null;
+            IntMatrix bandB = null;
+            for (int firstRow = 0; firstRow < rows; firstRow += bandRows) {
+                int count = Math.min(bandRows, rows - firstRow);
+                if (bandA == null || bandA.getRows() != count) {
+                    bandA = new IntMatrix(count, columns);
+                    bandB = new IntMatrix(count, columns);
+                }
+                readBands(tokenizerA, bandA, tokenizerB, bandB);
+                adder.add(bandA, bandB, bandA);
+                writer.write(bandA, output);
+            }
+        }
+    }
+
+    /**
+     * Decodifica la siguiente banda de cada matriz; en paralelo si hay más de un hilo.
+     */
+    private void readBands(IntTokenizer tokenizerA, IntMatrix bandA,
+                           IntTokenizer tokenizerB, IntMatrix bandB) {
+        // Las excepciones de los hilos no llegan al que espera; se guarda la primera
+        var failure = new AtomicReference<RuntimeException>();
+        Runnable readA = () -> readBand(tokenizerA, bandA, failure);
+        Runnable readB = () -> readBand(tokenizerB, bandB, failure);
+        if (this.threads < 2) {
+            readA.run();
+            readB.run();
+        } else {
+            try {
+                this.runAndWait(List.of(readA, readB));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private static void readBand(IntTokenizer tokenizer, IntMatrix band,
+                                 AtomicReference<RuntimeException> failure) {
+        try {
+            int[] data = band.data();
+            int columns = band.getColumns();
+            for (int row = 0; row < band.getRows(); row++) {
+                tokenizer.skipBlankLines();
+                for (int col = 0; col < columns; col++) {
+                    data[row * columns + col] = tokenizer.nextInt();
+                }
+                tokenizer.endOfLine();
+            }
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrixStorage;
+import unam.ciencias.modeladoyprogramacion.raytracer.MultiThreadedOperation;
+import unam.ciencias.modeladoyprogramacion.raytracer.SparseIntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.shared.CLIInputReader;
+
+/**
+ * Lector de la entrada de suma de matrices que interpreta los bytes directamente.
+ *
+ * <p>Usa el mismo formato que {@link IntMatrixAdditionInputReaderImpl}, pero no crea
+ * cadenas intermedias: la entrada completa se carga en un solo búfer (o se mapea en
+ * memoria si es un archivo) y los enteros se decodifican dígito por dígito sobre el
+ * arreglo de cada {@link IntMatrix}.
+ *
+ * <p>La lectura tiene dos fases:
+ * <ol>
+ *   <li>Un recorrido secuencial que sólo busca saltos de línea y registra dónde empieza
+ *       cada fila de datos, saltando las líneas en blanco.</li>
+ *   <li>La decodificación de las filas, repartida entre los hilos en rangos contiguos
+ *       de líneas con {@link #forEachRange}. Como las filas de ambas matrices se numeran juntas, un mismo
+ *       recorrido reparte el trabajo de las dos.</li>
+ * </ol>
+ *
+ * <p>Cada matriz puede guardarse densa o dispersa (CSR) según el {@link MatrixFormat}
+ * pedido. En modo {@code AUTO} la densidad de cada matriz se estima con una muestra de
+ * filas antes de decodificarla, así que una matriz dispersa nunca se materializa densa.
+ *
+ * @author Cristopher Carrada
+ */
+public class ParallelIntMatrixAdditionInputReaderImpl
+    extends MultiThreadedOperation
+    implements CLIInputReader<IntMatrixAdditionInput> {
+
+    private static final int DENSITY_SAMPLE_ROWS = 64;
+    // Líneas mínimas por subrango; menos no compensa el costo de repartirlas
+    private static final int LINE_GRAIN = 64;
+
+    public ParallelIntMatrixAdditionInputReaderImpl() {
+        this(1);
+    }
+
+    public ParallelIntMatrixAdditionInputReaderImpl(int threads) {
+        super(threads);
+    }
+
+    @Override
+    public IntMatrixAdditionInput read(InputStream inputStream) {
+        return toDense(read(inputStream, MatrixFormat.DENSE));
+    }
+
+    /**
+     * Lee la entrada desde un archivo mapeándolo en memoria.
+     *
+     * @param path archivo de entrada
+     * @return matrices leídas
+     */
+    public IntMatrixAdditionInput read(Path path) {
+        return toDense(read(path, MatrixFormat.DENSE));
+    }
+
+    /**
+     * Lee la entrada eligiendo la representación de cada matriz.
+     *
+     * @param inputStream entrada en formato de texto
+     * @param format representación deseada
+     * @return matrices leídas
+     */
+    public MatrixAdditionOperands read(InputStream inputStream, MatrixFormat format) {
+        try (inputStream) {
+            return parse(ByteBuffer.wrap(inputStream.readAllBytes()), format);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lee la entrada desde un archivo mapeándolo en memoria, eligiendo la representación
+     * de cada matriz.
+     *
+     * @param path archivo de entrada
+     * @param format representación deseada
+     * @return matrices leídas
+     */
+    public MatrixAdditionOperands read(Path path, MatrixFormat format) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Input file too large to map: " + size + " bytes");
+            }
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), format);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static IntMatrixAdditionInput toDense(MatrixAdditionOperands operands) {
+        return new IntMatrixAdditionInput(operands.matrixA().toDense(), operands.matrixB().toDense());
+    }
+
+    private MatrixAdditionOperands parse(ByteBuffer buffer, MatrixFormat format) {
+        // Read matrix dimensions
+        var header = new IntTokenizer(buffer, 0);
+        header.skipBlankLines();
+        int rows = header.nextInt();
+        int columns = header.nextInt();
+        header.endOfLine();
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Dimensions cannot be negative");
+        }
+        if ((long) rows * columns == 0) {
+            return format == MatrixFormat.SPARSE
+                ? new MatrixAdditionOperands(new SparseIntMatrix(rows, columns), new SparseIntMatrix(rows, columns))
+                : new MatrixAdditionOperands(new IntMatrix(rows, columns), new IntMatrix(rows, columns));
+        }
+
+        int[] lineStarts = findDataLines(buffer, (int) header.position(), 2 * rows);
+        var matrixA = new MatrixTarget(rows, columns,
+            isSparse(format, buffer, lineStarts, 0, rows, columns));
+        var matrixB = new MatrixTarget(rows, columns,
+            isSparse(format, buffer, lineStarts, rows, rows, columns));
+
+        // Las excepciones de los hilos no llegan al que espera; se guarda la primera
+        var failure = new AtomicReference<RuntimeException>();
+        try {
+            // Las filas de ambas matrices se numeran juntas; un rango que cruza de A a B se parte
+            this.forEachRange(0, 2 * rows, LINE_GRAIN, (from, to) -> {
+                if (from < rows) {
+                    matrixA.decode(buffer, lineStarts, 0, from, Math.min(to, rows), failure);
+                }
+                if (to > rows) {
+                    matrixB.decode(buffer, lineStarts, rows, Math.max(from, rows) - rows, to - rows, failure);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return new MatrixAdditionOperands(matrixA.build(), matrixB.build());
+    }
+
+    /**
+     * Decide si una matriz se guarda dispersa; en modo {@code AUTO} estima su densidad
+     * decodificando hasta {@value #DENSITY_SAMPLE_ROWS} filas repartidas uniformemente.
+     */
+    private static boolean isSparse(MatrixFormat format, ByteBuffer buffer, int[] lineStarts,
+                                    int firstLine, int rows, int columns) {
+        if (format != MatrixFormat.AUTO) {
+            return format == MatrixFormat.SPARSE;
+        }
+        int samples = Math.min(rows, DENSITY_SAMPLE_ROWS);
+        long nonZeros = 0;
+        for (int sample = 0; sample < samples; sample++) {
+            var tokenizer = new IntTokenizer(buffer, lineStarts[firstLine + (int) ((long) sample * rows / samples)]);
+            for (int col = 0; col < columns; col++) {
+                if (tokenizer.nextInt() != 0) {
+                    nonZeros++;
+                }
+            }
+        }
+        return nonZeros <= MatrixFormat.SPARSE_DENSITY_THRESHOLD * samples * columns;
+    }
+
+    /**
+     * Registra dónde empiezan las siguientes {@code count} líneas que no están en blanco.
+     */
+    private static int[] findDataLines(ByteBuffer buffer, int from, int count) {
+        int[] starts = new int[count];
+        int limit = buffer.limit();
+        int position = from;
+        int found = 0;
+        while (found < count) {
+            int start = position;
+            while (position < limit && IntTokenizer.isBlank(buffer.get(position))) {
+                position++;
+            }
+            if (position >= limit) {
+                throw new IllegalArgumentException(
+                    "Expected " + count + " matrix rows but found " + found);
+            }
+            if (buffer.get(position) != '\n') {
+                starts[found++] = start;
+            }
+            while (position < limit && buffer.get(position) != '\n') {
+                position++;
+            }
+            position++;
+        }
+        return starts;
+    }
+
+    /**
+     * Matriz en construcción: los bloques densos se escriben directamente en el arreglo de
+     * la matriz; los dispersos se acumulan por bloque y se concatenan al final.
+     */
+    private static final class MatrixTarget {
+        private final int rows;
+        private final int columns;
+        private final IntMatrix dense;
+        private final List<SparseRows> sparseBlocks;
+
+        MatrixTarget(int rows, int columns, boolean sparse) {
+            this.rows = rows;
+            this.columns = columns;
+            this.dense = sparse ? null : new IntMatrix(rows, columns);
+            this.sparseBlocks = sparse ? Collections.synchronizedList(new ArrayList<>()) : null;
+        }
+
+        /**
+         * Decodifica las filas {@code [fromRow, toRow)}, que empiezan en la línea
+         * {@code firstLine + fromRow}.
+         */
+        void decode(ByteBuffer buffer, int[] lineStarts, int firstLine, int fromRow, int toRow,
+                    AtomicReference<RuntimeException> failure) {
+            SparseRows sparse = null;
+            if (sparseBlocks != null) {
+                sparse = new SparseRows(fromRow, toRow - fromRow);
+                sparseBlocks.add(sparse);
+            }
+            try {
+                for (int row = fromRow; row < toRow && failure.get() == null; row++) {
+                    var cursor = new IntTokenizer(buffer, lineStarts[firstLine + row]);
+                    if (sparse == null) {
+                        int[] data = dense.data();
+                        int offset = row * columns;
+                        for (int col = 0; col < columns; col++) {
+                            data[offset + col] = cursor.nextInt();
+                        }
+                    } else {
+                        for (int col = 0; col < columns; col++) {
+                            int value = cursor.nextInt();
+                            if (value != 0) {
+                                sparse.add(row, col, value);
+                            }
+                        }
+                    }
+                    cursor.endOfLine();
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+
+        IntMatrixStorage build() {
+            if (dense != null) {
+                return dense;
+            }
+            // Los rangos terminan en cualquier orden; se concatenan por fila
+            sparseBlocks.sort(Comparator.comparingInt(block -> block.firstRow));
+            int[] rowPointers = new int[rows + 1];
+            for (SparseRows block : sparseBlocks) {
+                for (int i = 0; i < block.rowCounts.length; i++) {
+                    int row = block.firstRow + i;
+                    rowPointers[row + 1] = rowPointers[row] + block.rowCounts[i];
+                }
+            }
+            int[] columnIndices = new int[rowPointers[rows]];
+            int[] values = new int[rowPointers[rows]];
+            for (SparseRows block : sparseBlocks) {
+                int offset = rowPointers[block.firstRow];
+                System.arraycopy(block.columnIndices, 0, columnIndices, offset, block.size);
+                System.arraycopy(block.values, 0, values, offset, block.size);
+            }
+            return new SparseIntMatrix(rows, columns, rowPointers, columnIndices, values);
+        }
+    }
+
+    /** Elementos distintos de cero de un bloque de filas, en orden. */
+    private static final class SparseRows {
+        private final int firstRow;
+        private final int[] rowCounts;
+        private int[] columnIndices = new int[16];
+        private int[] values = new int[16];
+        private int size;
+
+        SparseRows(int firstRow, int rowCount) {
+            this.firstRow = firstRow;
+            this.rowCounts = new int[rowCount];
+        }
+
+        void add(int row, int column, int value) {
+            if (size == values.length) {
+                columnIndices = Arrays.copyOf(columnIndices, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            columnIndices[size] = column;
+            values[size++] = value;
+            rowCounts[row - firstRow]++;
+        }
+    }
+}
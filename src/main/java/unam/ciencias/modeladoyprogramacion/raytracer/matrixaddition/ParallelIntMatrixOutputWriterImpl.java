@@ -0,0 +1,157 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrixStorage;
+import unam.ciencias.modeladoyprogramacion.raytracer.MultiThreadedOperation;
+import unam.ciencias.modeladoyprogramacion.raytracer.shared.CLIOutputWriter;
+
+/**
+ * Escritor de matrices de enteros que formatea los dígitos directamente en búferes de bytes.
+ *
+ * <p>Produce el mismo texto que {@link IntMatrixOutputFormatterImpl}, pero sin construir un
+ * {@code String}: las filas se agrupan en bloques de aproximadamente {@value #DEFAULT_BLOCK_BYTES}
+ * bytes y en cada ronda cada hilo formatea un bloque en su propio búfer. Al terminar la ronda los
+ * búferes se escriben al canal en orden y se reutilizan en la siguiente, así que la memoria usada
+ * es {@code hilos x tamaño de bloque} sin importar el tamaño de la matriz. También escribe
+ * matrices dispersas, expandiendo cada fila a texto denso.
+ *
+ * @author Cristopher Carrada
+ */
+public class ParallelIntMatrixOutputWriterImpl
+    extends MultiThreadedOperation
+    implements CLIOutputWriter<IntMatrix> {
+
+    static final int DEFAULT_BLOCK_BYTES = 1 << 20;
+
+    // "-2147483648" más un separador
+    private static final int MAX_BYTES_PER_VALUE = 12;
+
+    private final int blockBytes;
+
+    public ParallelIntMatrixOutputWriterImpl() {
+        this(1);
+    }
+
+    public ParallelIntMatrixOutputWriterImpl(int threads) {
+        this(threads, DEFAULT_BLOCK_BYTES);
+    }
+
+    ParallelIntMatrixOutputWriterImpl(int threads, int blockBytes) {
+        super(threads);
+        if (blockBytes < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockBytes = blockBytes;
+    }
+
+    @Override
+    public void write(IntMatrix result, WritableByteChannel channel) throws IOException {
+        write((IntMatrixStorage) result, channel);
+    }
+
+    /**
+     * Escribe una matriz en cualquier representación; las filas dispersas se expanden en un
+     * arreglo auxiliar por bloque.
+     *
+     * @param result matriz a escribir
+     * @param channel canal de salida
+     * @throws IOException si falla la escritura
+     */
+    public void write(IntMatrixStorage result, WritableByteChannel channel) throws IOException {
+        int rows = result.getRows();
+        int columns = result.getColumns();
+        long bytesPerRow = Math.max(1L, (long) columns * MAX_BYTES_PER_VALUE);
+        int rowsPerBlock = (int) Math.max(1, Math.min(rows, blockBytes / bytesPerRow));
+        int blocks = (rows + rowsPerBlock - 1) / rowsPerBlock;
+        int slots = Math.max(1, Math.min(this.threads, blocks));
+
+        // Un búfer reutilizable por hilo; cada uno cabe el peor caso de un bloque
+        ByteBuffer[] buffers = new ByteBuffer[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            buffers[slot] = ByteBuffer.allocate(Math.toIntExact(rowsPerBlock * bytesPerRow));
+        }
+
+        for (int firstRow = 0; firstRow < rows; firstRow += slots * rowsPerBlock) {
+            List<Runnable> tasks = new ArrayList<>();
+            for (int slot = 0; slot < slots; slot++) {
+                int from = firstRow + slot * rowsPerBlock;
+                if (from >= rows) {
+                    break;
+                }
+                int to = Math.min(from + rowsPerBlock, rows);
+                ByteBuffer buffer = buffers[slot];
+                tasks.add(() -> formatRows(result, from, to, buffer));
+            }
+
+            try {
+                this.runAndWait(tasks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+
+            for (int slot = 0; slot < tasks.size(); slot++) {
+                ByteBuffer buffer = buffers[slot];
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Formatea las filas {@code [from, to)} en el búfer y lo deja listo para leerse.
+     */
+    private static void formatRows(IntMatrixStorage matrix, int from, int to, ByteBuffer buffer) {
+        int columns = matrix.getColumns();
+        boolean dense = matrix instanceof IntMatrix;
+        int[] data = dense ? ((IntMatrix) matrix).data() : new int[columns];
+        byte[] bytes = buffer.array();
+        int position = 0;
+        for (int row = from; row < to; row++) {
+            int offset = 0;
+            if (dense) {
+                offset = row * columns;
+            } else {
+                matrix.copyRow(row, data);
+            }
+            for (int col = 0; col < columns; col++) {
+                position = writeInt(bytes, position, data[offset + col]);
+                if (col < columns - 1) {
+                    bytes[position++] = ' ';
+                }
+            }
+            bytes[position++] = '\n';
+        }
+        buffer.clear().limit(position);
+    }
+
+    /**
+     * Escribe los dígitos decimales de {@code value} a partir de {@code position}.
+     *
+     * @return la posición siguiente al último dígito
+     */
+    static int writeInt(byte[] bytes, int position, int value) {
+        // Trabajar con el valor negativo evita el desbordamiento de Integer.MIN_VALUE
+        int negative = value < 0 ? value : -value;
+        if (value < 0) {
+            bytes[position++] = '-';
+        }
+        int digits = 1;
+        for (int rest = negative / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            bytes[i] = (byte) ('0' - negative % 10);
+            negative /= 10;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,166 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.MultiThreadedOperation;
+import unam.ciencias.modeladoyprogramacion.raytracer.SparseIntMatrix;
+
+/**
+ * Suma multihilo de matrices dispersas en formato CSR.
+ *
+ * <p>Las filas se reparten entre los hilos en rangos contiguos, igual que en
+ * {@link MultiThreadedIntMatrixAddition}, pero el trabajo es proporcional a los elementos
+ * guardados y no al tamaño de la matriz:
+ * <ul>
+ *   <li>Dispersa + dispersa: una primera pasada cuenta los elementos de cada fila del
+ *       resultado mezclando las columnas de ambas filas; una suma prefija da los inicios de
+ *       fila y una segunda pasada escribe columnas y valores. Las sumas que dan cero no se
+ *       guardan.</li>
+ *   <li>Dispersa + densa: cada hilo copia sus filas de la matriz densa y suma encima los
+ *       elementos guardados de la dispersa.</li>
+ * </ul>
+ *
+ * @author Cristopher Carrada
+ */
+public class SparseIntMatrixAddition extends MultiThreadedOperation {
+    // Las filas dispersas son baratas; un subrango más pequeño no compensa su costo
+    private static final int ROW_GRAIN = 64;
+
+    public SparseIntMatrixAddition() {
+        this(1);
+    }
+
+    public SparseIntMatrixAddition(int threads) {
+        super(threads);
+    }
+
+    /**
+     * Suma dos matrices dispersas.
+     *
+     * @param matrixA primer sumando
+     * @param matrixB segundo sumando
+     * @return suma dispersa
+     */
+    public SparseIntMatrix add(SparseIntMatrix matrixA, SparseIntMatrix matrixB) {
+        checkDimensions(matrixA.getRows(), matrixA.getColumns(),
+                        matrixB.getRows(), matrixB.getColumns());
+        int rows = matrixA.getRows();
+
+        // Primera pasada: elementos de cada fila, guardados en rowPointers[row + 1]
+        int[] rowPointers = new int[rows + 1];
+        forEachRowBlock(rows, (from, to) -> {
+            for (int row = from; row < to; row++) {
+                rowPointers[row + 1] = mergeRow(matrixA, matrixB, row, null, null, 0);
+            }
+        });
+        for (int row = 0; row < rows; row++) {
+            rowPointers[row + 1] += rowPointers[row];
+        }
+
+        // Segunda pasada: cada fila se escribe en su tramo, sin compartir posiciones
+        int[] columnIndices = new int[rowPointers[rows]];
+        int[] values = new int[rowPointers[rows]];
+        forEachRowBlock(rows, (from, to) -> {
+            for (int row = from; row < to; row++) {
+                mergeRow(matrixA, matrixB, row, columnIndices, values, rowPointers[row]);
+            }
+        });
+        return new SparseIntMatrix(rows, matrixA.getColumns(), rowPointers, columnIndices, values);
+    }
+
+    /**
+     * Suma una matriz dispersa y una densa.
+     *
+     * @param sparse sumando disperso
+     * @param dense sumando denso
+     * @return suma densa
+     */
+    public IntMatrix add(SparseIntMatrix sparse, IntMatrix dense) {
+        checkDimensions(sparse.getRows(), sparse.getColumns(),
+                        dense.getRows(), dense.getColumns());
+        int columns = dense.getColumns();
+        var result = new IntMatrix(dense.getRows(), columns);
+        int[] source = dense.data();
+        int[] target = result.data();
+        int[] rowPointers = sparse.rowPointers();
+        int[] columnIndices = sparse.columnIndices();
+        int[] values = sparse.values();
+
+        forEachRowBlock(dense.getRows(), (from, to) -> {
+            System.arraycopy(source, from * columns, target, from * columns, (to - from) * columns);
+            for (int row = from; row < to; row++) {
+                int offset = row * columns;
+                for (int i = rowPointers[row]; i < rowPointers[row + 1]; i++) {
+                    target[offset + columnIndices[i]] += values[i];
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Mezcla una fila de cada matriz por columna. Si {@code columnIndices} es {@code null}
+     * sólo cuenta los elementos distintos de cero del resultado.
+     *
+     * @return número de elementos de la fila resultante
+     */
+    private static int mergeRow(SparseIntMatrix matrixA, SparseIntMatrix matrixB, int row,
+                                int[] columnIndices, int[] values, int start) {
+        int[] columnsA = matrixA.columnIndices();
+        int[] valuesA = matrixA.values();
+        int[] columnsB = matrixB.columnIndices();
+        int[] valuesB = matrixB.values();
+        int i = matrixA.rowPointers()[row];
+        int endA = matrixA.rowPointers()[row + 1];
+        int j = matrixB.rowPointers()[row];
+        int endB = matrixB.rowPointers()[row + 1];
+        int next = start;
+        while (i < endA || j < endB) {
+            int columnA = i < endA ? columnsA[i] : Integer.MAX_VALUE;
+            int columnB = j < endB ? columnsB[j] : Integer.MAX_VALUE;
+            int column;
+            int value;
+            if (columnA == columnB) {
+                column = columnA;
+                value = valuesA[i++] + valuesB[j++];
+            } else if (columnA < columnB) {
+                column = columnA;
+                value = valuesA[i++];
+            } else {
+                column = columnB;
+                value = valuesB[j++];
+            }
+            if (value != 0) {
+                if (columnIndices != null) {
+                    columnIndices[next] = column;
+                    values[next] = value;
+                }
+                next++;
+            }
+        }
+        return next - start;
+    }
+
+    /**
+     * Reparte las filas {@code [0, rows)} entre los hilos y espera.
+     */
+    private void forEachRowBlock(int rows, RowBlock block) {
+        try {
+            this.forEachRange(0, rows, ROW_GRAIN, block::compute);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void checkDimensions(int rowsA, int columnsA, int rowsB, int columnsB) {
+        if (rowsA != rowsB || columnsA != columnsB) {
+            throw new IllegalArgumentException("Matrices must have the same dimensions to be added");
+        }
+    }
+
+    /** Cálculo sobre las filas {@code [from, to)}. */
+    @FunctionalInterface
+    private interface RowBlock {
+        void compute(int from, int to);
+    }
+}
@@ -0,0 +1,38 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel de suma SIMD con la Vector API.
+ *
+ * <p>Procesa {@code SPECIES.length()} enteros por instrucción (8 con AVX2,
+ * 16 con AVX-512) y termina el rango con un ciclo escalar. Sólo debe
+ * instanciarse a través de {@link IntAdditionKernel#vector()}, que verifica
+ * que el módulo esté habilitado antes de cargar esta clase.
+ *
+ * @author Cristopher Carrada
+ */
+final class VectorIntAdditionKernel implements IntAdditionKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void add(int[] a, int[] b, int[] result, int from, int to) {
+        int i = from;
+        int upperBound = from + SPECIES.loopBound(to - from);
+        for (; i < upperBound; i += SPECIES.length()) {
+            IntVector va = IntVector.fromArray(SPECIES, a, i);
+            IntVector vb = IntVector.fromArray(SPECIES, b, i);
+            va.add(vb).intoArray(result, i);
+        }
+        // Cola escalar
+        for (; i < to; i++) {
+            result[i] = a[i] + b[i];
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "vector(" + SPECIES.length() + " lanes)";
+    }
+}
@@ -0,0 +1,223 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixoperations;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.ExecutionStrategy;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+
+/**
+ * Operaciones de matrices por bloques sobre un {@link ForkJoinPool}.
+ *
+ * <p>Cada operación divide recursivamente la matriz resultado a la mitad (por la dimensión
+ * más larga) hasta llegar a bloques del tamaño de la caché, que se calculan en un solo hilo.
+ * Los hilos del pool que terminan antes roban las mitades pendientes de los demás, así que
+ * la carga se equilibra sola.
+ *
+ * <ul>
+ *   <li>Multiplicación: bloques de {@value #BLOCK_ROWS}x{@value #BLOCK_COLUMNS} de la
+ *       matriz resultado. Dentro de cada bloque la dimensión común se recorre en tramos de
+ *       {@value #BLOCK_DEPTH} para que el panel de {@code B} quepa en la caché L2, y el
+ *       ciclo interno (orden {@code i-k-j}) recorre filas contiguas de {@code B} y de
+ *       {@code C}, que el JIT vectoriza.</li>
+ *   <li>Transposición: bloques de {@value #TRANSPOSE_BLOCK}x{@value #TRANSPOSE_BLOCK}, de
+ *       modo que las líneas de caché leídas y escritas se reutilizan dentro del bloque.</li>
+ *   <li>Operaciones escalares: tramos contiguos de {@value #SCALAR_GRAIN} elementos.</li>
+ * </ul>
+ *
+ * @author Cristopher Carrada
+ */
+public class ForkJoinIntMatrixOperations implements IntMatrixOperations, AutoCloseable {
+    static final int BLOCK_ROWS = 64;
+    static final int BLOCK_COLUMNS = 256;
+    static final int BLOCK_DEPTH = 256;
+    static final int TRANSPOSE_BLOCK = 32;
+    static final int SCALAR_GRAIN = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+
+    /**
+     * Crea un motor sobre el pool compartido de {@link ExecutionStrategy#sharedPool()}, con un
+     * hilo por núcleo; es el mismo que usan las operaciones con ese número de hilos.
+     */
+    public ForkJoinIntMatrixOperations() {
+        this(ExecutionStrategy.sharedPool());
+    }
+
+    /**
+     * Crea un motor con su propio pool; debe cerrarse con {@link #close()}.
+     *
+     * @param threads número de hilos del pool
+     */
+    public ForkJoinIntMatrixOperations(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be at least 1");
+        }
+        this.pool = new ForkJoinPool(threads);
+        this.ownsPool = true;
+    }
+
+    /**
+     * Crea un motor sobre un pool compartido, que no se cierra con {@link #close()}.
+     *
+     * @param pool pool donde se ejecutan las operaciones
+     */
+    public ForkJoinIntMatrixOperations(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+        this.ownsPool = false;
+    }
+
+    @Override
+    public IntMatrix multiply(IntMatrix matrixA, IntMatrix matrixB) {
+        if (matrixA.getColumns() != matrixB.getRows()) {
+            throw new IllegalArgumentException("Cannot multiply " + matrixA + " by " + matrixB);
+        }
+        int depth = matrixA.getColumns();
+        int columns = matrixB.getColumns();
+        var result = new IntMatrix(matrixA.getRows(), columns);
+        int[] a = matrixA.data();
+        int[] b = matrixB.data();
+        int[] c = result.data();
+
+        invoke(result.getRows(), columns, BLOCK_ROWS, BLOCK_COLUMNS,
+               (rowFrom, rowTo, colFrom, colTo) -> {
+                   for (int kFrom = 0; kFrom < depth; kFrom += BLOCK_DEPTH) {
+                       int kTo = Math.min(kFrom + BLOCK_DEPTH, depth);
+                       for (int i = rowFrom; i < rowTo; i++) {
+                           int rowA = i * depth;
+                           int rowC = i * columns;
+                           for (int k = kFrom; k < kTo; k++) {
+                               int aik = a[rowA + k];
+                               int rowB = k * columns;
+                               for (int j = colFrom; j < colTo; j++) {
+                                   c[rowC + j] += aik * b[rowB + j];
+                               }
+                           }
+                       }
+                   }
+               });
+        return result;
+    }
+
+    @Override
+    public IntMatrix transpose(IntMatrix matrix) {
+        int rows = matrix.getRows();
+        int columns = matrix.getColumns();
+        var result = new IntMatrix(columns, rows);
+        int[] source = matrix.data();
+        int[] target = result.data();
+
+        invoke(rows, columns, TRANSPOSE_BLOCK, TRANSPOSE_BLOCK,
+               (rowFrom, rowTo, colFrom, colTo) -> {
+                   for (int i = rowFrom; i < rowTo; i++) {
+                       for (int j = colFrom; j < colTo; j++) {
+                           target[j * rows + i] = source[i * columns + j];
+                       }
+                   }
+               });
+        return result;
+    }
+
+    @Override
+    public IntMatrix scale(IntMatrix matrix, int factor) {
+        var result = new IntMatrix(matrix.getRows(), matrix.getColumns());
+        int[] source = matrix.data();
+        int[] target = result.data();
+
+        // Los datos se tratan como una sola fila plana
+        invoke(1, source.length, 1, SCALAR_GRAIN, (rowFrom, rowTo, from, to) -> {
+            for (int i = from; i < to; i++) {
+                target[i] = source[i] * factor;
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public IntMatrix addScalar(IntMatrix matrix, int value) {
+        var result = new IntMatrix(matrix.getRows(), matrix.getColumns());
+        int[] source = matrix.data();
+        int[] target = result.data();
+
+        invoke(1, source.length, 1, SCALAR_GRAIN, (rowFrom, rowTo, from, to) -> {
+            for (int i = from; i < to; i++) {
+                target[i] = source[i] + value;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Cierra el pool si lo creó este motor.
+     */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.close();
+        }
+    }
+
+    private void invoke(int rows, int columns, int blockRows, int blockColumns, Block block) {
+        if (rows == 0 || columns == 0) {
+            return;
+        }
+        pool.invoke(new BlockTask(block, blockRows, blockColumns, 0, rows, 0, columns));
+    }
+
+    /** Cálculo de un bloque rectangular {@code [rowFrom, rowTo) x [colFrom, colTo)}. */
+    @FunctionalInterface
+    private interface Block {
+        void compute(int rowFrom, int rowTo, int colFrom, int colTo);
+    }
+
+    /** Divide el rango por la mitad hasta que cabe en un bloque. */
+    private static final class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // Las tareas nunca se serializan; el bloque es una lambda
+        private final transient Block block;
+        private final int blockRows;
+        private final int blockColumns;
+        private final int rowFrom;
+        private final int rowTo;
+        private final int colFrom;
+        private final int colTo;
+
+        BlockTask(Block block, int blockRows, int blockColumns,
+                  int rowFrom, int rowTo, int colFrom, int colTo) {
+            this.block = block;
+            this.blockRows = blockRows;
+            this.blockColumns = blockColumns;
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+            this.colFrom = colFrom;
+            this.colTo = colTo;
+        }
+
+        @Override
+        protected void compute() {
+            int rowBlocks = ceilDiv(rowTo - rowFrom, blockRows);
+            int colBlocks = ceilDiv(colTo - colFrom, blockColumns);
+            if (rowBlocks <= 1 && colBlocks <= 1) {
+                block.compute(rowFrom, rowTo, colFrom, colTo);
+            } else if (rowBlocks >= colBlocks) {
+                // Cortar en un borde de bloque para que las hojas sean bloques completos
+                int middle = rowFrom + rowBlocks / 2 * blockRows;
+                invokeAll(new BlockTask(block, blockRows, blockColumns, rowFrom, middle, colFrom, colTo),
+                          new BlockTask(block, blockRows, blockColumns, middle, rowTo, colFrom, colTo));
+            } else {
+                int middle = colFrom + colBlocks / 2 * blockColumns;
+                invokeAll(new BlockTask(block, blockRows, blockColumns, rowFrom, rowTo, colFrom, middle),
+                          new BlockTask(block, blockRows, blockColumns, rowFrom, rowTo, middle, colTo));
+            }
+        }
+
+        private static int ceilDiv(int value, int divisor) {
+            return (value + divisor - 1) / divisor;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixoperations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition.IntTokenizer;
+import unam.ciencias.modeladoyprogramacion.raytracer.shared.CLIInputReader;
+
+/**
+ * Lee una secuencia de matrices de enteros, cada una precedida por sus dimensiones.
+ *
+ * <p>Formato de cada matriz: una línea con {@code filas columnas} seguida de una línea por
+ * fila con los valores separados por espacios. Las líneas en blanco se ignoran, así que las
+ * matrices pueden separarse con ellas. A diferencia de la entrada de la suma, cada matriz
+ * tiene sus propias dimensiones.
+ *
+ * @author Cristopher Carrada
+ */
+public class IntMatrixListReaderImpl implements CLIInputReader<List<IntMatrix>> {
+
+    @Override
+    public List<IntMatrix> read(InputStream inputStream) {
+        try (inputStream) {
+            return readAll(new IntTokenizer(ByteBuffer.wrap(inputStream.readAllBytes()), 0));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lee las matrices de un archivo mapeándolo en memoria.
+     *
+     * @param path archivo de entrada
+     * @return matrices leídas, en orden
+     */
+    public List<IntMatrix> read(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readAll(new IntTokenizer(channel, 0, IntTokenizer.DEFAULT_WINDOW_BYTES));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<IntMatrix> readAll(IntTokenizer tokenizer) {
+        List<IntMatrix> matrices = new ArrayList<>();
+        while (tokenizer.hasMoreValues()) {
+            int rows = tokenizer.nextInt();
+            int columns = tokenizer.nextInt();
+            tokenizer.endOfLine();
+
+            var matrix = new IntMatrix(rows, columns);
+            int[] data = matrix.data();
+            for (int row = 0; row < rows && columns > 0; row++) {
+                tokenizer.skipBlankLines();
+                for (int col = 0; col < columns; col++) {
+                    data[row * columns + col] = tokenizer.nextInt();
+                }
+                tokenizer.endOfLine();
+            }
+            matrices.add(matrix);
+        }
+        return matrices;
+    }
+}
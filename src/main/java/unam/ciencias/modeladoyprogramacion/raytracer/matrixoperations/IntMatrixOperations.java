@@ -0,0 +1,49 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixoperations;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+
+/**
+ * Operaciones sobre matrices de enteros primitivos.
+ *
+ * <p>Todas las operaciones devuelven una matriz nueva y no modifican sus argumentos.
+ * La aritmética es la de {@code int}: los desbordamientos dan la vuelta.
+ *
+ * @author Cristopher Carrada
+ */
+public interface IntMatrixOperations {
+
+    /**
+     * Multiplica dos matrices.
+     *
+     * @param matrixA matriz de {@code n x k}
+     * @param matrixB matriz de {@code k x m}
+     * @return producto de {@code n x m}
+     */
+    IntMatrix multiply(IntMatrix matrixA, IntMatrix matrixB);
+
+    /**
+     * Transpone una matriz.
+     *
+     * @param matrix matriz de {@code n x m}
+     * @return matriz transpuesta de {@code m x n}
+     */
+    IntMatrix transpose(IntMatrix matrix);
+
+    /**
+     * Multiplica cada elemento por un escalar.
+     *
+     * @param matrix matriz a escalar
+     * @param factor escalar
+     * @return matriz escalada
+     */
+    IntMatrix scale(IntMatrix matrix, int factor);
+
+    /**
+     * Suma un escalar a cada elemento.
+     *
+     * @param matrix matriz original
+     * @param value escalar a sumar
+     * @return matriz desplazada
+     */
+    IntMatrix addScalar(IntMatrix matrix, int value);
+}
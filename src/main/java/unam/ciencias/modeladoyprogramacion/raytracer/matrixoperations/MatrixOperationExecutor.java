@@ -0,0 +1,100 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixoperations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.CLIOperationExecutor;
+import unam.ciencias.modeladoyprogramacion.raytracer.CLIOptions;
+import unam.ciencias.modeladoyprogramacion.raytracer.ExecutionStrategy;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition.ParallelIntMatrixOutputWriterImpl;
+import unam.ciencias.modeladoyprogramacion.raytracer.shared.CLIChannels;
+
+/**
+ * Ejecutor de las operaciones de matrices de línea de comandos.
+ *
+ * <ul>
+ *   <li>{@value #MULTIPLY}: multiplica las dos matrices de la entrada.</li>
+ *   <li>{@value #TRANSPOSE}: transpone la matriz de la entrada.</li>
+ *   <li>{@value #SCALE}: multiplica la matriz de la entrada por {@code --scalar}.</li>
+ *   <li>{@value #ADD_SCALAR}: suma {@code --scalar} a la matriz de la entrada.</li>
+ * </ul>
+ *
+ * <p>Las matrices se leen de {@code --input} o de stdin con el formato de
+ * {@link IntMatrixListReaderImpl}, y el resultado se escribe a {@code --output} o a stdout
+ * con el mismo formato que la suma de matrices.
+ *
+ * @author Cristopher Carrada
+ */
+public final class MatrixOperationExecutor implements CLIOperationExecutor {
+    public static final String MULTIPLY = "matrix-multiply";
+    public static final String TRANSPOSE = "matrix-transpose";
+    public static final String SCALE = "matrix-scale";
+    public static final String ADD_SCALAR = "matrix-add-scalar";
+
+    /** Operaciones que atiende este ejecutor. */
+    public static final Set<String> OPERATIONS = Set.of(MULTIPLY, TRANSPOSE, SCALE, ADD_SCALAR);
+
+    private final IntMatrixListReaderImpl inputReader = new IntMatrixListReaderImpl();
+
+    /**
+     * @param options opciones de línea de comandos
+     */
+    public MatrixOperationExecutor(CLIOptions options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Options cannot be null");
+        }
+        if (!OPERATIONS.contains(options.operation())) {
+            throw new IllegalArgumentException("Unsupported matrix operation: " + options.operation());
+        }
+        if ((SCALE.equals(options.operation()) || ADD_SCALAR.equals(options.operation()))
+            && options.scalar() == null) {
+            throw new IllegalArgumentException("--scalar is required for " + options.operation());
+        }
+    }
+
+    @Override
+    public void execute(CLIOptions options) {
+        int threads = Math.max(1, options.threads());
+        List<IntMatrix> matrices = options.input() != null
+                ? inputReader.read(Path.of(options.input()))
+                : inputReader.read(System.in);
+
+        var operations = new ForkJoinIntMatrixOperations(ExecutionStrategy.sharedPool(threads));
+        IntMatrix result = switch (options.operation()) {
+            case MULTIPLY -> {
+                requireMatrices(matrices, 2, options.operation());
+                yield operations.multiply(matrices.get(0), matrices.get(1));
+            }
+            case TRANSPOSE -> {
+                requireMatrices(matrices, 1, options.operation());
+                yield operations.transpose(matrices.get(0));
+            }
+            case SCALE -> {
+                requireMatrices(matrices, 1, options.operation());
+                yield operations.scale(matrices.get(0), options.scalar());
+            }
+            default -> {
+                requireMatrices(matrices, 1, options.operation());
+                yield operations.addScalar(matrices.get(0), options.scalar());
+            }
+        };
+
+        try (WritableByteChannel output = CLIChannels.openOutput(options.output())) {
+            new ParallelIntMatrixOutputWriterImpl(threads).write(result, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void requireMatrices(List<IntMatrix> matrices, int count, String operation) {
+        if (matrices.size() != count) {
+            throw new IllegalArgumentException(
+                operation + " expects " + count + " matrices but the input has " + matrices.size());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de duraciones con cubetas fijas, seguro para hilos.
+ *
+ * <p>Cada cubeta es un {@link LongAdder}, así que los hilos que registran valores a la vez casi
+ * no compiten. Las cubetas son las de Prometheus: la cubeta {@code i} cuenta los valores menores
+ * o iguales a su límite que no caben en una anterior.
+ *
+ * @author Cristopher Carrada
+ */
+public final class Histogram {
+  private final double[] bounds;
+  private final LongAdder[] buckets;
+  private final LongAdder count = new LongAdder();
+  private final DoubleAdder sum = new DoubleAdder();
+
+  /**
+   * Construye un histograma.
+   *
+   * @param bounds límites superiores de las cubetas en segundos, en orden creciente
+   */
+  public Histogram(double... bounds) {
+    if (bounds == null || bounds.length == 0) {
+      throw new IllegalArgumentException("Histogram needs at least one bucket");
+    }
+    for (int i = 1; i < bounds.length; i++) {
+      if (!(bounds[i] > bounds[i - 1])) {
+        throw new IllegalArgumentException("Bucket bounds must be increasing");
+      }
+    }
+    this.bounds = bounds.clone();
+    // Una cubeta más para los valores por encima del último límite (+Inf)
+    this.buckets = new LongAdder[bounds.length + 1];
+    Arrays.setAll(buckets, i -> new LongAdder());
+  }
+
+  /**
+   * Registra un valor.
+   *
+   * @param seconds duración en segundos
+   */
+  public void observe(double seconds) {
+    int index = Arrays.binarySearch(bounds, seconds);
+    buckets[index >= 0 ? index : -index - 1].increment();
+    count.increment();
+    sum.add(seconds);
+  }
+
+  /**
+   * Obtiene los límites de las cubetas, sin la de +Inf.
+   *
+   * @return copia de los límites en segundos
+   */
+  public double[] bounds() {
+    return bounds.clone();
+  }
+
+  /**
+   * Cuenta acumulada de cada cubeta, como las expone Prometheus.
+   *
+   * @return un elemento por límite más uno final para +Inf
+   */
+  public long[] cumulativeCounts() {
+    long[] counts = new long[buckets.length];
+    long total = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      total += buckets[i].sum();
+      counts[i] = total;
+    }
+    return counts;
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+  public double sum() {
+    return sum.sum();
+  }
+
+  /**
+   * Promedio de los valores registrados.
+   *
+   * @return promedio en segundos, o 0 si no hay valores
+   */
+  public double mean() {
+    long n = count();
+    return n == 0 ? 0 : sum() / n;
+  }
+}
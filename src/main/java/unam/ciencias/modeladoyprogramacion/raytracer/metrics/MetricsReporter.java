@@ -0,0 +1,126 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Refresca periódicamente un {@link RenderMetrics} y lo escribe en un archivo de texto de
+ * Prometheus.
+ *
+ * <p>El archivo se reemplaza de forma atómica, así que un lector (por ejemplo, el colector de
+ * archivos de texto de node_exporter) nunca ve una escritura a medias. Al cerrarse escribe una
+ * última vez, para que el archivo incluya el final del render.
+ *
+ * @author Cristopher Carrada
+ */
+public final class MetricsReporter implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(MetricsReporter.class);
+
+  /** Intervalo con el que {@link #exportGlobal} reescribe el archivo. */
+  public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(1);
+
+  private final RenderMetrics metrics;
+  private final Path file;
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * Empieza a refrescar y escribir las métricas.
+   *
+   * @param metrics métricas a exportar
+   * @param file archivo de texto de Prometheus
+   * @param interval tiempo entre escrituras
+   */
+  public MetricsReporter(RenderMetrics metrics, Path file, Duration interval) {
+    if (metrics == null) {
+      throw new IllegalArgumentException("Metrics cannot be null");
+    }
+    if (file == null) {
+      throw new IllegalArgumentException("Metrics file cannot be null");
+    }
+    if (interval == null || interval.isZero() || interval.isNegative()) {
+      throw new IllegalArgumentException("Interval must be positive");
+    }
+    this.metrics = metrics;
+    this.file = file.toAbsolutePath();
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            task -> {
+              Thread thread = new Thread(task, "raytracer-metrics");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long millis = interval.toMillis();
+    scheduler.scheduleAtFixedRate(this::report, millis, millis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Publica {@link RenderMetrics#global()} por JMX y en un archivo de texto de Prometheus que se
+   * reescribe cada {@link #DEFAULT_INTERVAL}.
+   *
+   * @param file archivo de métricas, o {@code null} para no exportarlas
+   * @return reporter a cerrar al terminar, o {@code null} si {@code file} es {@code null}
+   */
+  public static MetricsReporter exportGlobal(String file) {
+    if (file == null) {
+      return null;
+    }
+    logger.info("Writing metrics to: {}", file);
+    RenderMetrics.global().registerMBean();
+    return new MetricsReporter(RenderMetrics.global(), Path.of(file), DEFAULT_INTERVAL);
+  }
+
+  /**
+   * Refresca las métricas y reescribe el archivo.
+   *
+   * @throws UncheckedIOException si no se puede escribir
+   */
+  public void write() {
+    metrics.refresh();
+    try {
+      Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temp)) {
+        metrics.writePrometheus(writer);
+      }
+      try {
+        Files.move(
+            temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Detiene las escrituras periódicas y escribe el estado final. */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    try {
+      scheduler.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    write();
+  }
+
+  private void report() {
+    try {
+      write();
+    } catch (UncheckedIOException e) {
+      // Un error de escritura no debe detener las siguientes
+      logger.warn("Cannot write metrics to {}: {}", file, e.getCause().getMessage());
+    }
+  }
+}
@@ -0,0 +1,284 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registro de métricas de render: rayos, muestras, tiles, memoria y latencias.
+ *
+ * <p>El ray tracer alimenta los contadores desde el ciclo de los workers con {@link LongAdder}, que
+ * reparten la suma entre celdas por hilo, así que registrar un tile no serializa a los workers. Las
+ * tasas por segundo se calculan al llamar {@link #refresh()}, normalmente desde un {@link
+ * MetricsReporter}.
+ *
+ * <p>Las métricas se exportan en el formato de texto de Prometheus con {@link
+ * #writePrometheus(Writer)} y por JMX con {@link #registerMBean()}.
+ *
+ * @author Cristopher Carrada
+ */
+public final class RenderMetrics implements RenderMetricsMBean {
+  /** Nombre con el que se registra el MBean. */
+  public static final String OBJECT_NAME = "unam.raytracer:type=RenderMetrics";
+
+  private static final RenderMetrics GLOBAL = new RenderMetrics();
+
+  private final LongAdder rays = new LongAdder();
+  private final LongAdder samples = new LongAdder();
+  private final LongAdder tilesCompleted = new LongAdder();
+  private final LongAdder rendersCompleted = new LongAdder();
+  private final LongAdder tilesInFlight = new LongAdder();
+  private final LongAdder queueDepth = new LongAdder();
+  private final Histogram encodeLatency =
+      new Histogram(0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10);
+  private final Histogram renderDuration =
+      new Histogram(0.1, 0.5, 1, 5, 10, 30, 60, 300, 600, 1800, 3600);
+  private volatile long lastRenderHeapBytes;
+
+  // Estado de las tasas; sólo lo modifica refresh()
+  private long lastRefreshNanos = System.nanoTime();
+  private long lastRays;
+  private long lastSamples;
+  private volatile double raysPerSecond;
+  private volatile double samplesPerSecond;
+
+  /**
+   * Registro compartido por todos los renders del proceso.
+   *
+   * @return registro global
+   */
+  public static RenderMetrics global() {
+    return GLOBAL;
+  }
+
+  /**
+   * Registra tiles que esperan a un worker.
+   *
+   * @param tiles tiles agregados a la cola; negativo al tomarlos o descartarlos
+   */
+  public void addQueuedTiles(long tiles) {
+    queueDepth.add(tiles);
+  }
+
+  /** Registra que un worker empezó un tile. */
+  public void tileStarted() {
+    tilesInFlight.increment();
+  }
+
+  /**
+   * Registra que un worker terminó un tile.
+   *
+   * @param tileRays rayos intersectados en el tile
+   * @param tileSamples muestras de píxel del tile
+   */
+  public void tileFinished(long tileRays, long tileSamples) {
+    tilesInFlight.decrement();
+    tilesCompleted.increment();
+    rays.add(tileRays);
+    samples.add(tileSamples);
+  }
+
+  /**
+   * Registra que un worker abandonó un tile sin terminarlo.
+   */
+  public void tileAborted() {
+    tilesInFlight.decrement();
+  }
+
+  /**
+   * Registra un render completo y la memoria de heap en uso al terminarlo.
+   *
+   * @param elapsed tiempo de pared del render
+   */
+  public void renderFinished(Duration elapsed) {
+    rendersCompleted.increment();
+    renderDuration.observe(elapsed.toNanos() / 1e9);
+    lastRenderHeapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  /**
+   * Registra la codificación y escritura de una imagen.
+   *
+   * @param elapsed tiempo de la codificación
+   */
+  public void recordEncode(Duration elapsed) {
+    encodeLatency.observe(elapsed.toNanos() / 1e9);
+  }
+
+  /** Recalcula las tasas por segundo con lo registrado desde el refresco anterior. */
+  public synchronized void refresh() {
+    long now = System.nanoTime();
+    long currentRays = rays.sum();
+    long currentSamples = samples.sum();
+    double seconds = (now - lastRefreshNanos) / 1e9;
+    if (seconds > 0) {
+      raysPerSecond = (currentRays - lastRays) / seconds;
+      samplesPerSecond = (currentSamples - lastSamples) / seconds;
+    }
+    lastRefreshNanos = now;
+    lastRays = currentRays;
+    lastSamples = currentSamples;
+  }
+
+  /**
+   * Registra este objeto en el servidor de MBeans de la plataforma como {@value #OBJECT_NAME}.
+   *
+   * <p>Si ya hay un MBean con ese nombre no hace nada.
+   *
+   * @throws IllegalStateException si JMX rechaza el registro
+   */
+  public void registerMBean() {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      server.registerMBean(this, new ObjectName(OBJECT_NAME));
+    } catch (InstanceAlreadyExistsException e) {
+      // Otro executor del mismo proceso ya lo registró
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot register metrics MBean", e);
+    }
+  }
+
+  /**
+   * Escribe las métricas en el formato de texto de Prometheus.
+   *
+   * @param writer destino; no se cierra
+   * @throws IOException si falla la escritura
+   */
+  public void writePrometheus(Writer writer) throws IOException {
+    writeMetric(writer, "raytracer_rays_total", "counter", "Rays intersected", getRaysTotal());
+    writeMetric(
+        writer, "raytracer_samples_total", "counter", "Pixel samples traced", getSamplesTotal());
+    writeMetric(
+        writer, "raytracer_tiles_total", "counter", "Tiles rendered", getTilesCompleted());
+    writeMetric(
+        writer, "raytracer_renders_total", "counter", "Renders completed", getRendersCompleted());
+    writeMetric(
+        writer,
+        "raytracer_rays_per_second",
+        "gauge",
+        "Rays per second since the previous refresh",
+        getRaysPerSecond());
+    writeMetric(
+        writer,
+        "raytracer_samples_per_second",
+        "gauge",
+        "Pixel samples per second since the previous refresh",
+        getSamplesPerSecond());
+    writeMetric(
+        writer,
+        "raytracer_tiles_in_flight",
+        "gauge",
+        "Tiles being rendered right now",
+        getTilesInFlight());
+    writeMetric(
+        writer, "raytracer_queue_depth", "gauge", "Tiles waiting for a worker", getQueueDepth());
+    writeMetric(
+        writer,
+        "raytracer_render_heap_bytes",
+        "gauge",
+        "Heap in use when the last render finished",
+        getLastRenderHeapBytes());
+    writeHistogram(
+        writer,
+        "raytracer_encode_seconds",
+        "Image encode and write latency",
+        encodeLatency);
+    writeHistogram(
+        writer, "raytracer_render_seconds", "Wall time of complete renders", renderDuration);
+  }
+
+  @Override
+  public long getRaysTotal() {
+    return rays.sum();
+  }
+
+  @Override
+  public long getSamplesTotal() {
+    return samples.sum();
+  }
+
+  @Override
+  public long getTilesCompleted() {
+    return tilesCompleted.sum();
+  }
+
+  @Override
+  public long getRendersCompleted() {
+    return rendersCompleted.sum();
+  }
+
+  @Override
+  public double getRaysPerSecond() {
+    return raysPerSecond;
+  }
+
+  @Override
+  public double getSamplesPerSecond() {
+    return samplesPerSecond;
+  }
+
+  @Override
+  public long getTilesInFlight() {
+    return tilesInFlight.sum();
+  }
+
+  @Override
+  public long getQueueDepth() {
+    return queueDepth.sum();
+  }
+
+  @Override
+  public long getLastRenderHeapBytes() {
+    return lastRenderHeapBytes;
+  }
+
+  @Override
+  public double getEncodeLatencyMeanMillis() {
+    return encodeLatency.mean() * 1000;
+  }
+
+  @Override
+  public long getEncodeCount() {
+    return encodeLatency.count();
+  }
+
+  @Override
+  public double getRenderDurationMeanSeconds() {
+    return renderDuration.mean();
+  }
+
+  private static void writeMetric(
+      Writer writer, String name, String type, String help, double value) throws IOException {
+    writer.write("# HELP " + name + " " + help + "\n");
+    writer.write("# TYPE " + name + " " + type + "\n");
+    writer.write(name + " " + format(value) + "\n");
+  }
+
+  private static void writeHistogram(Writer writer, String name, String help, Histogram histogram)
+      throws IOException {
+    writer.write("# HELP " + name + " " + help + "\n");
+    writer.write("# TYPE " + name + " histogram\n");
+    double[] bounds = histogram.bounds();
+    long[] counts = histogram.cumulativeCounts();
+    for (int i = 0; i < bounds.length; i++) {
+      writer.write(name + "_bucket{le=\"" + format(bounds[i]) + "\"} " + counts[i] + "\n");
+    }
+    writer.write(name + "_bucket{le=\"+Inf\"} " + counts[bounds.length] + "\n");
+    writer.write(name + "_sum " + format(histogram.sum()) + "\n");
+    writer.write(name + "_count " + histogram.count() + "\n");
+  }
+
+  private static String format(double value) {
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return String.format(Locale.ROOT, "%s", value);
+  }
+}
@@ -0,0 +1,34 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.metrics;
+
+/**
+ * Vista JMX de {@link RenderMetrics}.
+ *
+ * <p>Las tasas se recalculan en cada {@link RenderMetrics#refresh()}.
+ *
+ * @author Cristopher Carrada
+ */
+public interface RenderMetricsMBean {
+  long getRaysTotal();
+
+  long getSamplesTotal();
+
+  long getTilesCompleted();
+
+  long getRendersCompleted();
+
+  double getRaysPerSecond();
+
+  double getSamplesPerSecond();
+
+  long getTilesInFlight();
+
+  long getQueueDepth();
+
+  long getLastRenderHeapBytes();
+
+  double getEncodeLatencyMeanMillis();
+
+  long getEncodeCount();
+
+  double getRenderDurationMeanSeconds();
+}
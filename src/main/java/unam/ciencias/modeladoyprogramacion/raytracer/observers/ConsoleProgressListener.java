@@ -1,23 +1,43 @@
 package unam.ciencias.modeladoyprogramacion.raytracer.observers;
 
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Listener de progreso que muestra el progreso en consola usando SLF4J.
  *
+ * <p>Registra cada 10% alcanzado; con {@link #onProgress(RenderProgress)} agrega los rayos por
+ * segundo y el tiempo restante estimado.
+ *
  * @author Cristopher Carrada
  */
 public final class ConsoleProgressListener implements RenderProgressListener {
   private static final Logger logger = LoggerFactory.getLogger(ConsoleProgressListener.class);
-  private int lastPercentage = -1;
+  // Último múltiplo de 10% registrado; -1 antes del primero
+  private final AtomicInteger lastPercentage = new AtomicInteger(-1);
 
   @Override
   public void onProgressUpdate(int pixelsRendered, int totalPixels) {
-    int percentage = (int) ((pixelsRendered * 100.0) / totalPixels);
-    if (percentage != lastPercentage && percentage % 10 == 0) {
+    int percentage = reachedPercentage(pixelsRendered, totalPixels);
+    if (percentage >= 0) {
       logger.info("Rendering progress: {}%", percentage);
-      lastPercentage = percentage;
+    }
+  }
+
+  @Override
+  public void onProgress(RenderProgress progress) {
+    int percentage = reachedPercentage(progress.pixelsRendered(), progress.totalPixels());
+    if (percentage >= 0) {
+      logger.info(
+          "Rendering progress: {}% ({} rays/s, ETA {})",
+          percentage,
+          String.format(Locale.ROOT, "%.3g", progress.raysPerSecond()),
+          progress
+              .estimatedRemaining()
+              .map(eta -> String.format(Locale.ROOT, "%.1fs", eta.toMillis() / 1000.0))
+              .orElse("unknown"));
     }
   }
 
@@ -28,6 +48,7 @@ public final class ConsoleProgressListener implements RenderProgressListener {
 
   @Override
   public void onRenderStart(int totalPixels) {
+    lastPercentage.set(-1);
     logger.info("Starting render: {} pixels", totalPixels);
   }
 
@@ -35,4 +56,18 @@ public final class ConsoleProgressListener implements RenderProgressListener {
   public void onRenderComplete() {
     logger.info("Rendering complete: 100%");
   }
+
+  /**
+   * Múltiplo de 10% alcanzado por primera vez con este progreso.
+   *
+   * <p>Las actualizaciones no llegan exactamente en cada múltiplo, así que se registra el último
+   * múltiplo cruzado.
+   *
+   * @return porcentaje a registrar, o -1 si ya se registró
+   */
+  private int reachedPercentage(int pixelsRendered, int totalPixels) {
+    int percentage = (int) ((pixelsRendered * 100.0) / totalPixels) / 10 * 10;
+    int previous = lastPercentage.getAndAccumulate(percentage, Math::max);
+    return percentage > previous ? percentage : -1;
+  }
 }
@@ -0,0 +1,61 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.observers;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Estado de un render en un instante, tal como se entrega a un {@link RenderProgressListener}.
+ *
+ * <p>Los contadores sólo avanzan al terminar cada tile, así que los píxeles y los rayos de los
+ * tiles en curso todavía no aparecen.
+ *
+ * @param pixelsRendered píxeles de los tiles terminados
+ * @param totalPixels píxeles del render
+ * @param tilesCompleted tiles terminados
+ * @param totalTiles tiles del render
+ * @param raysTraced rayos intersectados en los tiles terminados
+ * @param elapsed tiempo de pared desde el inicio del render
+ * @author Cristopher Carrada
+ */
+public record RenderProgress(
+    int pixelsRendered,
+    int totalPixels,
+    int tilesCompleted,
+    int totalTiles,
+    long raysTraced,
+    Duration elapsed) {
+
+  /**
+   * Fracción del render completada.
+   *
+   * @return progreso en el rango [0, 1]
+   */
+  public double fraction() {
+    return totalPixels == 0 ? 1 : (double) pixelsRendered / totalPixels;
+  }
+
+  /**
+   * Rayos por segundo promedio desde el inicio del render.
+   *
+   * @return rayos por segundo, o 0 si aún no transcurre tiempo
+   */
+  public double raysPerSecond() {
+    long nanos = elapsed.toNanos();
+    return nanos <= 0 ? 0 : raysTraced * 1e9 / nanos;
+  }
+
+  /**
+   * Estima el tiempo restante suponiendo que los píxeles pendientes cuestan lo mismo, en promedio,
+   * que los ya renderizados.
+   *
+   * @return tiempo restante estimado, o vacío si aún no hay píxeles para estimarlo
+   */
+  public Optional<Duration> estimatedRemaining() {
+    if (pixelsRendered == 0) {
+      return Optional.empty();
+    }
+    long remaining = totalPixels - pixelsRendered;
+    return Optional.of(
+        Duration.ofNanos((long) ((double) elapsed.toNanos() * remaining / pixelsRendered)));
+  }
+}
@@ -6,6 +6,11 @@ package unam.ciencias.modeladoyprogramacion.raytracer.observers;
  * <p>Implementa el patrón Observer (GoF) para desacoplar la lógica de renderizado de la
  * presentación del progreso.
  *
+ * <p>{@link #onRenderStart} se invoca en el hilo que inicia el render; las demás notificaciones
+ * de un render llegan una a la vez desde un hilo de progreso, nunca desde los workers, así que un
+ * listener lento no detiene el render. La última actualización de progreso siempre llega antes de {@link
+ * #onRenderComplete()}.
+ *
  * @author Cristopher Carrada
  */
 public interface RenderProgressListener {
@@ -17,6 +22,17 @@ public interface RenderProgressListener {
    */
   void onProgressUpdate(int pixelsRendered, int totalPixels);
 
+  /**
+   * Notifica el estado del render, con tiempo transcurrido, rayos y tiles.
+   *
+   * <p>Por defecto delega en {@link #onProgressUpdate(int, int)}.
+   *
+   * @param progress estado del render
+   */
+  default void onProgress(RenderProgress progress) {
+    onProgressUpdate(progress.pixelsRendered(), progress.totalPixels());
+  }
+
   /**
    * Notifica que se completó un tile de renderizado.
    *
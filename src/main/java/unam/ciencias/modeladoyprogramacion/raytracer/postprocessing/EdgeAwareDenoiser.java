@@ -0,0 +1,355 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.postprocessing;
+
+import java.util.List;
+import unam.ciencias.modeladoyprogramacion.raytracer.AuxiliaryBuffers;
+import unam.ciencias.modeladoyprogramacion.raytracer.ExecutionStrategy;
+import unam.ciencias.modeladoyprogramacion.raytracer.Image;
+import unam.ciencias.modeladoyprogramacion.raytracer.MultiThreadedOperation;
+import unam.ciencias.modeladoyprogramacion.raytracer.Tile;
+
+/**
+ * Filtro de ruido que preserva bordes (à-trous con paro en bordes, Dammertz et al., 2010).
+ *
+ * <p>Cada iteración promedia un píxel con los 5x5 vecinos de un kernel B3-spline cuyos huecos se
+ * duplican en cada paso (1, 2, 4, 8... píxeles), así que unas cuantas iteraciones cubren un área
+ * grande con 25 lecturas por píxel. El peso de cada vecino se atenúa según su diferencia con el
+ * píxel en:
+ *
+ * <ul>
+ *   <li><b>color:</b> la tolerancia se reduce a la cuarta parte en cada iteración, de modo que la
+ *       primera quita el ruido fino y las siguientes ya no cruzan los bordes de las sombras;
+ *   <li><b>normal y albedo:</b> no mezcla caras ni materiales distintos;
+ *   <li><b>profundidad:</b> relativa a la pendiente de la profundidad en el píxel, para que un piso
+ *       visto de lado no se corte pero una silueta sí.
+ * </ul>
+ *
+ * <p><b>Peso de un vecino:</b> {@code w = h * exp(-|Δc|²/σc² - |Δn|²/σn² - |Δa|²/σa² - |Δz|/(σz
+ * |∇z·Δp|))}
+ *
+ * <p>Las iteraciones se reparten por tiles entre los hilos; los píxeles de fondo se copian sin
+ * filtrar.
+ *
+ * @author Cristopher Carrada
+ */
+public final class EdgeAwareDenoiser extends MultiThreadedOperation {
+  /** Iteraciones por defecto: el kernel llega a 29 píxeles de ancho. */
+  public static final int DEFAULT_ITERATIONS = 3;
+
+  /** Tolerancia de color de la primera iteración, en unidades de canal 0-1. */
+  public static final double DEFAULT_COLOR_SIGMA = 1.5;
+
+  private static final int TILE_SIZE = 32;
+  // 1/σ² de la normal (σ = 0.3) y del albedo (σ = 0.1)
+  private static final double NORMAL_FACTOR = 1 / (0.3 * 0.3);
+  private static final double ALBEDO_FACTOR = 1 / (0.1 * 0.1);
+  private static final double DEPTH_SIGMA = 2.0;
+  // Exponente a partir del cual el peso de un vecino es despreciable (e^-20 ≈ 2e-9)
+  private static final double MAX_EXPONENT = 20;
+  // Tolerancia mínima de profundidad relativa, para planos de frente a la cámara
+  private static final double DEPTH_EPSILON = 1e-3;
+  private static final double[] KERNEL = {1.0 / 16, 1.0 / 4, 3.0 / 8, 1.0 / 4, 1.0 / 16};
+  // e^-x tabulada en [0, MAX_EXPONENT]: Math.exp domina el costo del filtro y un peso no necesita
+  // más precisión que la interpolación lineal de la tabla
+  private static final int EXP_STEPS = 1024;
+  private static final double[] EXP_TABLE = new double[EXP_STEPS + 2];
+
+  static {
+    for (int i = 0; i < EXP_TABLE.length; i++) {
+      EXP_TABLE[i] = Math.exp(-(double) i * MAX_EXPONENT / EXP_STEPS);
+    }
+  }
+
+  private final int iterations;
+  private final double colorSigma;
+
+  /**
+   * Construye un filtro con los parámetros por defecto.
+   *
+   * @param threads número de hilos entre los que se reparten los tiles
+   */
+  public EdgeAwareDenoiser(int threads) {
+    this(threads, DEFAULT_ITERATIONS, DEFAULT_COLOR_SIGMA);
+  }
+
+  /**
+   * Construye un filtro con los parámetros por defecto y una estrategia de ejecución.
+   *
+   * @param threads número de hilos entre los que se reparten los tiles
+   * @param executionStrategy tipo de hilos en los que se filtran los tiles
+   */
+  public EdgeAwareDenoiser(int threads, ExecutionStrategy executionStrategy) {
+    this(threads);
+    setExecutionStrategy(executionStrategy);
+  }
+
+  /**
+   * Construye un filtro.
+   *
+   * @param threads número de hilos entre los que se reparten los tiles
+   * @param iterations iteraciones del filtro; cada una duplica su alcance
+   * @param colorSigma tolerancia de color de la primera iteración; valores pequeños preservan más
+   *     los bordes y quitan menos ruido
+   */
+  public EdgeAwareDenoiser(int threads, int iterations, double colorSigma) {
+    super(threads);
+    if (iterations < 1) {
+      throw new IllegalArgumentException("Iterations must be at least 1");
+    }
+    if (colorSigma <= 0) {
+      throw new IllegalArgumentException("Color sigma must be positive");
+    }
+    this.iterations = iterations;
+    this.colorSigma = colorSigma;
+  }
+
+  /**
+   * Filtra el ruido de una imagen renderizada.
+   *
+   * @param color imagen con ruido
+   * @param guides profundidad, normal y albedo de cada píxel de la imagen
+   * @return imagen filtrada
+   */
+  public Image denoise(Image color, AuxiliaryBuffers guides) {
+    if (color == null) {
+      throw new IllegalArgumentException("Color image cannot be null");
+    }
+    if (guides == null) {
+      throw new IllegalArgumentException("Guide buffers cannot be null");
+    }
+    int width = color.getColumns();
+    int height = color.getRows();
+    if (guides.getWidth() != width || guides.getHeight() != height) {
+      throw new IllegalArgumentException("Guide buffers must match the image size");
+    }
+
+    int[] pixels = color.toPixels();
+    float[] input = new float[3 * pixels.length];
+    for (int i = 0; i < pixels.length; i++) {
+      input[3 * i] = ((pixels[i] >> 16) & 0xFF) / 255f;
+      input[3 * i + 1] = ((pixels[i] >> 8) & 0xFF) / 255f;
+      input[3 * i + 2] = (pixels[i] & 0xFF) / 255f;
+    }
+    float[] output = new float[input.length];
+    Guides surfaces = new Guides(guides);
+    List<Tile> tiles = Tile.split(width, height, TILE_SIZE);
+
+    for (int iteration = 0; iteration < iterations; iteration++) {
+      Pass pass = new Pass(surfaces, input, output, iteration);
+      try {
+        forEachRange(
+            0,
+            tiles.size(),
+            1,
+            (from, to) -> {
+              for (int t = from; t < to; t++) {
+                pass.filter(tiles.get(t));
+              }
+            });
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Denoising interrupted", e);
+      }
+      float[] swap = input;
+      input = output;
+      output = swap;
+    }
+
+    int[] result = new int[pixels.length];
+    for (int i = 0; i < result.length; i++) {
+      result[i] =
+          (channel(input[3 * i]) << 16)
+              | (channel(input[3 * i + 1]) << 8)
+              | channel(input[3 * i + 2]);
+    }
+    return Image.fromPixels(width, height, result);
+  }
+
+  /** {@code e^-x} para {@code 0 <= x <= MAX_EXPONENT}, interpolada de la tabla. */
+  private static double negativeExp(double x) {
+    double position = x * (EXP_STEPS / MAX_EXPONENT);
+    int index = (int) position;
+    double fraction = position - index;
+    return EXP_TABLE[index] + fraction * (EXP_TABLE[index + 1] - EXP_TABLE[index]);
+  }
+
+  private static int channel(float value) {
+    return Math.max(0, Math.min(255, Math.round(value * 255)));
+  }
+
+  /**
+   * Copia de los buffers auxiliares con los datos de cada píxel juntos en memoria, más la pendiente
+   * de la profundidad en x y en y de cada píxel.
+   */
+  private static final class Guides {
+    // Por píxel: profundidad, normal (3) y albedo (3), con relleno para ocupar 32 bytes
+    private static final int STRIDE = 8;
+    private static final int NORMAL = 1;
+    private static final int ALBEDO = 4;
+
+    private final int width;
+    private final int height;
+    private final float[] features;
+    private final float[] gradients;
+
+    Guides(AuxiliaryBuffers buffers) {
+      this.width = buffers.getWidth();
+      this.height = buffers.getHeight();
+      int size = width * height;
+      this.features = new float[STRIDE * size];
+      for (int pixel = 0; pixel < size; pixel++) {
+        int offset = STRIDE * pixel;
+        features[offset] = buffers.getDepth(pixel);
+        for (int c = 0; c < 3; c++) {
+          features[offset + NORMAL + c] = buffers.getNormal(pixel, c);
+          features[offset + ALBEDO + c] = buffers.getAlbedo(pixel, c);
+        }
+      }
+      this.gradients = new float[2 * size];
+      for (int row = 0; row < height; row++) {
+        for (int col = 0; col < width; col++) {
+          int pixel = row * width + col;
+          if (isSurface(pixel)) {
+            gradients[2 * pixel] =
+                slope(pixel, col > 0 ? pixel - 1 : -1, col < width - 1 ? pixel + 1 : -1);
+            gradients[2 * pixel + 1] =
+                slope(pixel, row > 0 ? pixel - width : -1, row < height - 1 ? pixel + width : -1);
+          }
+        }
+      }
+    }
+
+    boolean isSurface(int pixel) {
+      return depth(pixel) != Float.POSITIVE_INFINITY;
+    }
+
+    float depth(int pixel) {
+      return features[STRIDE * pixel];
+    }
+
+    /** Diferencia de normal y de albedo entre dos píxeles, ya dividida entre sus σ². */
+    double surfaceDistance(int a, int b) {
+      int first = STRIDE * a;
+      int second = STRIDE * b;
+      double normal = 0;
+      double albedo = 0;
+      for (int c = 0; c < 3; c++) {
+        double dn = features[first + NORMAL + c] - features[second + NORMAL + c];
+        double da = features[first + ALBEDO + c] - features[second + ALBEDO + c];
+        normal += dn * dn;
+        albedo += da * da;
+      }
+      return normal * NORMAL_FACTOR + albedo * ALBEDO_FACTOR;
+    }
+
+    /**
+     * De las dos diferencias con los vecinos de un eje se toma la menor, para que la pendiente de
+     * un píxel en una silueta sea la de su propia superficie y no el salto hacia el fondo.
+     */
+    private float slope(int pixel, int before, int after) {
+      float slope = Float.POSITIVE_INFINITY;
+      if (before >= 0 && isSurface(before)) {
+        slope = Math.abs(depth(pixel) - depth(before));
+      }
+      if (after >= 0 && isSurface(after)) {
+        slope = Math.min(slope, Math.abs(depth(pixel) - depth(after)));
+      }
+      return slope == Float.POSITIVE_INFINITY ? 0 : slope;
+    }
+  }
+
+  /** Una iteración del filtro: lee {@code input} y escribe {@code output}. */
+  private final class Pass {
+    private final Guides guides;
+    private final float[] input;
+    private final float[] output;
+    private final int step;
+    private final double colorFactor;
+    private final int width;
+    private final int height;
+
+    Pass(Guides guides, float[] input, float[] output, int iteration) {
+      this.guides = guides;
+      this.input = input;
+      this.output = output;
+      this.step = 1 << iteration;
+      // σ de color a la cuarta parte en cada iteración: 1/σ² se multiplica por 16
+      double sigma = colorSigma / (step * step);
+      this.colorFactor = 1 / (sigma * sigma);
+      this.width = guides.width;
+      this.height = guides.height;
+    }
+
+    void filter(Tile tile) {
+      for (int row = tile.y(); row < tile.y() + tile.height(); row++) {
+        for (int col = tile.x(); col < tile.x() + tile.width(); col++) {
+          filter(row, col);
+        }
+      }
+    }
+
+    private void filter(int row, int col) {
+      int pixel = row * width + col;
+      if (!guides.isSurface(pixel)) {
+        System.arraycopy(input, 3 * pixel, output, 3 * pixel, 3);
+        return;
+      }
+      double depth = guides.depth(pixel);
+      double depthEpsilon = DEPTH_EPSILON * depth;
+      double slopeX = step * guides.gradients[2 * pixel];
+      double slopeY = step * guides.gradients[2 * pixel + 1];
+      double red = 0;
+      double green = 0;
+      double blue = 0;
+      double totalWeight = 0;
+
+      for (int dy = -2; dy <= 2; dy++) {
+        int sampleRow = row + dy * step;
+        if (sampleRow < 0 || sampleRow >= height) {
+          continue;
+        }
+        for (int dx = -2; dx <= 2; dx++) {
+          int sampleCol = col + dx * step;
+          if (sampleCol < 0 || sampleCol >= width) {
+            continue;
+          }
+          int sample = sampleRow * width + sampleCol;
+          if (!guides.isSurface(sample)) {
+            continue;
+          }
+
+          // Diferencia de profundidad relativa a la esperada si el vecino está en el mismo plano
+          double exponent =
+              Math.abs(depth - guides.depth(sample))
+                      / (DEPTH_SIGMA * (slopeX * Math.abs(dx) + slopeY * Math.abs(dy))
+                          + depthEpsilon)
+                  + guides.surfaceDistance(pixel, sample);
+          // Los vecinos de otra superficie no aportan: se evita calcular su peso completo
+          if (exponent > MAX_EXPONENT) {
+            continue;
+          }
+          exponent += distanceSquared(input, pixel, sample) * colorFactor;
+          if (exponent > MAX_EXPONENT) {
+            continue;
+          }
+          double weight = KERNEL[dx + 2] * KERNEL[dy + 2] * negativeExp(exponent);
+          red += weight * input[3 * sample];
+          green += weight * input[3 * sample + 1];
+          blue += weight * input[3 * sample + 2];
+          totalWeight += weight;
+        }
+      }
+
+      // El píxel central siempre pesa, así que totalWeight > 0
+      output[3 * pixel] = (float) (red / totalWeight);
+      output[3 * pixel + 1] = (float) (green / totalWeight);
+      output[3 * pixel + 2] = (float) (blue / totalWeight);
+    }
+
+    private static double distanceSquared(float[] colors, int a, int b) {
+      double dr = colors[3 * a] - colors[3 * b];
+      double dg = colors[3 * a + 1] - colors[3 * b + 1];
+      double db = colors[3 * a + 2] - colors[3 * b + 2];
+      return dr * dr + dg * dg + db * db;
+    }
+  }
+}
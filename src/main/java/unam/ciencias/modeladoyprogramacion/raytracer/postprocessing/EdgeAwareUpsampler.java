@@ -0,0 +1,130 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.postprocessing;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.Image;
+
+/**
+ * Escalador de imágenes que preserva bordes (upsampling bilateral).
+ *
+ * <p>Cada píxel destino se interpola bilinealmente a partir de las cuatro muestras más cercanas de
+ * la imagen origen, pero el peso de cada muestra se atenúa según su diferencia de color con la
+ * muestra más cercana. Así las regiones uniformes quedan suaves mientras que las siluetas y los
+ * bordes de sombra no se difuminan entre objetos distintos.
+ *
+ * <p><b>Peso de una muestra:</b> {@code w = w_bilineal * exp(-|c - c_ref|² / (2σ²))}
+ *
+ * @author Cristopher Carrada
+ */
+public final class EdgeAwareUpsampler {
+  private static final double DEFAULT_COLOR_SIGMA = 24.0;
+
+  // Desviación estándar del peso de color (en unidades de canal 0-255)
+  private final double colorSigma;
+
+  /** Construye un escalador con la tolerancia de color por defecto. */
+  public EdgeAwareUpsampler() {
+    this(DEFAULT_COLOR_SIGMA);
+  }
+
+  /**
+   * Construye un escalador.
+   *
+   * @param colorSigma tolerancia de color; valores pequeños preservan más los bordes
+   */
+  public EdgeAwareUpsampler(double colorSigma) {
+    if (colorSigma <= 0) {
+      throw new IllegalArgumentException("Color sigma must be positive");
+    }
+    this.colorSigma = colorSigma;
+  }
+
+  /**
+   * Escala una imagen al tamaño indicado.
+   *
+   * @param source imagen de baja resolución
+   * @param targetWidth ancho destino
+   * @param targetHeight altura destino
+   * @return imagen escalada
+   */
+  public Image upsample(Image source, int targetWidth, int targetHeight) {
+    if (source == null) {
+      throw new IllegalArgumentException("Source image cannot be null");
+    }
+    if (targetWidth <= 0 || targetHeight <= 0) {
+      throw new IllegalArgumentException("Target dimensions must be positive");
+    }
+
+    int sourceWidth = source.getColumns();
+    int sourceHeight = source.getRows();
+    int[] src = source.toPixels();
+    int[] dst = new int[targetWidth * targetHeight];
+    double k = 1.0 / (2.0 * colorSigma * colorSigma);
+    double[] accumulator = new double[4];
+
+    for (int y = 0; y < targetHeight; y++) {
+      double sy = clamp((y + 0.5) * sourceHeight / targetHeight - 0.5, 0, sourceHeight - 1);
+      int y0 = (int) sy;
+      int y1 = Math.min(y0 + 1, sourceHeight - 1);
+      double fy = sy - y0;
+
+      for (int x = 0; x < targetWidth; x++) {
+        double sx = clamp((x + 0.5) * sourceWidth / targetWidth - 0.5, 0, sourceWidth - 1);
+        int x0 = (int) sx;
+        int x1 = Math.min(x0 + 1, sourceWidth - 1);
+        double fx = sx - x0;
+
+        // La muestra más cercana define el color de referencia del borde
+        int reference = src[(int) Math.round(sy) * sourceWidth + (int) Math.round(sx)];
+
+        // Acumulador [r, g, b, peso total]
+        accumulator[0] = accumulator[1] = accumulator[2] = accumulator[3] = 0;
+        accumulate(accumulator, src[y0 * sourceWidth + x0], (1 - fx) * (1 - fy), reference, k);
+        accumulate(accumulator, src[y0 * sourceWidth + x1], fx * (1 - fy), reference, k);
+        accumulate(accumulator, src[y1 * sourceWidth + x0], (1 - fx) * fy, reference, k);
+        accumulate(accumulator, src[y1 * sourceWidth + x1], fx * fy, reference, k);
+        double totalWeight = accumulator[3];
+
+        dst[y * targetWidth + x] =
+            totalWeight > 0
+                ? (channel(accumulator[0] / totalWeight) << 16)
+                    | (channel(accumulator[1] / totalWeight) << 8)
+                    | channel(accumulator[2] / totalWeight)
+                : reference;
+      }
+    }
+
+    return Image.fromPixels(targetWidth, targetHeight, dst);
+  }
+
+  /**
+   * Suma una muestra ponderada al acumulador.
+   *
+   * @param accumulator acumulador [r, g, b, peso total]
+   * @param sample color de la muestra
+   * @param bilinearWeight peso espacial de la muestra
+   * @param reference color de referencia (muestra más cercana)
+   * @param k factor del peso de color {@code 1 / (2σ²)}
+   */
+  private static void accumulate(
+      double[] accumulator, int sample, double bilinearWeight, int reference, double k) {
+    double weight = bilinearWeight * Math.exp(-colorDistanceSquared(sample, reference) * k);
+    accumulator[0] += weight * ((sample >> 16) & 0xFF);
+    accumulator[1] += weight * ((sample >> 8) & 0xFF);
+    accumulator[2] += weight * (sample & 0xFF);
+    accumulator[3] += weight;
+  }
+
+  private static double colorDistanceSquared(int a, int b) {
+    double dr = ((a >> 16) & 0xFF) - ((b >> 16) & 0xFF);
+    double dg = ((a >> 8) & 0xFF) - ((b >> 8) & 0xFF);
+    double db = (a & 0xFF) - (b & 0xFF);
+    return dr * dr + dg * dg + db * db;
+  }
+
+  private static int channel(double value) {
+    return (int) Math.max(0, Math.min(255, Math.round(value)));
+  }
+
+  private static double clamp(double value, double min, double max) {
+    return Math.max(min, Math.min(max, value));
+  }
+}
@@ -2,6 +2,7 @@ package unam.ciencias.modeladoyprogramacion.raytracer.primitives;
 
 import java.util.Optional;
 import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayPacket;
 import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
 
 /**
@@ -81,6 +82,52 @@ public final class Box extends Primitive {
     return t > 1e-4 ? Optional.of(t) : Optional.empty();
   }
 
+  /**
+   * Descarta el paquete con la esfera que envuelve a la caja; si pasa, aplica el mismo algoritmo
+   * de {@link #intersect(Ray)} a todos los rayos en un solo ciclo.
+   */
+  @Override
+  public void intersect(RayPacket packet, int index) {
+    double halfX = (max.getX() - min.getX()) / 2;
+    double halfY = (max.getY() - min.getY()) / 2;
+    double halfZ = (max.getZ() - min.getZ()) / 2;
+    if (!packet.mayHitSphere(
+        min.getX() + halfX,
+        min.getY() + halfY,
+        min.getZ() + halfZ,
+        Math.sqrt(halfX * halfX + halfY * halfY + halfZ * halfZ))) {
+      return;
+    }
+    double[] dx = packet.directionX();
+    double[] dy = packet.directionY();
+    double[] dz = packet.directionZ();
+    double minX = min.getX() - packet.originX();
+    double maxX = max.getX() - packet.originX();
+    double minY = min.getY() - packet.originY();
+    double maxY = max.getY() - packet.originY();
+    double minZ = min.getZ() - packet.originZ();
+    double maxZ = max.getZ() - packet.originZ();
+    for (int lane = 0; lane < packet.size(); lane++) {
+      double tx1 = minX * (1.0 / dx[lane]);
+      double tx2 = maxX * (1.0 / dx[lane]);
+      double tmin = Math.min(tx1, tx2);
+      double tmax = Math.max(tx1, tx2);
+      double ty1 = minY * (1.0 / dy[lane]);
+      double ty2 = maxY * (1.0 / dy[lane]);
+      tmin = Math.max(tmin, Math.min(ty1, ty2));
+      tmax = Math.min(tmax, Math.max(ty1, ty2));
+      double tz1 = minZ * (1.0 / dz[lane]);
+      double tz2 = maxZ * (1.0 / dz[lane]);
+      tmin = Math.max(tmin, Math.min(tz1, tz2));
+      tmax = Math.min(tmax, Math.max(tz1, tz2));
+      // Misma condición que intersect(Ray), también con NaN
+      if (!(tmax < tmin || tmax < 1e-4)) {
+        double t = tmin > 1e-4 ? tmin : tmax;
+        packet.record(lane, t > 1e-4 ? t : Double.POSITIVE_INFINITY, index);
+      }
+    }
+  }
+
   @Override
   public Vector3D getNormalAt(Vector3D point) {
     if (point == null) {
@@ -2,6 +2,7 @@ package unam.ciencias.modeladoyprogramacion.raytracer.primitives;
 
 import java.util.Optional;
 import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayPacket;
 import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
 
 /**
@@ -65,6 +66,25 @@ public final class Plane extends Primitive {
     return Optional.empty();
   }
 
+  @Override
+  public void intersect(RayPacket packet, int index) {
+    // El numerador sólo depende del origen, que es común a todo el paquete
+    double numerator =
+        normal.getX() * (point.getX() - packet.originX())
+            + normal.getY() * (point.getY() - packet.originY())
+            + normal.getZ() * (point.getZ() - packet.originZ());
+    double[] dx = packet.directionX();
+    double[] dy = packet.directionY();
+    double[] dz = packet.directionZ();
+    for (int lane = 0; lane < packet.size(); lane++) {
+      double denominator = normal.getX() * dx[lane] + normal.getY() * dy[lane] + normal.getZ() * dz[lane];
+      if (Math.abs(denominator) >= 1e-6) {
+        double t = numerator / denominator;
+        packet.record(lane, t > 1e-4 ? t : Double.POSITIVE_INFINITY, index);
+      }
+    }
+  }
+
   @Override
   public Vector3D getNormalAt(Vector3D point) {
     // El plano tiene normal constante en todos sus puntos
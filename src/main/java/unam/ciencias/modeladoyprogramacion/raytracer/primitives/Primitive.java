@@ -1,7 +1,9 @@
 package unam.ciencias.modeladoyprogramacion.raytracer.primitives;
 
 import java.util.Optional;
+import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
 import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayPacket;
 import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
 
 /**
@@ -41,6 +43,31 @@ public abstract class Primitive {
     return materialId;
   }
 
+  /**
+   * Número de objetos de la escena original que representa este primitivo.
+   *
+   * <p>Es 1 salvo en los primitivos compuestos, como {@link SphereSet}, que empacan varios objetos
+   * en uno; sus intersecciones indican la parte golpeada con {@link Intersection#getPart()}.
+   *
+   * @return número de partes, al menos 1
+   */
+  public int getPartCount() {
+    return 1;
+  }
+
+  /**
+   * Nombre de una parte del primitivo.
+   *
+   * @param part índice de la parte, entre 0 y {@link #getPartCount()} - 1
+   * @return nombre del objeto original; en los primitivos simples, el del primitivo
+   */
+  public String getPartName(int part) {
+    if (part < 0 || part >= getPartCount()) {
+      throw new IllegalArgumentException("Part must be between 0 and the part count");
+    }
+    return name;
+  }
+
   /**
    * Calcula la intersección del rayo con este primitivo.
    *
@@ -49,6 +76,46 @@ public abstract class Primitive {
    */
   public abstract Optional<Double> intersect(Ray ray);
 
+  /**
+   * Calcula la intersección completa del rayo con este primitivo, si está antes de {@code
+   * maxDistance}.
+   *
+   * <p>Por defecto combina {@link #intersect(Ray)} con {@link #getNormalAt}. Los primitivos
+   * compuestos la sobrescriben para calcular la normal de la parte golpeada sin buscarla de nuevo.
+   *
+   * @param ray el rayo a intersectar
+   * @param maxDistance distancia de la intersección más cercana encontrada hasta ahora
+   * @return Optional con la intersección, vacío si no hay o está más lejos
+   */
+  public Optional<Intersection> intersect(Ray ray, double maxDistance) {
+    Optional<Double> t = intersect(ray);
+    if (t.isEmpty() || t.get() >= maxDistance) {
+      return Optional.empty();
+    }
+    Vector3D point = ray.at(t.get());
+    return Optional.of(new Intersection(t.get(), point, getNormalAt(point), this));
+  }
+
+  /**
+   * Prueba todos los rayos de un paquete y registra en él las intersecciones más cercanas que las
+   * que ya tiene.
+   *
+   * <p>Por defecto prueba los rayos uno por uno con {@link #intersect(Ray)}. Los primitivos que
+   * pueden calcular la distancia directamente sobre los arreglos del paquete, o descartarlo
+   * completo, la sobrescriben; las distancias deben ser idénticas a las de {@link #intersect(Ray)}.
+   *
+   * @param packet rayos a intersectar
+   * @param index índice de este primitivo en la escena
+   */
+  public void intersect(RayPacket packet, int index) {
+    for (int lane = 0; lane < packet.size(); lane++) {
+      Optional<Double> t = intersect(packet.ray(lane));
+      if (t.isPresent()) {
+        packet.record(lane, t.get(), index);
+      }
+    }
+  }
+
   /**
    * Calcula el vector normal en un punto de la superficie.
    *
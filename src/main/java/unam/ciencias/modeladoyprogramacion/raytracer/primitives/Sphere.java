@@ -2,6 +2,7 @@ package unam.ciencias.modeladoyprogramacion.raytracer.primitives;
 
 import java.util.Optional;
 import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayPacket;
 import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
 
 /**
@@ -75,6 +76,20 @@ public final class Sphere extends Primitive {
     return Optional.empty();
   }
 
+  @Override
+  public void intersect(RayPacket packet, int index) {
+    if (!packet.mayHitSphere(center.getX(), center.getY(), center.getZ(), radius)) {
+      return;
+    }
+    SphereSet.intersect(
+        packet,
+        index,
+        packet.originX() - center.getX(),
+        packet.originY() - center.getY(),
+        packet.originZ() - center.getZ(),
+        radius * radius);
+  }
+
   @Override
   public Vector3D getNormalAt(Vector3D point) {
     if (point == null) {
@@ -0,0 +1,78 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.primitives;
+
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+import unam.ciencias.modeladoyprogramacion.raytracer.shared.VectorSupport;
+
+/**
+ * Busca la esfera más cercana de un {@link SphereSet} a lo largo de un rayo.
+ *
+ * @author Cristopher Carrada
+ */
+interface SphereKernel {
+  /**
+   * Busca la primera esfera (en orden) con la menor distancia de intersección.
+   *
+   * @return índice de la esfera, o -1 si el rayo no golpea ninguna
+   */
+  int closest(
+      double[] centerX,
+      double[] centerY,
+      double[] centerZ,
+      double[] radiusSquared,
+      int count,
+      Ray ray);
+
+  /** Ciclo escalar sobre los arreglos; el JIT lo desenrolla pero no lo vectoriza. */
+  static SphereKernel scalar() {
+    return new SphereKernel() {
+      @Override
+      public int closest(
+          double[] centerX,
+          double[] centerY,
+          double[] centerZ,
+          double[] radiusSquared,
+          int count,
+          Ray ray) {
+        Vector3D origin = ray.getOrigin();
+        Vector3D direction = ray.getDirection();
+        double dx = direction.getX();
+        double dy = direction.getY();
+        double dz = direction.getZ();
+        double ox = origin.getX();
+        double oy = origin.getY();
+        double oz = origin.getZ();
+        int closest = -1;
+        double closestDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+          double t =
+              SphereSet.distance(
+                  ox - centerX[i], oy - centerY[i], oz - centerZ[i], dx, dy, dz, radiusSquared[i]);
+          if (t < closestDistance) {
+            closestDistance = t;
+            closest = i;
+          }
+        }
+        return closest;
+      }
+
+      @Override
+      public String toString() {
+        return "scalar";
+      }
+    };
+  }
+
+  /**
+   * Kernel con la Vector API.
+   *
+   * @throws IllegalStateException si el módulo no está habilitado
+   */
+  static SphereKernel vector() {
+    if (!VectorSupport.isAvailable()) {
+      throw new IllegalStateException(
+          "The Vector API requires --add-modules " + VectorSupport.MODULE);
+    }
+    return new VectorSphereKernel();
+  }
+}
@@ -0,0 +1,257 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.primitives;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayPacket;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+import unam.ciencias.modeladoyprogramacion.raytracer.shared.VectorSupport;
+
+/**
+ * Conjunto de esferas con el mismo material, guardadas como estructura de arreglos.
+ *
+ * <p>Los centros y los radios se guardan en arreglos paralelos de {@code double}, de modo que la
+ * intersección recorre memoria contigua sin llamadas virtuales, sin seguir referencias a {@link
+ * Vector3D} y sin crear un {@link Optional} por esfera. Si el módulo {@code
+ * jdk.incubator.vector} está habilitado, las esferas se prueban de {@code SPECIES.length()} en
+ * {@code SPECIES.length()} con la Vector API.
+ *
+ * <p>Las distancias y normales son idénticas bit a bit a las de las {@link Sphere} originales:
+ * ambos caminos evalúan la misma ecuación cuadrática en el mismo orden. Cada esfera conserva su
+ * nombre como una parte del conjunto, y las intersecciones indican cuál se golpeó.
+ *
+ * @author Cristopher Carrada
+ */
+public final class SphereSet extends Primitive {
+  private static final double EPSILON = 1e-4;
+
+  private final int size;
+  private final double[] centerX;
+  private final double[] centerY;
+  private final double[] centerZ;
+  private final double[] radius;
+  private final double[] radiusSquared;
+  private final String[] names;
+  private final SphereKernel kernel;
+
+  /**
+   * Construye el conjunto; usa la Vector API si el módulo está habilitado.
+   *
+   * @param name nombre del conjunto
+   * @param materialId ID del material de todas las esferas
+   * @param spheres esferas a empacar; su material se ignora
+   */
+  public SphereSet(String name, String materialId, List<Sphere> spheres) {
+    this(name, materialId, spheres, VectorSupport.isAvailable());
+  }
+
+  /**
+   * Construye el conjunto eligiendo la implementación de la intersección.
+   *
+   * @param name nombre del conjunto
+   * @param materialId ID del material de todas las esferas
+   * @param spheres esferas a empacar; su material se ignora
+   * @param useVectorApi {@code true} para usar la Vector API
+   * @throws IllegalStateException si se pide la Vector API y el módulo no está habilitado
+   */
+  public SphereSet(String name, String materialId, List<Sphere> spheres, boolean useVectorApi) {
+    super(name, materialId);
+    if (spheres == null || spheres.isEmpty()) {
+      throw new IllegalArgumentException("Sphere set cannot be empty");
+    }
+    this.size = spheres.size();
+    this.centerX = new double[size];
+    this.centerY = new double[size];
+    this.centerZ = new double[size];
+    this.radius = new double[size];
+    this.radiusSquared = new double[size];
+    this.names = new String[size];
+    for (int i = 0; i < size; i++) {
+      Sphere sphere = spheres.get(i);
+      centerX[i] = sphere.getCenter().getX();
+      centerY[i] = sphere.getCenter().getY();
+      centerZ[i] = sphere.getCenter().getZ();
+      radius[i] = sphere.getRadius();
+      radiusSquared[i] = sphere.getRadius() * sphere.getRadius();
+      names[i] = sphere.getName();
+    }
+    this.kernel = useVectorApi ? SphereKernel.vector() : SphereKernel.scalar();
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Reconstruye las esferas del conjunto, con su nombre original y el material del conjunto.
+   *
+   * @return esferas en el orden original
+   */
+  public List<Sphere> getSpheres() {
+    List<Sphere> spheres = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      spheres.add(
+          new Sphere(
+              names[i], materialId, new Vector3D(centerX[i], centerY[i], centerZ[i]), radius[i]));
+    }
+    return spheres;
+  }
+
+  /** Cada esfera es una parte; el orden es el de la lista original. */
+  @Override
+  public int getPartCount() {
+    return size;
+  }
+
+  @Override
+  public String getPartName(int part) {
+    if (part < 0 || part >= size) {
+      throw new IllegalArgumentException("Part must be between 0 and the part count");
+    }
+    return names[part];
+  }
+
+  @Override
+  public Optional<Double> intersect(Ray ray) {
+    int index = closest(ray);
+    return index < 0 ? Optional.empty() : Optional.of(distance(index, ray));
+  }
+
+  @Override
+  public Optional<Intersection> intersect(Ray ray, double maxDistance) {
+    int index = closest(ray);
+    if (index < 0) {
+      return Optional.empty();
+    }
+    double t = distance(index, ray);
+    if (t >= maxDistance) {
+      return Optional.empty();
+    }
+    Vector3D point = ray.at(t);
+    return Optional.of(new Intersection(t, point, normal(index, point), this, index));
+  }
+
+  /**
+   * Prueba el paquete sólo contra las esferas que caen dentro de su cono de direcciones; cada
+   * esfera que pasa se prueba con todos los rayos en un solo ciclo.
+   */
+  @Override
+  public void intersect(RayPacket packet, int index) {
+    double ox = packet.originX();
+    double oy = packet.originY();
+    double oz = packet.originZ();
+    for (int i = 0; i < size; i++) {
+      if (packet.mayHitSphere(centerX[i], centerY[i], centerZ[i], radius[i])) {
+        intersect(packet, index, ox - centerX[i], oy - centerY[i], oz - centerZ[i], radiusSquared[i]);
+      }
+    }
+  }
+
+  /**
+   * Calcula la normal de la esfera cuya superficie está más cerca del punto.
+   *
+   * <p>Es una búsqueda lineal; {@link Scene} usa {@link #intersect(Ray, double)}, que ya conoce
+   * la esfera golpeada.
+   */
+  @Override
+  public Vector3D getNormalAt(Vector3D point) {
+    if (point == null) {
+      throw new IllegalArgumentException("Point cannot be null");
+    }
+    int nearest = 0;
+    double nearestGap = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < size; i++) {
+      double dx = point.getX() - centerX[i];
+      double dy = point.getY() - centerY[i];
+      double dz = point.getZ() - centerZ[i];
+      double gap = Math.abs(Math.sqrt(dx * dx + dy * dy + dz * dz) - radius[i]);
+      if (gap < nearestGap) {
+        nearestGap = gap;
+        nearest = i;
+      }
+    }
+    return normal(nearest, point);
+  }
+
+  private int closest(Ray ray) {
+    return kernel.closest(centerX, centerY, centerZ, radiusSquared, size, ray);
+  }
+
+  private double distance(int index, Ray ray) {
+    Vector3D origin = ray.getOrigin();
+    Vector3D direction = ray.getDirection();
+    return distance(
+        origin.getX() - centerX[index],
+        origin.getY() - centerY[index],
+        origin.getZ() - centerZ[index],
+        direction.getX(),
+        direction.getY(),
+        direction.getZ(),
+        radiusSquared[index]);
+  }
+
+  private Vector3D normal(int index, Vector3D point) {
+    return point.subtract(new Vector3D(centerX[index], centerY[index], centerZ[index])).normalize();
+  }
+
+  /**
+   * Distancia a una esfera, con las mismas operaciones que {@link Sphere#intersect}.
+   *
+   * @return la distancia, o {@code +∞} si no hay intersección
+   */
+  static double distance(
+      double ocx,
+      double ocy,
+      double ocz,
+      double dx,
+      double dy,
+      double dz,
+      double radiusSquared) {
+    double a = dx * dx + dy * dy + dz * dz;
+    double b = 2.0 * (ocx * dx + ocy * dy + ocz * dz);
+    double c = (ocx * ocx + ocy * ocy + ocz * ocz) - radiusSquared;
+    double discriminant = b * b - 4 * a * c;
+    if (discriminant < 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double sqrtDiscriminant = Math.sqrt(discriminant);
+    double t1 = (-b - sqrtDiscriminant) / (2.0 * a);
+    double t2 = (-b + sqrtDiscriminant) / (2.0 * a);
+    if (t1 > EPSILON) {
+      return t1;
+    }
+    return t2 > EPSILON ? t2 : Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Prueba todos los rayos de un paquete contra una esfera, con las mismas operaciones que {@link
+   * #distance}.
+   */
+  static void intersect(
+      RayPacket packet, int index, double ocx, double ocy, double ocz, double radiusSquared) {
+    double[] dx = packet.directionX();
+    double[] dy = packet.directionY();
+    double[] dz = packet.directionZ();
+    // El origen es común, así que c no depende del carril
+    double c = (ocx * ocx + ocy * ocy + ocz * ocz) - radiusSquared;
+    for (int lane = 0; lane < packet.size(); lane++) {
+      double a = dx[lane] * dx[lane] + dy[lane] * dy[lane] + dz[lane] * dz[lane];
+      double b = 2.0 * (ocx * dx[lane] + ocy * dy[lane] + ocz * dz[lane]);
+      double discriminant = b * b - 4 * a * c;
+      if (discriminant >= 0) {
+        double sqrtDiscriminant = Math.sqrt(discriminant);
+        double t1 = (-b - sqrtDiscriminant) / (2.0 * a);
+        double t2 = (-b + sqrtDiscriminant) / (2.0 * a);
+        packet.record(lane, t1 > EPSILON ? t1 : t2 > EPSILON ? t2 : Double.POSITIVE_INFINITY, index);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "SphereSet[name=%s, spheres=%d, kernel=%s]", name, size, kernel);
+  }
+}
@@ -0,0 +1,95 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.primitives;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+
+/**
+ * Intersección de un rayo con {@code SPECIES.length()} esferas por instrucción (4 con AVX2, 8 con
+ * AVX-512).
+ *
+ * <p>Evalúa la ecuación cuadrática en el mismo orden que {@link SphereSet#distance}, así que cada
+ * carril produce exactamente la misma distancia que el ciclo escalar. Sólo debe instanciarse a
+ * través de {@link SphereKernel#vector()}, que verifica que el módulo esté habilitado antes de
+ * cargar esta clase.
+ *
+ * @author Cristopher Carrada
+ */
+final class VectorSphereKernel implements SphereKernel {
+  private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+  private static final double EPSILON = 1e-4;
+
+  @Override
+  public int closest(
+      double[] centerX,
+      double[] centerY,
+      double[] centerZ,
+      double[] radiusSquared,
+      int count,
+      Ray ray) {
+    Vector3D origin = ray.getOrigin();
+    Vector3D direction = ray.getDirection();
+    double ox = origin.getX();
+    double oy = origin.getY();
+    double oz = origin.getZ();
+    double dx = direction.getX();
+    double dy = direction.getY();
+    double dz = direction.getZ();
+    double a = dx * dx + dy * dy + dz * dz;
+    double fourA = 4 * a;
+    double twoA = 2.0 * a;
+
+    int closest = -1;
+    double closestDistance = Double.POSITIVE_INFINITY;
+    int i = 0;
+    int upperBound = SPECIES.loopBound(count);
+    for (; i < upperBound; i += SPECIES.length()) {
+      DoubleVector ocx = DoubleVector.fromArray(SPECIES, centerX, i).neg().add(ox);
+      DoubleVector ocy = DoubleVector.fromArray(SPECIES, centerY, i).neg().add(oy);
+      DoubleVector ocz = DoubleVector.fromArray(SPECIES, centerZ, i).neg().add(oz);
+      DoubleVector b = ocx.mul(dx).add(ocy.mul(dy)).add(ocz.mul(dz)).mul(2.0);
+      DoubleVector c =
+          ocx.mul(ocx)
+              .add(ocy.mul(ocy))
+              .add(ocz.mul(ocz))
+              .sub(DoubleVector.fromArray(SPECIES, radiusSquared, i));
+      DoubleVector discriminant = b.mul(b).sub(c.mul(fourA));
+      VectorMask<Double> hit = discriminant.compare(VectorOperators.GE, 0);
+      if (!hit.anyTrue()) {
+        continue;
+      }
+      DoubleVector sqrtDiscriminant = discriminant.max(0).sqrt();
+      DoubleVector minusB = b.neg();
+      DoubleVector t1 = minusB.sub(sqrtDiscriminant).div(twoA);
+      DoubleVector t2 = minusB.add(sqrtDiscriminant).div(twoA);
+      DoubleVector t =
+          t1.blend(t2, t1.compare(VectorOperators.LE, EPSILON))
+              .blend(Double.POSITIVE_INFINITY, hit.not());
+      t = t.blend(Double.POSITIVE_INFINITY, t.compare(VectorOperators.LE, EPSILON));
+      double laneMin = t.reduceLanes(VectorOperators.MIN);
+      if (laneMin < closestDistance) {
+        closestDistance = laneMin;
+        closest = i + t.compare(VectorOperators.EQ, laneMin).firstTrue();
+      }
+    }
+    // Cola escalar
+    for (; i < count; i++) {
+      double t =
+          SphereSet.distance(
+              ox - centerX[i], oy - centerY[i], oz - centerZ[i], dx, dy, dz, radiusSquared[i]);
+      if (t < closestDistance) {
+        closestDistance = t;
+        closest = i;
+      }
+    }
+    return closest;
+  }
+
+  @Override
+  public String toString() {
+    return "vector(" + SPECIES.length() + " lanes)";
+  }
+}
@@ -0,0 +1,53 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.shared;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Canales de salida para las operaciones de línea de comandos.
+ *
+ * @author Cristopher Carrada
+ */
+public final class CLIChannels {
+
+    private CLIChannels() {}
+
+    /**
+     * Abre el archivo de salida, o stdout si no se especificó uno.
+     *
+     * <p>Cerrar el canal de stdout no cierra la salida estándar del proceso.
+     *
+     * @param output ruta del archivo de salida, o {@code null} para stdout
+     * @return canal de salida
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public static WritableByteChannel openOutput(String output) throws IOException {
+        if (output == null) {
+            System.out.flush();
+            var stdout = new FileOutputStream(FileDescriptor.out).getChannel();
+            return new WritableByteChannel() {
+                @Override
+                public int write(ByteBuffer source) throws IOException {
+                    return stdout.write(source);
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return stdout.isOpen();
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+        return FileChannel.open(Path.of(output), StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+}
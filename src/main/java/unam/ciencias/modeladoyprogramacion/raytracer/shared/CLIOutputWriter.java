@@ -0,0 +1,18 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.shared;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Interfaz funcional para escribir datos directamente a un canal de bytes.
+ *
+ * <p>A diferencia de {@link CLIOutputFormatter}, no construye el texto completo en memoria:
+ * permite emitir resultados grandes por partes.
+ *
+ * @param <T> Tipo de dato a escribir
+ * @author Cristopher Carrada
+ */
+@FunctionalInterface
+public interface CLIOutputWriter<T> {
+    void write(T result, WritableByteChannel channel) throws IOException;
+}
@@ -0,0 +1,25 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.shared;
+
+/**
+ * Detección de la Vector API ({@code jdk.incubator.vector}) para los kernels SIMD.
+ *
+ * <p>El módulo es de incubación, así que sólo está cargado si la JVM se ejecuta con
+ * {@code --add-modules jdk.incubator.vector}; en otro caso los kernels usan su versión escalar.
+ *
+ * @author Cristopher Carrada
+ */
+public final class VectorSupport {
+    /** Nombre del módulo de la Vector API. */
+    public static final String MODULE = "jdk.incubator.vector";
+
+    private VectorSupport() {}
+
+    /**
+     * Indica si la Vector API está disponible en esta JVM.
+     *
+     * @return {@code true} si el módulo {@value #MODULE} está cargado
+     */
+    public static boolean isAvailable() {
+        return ModuleLayer.boot().findModule(MODULE).isPresent();
+    }
+}
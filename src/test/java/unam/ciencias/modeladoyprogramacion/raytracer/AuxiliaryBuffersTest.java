@@ -0,0 +1,97 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class AuxiliaryBuffersTest {
+
+  @Test
+  void constructor_rejectsEmptyImage() {
+    assertThrows(IllegalArgumentException.class, () -> new AuxiliaryBuffers(0, 4));
+    assertThrows(IllegalArgumentException.class, () -> new AuxiliaryBuffers(4, -1));
+  }
+
+  @Test
+  void newBuffers_areBackground() {
+    AuxiliaryBuffers buffers = new AuxiliaryBuffers(3, 2);
+
+    assertEquals(3, buffers.getWidth());
+    assertEquals(2, buffers.getHeight());
+    for (int pixel = 0; pixel < 6; pixel++) {
+      assertFalse(buffers.isSurface(pixel));
+      assertEquals(Float.POSITIVE_INFINITY, buffers.getDepth(pixel));
+    }
+  }
+
+  @Test
+  void setSurface_storesValuesInRowMajorOrder() {
+    AuxiliaryBuffers buffers = new AuxiliaryBuffers(3, 2);
+
+    buffers.setSurface(1, 2, 4.5, new Vector3D(0, 0, -1), new Vector3D(0.25, 0.5, 0.75), 7, 2);
+
+    int pixel = 5;
+    assertTrue(buffers.isSurface(pixel));
+    assertEquals(4.5f, buffers.getDepth(pixel));
+    assertEquals(-1f, buffers.getNormal(pixel, 2));
+    assertEquals(0.25f, buffers.getAlbedo(pixel, 0));
+    assertEquals(0.75f, buffers.getAlbedo(pixel, 2));
+    assertEquals(7, buffers.getPrimitiveId(pixel));
+    assertEquals(2, buffers.getMaterialId(pixel));
+    assertFalse(buffers.isSurface(4));
+    assertEquals(-1, buffers.getPrimitiveId(4));
+    assertEquals(-1, buffers.getMaterialId(4));
+  }
+
+  @Test
+  void setBackground_replacesSurface() {
+    AuxiliaryBuffers buffers = new AuxiliaryBuffers(2, 2);
+    buffers.setSurface(0, 1, 3, new Vector3D(0, 1, 0), new Vector3D(1, 1, 1), 0, 0);
+
+    buffers.setBackground(0, 1, new Vector3D(0.1, 0.2, 0.3));
+
+    assertFalse(buffers.isSurface(1));
+    assertEquals(0f, buffers.getNormal(1, 1));
+    assertEquals(0.2f, buffers.getAlbedo(1, 1));
+    assertEquals(-1, buffers.getPrimitiveId(1));
+  }
+
+  @Test
+  void toDepthImage_isWhiteNearAndBlackOnBackground() {
+    AuxiliaryBuffers buffers = new AuxiliaryBuffers(3, 1);
+    buffers.setSurface(0, 0, 2, new Vector3D(0, 0, 1), new Vector3D(1, 1, 1), 0, 0);
+    buffers.setSurface(0, 1, 6, new Vector3D(0, 0, 1), new Vector3D(1, 1, 1), 0, 0);
+
+    int[] pixels = buffers.toDepthImage().toPixels();
+
+    assertEquals(0xFFFFFF, pixels[0]);
+    assertEquals(0x010101, pixels[1]);
+    assertEquals(0, pixels[2]);
+  }
+
+  @Test
+  void toNormalImage_mapsAxesToChannels() {
+    AuxiliaryBuffers buffers = new AuxiliaryBuffers(1, 1);
+    buffers.setSurface(0, 0, 1, new Vector3D(1, 0, -1), new Vector3D(1, 1, 1), 0, 0);
+
+    int rgb = buffers.toNormalImage().toPixels()[0];
+
+    assertEquals(255, rgb >> 16 & 0xFF);
+    assertEquals(127, rgb >> 8 & 0xFF);
+    assertEquals(0, rgb & 0xFF);
+  }
+
+  @Test
+  void toIdImages_encodeIdPlusOne() {
+    AuxiliaryBuffers buffers = new AuxiliaryBuffers(2, 1);
+    buffers.setSurface(0, 0, 1, new Vector3D(0, 1, 0), new Vector3D(1, 1, 1), 300, 4);
+
+    int[] primitives = buffers.toPrimitiveIdImage().toPixels();
+    int[] materials = buffers.toMaterialIdImage().toPixels();
+
+    assertEquals(301, primitives[0]);
+    assertEquals(5, materials[0]);
+    assertEquals(0, primitives[1]);
+    assertEquals(0, materials[1]);
+  }
+}
@@ -143,4 +143,326 @@ class CLIOptionsParserImplTest {
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessage("--threads must be a positive integer");
   }
+
+  @Test
+  @DisplayName("parses --preview factor")
+  void parsesPreviewFactor() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--preview", "4"};
+
+    CLIOptions options = parser.parseOptions(args);
+
+    CLIOptions expectedOptions =
+        CLIOptions.builder().operation("ray-tracer").threads(1).preview(4).build();
+    assertThat(options).isEqualTo(expectedOptions);
+  }
+
+  @Test
+  @DisplayName("throws when --preview is not 2, 4 or 8")
+  void previewUnsupportedFactorThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--preview=3"};
+
+    assertThatThrownBy(() -> parser.parseOptions(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--preview must be 2, 4 or 8");
+  }
+
+  @Test
+  @DisplayName("parses --time-budget in seconds")
+  void parsesTimeBudget() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--time-budget=2.5"};
+
+    CLIOptions options = parser.parseOptions(args);
+
+    CLIOptions expectedOptions =
+        CLIOptions.builder().operation("ray-tracer").threads(1).timeBudget(2.5).build();
+    assertThat(options).isEqualTo(expectedOptions);
+  }
+
+  @Test
+  @DisplayName("throws when --time-budget is not positive")
+  void timeBudgetNonPositiveThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--time-budget", "0"};
+
+    assertThatThrownBy(() -> parser.parseOptions(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--time-budget must be a positive number of seconds");
+  }
+
+  @Test
+  @DisplayName("throws when --time-budget is combined with --preview")
+  void timeBudgetWithPreviewThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--preview=2", "--time-budget=5"};
+
+    assertThatThrownBy(() -> parser.parseOptions(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--time-budget cannot be combined with --preview");
+  }
+
+  @Test
+  @DisplayName("parses --workers and --port")
+  void parsesDistributedOptions() {
+    CLIOptionsParser parser = newParser();
+    String[] args =
+        new String[] {
+          "--operation=ray-tracer-worker", "--port", "7071", "--workers=a:1,b:2"
+        };
+
+    CLIOptions options = parser.parseOptions(args);
+
+    CLIOptions expectedOptions =
+        CLIOptions.builder()
+            .operation("ray-tracer-worker")
+            .threads(1)
+            .workers("a:1,b:2")
+            .port(7071)
+            .build();
+    assertThat(options).isEqualTo(expectedOptions);
+  }
+
+  @Test
+  @DisplayName("throws when --port is out of range")
+  void portOutOfRangeThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer-worker", "--port=70000"};
+
+    assertThatThrownBy(() -> parser.parseOptions(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--port must be an integer between 1 and 65535");
+  }
+
+  @Test
+  @DisplayName("throws when --workers is combined with --preview")
+  void workersWithPreviewThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--preview", "2", "--workers", "a:1"};
+
+    assertThatThrownBy(() -> parser.parseOptions(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--workers cannot be combined with --preview");
+  }
+
+  @Test
+  @DisplayName("throws when --time-budget is combined with --workers")
+  void timeBudgetWithWorkersThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--workers=a:1", "--time-budget=5"};
+
+    assertThatThrownBy(() -> parser.parseOptions(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--time-budget cannot be combined with --workers");
+  }
+
+  @Test
+  @DisplayName("parses --kernel")
+  void parsesKernelOption() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=matrix-addition", "--kernel=vector"};
+
+    CLIOptions options = parser.parseOptions(args);
+
+    CLIOptions expectedOptions =
+        CLIOptions.builder().operation("matrix-addition").threads(1).kernel("vector").build();
+    assertThat(options).isEqualTo(expectedOptions);
+  }
+
+  @Test
+  @DisplayName("throws on unknown --kernel")
+  void unknownKernelThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=matrix-addition", "--kernel=gpu"};
+
+    assertThatThrownBy(() -> parser.parseOptions(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--kernel must be scalar, vector or auto");
+  }
+
+  @Test
+  @DisplayName("parses --scalar")
+  void parsesScalarOption() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=matrix-scale", "--scalar", "-3"};
+
+    CLIOptions options = parser.parseOptions(args);
+
+    CLIOptions expectedOptions =
+        CLIOptions.builder().operation("matrix-scale").threads(1).scalar(-3).build();
+    assertThat(options).isEqualTo(expectedOptions);
+  }
+
+  @Test
+  @DisplayName("throws when --scalar is not an integer")
+  void invalidScalarThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=matrix-scale", "--scalar=1.5"};
+
+    assertThatThrownBy(() -> parser.parseOptions(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--scalar must be an integer");
+  }
+
+  @Test
+  @DisplayName("parses --input-format")
+  void parsesInputFormatOption() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=matrix-addition", "--input-format=sparse"};
+
+    CLIOptions options = parser.parseOptions(args);
+
+    CLIOptions expectedOptions =
+        CLIOptions.builder().operation("matrix-addition").threads(1).inputFormat("sparse").build();
+    assertThat(options).isEqualTo(expectedOptions);
+  }
+
+  @Test
+  @DisplayName("throws on unknown --input-format")
+  void unknownInputFormatThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=matrix-addition", "--input-format=coo"};
+
+    assertThatThrownBy(() -> parser.parseOptions(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--input-format must be dense, sparse or auto");
+  }
+
+  @Test
+  @DisplayName("parses --integrator")
+  void parsesIntegratorOption() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--integrator=path"};
+
+    CLIOptions options = parser.parseOptions(args);
+
+    CLIOptions expectedOptions =
+        CLIOptions.builder().operation("ray-tracer").threads(1).integrator("path").build();
+    assertThat(options).isEqualTo(expectedOptions);
+  }
+
+  @Test
+  @DisplayName("throws on unknown --integrator")
+  void unknownIntegratorThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--integrator=bidirectional"};
+
+    assertThatThrownBy(() -> parser.parseOptions(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--integrator must be recursive, wavefront or path");
+  }
+
+  @Test
+  @DisplayName("throws when --integrator is combined with --preview or --workers")
+  void integratorWithPreviewOrWorkersThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] preview = new String[] {"--operation=ray-tracer", "--preview=2", "--integrator=path"};
+    String[] workers =
+        new String[] {"--operation=ray-tracer", "--workers=a:1", "--integrator=path"};
+
+    assertThatThrownBy(() -> parser.parseOptions(preview))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--integrator cannot be combined with --preview");
+    assertThatThrownBy(() -> parser.parseOptions(workers))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--integrator cannot be combined with --workers");
+  }
+
+  @Test
+  @DisplayName("parses --heatmap flag")
+  void parsesHeatmapFlag() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--heatmap", "--threads=2"};
+
+    CLIOptions options = parser.parseOptions(args);
+
+    CLIOptions expectedOptions =
+        CLIOptions.builder().operation("ray-tracer").threads(2).heatmap(true).build();
+    assertThat(options).isEqualTo(expectedOptions);
+  }
+
+  @Test
+  @DisplayName("throws when --heatmap is combined with --preview or --workers")
+  void heatmapWithPreviewOrWorkersThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] preview = new String[] {"--operation=ray-tracer", "--preview=2", "--heatmap"};
+    String[] workers = new String[] {"--operation=ray-tracer", "--workers=a:1", "--heatmap"};
+
+    assertThatThrownBy(() -> parser.parseOptions(preview))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--heatmap cannot be combined with --preview");
+    assertThatThrownBy(() -> parser.parseOptions(workers))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--heatmap cannot be combined with --workers");
+  }
+
+  @Test
+  @DisplayName("parses --denoise flag")
+  void parsesDenoiseFlag() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--denoise"};
+
+    CLIOptions options = parser.parseOptions(args);
+
+    CLIOptions expectedOptions =
+        CLIOptions.builder().operation("ray-tracer").threads(1).denoise(true).build();
+    assertThat(options).isEqualTo(expectedOptions);
+  }
+
+  @Test
+  @DisplayName("throws when --denoise is combined with --preview or --workers")
+  void denoiseWithPreviewOrWorkersThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] preview = new String[] {"--operation=ray-tracer", "--preview=2", "--denoise"};
+    String[] workers = new String[] {"--operation=ray-tracer", "--workers=a:1", "--denoise"};
+
+    assertThatThrownBy(() -> parser.parseOptions(preview))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--denoise cannot be combined with --preview");
+    assertThatThrownBy(() -> parser.parseOptions(workers))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--denoise cannot be combined with --workers");
+  }
+
+  @Test
+  @DisplayName("parses --aov flag")
+  void parsesAovFlag() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--aov"};
+
+    CLIOptions options = parser.parseOptions(args);
+
+    CLIOptions expectedOptions =
+        CLIOptions.builder().operation("ray-tracer").threads(1).aov(true).build();
+    assertThat(options).isEqualTo(expectedOptions);
+  }
+
+  @Test
+  @DisplayName("throws when --aov is combined with --preview or --workers")
+  void aovWithPreviewOrWorkersThrows() {
+    CLIOptionsParser parser = newParser();
+    String[] preview = new String[] {"--operation=ray-tracer", "--preview=2", "--aov"};
+    String[] workers = new String[] {"--operation=ray-tracer", "--workers=a:1", "--aov"};
+
+    assertThatThrownBy(() -> parser.parseOptions(preview))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--aov cannot be combined with --preview");
+    assertThatThrownBy(() -> parser.parseOptions(workers))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--aov cannot be combined with --workers");
+  }
+
+  @Test
+  @DisplayName("parses --metrics")
+  void parsesMetricsOption() {
+    CLIOptionsParser parser = newParser();
+    String[] args = new String[] {"--operation=ray-tracer", "--metrics", "out/raytracer.prom"};
+
+    CLIOptions options = parser.parseOptions(args);
+
+    CLIOptions expectedOptions =
+        CLIOptions.builder().operation("ray-tracer").threads(1).metrics("out/raytracer.prom").build();
+    assertThat(options).isEqualTo(expectedOptions);
+  }
 }
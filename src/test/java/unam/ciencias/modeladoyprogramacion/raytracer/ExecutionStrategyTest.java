@@ -0,0 +1,186 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.Test;
+
+class ExecutionStrategyTest {
+
+  private static List<Runnable> countingTasks(int count, AtomicInteger counter) {
+    List<Runnable> tasks = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      tasks.add(counter::incrementAndGet);
+    }
+    return tasks;
+  }
+
+  @Test
+  void platformThreads_runsAllTasksOnPlatformThreads() throws InterruptedException {
+    Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+    List<Runnable> tasks = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      tasks.add(() -> virtual.add(Thread.currentThread().isVirtual()));
+    }
+
+    ExecutionStrategy.platformThreads().runAndWait(tasks);
+
+    assertEquals(Set.of(false), virtual);
+  }
+
+  @Test
+  void virtualThreads_runsAllTasksOnVirtualThreads() throws InterruptedException {
+    Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+    List<Runnable> tasks = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      tasks.add(() -> virtual.add(Thread.currentThread().isVirtual()));
+    }
+
+    ExecutionStrategy.virtualThreads().runAndWait(tasks);
+
+    assertEquals(Set.of(true), virtual);
+  }
+
+  @Test
+  void shared_waitsForAllTasksOnTheExecutor() throws InterruptedException {
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      AtomicInteger counter = new AtomicInteger();
+
+      ExecutionStrategy.shared(pool).runAndWait(countingTasks(50, counter));
+
+      assertEquals(50, counter.get());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void shared_throwsOnNullExecutor() {
+    assertThrows(IllegalArgumentException.class, () -> ExecutionStrategy.shared(null));
+  }
+
+  @Test
+  void runAndWait_withNoTasks_returnsImmediately() throws InterruptedException {
+    ExecutionStrategy.virtualThreads().runAndWait(List.of());
+    ExecutionStrategy.shared(Runnable::run).runAndWait(List.of());
+  }
+
+  @Test
+  void forkJoin_runsAllTasksOnThePool() throws InterruptedException {
+    Set<Boolean> onPool = ConcurrentHashMap.newKeySet();
+    List<Runnable> tasks = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      tasks.add(() -> onPool.add(ForkJoinTask.inForkJoinPool()));
+    }
+
+    ExecutionStrategy.forkJoin().runAndWait(tasks);
+
+    assertEquals(Set.of(true), onPool);
+  }
+
+  @Test
+  void forkJoin_withParallelism_sharesOnePoolPerLevel() {
+    assertSame(
+        ForkJoinExecutionStrategy.sharedPool(3), ForkJoinExecutionStrategy.sharedPool(3));
+    assertEquals(3, ForkJoinExecutionStrategy.sharedPool(3).getParallelism());
+    assertSame(ForkJoinExecutionStrategy.sharedPool(3), ExecutionStrategy.sharedPool(3));
+    assertEquals(
+        Runtime.getRuntime().availableProcessors(), ExecutionStrategy.sharedPool().getParallelism());
+    assertThrows(IllegalArgumentException.class, () -> ExecutionStrategy.forkJoin(0));
+  }
+
+  @Test
+  void forkJoin_rethrowsTheTaskFailureAfterAllTasksFinish() {
+    AtomicInteger counter = new AtomicInteger();
+    List<Runnable> tasks = new ArrayList<>(countingTasks(10, counter));
+    IllegalStateException failure = new IllegalStateException("boom");
+    tasks.add(
+        () -> {
+          throw failure;
+        });
+
+    IllegalStateException thrown =
+        assertThrows(
+            IllegalStateException.class, () -> ExecutionStrategy.forkJoin().runAndWait(tasks));
+
+    assertSame(failure, thrown);
+    assertEquals(10, counter.get());
+  }
+
+  @Test
+  void forkJoin_canBeNestedInsideAPoolTask() throws InterruptedException {
+    ForkJoinPool pool = new ForkJoinPool(1);
+    try {
+      ExecutionStrategy strategy = ExecutionStrategy.forkJoin(pool);
+      AtomicInteger counter = new AtomicInteger();
+      List<Runnable> outer = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        outer.add(
+            () -> {
+              try {
+                strategy.runAndWait(countingTasks(5, counter));
+              } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+      }
+
+      // Con un solo hilo en el pool, esperar bloqueando provocaría un interbloqueo
+      strategy.runAndWait(outer);
+
+      assertEquals(15, counter.get());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void forEachRange_coversEveryIndexOnce() throws InterruptedException {
+    for (ExecutionStrategy strategy :
+        List.of(ExecutionStrategy.forkJoin(), ExecutionStrategy.platformThreads())) {
+      AtomicIntegerArray visits = new AtomicIntegerArray(1000);
+      Set<Integer> sizes = ConcurrentHashMap.newKeySet();
+
+      strategy.forEachRange(
+          0,
+          1000,
+          64,
+          4,
+          (from, to) -> {
+            sizes.add(to - from);
+            for (int i = from; i < to; i++) {
+              visits.incrementAndGet(i);
+            }
+          });
+
+      for (int i = 0; i < 1000; i++) {
+        assertEquals(1, visits.get(i));
+      }
+      assertTrue(sizes.stream().allMatch(size -> size >= 32 && size <= 250), sizes.toString());
+    }
+  }
+
+  @Test
+  void forEachRange_splitsForkJoinRangesDownToTheGrain() throws InterruptedException {
+    AtomicInteger leaves = new AtomicInteger();
+
+    ExecutionStrategy.forkJoin().forEachRange(0, 1024, 16, 1, (from, to) -> leaves.incrementAndGet());
+
+    assertEquals(64, leaves.get());
+  }
+
+  @Test
+  void forkJoin_throwsOnNullPool() {
+    assertThrows(IllegalArgumentException.class, () -> ExecutionStrategy.forkJoin(null));
+  }
+}
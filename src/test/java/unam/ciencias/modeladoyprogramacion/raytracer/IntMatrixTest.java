@@ -0,0 +1,57 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class IntMatrixTest {
+
+  @Test
+  void constructor_fromArray_storesRowMajor() {
+    IntMatrix matrix = new IntMatrix(new int[][] {{1, 2, 3}, {4, 5, 6}});
+
+    assertEquals(2, matrix.getRows());
+    assertEquals(3, matrix.getColumns());
+    assertEquals(6, matrix.getValue(1, 2));
+    assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6}, matrix.data());
+  }
+
+  @Test
+  void constructor_rejectsMismatchedData() {
+    assertThrows(IllegalArgumentException.class, () -> new IntMatrix(2, 2, new int[3]));
+    assertThrows(IllegalArgumentException.class, () -> new IntMatrix(-1, 2));
+    assertThrows(
+        IllegalArgumentException.class, () -> new IntMatrix(new int[][] {{1, 2}, {3}}));
+  }
+
+  @Test
+  void setValue_writesThroughToData() {
+    IntMatrix matrix = new IntMatrix(2, 2);
+    matrix.setValue(1, 0, 7);
+
+    assertEquals(7, matrix.data()[2]);
+  }
+
+  @Test
+  void getValue_outsideBounds_throws() {
+    IntMatrix matrix = new IntMatrix(2, 2);
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.getValue(0, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.getValue(2, 0));
+  }
+
+  @Test
+  void fromAndToMatrix_roundTrip() {
+    Matrix<Integer> generic = new Matrix<>(new Integer[][] {{1, -2}, {3, 4}, {5, 6}});
+
+    IntMatrix primitive = IntMatrix.from(generic);
+
+    assertEquals(new IntMatrix(new int[][] {{1, -2}, {3, 4}, {5, 6}}), primitive);
+    assertEquals(generic, primitive.toMatrix());
+  }
+
+  @Test
+  void equals_comparesContents() {
+    assertEquals(new IntMatrix(new int[][] {{1, 2}}), new IntMatrix(1, 2, new int[] {1, 2}));
+    assertNotEquals(new IntMatrix(1, 2, new int[] {1, 2}), new IntMatrix(2, 1, new int[] {1, 2}));
+  }
+}
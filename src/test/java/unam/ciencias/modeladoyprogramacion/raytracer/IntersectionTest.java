@@ -51,6 +51,16 @@ class IntersectionTest {
         () -> new Intersection(5.0, new Vector3D(1, 0, 0), new Vector3D(1, 0, 0), null));
   }
 
+  @Test
+  void constructor_throwsOnPartOutsideThePrimitive() {
+    Sphere sphere = new Sphere("s1", "m1", new Vector3D(0, 0, 0), 1.0);
+    assertEquals(
+        0, new Intersection(5.0, new Vector3D(1, 0, 0), new Vector3D(1, 0, 0), sphere).getPart());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new Intersection(5.0, new Vector3D(1, 0, 0), new Vector3D(1, 0, 0), sphere, 1));
+  }
+
   @Test
   void equals_returnsFalseForNull() {
     Sphere sphere = new Sphere("s1", "m1", new Vector3D(0, 0, 0), 1.0);
@@ -0,0 +1,118 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class MultiThreadedOperationTest {
+
+  /** Operación mínima que expone los métodos protegidos. */
+  private static final class RangeOperation extends MultiThreadedOperation {
+    RangeOperation(int threads) {
+      super(threads);
+    }
+
+    List<int[]> ranges(int from, int to, int defaultGrain) throws InterruptedException {
+      List<int[]> ranges = new ArrayList<>();
+      forEachRange(
+          from,
+          to,
+          defaultGrain,
+          (start, end) -> {
+            synchronized (ranges) {
+              ranges.add(new int[] {start, end});
+            }
+          });
+      return ranges;
+    }
+  }
+
+  @Test
+  void defaultStrategy_isTheSharedForkJoinPool() throws InterruptedException {
+    var operation = new RangeOperation(4);
+    AtomicReference<String> thread = new AtomicReference<>();
+
+    operation.runAndWait(List.of(() -> thread.set(Thread.currentThread().getName())));
+
+    assertTrue(thread.get().startsWith("raytracer-worker-"), thread.get());
+  }
+
+  @Test
+  void defaultStrategy_runsAtMostThreadsTasksAtOnce() throws InterruptedException {
+    var operation = new RangeOperation(2);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger mostRunning = new AtomicInteger();
+    List<Runnable> tasks = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      tasks.add(
+          () -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+              Thread.sleep(20);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+          });
+    }
+
+    operation.runAndWait(tasks);
+
+    assertTrue(mostRunning.get() <= 2, "max concurrent tasks: " + mostRunning.get());
+  }
+
+  @Test
+  void forEachRange_withOneThread_runsTheWholeRangeInline() throws InterruptedException {
+    List<int[]> ranges = new RangeOperation(1).ranges(3, 1000, 1);
+
+    assertEquals(1, ranges.size());
+    assertArrayEquals(new int[] {3, 1000}, ranges.get(0));
+  }
+
+  @Test
+  void forEachRange_splitsIntoSeveralRangesPerThread() throws InterruptedException {
+    List<int[]> ranges = new RangeOperation(2).ranges(0, 800, 1);
+
+    // 2 hilos x 4 subrangos de 100
+    assertEquals(8, ranges.size());
+    assertTrue(ranges.stream().allMatch(range -> range[1] - range[0] == 100));
+  }
+
+  @Test
+  void forEachRange_respectsTheDefaultGrain() throws InterruptedException {
+    List<int[]> ranges = new RangeOperation(8).ranges(0, 800, 400);
+
+    assertEquals(2, ranges.size());
+  }
+
+  @Test
+  void setGrainSize_overridesTheOperationDefault() throws InterruptedException {
+    var operation = new RangeOperation(1);
+    operation.setGrainSize(10);
+
+    assertTrue(operation.ranges(0, 100, 50).stream().allMatch(range -> range[1] - range[0] <= 10));
+    assertThrows(IllegalArgumentException.class, () -> operation.setGrainSize(-1));
+  }
+
+  @Test
+  void taskTimingListener_receivesEveryTask() throws InterruptedException {
+    var operation = new RangeOperation(2);
+    operation.setGrainSize(25);
+    AtomicInteger timed = new AtomicInteger();
+    operation.setTaskTimingListener(
+        (source, elapsedNanos) -> {
+          assertSame(operation, source);
+          assertTrue(elapsedNanos >= 0);
+          timed.incrementAndGet();
+        });
+
+    operation.ranges(0, 100, 1);
+    operation.runAndWait(List.of(() -> {}, () -> {}));
+
+    assertEquals(6, timed.get());
+  }
+}
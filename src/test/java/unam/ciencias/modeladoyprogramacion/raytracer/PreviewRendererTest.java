@@ -0,0 +1,89 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.PointLight;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.SurfaceLight;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Sphere;
+
+class PreviewRendererTest {
+  private Scene scene;
+
+  @BeforeEach
+  void setup() {
+    Camera camera =
+        new Camera(
+            new Vector3D(0, 0, 5),
+            new Vector3D(0, 0, -1),
+            new Vector3D(0, 1, 0),
+            60.0,
+            1.0);
+    scene =
+        new Scene.Builder()
+            .camera(camera)
+            .addMaterial(new Material("mat1", new Vector3D(1, 0, 0), 0.8, 0.5, 32.0, 0.0))
+            .addPrimitive(new Sphere("sphere1", "mat1", new Vector3D(0, 0, 0), 1.0))
+            .addLight(new PointLight(new Vector3D(1, 1, 1), 1.0, new Vector3D(5, 5, 5)))
+            .addLight(
+                new SurfaceLight(
+                    new Vector3D(1, 1, 1),
+                    1.0,
+                    new Vector3D(0, 5, 0),
+                    new Vector3D(0, -1, 0),
+                    2.0,
+                    2.0,
+                    16))
+            .imageSize(101, 75)
+            .samplesPerPixel(8)
+            .backgroundColor(new Vector3D(0, 0, 1))
+            .build();
+  }
+
+  @Test
+  void constructor_rejectsUnsupportedFactor() {
+    assertThrows(IllegalArgumentException.class, () -> new PreviewRenderer(scene, 1, 3));
+    assertThrows(IllegalArgumentException.class, () -> new PreviewRenderer(scene, 1, 1));
+  }
+
+  @Test
+  void constructor_throwsOnNullScene() {
+    assertThrows(IllegalArgumentException.class, () -> new PreviewRenderer(null, 1, 2));
+  }
+
+  @Test
+  void render_producesImageWithTargetDimensions() {
+    for (int factor : PreviewRenderer.SUPPORTED_FACTORS) {
+      Image preview = new PreviewRenderer(scene, 2, factor).render();
+      assertEquals(75, preview.getRows());
+      assertEquals(101, preview.getColumns());
+    }
+  }
+
+  @Test
+  void buildPreviewScene_keepsFramingAndReducesQuality() {
+    Scene preview = new PreviewRenderer(scene, 1, 4).buildPreviewScene();
+
+    assertSame(scene.getCamera(), preview.getCamera());
+    assertEquals(scene.getImageWidth(), preview.getImageWidth());
+    assertEquals(scene.getImageHeight(), preview.getImageHeight());
+    assertEquals(1, preview.getSamplesPerPixel());
+    assertEquals(scene.getPrimitives(), preview.getPrimitives());
+
+    SurfaceLight surface = (SurfaceLight) preview.getLights().get(1);
+    assertEquals(PreviewRenderer.MAX_SHADOW_SAMPLES_PER_LIGHT, surface.getSamples());
+    assertSame(scene.getLights().get(0), preview.getLights().get(0));
+  }
+
+  @Test
+  void render_matchesFullRenderFraming() {
+    Image preview = new PreviewRenderer(scene, 1, 2).render();
+    Image full = new RayTracer(scene.toBuilder().samplesPerPixel(1).build()).render();
+
+    // Las esquinas son fondo y el centro es la esfera en ambos renders
+    assertEquals(full.getValue(0, 0), preview.getValue(0, 0));
+    assertEquals(full.getValue(74, 100), preview.getValue(74, 100));
+    assertNotEquals(0x0000FF, preview.getValue(37, 50));
+  }
+}
@@ -0,0 +1,67 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RayOrderTest {
+
+  @Test
+  void coherent_returnsPermutation() {
+    Random random = new Random(7);
+    List<Ray> rays = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      rays.add(
+          new Ray(
+              new Vector3D(random.nextDouble(), random.nextDouble(), random.nextDouble()),
+              new Vector3D(
+                  random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5)));
+    }
+
+    int[] order = RayOrder.coherent(rays);
+    int[] sorted = order.clone();
+    Arrays.sort(sorted);
+
+    int[] identity = new int[rays.size()];
+    Arrays.setAll(identity, i -> i);
+    assertArrayEquals(identity, sorted);
+  }
+
+  @Test
+  void coherent_groupsByDirectionOctant() {
+    Vector3D origin = new Vector3D(0, 0, 0);
+    Ray down = new Ray(origin, new Vector3D(0.1, -1, 0.1));
+    Ray up = new Ray(origin, new Vector3D(0.1, 1, 0.1));
+    List<Ray> rays = List.of(down, up, down, up);
+
+    int[] order = RayOrder.coherent(rays);
+
+    // Octantes iguales quedan juntos y en su orden original
+    assertArrayEquals(new int[] {1, 3, 0, 2}, order);
+  }
+
+  @Test
+  void coherent_groupsByOriginCell() {
+    Vector3D direction = new Vector3D(0, 0, -1);
+    List<Ray> rays =
+        List.of(
+            new Ray(new Vector3D(10, 10, 10), direction),
+            new Ray(new Vector3D(0, 0, 0), direction),
+            new Ray(new Vector3D(9.9, 10, 10), direction),
+            new Ray(new Vector3D(0.1, 0, 0), direction));
+
+    assertArrayEquals(new int[] {1, 3, 2, 0}, RayOrder.coherent(rays));
+  }
+
+  @Test
+  void coherent_handlesSmallBatches() {
+    assertArrayEquals(new int[0], RayOrder.coherent(List.of()));
+    assertArrayEquals(
+        new int[] {0},
+        RayOrder.coherent(List.of(new Ray(new Vector3D(0, 0, 0), new Vector3D(1, 0, 0)))));
+  }
+}
@@ -0,0 +1,133 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Sphere;
+
+class RayPacketTest {
+  private static final Vector3D EYE = new Vector3D(0, 0, 5);
+
+  @Test
+  void constructor_rejectsEmptyOrOversizedPackets() {
+    assertThrows(IllegalArgumentException.class, () -> new RayPacket(List.of()));
+    assertThrows(IllegalArgumentException.class, () -> new RayPacket(null));
+    List<Ray> tooMany =
+        Collections.nCopies(RayPacket.MAX_SIZE + 1, new Ray(EYE, new Vector3D(0, 0, -1)));
+    assertThrows(IllegalArgumentException.class, () -> new RayPacket(tooMany));
+  }
+
+  @Test
+  void constructor_rejectsRaysWithDifferentOrigins() {
+    List<Ray> rays =
+        List.of(
+            new Ray(EYE, new Vector3D(0, 0, -1)),
+            new Ray(new Vector3D(1, 0, 5), new Vector3D(0, 0, -1)));
+    assertThrows(IllegalArgumentException.class, () -> new RayPacket(rays));
+  }
+
+  @Test
+  void constructor_storesNormalizedDirections() {
+    RayPacket packet = new RayPacket(List.of(new Ray(EYE, new Vector3D(0, 3, -4))));
+
+    assertEquals(0.0, packet.directionX()[0]);
+    assertEquals(0.6, packet.directionY()[0], 1e-12);
+    assertEquals(-0.8, packet.directionZ()[0], 1e-12);
+    assertEquals(-1, packet.hitPrimitive(0));
+    assertEquals(Double.POSITIVE_INFINITY, packet.distance(0));
+  }
+
+  @Test
+  void record_keepsFirstOfEqualDistances() {
+    RayPacket packet = new RayPacket(List.of(new Ray(EYE, new Vector3D(0, 0, -1))));
+
+    packet.record(0, 3.0, 2);
+    packet.record(0, 3.0, 5);
+    packet.record(0, 4.0, 6);
+    assertEquals(2, packet.hitPrimitive(0));
+
+    packet.record(0, 1.0, 7);
+    assertEquals(7, packet.hitPrimitive(0));
+    assertEquals(1.0, packet.distance(0));
+
+    packet.reset();
+    assertEquals(-1, packet.hitPrimitive(0));
+  }
+
+  @Test
+  void split_preservesRayOrder() {
+    List<Ray> rays = grid(4, 0.01);
+    RayPacket packet = new RayPacket(rays);
+
+    List<RayPacket> halves = packet.split();
+
+    assertEquals(2, halves.size());
+    assertEquals(8, halves.get(0).size());
+    assertEquals(rays.get(0), halves.get(0).ray(0));
+    assertEquals(rays.get(8), halves.get(1).ray(0));
+
+    RayPacket single = new RayPacket(rays.subList(0, 1));
+    assertEquals(List.of(single), single.split());
+  }
+
+  @Test
+  void isCoherent_dependsOnDirectionSpread() {
+    assertTrue(new RayPacket(grid(4, 0.01)).isCoherent());
+    assertFalse(new RayPacket(grid(4, 0.5)).isCoherent());
+  }
+
+  @Test
+  void mayHitSphere_cullsSpheresOutsideTheCone() {
+    RayPacket packet = new RayPacket(grid(4, 0.01));
+
+    assertTrue(packet.mayHitSphere(0, 0, 0, 1));
+    assertFalse(packet.mayHitSphere(5, 0, 0, 1));
+    // Detrás de la cámara
+    assertFalse(packet.mayHitSphere(0, 0, 10, 1));
+    // La esfera contiene a la cámara
+    assertTrue(packet.mayHitSphere(0, 0, 6, 2));
+  }
+
+  @Test
+  void mayHitSphere_neverCullsASphereHitByAnyRay() {
+    Random random = new Random(7);
+    for (int trial = 0; trial < 500; trial++) {
+      RayPacket packet = new RayPacket(grid(4, 0.002 + random.nextDouble() * 0.05));
+      Sphere sphere =
+          new Sphere(
+              "s",
+              "mat",
+              new Vector3D(
+                  random.nextDouble() * 4 - 2, random.nextDouble() * 4 - 2, random.nextDouble() * -10),
+              0.01 + random.nextDouble() * 0.5);
+      boolean hit = false;
+      for (int lane = 0; lane < packet.size(); lane++) {
+        hit |= sphere.intersect(packet.ray(lane)).isPresent();
+      }
+      if (hit) {
+        Vector3D center = sphere.getCenter();
+        assertTrue(
+            packet.mayHitSphere(center.getX(), center.getY(), center.getZ(), sphere.getRadius()));
+      }
+    }
+  }
+
+  /** Rayos desde {@link #EYE} hacia una rejilla de {@code side x side} puntos en z = 4. */
+  private static List<Ray> grid(int side, double spacing) {
+    List<Ray> rays = new ArrayList<>();
+    for (int row = 0; row < side; row++) {
+      for (int col = 0; col < side; col++) {
+        rays.add(
+            new Ray(
+                EYE,
+                new Vector3D(
+                    (col - (side - 1) / 2.0) * spacing, (row - (side - 1) / 2.0) * spacing, -1)));
+      }
+    }
+    return rays;
+  }
+}
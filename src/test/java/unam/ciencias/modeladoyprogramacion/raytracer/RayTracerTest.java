@@ -4,15 +4,34 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import unam.ciencias.modeladoyprogramacion.raytracer.lights.PointLight;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.SurfaceLight;
+import unam.ciencias.modeladoyprogramacion.raytracer.materials.PhongMaterialStrategy;
+import unam.ciencias.modeladoyprogramacion.raytracer.metrics.RenderMetrics;
 import unam.ciencias.modeladoyprogramacion.raytracer.observers.RenderProgressListener;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Plane;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Primitive;
 import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Sphere;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.SphereSet;
 
 @ExtendWith(MockitoExtension.class)
 class RayTracerTest {
@@ -69,6 +88,800 @@ class RayTracerTest {
     assertEquals(100, result.getColumns());
   }
 
+  @Test
+  void render_withDownscaleFactor_producesReducedImage() {
+    RayTracer tracer = new RayTracer(scene, 2);
+    Image result = tracer.render(8);
+    assertEquals(13, result.getRows());
+    assertEquals(13, result.getColumns());
+  }
+
+  @Test
+  void render_throwsOnInvalidDownscaleFactor() {
+    RayTracer tracer = new RayTracer(scene);
+    assertThrows(IllegalArgumentException.class, () -> tracer.render(0));
+  }
+
+  @Test
+  void render_recordsStatsAtTargetQuality() {
+    RayTracer tracer = new RayTracer(scene, 2);
+    tracer.render();
+
+    RenderStats stats = tracer.getLastRenderStats().orElseThrow();
+    assertEquals(16, stats.tiles()); // 100x100 en tiles de 32
+    assertTrue(stats.isFullQuality());
+    assertEquals(new RenderQuality(1, 3), stats.lowest());
+    assertNull(stats.timeBudget());
+  }
+
+  @Test
+  void render_withTightTimeBudget_degradesQualityInsteadOfOverrunning() {
+    Scene expensive = scene.toBuilder().samplesPerPixel(256).maxBounces(5).build();
+    Duration budget = Duration.ofMillis(100);
+    // El primer render carga y compila las clases; se mide el segundo
+    RayTracer warmUp = new RayTracer(expensive, 2);
+    warmUp.setTimeBudget(budget);
+    warmUp.render();
+    RayTracer tracer = new RayTracer(expensive, 2);
+    tracer.setTimeBudget(budget);
+
+    Image result = tracer.render();
+
+    RenderStats stats = tracer.getLastRenderStats().orElseThrow();
+    assertEquals(100, result.getRows());
+    assertEquals(budget, stats.timeBudget());
+    assertFalse(stats.isFullQuality());
+    assertTrue(stats.lowest().cost() < stats.target().cost());
+    // Cota holgada: con la máquina cargada el render puede pasarse del presupuesto
+    assertTrue(stats.elapsed().compareTo(budget.multipliedBy(50)) < 0, stats.toString());
+  }
+
+  @Test
+  void render_withGenerousTimeBudget_rendersEveryTileAtFullQuality() {
+    Scene sampled = scene.toBuilder().samplesPerPixel(4).build();
+    RayTracer tracer = new RayTracer(sampled, 2);
+    tracer.setTimeBudget(Duration.ofMinutes(1));
+
+    Image result = tracer.render();
+
+    // Los tiles de calibración se vuelven a renderizar con todas las muestras
+    RenderStats stats = tracer.getLastRenderStats().orElseThrow();
+    assertTrue(stats.isFullQuality(), stats.toString());
+    assertEquals(16, stats.tiles());
+    assertEquals(new RayTracer(sampled, 2).render(), result);
+  }
+
+  @Test
+  void setTimeBudget_rejectsNonPositiveDuration() {
+    RayTracer tracer = new RayTracer(scene);
+    assertThrows(IllegalArgumentException.class, () -> tracer.setTimeBudget(Duration.ZERO));
+  }
+
+  @Test
+  void render_withJitteredSamplesAndSoftShadows_isDeterministic() {
+    Scene noisy =
+        scene.toBuilder()
+            .samplesPerPixel(4)
+            .addLight(
+                new SurfaceLight(
+                    new Vector3D(1, 1, 1),
+                    1.0,
+                    new Vector3D(0, 5, 0),
+                    new Vector3D(0, -1, 0),
+                    2.0,
+                    2.0,
+                    9))
+            .build();
+
+    Image first = new RayTracer(noisy, 1).render();
+    Image second = new RayTracer(noisy, 3).render();
+
+    assertEquals(first, second);
+  }
+
+  @Test
+  void renderTile_matchesSameRegionOfFullRender() {
+    Scene noisy = scene.toBuilder().samplesPerPixel(4).build();
+    RayTracer tracer = new RayTracer(noisy, 2);
+    Image full = tracer.render();
+    Tile tile = new Tile(7, 40, 20, 30, 12);
+
+    int[] pixels = tracer.renderTile(tile);
+
+    assertEquals(tile.pixelCount(), pixels.length);
+    for (int row = 0; row < tile.height(); row++) {
+      for (int col = 0; col < tile.width(); col++) {
+        assertEquals(
+            full.getValue(tile.y() + row, tile.x() + col).intValue(),
+            pixels[row * tile.width() + col]);
+      }
+    }
+  }
+
+  @Test
+  void render_withPacketTracing_matchesSingleRays() {
+    Scene noisy =
+        scene.toBuilder()
+            .samplesPerPixel(3)
+            .addPrimitive(
+                new Sphere("sphere2", "mat1", new Vector3D(1.2, -0.5, -1), 0.6))
+            .addLight(
+                new SurfaceLight(
+                    new Vector3D(1, 1, 1),
+                    1.0,
+                    new Vector3D(0, 5, 0),
+                    new Vector3D(0, -1, 0),
+                    2.0,
+                    2.0,
+                    4))
+            .build();
+    RayTracer packets = new RayTracer(noisy, 2);
+    RayTracer singleRays = new RayTracer(noisy, 2);
+    singleRays.setPacketTracing(false);
+
+    assertEquals(singleRays.render(), packets.render());
+    assertEquals(singleRays.render(3), packets.render(3));
+    Tile tile = new Tile(0, 13, 9, 21, 7);
+    assertArrayEquals(singleRays.renderTile(tile), packets.renderTile(tile));
+  }
+
+  @Test
+  void render_withWavefrontIntegrator_matchesRecursive() {
+    Scene reflective =
+        scene.toBuilder()
+            .samplesPerPixel(2)
+            .addMaterial(
+                new Material(
+                    "glass",
+                    new PhongMaterialStrategy(
+                        "glass",
+                        new Vector3D(0.9, 0.9, 1),
+                        0.2,
+                        0.8,
+                        64.0,
+                        0.3,
+                        0.6,
+                        1.5,
+                        new Vector3D(0.1, 0.1, 0.1))))
+            .addMaterial(new Material("mirror", new Vector3D(0.8, 0.8, 0.8), 0.3, 0.5, 16.0, 0.7))
+            .addPrimitive(new Sphere("glass1", "glass", new Vector3D(1.2, -0.5, 1), 0.6))
+            .addPrimitive(new Sphere("mirror1", "mirror", new Vector3D(-1.5, 0.5, -1), 0.8))
+            .build();
+    RayTracer recursive = new RayTracer(reflective, 2);
+    RayTracer wavefront = new RayTracer(reflective, 2);
+    wavefront.setIntegrator(Integrator.WAVEFRONT);
+
+    // Sin luces de superficie el sombreado no usa números aleatorios: la imagen es la misma
+    assertEquals(recursive.render(), wavefront.render());
+    assertEquals(recursive.render(3), wavefront.render(3));
+    Tile tile = new Tile(0, 13, 9, 21, 7);
+    assertArrayEquals(recursive.renderTile(tile), wavefront.renderTile(tile));
+  }
+
+  @Test
+  void render_withWavefrontIntegrator_isDeterministic() {
+    Scene noisy =
+        scene.toBuilder()
+            .samplesPerPixel(2)
+            .addLight(
+                new SurfaceLight(
+                    new Vector3D(1, 1, 1),
+                    1.0,
+                    new Vector3D(0, 5, 0),
+                    new Vector3D(0, -1, 0),
+                    2.0,
+                    2.0,
+                    4))
+            .build();
+    RayTracer oneThread = new RayTracer(noisy, 1);
+    RayTracer fourThreads = new RayTracer(noisy, 4);
+    oneThread.setIntegrator(Integrator.WAVEFRONT);
+    fourThreads.setIntegrator(Integrator.WAVEFRONT);
+
+    assertEquals(oneThread.render(), fourThreads.render());
+  }
+
+  @Test
+  void render_withPathIntegrator_matchesRecursiveWithoutSecondaryRays() {
+    Scene noisy =
+        scene.toBuilder()
+            .samplesPerPixel(2)
+            .addPrimitive(new Sphere("sphere2", "mat1", new Vector3D(1.2, -0.5, -1), 0.6))
+            .build();
+    RayTracer recursive = new RayTracer(noisy, 2);
+    RayTracer path = new RayTracer(noisy, 2);
+    path.setIntegrator(Integrator.PATH);
+
+    // Sin rayos secundarios cada camino aporta exactamente el color local
+    assertEquals(recursive.render(), path.render());
+    assertEquals(recursive.render(3), path.render(3));
+  }
+
+  @Test
+  void render_withPathIntegrator_approximatesRecursive() {
+    Scene reflective =
+        scene.toBuilder()
+            .addMaterial(new Material("mirror", new Vector3D(0.5, 0.5, 0.5), 0.3, 0.2, 16.0, 0.5))
+            .addPrimitive(new Sphere("mirror1", "mirror", new Vector3D(-1.5, 0.5, -1), 0.8))
+            .addPrimitive(new Sphere("mirror2", "mirror", new Vector3D(1.5, -0.5, -1), 0.8))
+            .build();
+    RayTracer recursive = new RayTracer(reflective, 2);
+    RayTracer path = new RayTracer(reflective, 2);
+    path.setIntegrator(Integrator.PATH);
+
+    // Los reflejos se suman con otro orden de operaciones; sólo cambia el redondeo
+    int[] expected = recursive.render().toPixels();
+    int[] actual = path.render().toPixels();
+    assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      for (int shift = 0; shift <= 16; shift += 8) {
+        assertTrue(Math.abs((expected[i] >> shift & 0xFF) - (actual[i] >> shift & 0xFF)) <= 1);
+      }
+    }
+  }
+
+  @Test
+  void render_withIndirectDiffuse_bleedsColorOntoFloor() {
+    Scene direct = floorScene(false);
+    Scene indirect = floorScene(true);
+
+    Image withoutBounce = new RayTracer(direct, 2).render();
+    Image withBounce = new RayTracer(indirect, 2).render();
+
+    // El piso blanco junto a la esfera roja recibe luz roja rebotada
+    int[] before = withoutBounce.toPixels();
+    int[] after = withBounce.toPixels();
+    long redGain = 0;
+    long greenGain = 0;
+    for (int i = 0; i < before.length; i++) {
+      redGain += (after[i] >> 16 & 0xFF) - (before[i] >> 16 & 0xFF);
+      greenGain += (after[i] >> 8 & 0xFF) - (before[i] >> 8 & 0xFF);
+    }
+    assertTrue(redGain > greenGain, "red=" + redGain + " green=" + greenGain);
+    assertTrue(greenGain >= 0);
+    assertTrue(indirect.getIrradianceCache().size() > 0);
+    assertEquals(0, direct.getIrradianceCache().size());
+  }
+
+  @Test
+  void render_withCausticPhotons_brightensTheShadowOfAGlassSphere() {
+    Material glass =
+        new Material(
+            "glass",
+            new PhongMaterialStrategy(
+                "glass", new Vector3D(1, 1, 1), 0.0, 0.5, 100, 0.0, 1.0, 1.5, null));
+    Scene plain =
+        floorScene(false).toBuilder()
+            .clearLights()
+            .addLight(new PointLight(new Vector3D(1, 1, 1), 1.0, new Vector3D(1.8, 6, 1)))
+            .addMaterial(glass)
+            .addPrimitive(new Sphere("glass1", "glass", new Vector3D(1.8, 0.5, 1), 1.0))
+            .maxBounces(5)
+            .build();
+    Scene caustic = plain.toBuilder().causticPhotons(20000).build();
+
+    int[] without = new RayTracer(plain, 2).render().toPixels();
+    int[] with = new RayTracer(caustic, 2).render().toPixels();
+
+    // Sólo cambian los puntos del piso donde caen fotones, y sólo se aclaran
+    long gain = 0;
+    for (int i = 0; i < without.length; i++) {
+      int difference = (with[i] >> 8 & 0xFF) - (without[i] >> 8 & 0xFF);
+      assertTrue(difference >= 0);
+      gain += difference;
+    }
+    assertTrue(gain > 0, "gain=" + gain);
+    assertTrue(caustic.getCausticPhotonMap().size() > 0);
+  }
+
+  @Test
+  void render_withDenoising_approachesManySamples() {
+    Scene fewSamples = softShadowScene(4);
+    Image reference = new RayTracer(softShadowScene(32), 2).render();
+    RayTracer denoising = new RayTracer(fewSamples, 2);
+    denoising.setDenoising(true);
+
+    double noisyError = rootMeanSquareError(new RayTracer(fewSamples, 2).render(), reference);
+    double denoisedError = rootMeanSquareError(denoising.render(), reference);
+
+    assertTrue(denoisedError < noisyError * 0.7, noisyError + " -> " + denoisedError);
+  }
+
+  @Test
+  void render_withDenoising_capturesTheSameGuidesForEveryIntegrator() {
+    // Sin luces de superficie todos los integradores producen el mismo color
+    Scene noisy = floorScene(false).toBuilder().samplesPerPixel(2).build();
+    List<Image> images = new ArrayList<>();
+    for (Integrator integrator : Integrator.values()) {
+      for (boolean packets : new boolean[] {true, false}) {
+        RayTracer tracer = new RayTracer(noisy, 3);
+        tracer.setIntegrator(integrator);
+        tracer.setPacketTracing(packets);
+        tracer.setDenoising(true);
+        images.add(tracer.render());
+      }
+    }
+
+    // Si los buffers auxiliares coinciden, la imagen filtrada también
+    RayTracer plain = new RayTracer(noisy, 3);
+    assertNotEquals(plain.render(), images.get(0));
+    for (Image image : images) {
+      assertEquals(images.get(0), image);
+    }
+  }
+
+  @Test
+  void render_withAuxiliaryOutputs_recordsTheFirstHitOfEachPixel() {
+    Scene floor = floorScene(false);
+    RayTracer tracer = new RayTracer(floor, 2);
+    tracer.setAuxiliaryOutputs(true);
+
+    Image image = tracer.render();
+    AuxiliaryBuffers buffers = tracer.getLastAuxiliaryBuffers().orElseThrow();
+
+    // Primitivas en orden de la escena y materiales en orden alfabético: floor, mat1
+    int center = 20 * 40 + 20;
+    assertEquals(0, buffers.getPrimitiveId(center));
+    assertEquals(1, buffers.getMaterialId(center));
+    assertEquals(4, buffers.getDepth(center), 1e-2);
+    assertEquals(1, buffers.getNormal(center, 2), 1e-2);
+    assertEquals(1, buffers.getAlbedo(center, 0), 1e-6);
+    // La fila 0 es la parte baja de la imagen: ve el piso; la última ve el fondo
+    assertEquals(1, buffers.getPrimitiveId(20));
+    assertEquals(0, buffers.getMaterialId(20));
+    assertEquals(1, buffers.getNormal(20, 1), 1e-3);
+    int top = 39 * 40 + 20;
+    assertEquals(-1, buffers.getPrimitiveId(top));
+    assertFalse(buffers.isSurface(top));
+    // Capturar los buffers no cambia el color
+    assertEquals(new RayTracer(floor, 2).render(), image);
+  }
+
+  @Test
+  void render_withAuxiliaryOutputs_givesEachPackedSphereItsOwnId() {
+    // Dos esferas con el mismo material empacadas en un conjunto, como las deja SceneLoader
+    Scene packed =
+        new Scene.Builder()
+            .camera(
+                new Camera(
+                    new Vector3D(0, 0, 5),
+                    new Vector3D(0, 0, -1),
+                    new Vector3D(0, 1, 0),
+                    60.0,
+                    1.0))
+            .addMaterial(new Material("mat1", new Vector3D(1, 0, 0), 0.8, 0.5, 32.0, 0.0))
+            .addLight(new PointLight(new Vector3D(1, 1, 1), 1.0, new Vector3D(5, 5, 5)))
+            .addPrimitive(
+                new SphereSet(
+                    "spheres:mat1",
+                    "mat1",
+                    List.of(
+                        new Sphere("left", "mat1", new Vector3D(-1, 0, 0), 0.8),
+                        new Sphere("right", "mat1", new Vector3D(1, 0, 0), 0.8))))
+            .imageSize(40, 40)
+            .build();
+    RayTracer tracer = new RayTracer(packed, 2);
+    tracer.setAuxiliaryOutputs(true);
+
+    tracer.render();
+    AuxiliaryBuffers buffers = tracer.getLastAuxiliaryBuffers().orElseThrow();
+
+    int left = 20 * 40 + 13;
+    int right = 20 * 40 + 27;
+    assertEquals(0, buffers.getPrimitiveId(left));
+    assertEquals(1, buffers.getPrimitiveId(right));
+    assertEquals(buffers.getMaterialId(left), buffers.getMaterialId(right));
+  }
+
+  @Test
+  void render_withoutAuxiliaryOutputs_keepsNoBuffers() {
+    RayTracer tracer = new RayTracer(scene);
+    tracer.setDenoising(true);
+
+    tracer.render();
+
+    assertTrue(tracer.getLastAuxiliaryBuffers().isEmpty());
+  }
+
+  @Test
+  void render_withPathIntegrator_isDeterministic() {
+    Scene noisy =
+        scene.toBuilder()
+            .samplesPerPixel(2)
+            .addMaterial(new Material("mirror", new Vector3D(0.5, 0.5, 0.5), 0.3, 0.2, 16.0, 0.5))
+            .addPrimitive(new Sphere("mirror1", "mirror", new Vector3D(-1.5, 0.5, -1), 0.8))
+            .addLight(
+                new SurfaceLight(
+                    new Vector3D(1, 1, 1),
+                    1.0,
+                    new Vector3D(0, 5, 0),
+                    new Vector3D(0, -1, 0),
+                    2.0,
+                    2.0,
+                    4))
+            .build();
+    RayTracer oneThread = new RayTracer(noisy, 1);
+    RayTracer fourThreads = new RayTracer(noisy, 4);
+    oneThread.setIntegrator(Integrator.PATH);
+    fourThreads.setIntegrator(Integrator.PATH);
+
+    assertEquals(oneThread.render(), fourThreads.render());
+  }
+
+  @Test
+  void render_withProfiling_recordsEveryTile() {
+    RayTracer tracer = new RayTracer(scene, 2);
+    tracer.setProfiling(true);
+
+    tracer.render();
+
+    RenderProfile profile = tracer.getLastRenderProfile().orElseThrow();
+    assertEquals(100, profile.getWidth());
+    assertEquals(100, profile.getHeight());
+    assertEquals(Tile.split(100, 100, 32).size(), profile.getTiles().size());
+    for (TileTiming timing : profile.getTiles()) {
+      assertTrue(timing.nanos() > 0);
+      // Al menos un rayo primario por píxel
+      assertTrue(timing.rays() >= timing.tile().pixelCount());
+    }
+  }
+
+  @Test
+  void render_withProfiling_countsSameRaysForEveryIntegrator() {
+    Scene reflective =
+        scene.toBuilder()
+            .addMaterial(new Material("mirror", new Vector3D(0.5, 0.5, 0.5), 0.3, 0.2, 16.0, 0.5))
+            .addPrimitive(new Sphere("mirror1", "mirror", new Vector3D(-1.5, 0.5, -1), 0.8))
+            .build();
+    long[] totals = new long[Integrator.values().length];
+    for (Integrator integrator : Integrator.values()) {
+      RayTracer tracer = new RayTracer(reflective, 2);
+      tracer.setIntegrator(integrator);
+      tracer.setProfiling(true);
+      tracer.render();
+      totals[integrator.ordinal()] =
+          tracer.getLastRenderProfile().orElseThrow().getTiles().stream()
+              .mapToLong(TileTiming::rays)
+              .sum();
+    }
+
+    // Primarios, de sombra y reflejados, aunque el integrador los trace desde otros hilos
+    assertTrue(totals[0] > 100 * 100);
+    assertEquals(totals[0], totals[1]);
+    assertEquals(totals[0], totals[2]);
+  }
+
+  @Test
+  void render_feedsMetrics() {
+    RenderMetrics metrics = new RenderMetrics();
+    RayTracer tracer = new RayTracer(scene, 2);
+    tracer.setMetrics(metrics);
+    tracer.setProfiling(true);
+
+    tracer.render();
+
+    assertEquals(Tile.split(100, 100, 32).size(), metrics.getTilesCompleted());
+    assertEquals(100 * 100, metrics.getSamplesTotal());
+    assertEquals(
+        tracer.getLastRenderProfile().orElseThrow().getTiles().stream()
+            .mapToLong(TileTiming::rays)
+            .sum(),
+        metrics.getRaysTotal());
+    assertEquals(0, metrics.getTilesInFlight());
+    assertEquals(0, metrics.getQueueDepth());
+    assertEquals(1, metrics.getRendersCompleted());
+
+    tracer.renderTile(new Tile(0, 10, 10, 20, 20));
+    assertEquals(Tile.split(100, 100, 32).size() + 1, metrics.getTilesCompleted());
+    assertEquals(100 * 100 + 20 * 20, metrics.getSamplesTotal());
+  }
+
+  @Test
+  void render_cancelled_drainsQueueDepth() {
+    RenderMetrics metrics = new RenderMetrics();
+    RayTracer tracer = new RayTracer(scene, 1);
+    tracer.setMetrics(metrics);
+    List<Runnable> workers = new ArrayList<>();
+
+    RenderJob job = tracer.renderAsync(workers::add);
+    assertEquals(Tile.split(100, 100, 32).size(), metrics.getQueueDepth());
+    job.cancel();
+    workers.forEach(Runnable::run);
+
+    assertEquals(0, metrics.getQueueDepth());
+    assertEquals(0, metrics.getTilesInFlight());
+    assertEquals(0, metrics.getRendersCompleted());
+  }
+
+  @Test
+  void setMetrics_rejectsNull() {
+    RayTracer tracer = new RayTracer(scene);
+    assertThrows(IllegalArgumentException.class, () -> tracer.setMetrics(null));
+  }
+
+  @Test
+  void render_withoutProfiling_hasNoProfile() {
+    RayTracer tracer = new RayTracer(scene, 2);
+    tracer.render();
+    assertTrue(tracer.getLastRenderProfile().isEmpty());
+  }
+
+  @Test
+  void setIntegrator_rejectsNull() {
+    RayTracer tracer = new RayTracer(scene);
+    assertThrows(IllegalArgumentException.class, () -> tracer.setIntegrator(null));
+  }
+
+  @Test
+  void renderTile_rejectsTileOutsideImage() {
+    RayTracer tracer = new RayTracer(scene);
+    assertThrows(IllegalArgumentException.class, () -> tracer.renderTile(new Tile(0, 90, 0, 20, 10)));
+    assertThrows(IllegalArgumentException.class, () -> tracer.renderTile(null));
+  }
+
+  @Test
+  void render_withVirtualThreads_matchesPlatformThreads() {
+    Image platform = new RayTracer(scene, 4).render();
+    Image virtual = new RayTracer(scene, 4, ExecutionStrategy.virtualThreads()).render();
+
+    // Con una muestra por píxel el render es determinista
+    assertEquals(platform, virtual);
+  }
+
+  @Test
+  void setExecutionStrategy_rejectsNull() {
+    RayTracer tracer = new RayTracer(scene);
+    assertThrows(IllegalArgumentException.class, () -> tracer.setExecutionStrategy(null));
+  }
+
+  @Test
+  void renderAsync_completesWithRenderedImage() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      RenderJob job = new RayTracer(scene, 2).renderAsync(executor);
+
+      Image result = job.join();
+
+      assertEquals(100, result.getRows());
+      assertEquals(100, result.getColumns());
+      assertTrue(job.isDone());
+      assertEquals(1.0, job.getProgress());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void renderAsync_cancel_stopsWorkersAtTileBoundary() {
+    AtomicReference<RenderJob> jobRef = new AtomicReference<>();
+    // Cancelar desde el primer rayo, dentro del primer tile
+    Primitive trigger =
+        new Primitive("trigger", "mat1") {
+          @Override
+          public Optional<Double> intersect(Ray ray) {
+            jobRef.get().cancel();
+            return Optional.empty();
+          }
+
+          @Override
+          public Vector3D getNormalAt(Vector3D point) {
+            return point;
+          }
+        };
+    RayTracer tracer = new RayTracer(scene.toBuilder().addPrimitive(trigger).build(), 1);
+    RenderProgressListener listener = mock(RenderProgressListener.class);
+    tracer.addProgressListener(listener);
+    List<Runnable> pending = new ArrayList<>();
+
+    RenderJob job = tracer.renderAsync(pending::add);
+    jobRef.set(job);
+    pending.forEach(Runnable::run);
+    job.listenersNotified().join();
+
+    assertTrue(job.isCancelled());
+    assertThrows(CancellationException.class, job::join);
+    assertEquals(32 * 32, job.getPixelsCompleted()); // Termina el tile en curso y se detiene
+    assertTrue(tracer.getLastRenderStats().isEmpty());
+    verify(listener).onProgress(argThat(progress -> progress.pixelsRendered() == 32 * 32));
+    verify(listener, never()).onRenderComplete();
+  }
+
+  @Test
+  void render_deliversFinalProgressBeforeComplete() {
+    RayTracer tracer = new RayTracer(scene, 2);
+    tracer.addProgressListener(mockListener);
+
+    tracer.render();
+
+    InOrder inOrder = inOrder(mockListener);
+    inOrder.verify(mockListener).onRenderStart(10000);
+    inOrder
+        .verify(mockListener)
+        .onProgress(
+            argThat(
+                progress ->
+                    progress.pixelsRendered() == 10000
+                        && progress.tilesCompleted() == progress.totalTiles()
+                        && progress.raysTraced() > 0));
+    inOrder.verify(mockListener).onRenderComplete();
+  }
+
+  @Test
+  void render_notifiesListenersFromProgressThread() {
+    List<String> threads = new CopyOnWriteArrayList<>();
+    RayTracer tracer = new RayTracer(scene, 2);
+    tracer.addProgressListener(
+        new RenderProgressListener() {
+          @Override
+          public void onProgressUpdate(int pixelsRendered, int totalPixels) {
+            threads.add(Thread.currentThread().getName());
+          }
+
+          @Override
+          public void onTileCompleted(int tileId) {
+            threads.add(Thread.currentThread().getName());
+          }
+
+          @Override
+          public void onRenderStart(int totalPixels) {}
+
+          @Override
+          public void onRenderComplete() {
+            threads.add(Thread.currentThread().getName());
+          }
+        });
+
+    tracer.render();
+
+    assertFalse(threads.isEmpty());
+    assertTrue(threads.stream().allMatch(ProgressReporter.THREAD_NAME::equals));
+  }
+
+  @Test
+  void renderAsync_slowListener_doesNotStallWorkers() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    RayTracer tracer = new RayTracer(scene, 2);
+    tracer.addProgressListener(
+        new RenderProgressListener() {
+          @Override
+          public void onProgressUpdate(int pixelsRendered, int totalPixels) {
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+
+          @Override
+          public void onTileCompleted(int tileId) {}
+
+          @Override
+          public void onRenderStart(int totalPixels) {}
+
+          @Override
+          public void onRenderComplete() {}
+        });
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      RenderJob job = tracer.renderAsync(executor);
+
+      // El render termina aunque el listener siga bloqueado
+      assertEquals(100, job.future().get(10, TimeUnit.SECONDS).getRows());
+      release.countDown();
+      job.listenersNotified().get(10, TimeUnit.SECONDS);
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void render_blockedListener_doesNotHoldResultOrOtherRenders() {
+    CountDownLatch release = new CountDownLatch(1);
+    RayTracer blocked = new RayTracer(scene, 2);
+    blocked.addProgressListener(
+        new RenderProgressListener() {
+          @Override
+          public void onProgressUpdate(int pixelsRendered, int totalPixels) {
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+
+          @Override
+          public void onTileCompleted(int tileId) {}
+
+          @Override
+          public void onRenderStart(int totalPixels) {}
+
+          @Override
+          public void onRenderComplete() {}
+        });
+    try {
+      // render() regresa aunque el listener nunca termine
+      Image image =
+          assertTimeoutPreemptively(
+              ProgressReporter.FINAL_NOTIFICATION_TIMEOUT.plusSeconds(10), () -> blocked.render());
+      assertEquals(100, image.getRows());
+
+      // Otro render entrega su progreso aunque el primero siga bloqueado
+      RayTracer other = new RayTracer(scene, 2);
+      other.addProgressListener(mockListener);
+      other.render();
+      verify(mockListener).onRenderComplete();
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void render_manyRendersWithListeners_shareOneReporterThread() {
+    for (int i = 0; i < 4; i++) {
+      RayTracer tracer = new RayTracer(scene, 2);
+      tracer.addProgressListener(mock(RenderProgressListener.class));
+      tracer.render();
+    }
+
+    // getAllStackTraces sólo incluye hilos de plataforma
+    long reporters =
+        Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals(ProgressReporter.THREAD_NAME))
+            .count();
+    assertEquals(1, reporters);
+  }
+
+  @Test
+  void render_failingListener_doesNotStopOtherListeners() {
+    RenderProgressListener failing = mock(RenderProgressListener.class);
+    doThrow(new IllegalStateException("boom")).when(failing).onProgress(any());
+    RayTracer tracer = new RayTracer(scene);
+    tracer.addProgressListener(failing);
+    tracer.addProgressListener(mockListener);
+
+    Image image = tracer.render();
+
+    assertEquals(100, image.getRows());
+    verify(mockListener).onProgress(argThat(progress -> progress.pixelsRendered() == 10000));
+    verify(failing).onRenderComplete();
+  }
+
+  @Test
+  void renderAsync_partialImage_keepsUnrenderedPixelsBlack() {
+    List<Runnable> pending = new ArrayList<>();
+    RenderJob job = new RayTracer(scene).renderAsync(pending::add);
+
+    job.cancel();
+    pending.forEach(Runnable::run);
+
+    Image partial = job.getPartialImage();
+    assertEquals(100, partial.getRows());
+    assertEquals(100, partial.getColumns());
+    assertEquals(0, job.getPixelsCompleted());
+    assertEquals(0, partial.getValue(50, 50));
+  }
+
+  @Test
+  void renderAsync_throwsOnNullExecutor() {
+    RayTracer tracer = new RayTracer(scene);
+    assertThrows(IllegalArgumentException.class, () -> tracer.renderAsync(null));
+  }
+
+  @Test
+  void renderAsync_rejectedByExecutor_failsJob() {
+    RenderJob job =
+        new RayTracer(scene, 2)
+            .renderAsync(
+                runnable -> {
+                  throw new RejectedExecutionException("shut down");
+                });
+
+    assertTrue(job.isDone());
+    CompletionException e = assertThrows(CompletionException.class, job::join);
+    assertInstanceOf(RejectedExecutionException.class, e.getCause());
+  }
+
   // ==================== TESTS CON MOCKITO ====================
 
   @Test
@@ -113,13 +926,26 @@ class RayTracerTest {
 
   @Test
   void render_notifiesProgressListener_duringRendering() {
+    // Un listener que sólo implementa onProgressUpdate la recibe por el método por defecto
+    RenderProgressListener listener = mock(RenderProgressListener.class, CALLS_REAL_METHODS);
     RayTracer tracer = new RayTracer(scene);
-    tracer.addProgressListener(mockListener);
+    tracer.addProgressListener(listener);
 
     tracer.render();
 
     // Debe notificar progreso al menos una vez
-    verify(mockListener, atLeastOnce()).onProgressUpdate(anyInt(), eq(10000));
+    verify(listener, atLeastOnce()).onProgressUpdate(anyInt(), eq(10000));
+  }
+
+  @Test
+  void render_notifiesProgressListener_withRenderProgress() {
+    RayTracer tracer = new RayTracer(scene);
+    tracer.addProgressListener(mockListener);
+
+    tracer.render();
+
+    verify(mockListener, atLeastOnce())
+        .onProgress(argThat(progress -> progress.totalPixels() == 10000));
   }
 
   @Test
@@ -160,4 +986,58 @@ class RayTracerTest {
     verify(listener2, times(1)).onRenderStart(anyInt());
     verify(listener2, times(1)).onRenderComplete();
   }
+
+  /** La esfera roja del escenario base sobre un piso blanco. */
+  private Scene floorScene(boolean indirectDiffuse) {
+    Material floor =
+        new Material(
+            "floor",
+            new PhongMaterialStrategy(
+                "floor",
+                new Vector3D(1, 1, 1),
+                0.8,
+                0.0,
+                1.0,
+                0.0,
+                0.0,
+                1.0,
+                new Vector3D(0.1, 0.1, 0.1),
+                indirectDiffuse));
+    return scene.toBuilder()
+        .addMaterial(floor)
+        .addPrimitive(new Plane("floor", "floor", new Vector3D(0, -1, 0), new Vector3D(0, 1, 0)))
+        .imageSize(40, 40)
+        .build();
+  }
+
+  /** Piso bajo la esfera con una luz de superficie de una muestra: el ruido depende de spp. */
+  private Scene softShadowScene(int samplesPerPixel) {
+    return floorScene(false).toBuilder()
+        .clearLights()
+        .addLight(
+            new SurfaceLight(
+                new Vector3D(1, 1, 1),
+                1.0,
+                new Vector3D(0, 4, 0),
+                new Vector3D(0, -1, 0),
+                3.0,
+                3.0,
+                1))
+        .samplesPerPixel(samplesPerPixel)
+        .imageSize(96, 96)
+        .build();
+  }
+
+  private static double rootMeanSquareError(Image image, Image reference) {
+    int[] actual = image.toPixels();
+    int[] expected = reference.toPixels();
+    double sum = 0;
+    for (int i = 0; i < actual.length; i++) {
+      for (int shift = 0; shift <= 16; shift += 8) {
+        double difference = (actual[i] >> shift & 0xFF) - (expected[i] >> shift & 0xFF);
+        sum += difference * difference;
+      }
+    }
+    return Math.sqrt(sum / (3.0 * actual.length));
+  }
 }
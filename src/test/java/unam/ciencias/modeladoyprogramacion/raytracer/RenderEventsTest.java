@@ -0,0 +1,95 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests de los eventos de JDK Flight Recorder del ray tracer.
+ *
+ * @author Cristopher Carrada
+ */
+class RenderEventsTest {
+  private static final String SCENE =
+      """
+      {
+        "imageWidth": 70,
+        "imageHeight": 40,
+        "camera": {"position": [0, 0, 5], "direction": [0, 0, -1], "fov": 60},
+        "materials": [
+          {"id": "red", "color": [1, 0, 0], "diffuse": 0.8, "specular": 0.5,
+           "specularHardness": 32, "reflectivity": 0.0}
+        ],
+        "primitives": [
+          {"type": "sphere", "position": [-1, 0, 0], "radius": 1, "materialId": "red"},
+          {"type": "sphere", "position": [1, 0, 0], "radius": 1, "materialId": "red"},
+          {"type": "plane", "position": [0, -1, 0], "normal": [0, 1, 0], "materialId": "red"}
+        ],
+        "lights": [
+          {"type": "point", "position": [5, 5, 5], "color": [1, 1, 1], "intensity": 1.0}
+        ]
+      }
+      """;
+
+  @TempDir Path tempDir;
+
+  @Test
+  void loadAndRender_emitEventsWhenRecording() throws IOException {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable("unam.raytracer.SceneLoad");
+      recording.enable("unam.raytracer.AccelerationBuild");
+      recording.enable("unam.raytracer.TileRender");
+      recording.start();
+
+      Scene scene = new SceneLoader().loadFromString(SCENE);
+      new RayTracer(scene, 2).render();
+
+      recording.stop();
+      Path file = tempDir.resolve("render.jfr");
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+    }
+
+    RecordedEvent load = single(events, "unam.raytracer.SceneLoad");
+    assertEquals("<string>", load.getString("source"));
+    assertEquals(2, load.getInt("primitives"));
+    assertEquals(70, load.getInt("imageWidth"));
+
+    RecordedEvent build = single(events, "unam.raytracer.AccelerationBuild");
+    assertEquals(3, build.getInt("inputPrimitives"));
+    assertEquals(2, build.getInt("outputPrimitives"));
+    assertEquals(2, build.getInt("packedSpheres"));
+
+    List<RecordedEvent> tiles = named(events, "unam.raytracer.TileRender");
+    // 70x40 en tiles de 32: 3 columnas por 2 filas
+    assertEquals(6, tiles.size());
+    long pixels = 0;
+    for (RecordedEvent tile : tiles) {
+      long area = (long) tile.getInt("width") * tile.getInt("height");
+      pixels += area;
+      assertEquals(area, tile.getLong("samples"));
+      assertTrue(tile.getLong("rays") >= area);
+      assertEquals("RECURSIVE", tile.getString("integrator"));
+      assertNotNull(tile.getThread());
+    }
+    assertEquals(70 * 40, pixels);
+  }
+
+  private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+    return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+  }
+
+  private static RecordedEvent single(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> matching = named(events, name);
+    assertEquals(1, matching.size());
+    return matching.get(0);
+  }
+}
@@ -0,0 +1,66 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CancellationException;
+import org.junit.jupiter.api.Test;
+
+class RenderJobTest {
+
+  @Test
+  void setPixel_updatesPartialImage_andProgressCountsPerTile() {
+    RenderJob job = new RenderJob(4, 2);
+
+    job.setPixel(1, 3, 0xFF0000);
+    job.setPixel(0, 0, 0x00FF00);
+    assertEquals(0, job.getPixelsCompleted()); // El progreso avanza al terminar el tile
+    assertEquals(2, job.addPixelsCompleted(2));
+
+    assertEquals(8, job.getTotalPixels());
+    assertEquals(0.25, job.getProgress());
+    Image partial = job.getPartialImage();
+    assertEquals(0xFF0000, partial.getValue(1, 3));
+    assertEquals(0x00FF00, partial.getValue(0, 0));
+    assertEquals(0, partial.getValue(0, 1));
+  }
+
+  @Test
+  void complete_exposesImageThroughFuture() {
+    RenderJob job = new RenderJob(2, 2);
+    job.setPixel(0, 1, 0x0000FF);
+
+    job.complete();
+
+    assertTrue(job.isDone());
+    assertEquals(0x0000FF, job.future().join().getValue(0, 1));
+  }
+
+  @Test
+  void cancel_preventsCompletion() {
+    RenderJob job = new RenderJob(2, 2);
+
+    assertTrue(job.cancel());
+    job.complete();
+
+    assertTrue(job.isCancelled());
+    assertThrows(CancellationException.class, job::join);
+  }
+
+  @Test
+  void cancel_afterCompletion_returnsFalse() {
+    RenderJob job = new RenderJob(1, 1);
+    job.complete();
+
+    assertFalse(job.cancel());
+    assertFalse(job.isCancelled());
+  }
+
+  @Test
+  void futureCancellation_cancelsJob() {
+    RenderJob job = new RenderJob(1, 1);
+
+    job.future().cancel(true);
+
+    assertTrue(job.isCancelled());
+  }
+}
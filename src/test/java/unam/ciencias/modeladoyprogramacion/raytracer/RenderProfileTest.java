@@ -0,0 +1,64 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RenderProfileTest {
+  private final TileTiming fast = new TileTiming(new Tile(1, 2, 0, 2, 2), 0, 4);
+  private final TileTiming slow = new TileTiming(new Tile(0, 0, 0, 2, 2), 4_000_000, 40);
+
+  @Test
+  void constructor_sortsTilesById() {
+    RenderProfile profile = new RenderProfile(4, 2, List.of(fast, slow));
+    assertEquals(List.of(slow, fast), profile.getTiles());
+  }
+
+  @Test
+  void constructor_rejectsInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new RenderProfile(0, 2, List.of()));
+    assertThrows(IllegalArgumentException.class, () -> new RenderProfile(4, 2, null));
+  }
+
+  @Test
+  void toHeatmap_paintsSlowestTileWhiteAndIdleTileBlack() {
+    int[] pixels = new RenderProfile(4, 2, List.of(fast, slow)).toHeatmap().toPixels();
+
+    assertArrayEquals(
+        new int[] {
+          0xFFFFFF, 0xFFFFFF, 0x000000, 0x000000,
+          0xFFFFFF, 0xFFFFFF, 0x000000, 0x000000
+        },
+        pixels);
+  }
+
+  @Test
+  void toHeatmap_interpolatesPalette() {
+    TileTiming half = new TileTiming(new Tile(1, 2, 0, 2, 2), 2_000_000, 4);
+    int[] pixels = new RenderProfile(4, 2, List.of(slow, half)).toHeatmap().toPixels();
+
+    // La mitad de la escala cae en verde
+    assertEquals(0x00FF00, pixels[2]);
+  }
+
+  @Test
+  void writeCsv_writesOneLinePerTile() throws IOException {
+    StringWriter writer = new StringWriter();
+    new RenderProfile(4, 2, List.of(fast, slow)).writeCsv(writer);
+
+    assertEquals(
+        "tile,x,y,width,height,millis,rays,nanos_per_pixel,rays_per_pixel\n"
+            + "0,0,0,2,2,4.000,40,1000000.0,10.00\n"
+            + "1,2,0,2,2,0.000,4,0.0,1.00\n",
+        writer.toString());
+  }
+
+  @Test
+  void tileTiming_averagesPerPixel() {
+    assertEquals(1_000_000.0, slow.nanosPerPixel());
+    assertEquals(10.0, slow.raysPerPixel());
+  }
+}
@@ -0,0 +1,46 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class SampleRandomTest {
+
+  private static double[] sequence(long seed, int row, int col) {
+    SampleRandom.seedPixel(seed, row, col);
+    double[] values = new double[8];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = SampleRandom.nextDouble();
+    }
+    return values;
+  }
+
+  @Test
+  void seedPixel_makesSequenceReproducible() {
+    assertArrayEquals(sequence(42, 3, 7), sequence(42, 3, 7));
+  }
+
+  @Test
+  void seedPixel_isIndependentOfThread() {
+    double[] local = sequence(42, 10, 20);
+    double[] other = CompletableFuture.supplyAsync(() -> sequence(42, 10, 20)).join();
+
+    assertArrayEquals(local, other);
+  }
+
+  @Test
+  void seedPixel_differentPixelsGiveDifferentSequences() {
+    assertNotEquals(sequence(42, 3, 7)[0], sequence(42, 7, 3)[0]);
+    assertNotEquals(sequence(42, 0, 0)[0], sequence(43, 0, 0)[0]);
+  }
+
+  @Test
+  void nextDouble_staysInUnitInterval() {
+    SampleRandom.seedPixel(1, 0, 0);
+    for (int i = 0; i < 10_000; i++) {
+      double value = SampleRandom.nextDouble();
+      assertTrue(value >= 0.0 && value < 1.0);
+    }
+  }
+}
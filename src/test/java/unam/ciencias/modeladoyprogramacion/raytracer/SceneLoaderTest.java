@@ -3,7 +3,12 @@ package unam.ciencias.modeladoyprogramacion.raytracer;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.IOException;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Plane;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Primitive;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Sphere;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.SphereSet;
 
 /**
  * Tests para SceneLoader.
@@ -186,4 +191,103 @@ class SceneLoaderTest {
     assertEquals(800, scene.getImageWidth());
     assertEquals(600, scene.getImageHeight());
   }
+
+  @Test
+  void loadFromString_packsSpheresThatShareAMaterial() throws IOException {
+    String json =
+        """
+        {
+          "camera": {
+            "position": [0, 0, 5],
+            "direction": [0, 0, -1],
+            "up": [0, 1, 0],
+            "fov": 60
+          },
+          "primitives": [
+            {"type": "sphere", "name": "a", "position": [0, 0, 0], "materialId": "red"},
+            {"type": "plane", "name": "floor", "materialId": "red"},
+            {"type": "sphere", "name": "b", "position": [2, 0, 0], "materialId": "blue"},
+            {"type": "sphere", "name": "c", "position": [4, 0, 0], "materialId": "red"},
+            {"type": "sphere", "name": "d", "position": [6, 0, 0], "materialId": "red"}
+          ]
+        }
+        """;
+
+    Scene scene = new SceneLoader().loadFromString(json);
+
+    List<Primitive> primitives = scene.getPrimitives();
+    assertEquals(3, primitives.size());
+    SphereSet red = assertInstanceOf(SphereSet.class, primitives.get(0));
+    assertEquals("red", red.getMaterialId());
+    assertEquals(3, red.size());
+    assertInstanceOf(Plane.class, primitives.get(1));
+    assertInstanceOf(Sphere.class, primitives.get(2));
+  }
+
+  @Test
+  void loadFromString_parsesIndirectDiffuse() throws IOException {
+    String json =
+        """
+        {
+          "camera": {
+            "position": [0, 0, 5],
+            "direction": [0, 0, -1],
+            "up": [0, 1, 0],
+            "fov": 60
+          },
+          "materials": [
+            {"id": "plain", "color": [1, 1, 1]},
+            {"id": "bounce", "color": [1, 1, 1], "indirectDiffuse": true}
+          ]
+        }
+        """;
+
+    Scene scene = new SceneLoader().loadFromString(json);
+
+    assertFalse(scene.getMaterialStrategy("plain").orElseThrow().usesIrradianceCache());
+    assertTrue(scene.getMaterialStrategy("bounce").orElseThrow().usesIrradianceCache());
+    assertTrue(scene.usesIrradianceCache());
+  }
+
+  @Test
+  void loadFromString_parsesCausticPhotons() throws IOException {
+    String json =
+        """
+        {
+          "causticPhotons": 50000,
+          "camera": {
+            "position": [0, 0, 5],
+            "direction": [0, 0, -1],
+            "up": [0, 1, 0],
+            "fov": 60
+          }
+        }
+        """;
+
+    Scene scene = new SceneLoader().loadFromString(json);
+
+    assertEquals(50000, scene.getCausticPhotons());
+    assertTrue(scene.usesCausticPhotons());
+    assertEquals(50000, scene.toBuilder().build().getCausticPhotons());
+  }
+
+  @Test
+  void loadFromString_withoutCausticPhotons_disablesThem() throws IOException {
+    String json =
+        """
+        {
+          "camera": {
+            "position": [0, 0, 5],
+            "direction": [0, 0, -1],
+            "up": [0, 1, 0],
+            "fov": 60
+          }
+        }
+        """;
+
+    Scene scene = new SceneLoader().loadFromString(json);
+
+    assertEquals(0, scene.getCausticPhotons());
+    assertFalse(scene.usesCausticPhotons());
+  }
 }
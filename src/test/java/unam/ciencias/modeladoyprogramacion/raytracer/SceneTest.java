@@ -2,13 +2,17 @@ package unam.ciencias.modeladoyprogramacion.raytracer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import unam.ciencias.modeladoyprogramacion.raytracer.lights.PointLight;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Box;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Plane;
 import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Primitive;
 import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Sphere;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.SphereSet;
 
 class SceneTest {
   private Camera camera;
@@ -73,6 +77,17 @@ class SceneTest {
     assertFalse(scene.getMaterial("unknown").isPresent());
   }
 
+  @Test
+  void getMaterialIds_isSortedAlphabetically() {
+    Scene scene =
+        new Scene.Builder()
+            .camera(camera)
+            .addMaterial(material)
+            .addMaterial(new Material("floor", new Vector3D(1, 1, 1), 0.8, 0.0, 1.0, 0.0))
+            .build();
+    assertEquals(List.of("floor", "mat1"), scene.getMaterialIds());
+  }
+
   @Test
   void intersect_findsClosestPrimitive() {
     Sphere sphere1 = new Sphere("sphere1", "mat1", new Vector3D(0, 0, 0), 1.0);
@@ -100,6 +115,54 @@ class SceneTest {
     assertFalse(hit.isPresent());
   }
 
+  @Test
+  void intersectPacket_matchesSingleRayIntersections() {
+    Scene scene =
+        new Scene.Builder()
+            .camera(camera)
+            .addPrimitive(new Plane("floor", "mat1", new Vector3D(0, -1, 0), new Vector3D(0, 1, 0)))
+            .addPrimitive(new Sphere("sphere", "mat1", new Vector3D(0, 0, 0), 1.0))
+            .addPrimitive(
+                new SphereSet(
+                    "spheres",
+                    "mat1",
+                    List.of(
+                        new Sphere("a", "mat1", new Vector3D(-1.5, 0, -1), 0.5),
+                        new Sphere("b", "mat1", new Vector3D(1.5, 0.5, -2), 0.7))))
+            .addPrimitive(new Box("box", "mat1", new Vector3D(0.5, -1, 0.5), 1, 1, 1))
+            .build();
+    Vector3D eye = new Vector3D(0, 0, 5);
+
+    // Paquetes coherentes de 4x4 que barren la escena, más uno muy divergente que se divide
+    for (double spacing : new double[] {0.01, 0.05, 0.8}) {
+      for (double y = -0.4; y <= 0.4; y += 0.13) {
+        for (double x = -0.6; x <= 0.6; x += 0.11) {
+          List<Ray> rays = new ArrayList<>();
+          for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+              rays.add(new Ray(eye, new Vector3D(x + col * spacing, y + row * spacing, -1)));
+            }
+          }
+
+          List<Optional<Intersection>> hits = scene.intersect(new RayPacket(rays));
+
+          assertEquals(rays.size(), hits.size());
+          for (int lane = 0; lane < rays.size(); lane++) {
+            Optional<Intersection> expected = scene.intersect(rays.get(lane));
+            Optional<Intersection> actual = hits.get(lane);
+            assertEquals(expected.isPresent(), actual.isPresent());
+            if (expected.isPresent()) {
+              assertSame(expected.get().getPrimitive(), actual.get().getPrimitive());
+              assertEquals(expected.get().getDistance(), actual.get().getDistance());
+              assertEquals(expected.get().getPoint(), actual.get().getPoint());
+              assertEquals(expected.get().getNormal(), actual.get().getNormal());
+            }
+          }
+        }
+      }
+    }
+  }
+
   @Test
   void getPrimitives_returnsDefensiveCopy() {
     Scene scene = new Scene.Builder().camera(camera).build();
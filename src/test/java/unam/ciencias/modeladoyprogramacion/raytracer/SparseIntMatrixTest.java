@@ -0,0 +1,69 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SparseIntMatrixTest {
+
+  private static final IntMatrix DENSE = new IntMatrix(new int[][] {{0, 3, 0}, {0, 0, 0}, {5, 0, -1}});
+
+  @Test
+  void fromDense_storesOnlyNonZeros() {
+    SparseIntMatrix sparse = SparseIntMatrix.fromDense(DENSE);
+
+    assertEquals(3, sparse.nonZeros());
+    assertArrayEquals(new int[] {0, 1, 1, 3}, sparse.rowPointers());
+    assertArrayEquals(new int[] {1, 0, 2}, sparse.columnIndices());
+    assertArrayEquals(new int[] {3, 5, -1}, sparse.values());
+    assertEquals(3.0 / 9, sparse.density());
+  }
+
+  @Test
+  void toDense_roundTrips() {
+    assertEquals(DENSE, SparseIntMatrix.fromDense(DENSE).toDense());
+  }
+
+  @Test
+  void getValue_returnsZeroForMissingElements() {
+    SparseIntMatrix sparse = SparseIntMatrix.fromDense(DENSE);
+
+    assertEquals(3, sparse.getValue(0, 1));
+    assertEquals(0, sparse.getValue(1, 1));
+    assertEquals(-1, sparse.getValue(2, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> sparse.getValue(3, 0));
+  }
+
+  @Test
+  void copyRow_expandsZeros() {
+    int[] row = {9, 9, 9, 9};
+
+    SparseIntMatrix.fromDense(DENSE).copyRow(2, row);
+
+    assertArrayEquals(new int[] {5, 0, -1, 9}, row);
+  }
+
+  @Test
+  void constructor_rejectsInvalidArrays() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new SparseIntMatrix(2, 2, new int[] {0, 1}, new int[] {0}, new int[] {1}));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new SparseIntMatrix(1, 2, new int[] {0, 2}, new int[] {1, 0}, new int[] {1, 1}));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new SparseIntMatrix(1, 2, new int[] {0, 1}, new int[] {2}, new int[] {1}));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new SparseIntMatrix(2, 2, new int[] {0, 1, 0}, new int[] {0}, new int[] {1}));
+  }
+
+  @Test
+  void emptyMatrix_hasNoElements() {
+    SparseIntMatrix sparse = new SparseIntMatrix(2, 3);
+
+    assertEquals(0, sparse.nonZeros());
+    assertEquals(new IntMatrix(2, 3), sparse.toDense());
+  }
+}
@@ -0,0 +1,32 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TileTest {
+
+  @Test
+  void split_coversImageWithoutOverlap() {
+    List<Tile> tiles = Tile.split(70, 40, 32);
+
+    assertEquals(6, tiles.size());
+    assertEquals(70 * 40, tiles.stream().mapToInt(Tile::pixelCount).sum());
+    assertEquals(new Tile(2, 64, 0, 6, 32), tiles.get(2));
+    assertEquals(new Tile(5, 64, 32, 6, 8), tiles.get(5));
+  }
+
+  @Test
+  void split_assignsSequentialIds() {
+    List<Tile> tiles = Tile.split(100, 100, 16);
+    for (int i = 0; i < tiles.size(); i++) {
+      assertEquals(i, tiles.get(i).id());
+    }
+  }
+
+  @Test
+  void split_rejectsNonPositiveTileSize() {
+    assertThrows(IllegalArgumentException.class, () -> Tile.split(10, 10, 0));
+  }
+}
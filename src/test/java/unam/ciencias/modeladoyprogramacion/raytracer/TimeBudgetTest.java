@@ -0,0 +1,98 @@
+package unam.ciencias.modeladoyprogramacion.raytracer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class TimeBudgetTest {
+  private static final RenderQuality TARGET = new RenderQuality(16, 4);
+  private static final Tile TILE = new Tile(0, 0, 0, 32, 32);
+  private static final Tile SECOND_TILE = new Tile(1, 32, 0, 32, 32);
+
+  @Test
+  void constructor_rejectsNonPositiveBudget() {
+    assertThrows(IllegalArgumentException.class, () -> new TimeBudget(Duration.ZERO, TARGET, 1));
+    assertThrows(IllegalArgumentException.class, () -> new TimeBudget(null, TARGET, 1));
+  }
+
+  @Test
+  void nextQuality_usesCheapCalibrationFirst() {
+    TimeBudget budget = new TimeBudget(Duration.ofSeconds(10), TARGET, 2);
+    budget.start();
+
+    assertEquals(new RenderQuality(1, 4), budget.nextQuality(TILE, 1000));
+  }
+
+  @Test
+  void nextQuality_keepsTargetWhenTimeIsAmple() throws InterruptedException {
+    TimeBudget budget = new TimeBudget(Duration.ofHours(1), TARGET, 1);
+    budget.start();
+    Thread.sleep(5);
+    budget.recordTile(TILE, new RenderQuality(1, 4));
+
+    assertEquals(TARGET, budget.nextQuality(SECOND_TILE, 10_000));
+  }
+
+  @Test
+  void nextQuality_degradesWhenRunningLate() throws InterruptedException {
+    TimeBudget budget = new TimeBudget(Duration.ofMillis(50), TARGET, 1);
+    budget.start();
+    Thread.sleep(20);
+    // Muy poco trabajo hecho en 20 ms: el resto no cabe a calidad completa
+    budget.recordTile(new Tile(0, 0, 0, 10, 1), new RenderQuality(1, 4));
+
+    RenderQuality quality = budget.nextQuality(SECOND_TILE, 1_000_000);
+    assertTrue(quality.cost() < TARGET.cost());
+  }
+
+  @Test
+  void nextQuality_returnsMinimumOnceBudgetIsExhausted() throws InterruptedException {
+    TimeBudget budget = new TimeBudget(Duration.ofMillis(1), TARGET, 1);
+    budget.start();
+    budget.recordTile(TILE, new RenderQuality(1, 4));
+    Thread.sleep(5);
+
+    assertEquals(RenderQuality.MINIMUM, budget.nextQuality(SECOND_TILE, 1000));
+  }
+
+  @Test
+  void nextRefinement_upgradesCalibrationTilesWhenTimeIsAmple() throws InterruptedException {
+    TimeBudget budget = new TimeBudget(Duration.ofHours(1), TARGET, 1);
+    budget.start();
+    RenderQuality calibration = budget.nextQuality(TILE, 2048);
+    assertNull(budget.nextRefinement());
+    Thread.sleep(5);
+    budget.recordTile(TILE, calibration);
+
+    TimeBudget.Refinement refinement = budget.nextRefinement();
+
+    assertEquals(TILE, refinement.tile());
+    assertEquals(TARGET, refinement.quality());
+    assertTrue(refinement.improves());
+    assertNull(budget.nextRefinement());
+  }
+
+  @Test
+  void nextRefinement_keepsCalibrationOnceBudgetIsExhausted() throws InterruptedException {
+    TimeBudget budget = new TimeBudget(Duration.ofMillis(1), TARGET, 1);
+    budget.start();
+    budget.recordTile(TILE, budget.nextQuality(TILE, 1024));
+    Thread.sleep(5);
+
+    assertFalse(budget.nextRefinement().improves());
+  }
+
+  @Test
+  void nextQuality_countsPendingCalibrationTilesAsRemainingWork() throws InterruptedException {
+    TimeBudget budget = new TimeBudget(Duration.ofMillis(200), TARGET, 1);
+    budget.start();
+    Tile large = new Tile(0, 0, 0, 1000, 1000);
+    budget.recordTile(large, budget.nextQuality(large, 1_000_100));
+    Thread.sleep(50);
+
+    // Sin contar el tile de calibración, 100 píxeles cabrían a calidad completa
+    RenderQuality quality = budget.nextQuality(new Tile(1, 0, 0, 10, 10), 100);
+    assertTrue(quality.cost() < TARGET.cost(), quality.toString());
+  }
+}
@@ -0,0 +1,149 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import unam.ciencias.modeladoyprogramacion.raytracer.Camera;
+import unam.ciencias.modeladoyprogramacion.raytracer.ExecutionStrategy;
+import unam.ciencias.modeladoyprogramacion.raytracer.Image;
+import unam.ciencias.modeladoyprogramacion.raytracer.Material;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayTracer;
+import unam.ciencias.modeladoyprogramacion.raytracer.RenderJob;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.PointLight;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Plane;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Sphere;
+
+/**
+ * Throughput de muchos renders pequeños simultáneos (miniaturas).
+ *
+ * <p>Cada invocación lanza {@value #RENDERS} renders de 64x64 al mismo tiempo, cada uno con
+ * {@code workers} workers, y espera a que terminen todos. El resultado se reporta en renders por
+ * segundo.
+ *
+ * <ul>
+ *   <li>{@code PLATFORM}: cada render corre en un hilo de plataforma y crea sus propios hilos de
+ *       plataforma (comportamiento histórico).
+ *   <li>{@code VIRTUAL}: cada render y cada worker es un hilo virtual; todos comparten los carrier
+ *       threads de la JVM.
+ *   <li>{@code SHARED_POOL}: los renders se lanzan con {@link RayTracer#renderAsync} sobre un pool
+ *       fijo de tamaño igual al número de núcleos.
+ * </ul>
+ *
+ * <p>Ejecutar con:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     org.openjdk.jmh.Main ConcurrentRenderBenchmark
+ * </pre>
+ *
+ * @author Cristopher Carrada
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConcurrentRenderBenchmark {
+  private static final int RENDERS = 1000;
+
+  @Param({"PLATFORM", "VIRTUAL", "SHARED_POOL"})
+  public String mode;
+
+  @Param({"4"})
+  public int workers;
+
+  private Scene scene;
+  private ExecutorService sharedPool;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Camera camera =
+        new Camera(
+            new Vector3D(0, 1, 5),
+            new Vector3D(0, -0.2, -1),
+            new Vector3D(0, 1, 0),
+            60.0,
+            1.0);
+    scene =
+        new Scene.Builder()
+            .camera(camera)
+            .addMaterial(new Material("red", new Vector3D(1, 0.2, 0.2), 0.8, 0.5, 32.0, 0.0))
+            .addMaterial(new Material("floor", new Vector3D(0.8, 0.8, 0.8), 0.9, 0.1, 8.0, 0.0))
+            .addPrimitive(new Sphere("sphere", "red", new Vector3D(0, 0, 0), 1.0))
+            .addPrimitive(
+                new Plane("floor", "floor", new Vector3D(0, -1, 0), new Vector3D(0, 1, 0)))
+            .addLight(new PointLight(new Vector3D(1, 1, 1), 1.0, new Vector3D(5, 5, 5)))
+            .imageSize(64, 64)
+            .samplesPerPixel(1)
+            .build();
+    sharedPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    sharedPool.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RENDERS)
+  public void concurrentThumbnails(Blackhole blackhole) throws InterruptedException {
+    switch (mode) {
+      case "PLATFORM" ->
+          renderFromCallers(Thread.ofPlatform().factory(), ExecutionStrategy.platformThreads(), blackhole);
+      case "VIRTUAL" ->
+          renderFromCallers(Thread.ofVirtual().factory(), ExecutionStrategy.virtualThreads(), blackhole);
+      case "SHARED_POOL" -> renderAsyncOnSharedPool(blackhole);
+      default -> throw new IllegalStateException("Unknown mode: " + mode);
+    }
+  }
+
+  /** Un hilo invocador por render, cada uno bloqueado en {@link RayTracer#render()}. */
+  private void renderFromCallers(
+      ThreadFactory callers, ExecutionStrategy strategy, Blackhole blackhole)
+      throws InterruptedException {
+    List<Thread> threads = new ArrayList<>(RENDERS);
+    for (int i = 0; i < RENDERS; i++) {
+      Thread caller =
+          callers.newThread(() -> blackhole.consume(new RayTracer(scene, workers, strategy).render()));
+      caller.start();
+      threads.add(caller);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+  }
+
+  /** Todos los renders comparten el pool y ningún hilo queda bloqueado esperando. */
+  private void renderAsyncOnSharedPool(Blackhole blackhole) {
+    List<RenderJob> jobs = new ArrayList<>(RENDERS);
+    for (int i = 0; i < RENDERS; i++) {
+      jobs.add(new RayTracer(scene, workers).renderAsync(sharedPool));
+    }
+    for (RenderJob job : jobs) {
+      Image image = job.join();
+      blackhole.consume(image);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.Matrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition.IntAdditionKernel;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition.MultiThreadedIntMatrixAddition;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition.MultiThreadedMatrixAddition;
+
+/**
+ * Suma de dos matrices cuadradas de {@code size x size} enteros con cada motor.
+ *
+ * <ul>
+ *   <li>{@code boxed}: {@link MultiThreadedMatrixAddition} sobre {@code Matrix<Integer>}.
+ *   <li>{@code scalar}: {@link MultiThreadedIntMatrixAddition} con el kernel escalar.
+ *   <li>{@code vector}: {@link MultiThreadedIntMatrixAddition} con el kernel de la Vector API.
+ * </ul>
+ *
+ * <p>Ejecutar con:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java --add-modules jdk.incubator.vector \
+ *     -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     org.openjdk.jmh.Main MatrixAdditionBenchmark
+ * </pre>
+ *
+ * @author Cristopher Carrada
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class MatrixAdditionBenchmark {
+
+  @Param({"256", "1024", "2048"})
+  public int size;
+
+  @Param({"1", "4"})
+  public int threads;
+
+  private Matrix<Integer> boxedA;
+  private Matrix<Integer> boxedB;
+  private IntMatrix a;
+  private IntMatrix b;
+  private MultiThreadedMatrixAddition<Integer> boxed;
+  private MultiThreadedIntMatrixAddition scalar;
+  private MultiThreadedIntMatrixAddition vector;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    a = new IntMatrix(size, size);
+    b = new IntMatrix(size, size);
+    for (int i = 0; i < a.size(); i++) {
+      a.data()[i] = random.nextInt();
+      b.data()[i] = random.nextInt();
+    }
+    boxedA = a.toMatrix();
+    boxedB = b.toMatrix();
+
+    boxed = new MultiThreadedMatrixAddition<>(threads, Integer::sum);
+    scalar = new MultiThreadedIntMatrixAddition(threads, IntAdditionKernel.scalar());
+    vector = new MultiThreadedIntMatrixAddition(threads, IntAdditionKernel.vector());
+  }
+
+  @Benchmark
+  public Matrix<Integer> boxed() {
+    return boxed.add(boxedA, boxedB);
+  }
+
+  @Benchmark
+  public IntMatrix scalar() {
+    return scalar.add(a, b);
+  }
+
+  @Benchmark
+  public IntMatrix vector() {
+    return vector.add(a, b);
+  }
+}
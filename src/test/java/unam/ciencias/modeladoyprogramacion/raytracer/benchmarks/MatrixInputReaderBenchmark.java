@@ -0,0 +1,96 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import unam.ciencias.modeladoyprogramacion.raytracer.Matrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition.IntMatrixAdditionInput;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition.IntMatrixAdditionInputReaderImpl;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition.MatrixAdditionInput;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition.MatrixAdditionInputReaderImpl;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition.ParallelIntMatrixAdditionInputReaderImpl;
+
+/**
+ * Lectura de la entrada de suma de matrices ({@code size x size}) con cada lector.
+ *
+ * <ul>
+ *   <li>{@code boxed}: {@link MatrixAdditionInputReaderImpl}, a {@link Matrix}{@code <Integer>}.
+ *   <li>{@code lines}: {@link IntMatrixAdditionInputReaderImpl}, por líneas con {@code split}.
+ *   <li>{@code bytes}: {@link ParallelIntMatrixAdditionInputReaderImpl}, byte por byte.
+ * </ul>
+ *
+ * <p>{@code threads} sólo afecta a {@code bytes}. La ventaja de {@code bytes} sobre {@code lines}
+ * viene de no construir cadenas y se ve con un hilo; cuánto escala con más hilos depende de los
+ * núcleos disponibles, así que se debe medir con {@code threads} de 1 hasta el número de núcleos.
+ *
+ * <p>Ejecutar con:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     org.openjdk.jmh.Main MatrixInputReaderBenchmark
+ * </pre>
+ *
+ * @author Cristopher Carrada
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatrixInputReaderBenchmark {
+
+  @Param({"256", "1024"})
+  public int size;
+
+  @Param({"1", "2", "4"})
+  public int threads;
+
+  private byte[] input;
+  private ParallelIntMatrixAdditionInputReaderImpl bytesReader;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    StringBuilder text = new StringBuilder(size + " " + size + "\n");
+    for (int matrix = 0; matrix < 2; matrix++) {
+      text.append('\n');
+      for (int row = 0; row < size; row++) {
+        for (int col = 0; col < size; col++) {
+          text.append(random.nextInt(2_000_001) - 1_000_000).append(' ');
+        }
+        text.append('\n');
+      }
+    }
+    input = text.toString().getBytes(StandardCharsets.UTF_8);
+    bytesReader = new ParallelIntMatrixAdditionInputReaderImpl(threads);
+  }
+
+  @Benchmark
+  public MatrixAdditionInput boxed() {
+    return new MatrixAdditionInputReaderImpl().read(new ByteArrayInputStream(input));
+  }
+
+  @Benchmark
+  public IntMatrixAdditionInput lines() {
+    return new IntMatrixAdditionInputReaderImpl().read(new ByteArrayInputStream(input));
+  }
+
+  @Benchmark
+  public IntMatrixAdditionInput bytes() {
+    return bytesReader.read(new ByteArrayInputStream(input));
+  }
+}
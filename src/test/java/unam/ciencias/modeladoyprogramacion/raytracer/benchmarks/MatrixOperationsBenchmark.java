@@ -0,0 +1,148 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.matrixoperations.ForkJoinIntMatrixOperations;
+
+/**
+ * Rendimiento de la multiplicación y la transposición por bloques contra los ciclos ingenuos.
+ *
+ * <p>Además de las operaciones por segundo, la columna {@code gflops} reporta miles de millones
+ * de operaciones aritméticas por segundo: {@code 2n³} por multiplicación (una multiplicación y
+ * una suma por término). Para la transposición, {@code gbytes} reporta GB/s movidos (leídos y
+ * escritos).
+ *
+ * <ul>
+ *   <li>{@code naive*}: triple ciclo {@code i-j-k} / doble ciclo sin bloques, un solo hilo.
+ *   <li>{@code blocked*}: {@link ForkJoinIntMatrixOperations} con {@code threads} hilos.
+ * </ul>
+ *
+ * <p>Ejecutar con:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     org.openjdk.jmh.Main MatrixOperationsBenchmark
+ * </pre>
+ *
+ * @author Cristopher Carrada
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatrixOperationsBenchmark {
+
+  @Param({"256", "512", "1024"})
+  public int size;
+
+  @Param({"1", "4"})
+  public int threads;
+
+  private IntMatrix a;
+  private IntMatrix b;
+  private ForkJoinIntMatrixOperations operations;
+
+  /** Operaciones aritméticas, en miles de millones; JMH las reporta por segundo. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Flops {
+    public double gflops;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      gflops = 0;
+    }
+  }
+
+  /** Bytes movidos, en miles de millones; JMH los reporta por segundo. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Bytes {
+    public double gbytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      gbytes = 0;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    a = new IntMatrix(size, size);
+    b = new IntMatrix(size, size);
+    for (int i = 0; i < a.size(); i++) {
+      a.data()[i] = random.nextInt(2001) - 1000;
+      b.data()[i] = random.nextInt(2001) - 1000;
+    }
+    operations = new ForkJoinIntMatrixOperations(threads);
+  }
+
+  @TearDown
+  public void tearDown() {
+    operations.close();
+  }
+
+  @Benchmark
+  public IntMatrix naiveMultiply(Flops work) {
+    int n = size;
+    int[] x = a.data();
+    int[] y = b.data();
+    int[] c = new int[n * n];
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        int sum = 0;
+        for (int k = 0; k < n; k++) {
+          sum += x[i * n + k] * y[k * n + j];
+        }
+        c[i * n + j] = sum;
+      }
+    }
+    work.gflops += 2.0 * n * n * n / 1e9;
+    return new IntMatrix(n, n, c);
+  }
+
+  @Benchmark
+  public IntMatrix blockedMultiply(Flops work) {
+    work.gflops += 2.0 * size * size * size / 1e9;
+    return operations.multiply(a, b);
+  }
+
+  @Benchmark
+  public IntMatrix naiveTranspose(Bytes work) {
+    int n = size;
+    int[] x = a.data();
+    int[] t = new int[n * n];
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        t[j * n + i] = x[i * n + j];
+      }
+    }
+    work.gbytes += 2.0 * Integer.BYTES * n * n / 1e9;
+    return new IntMatrix(n, n, t);
+  }
+
+  @Benchmark
+  public IntMatrix blockedTranspose(Bytes work) {
+    work.gbytes += 2.0 * Integer.BYTES * size * size / 1e9;
+    return operations.transpose(a);
+  }
+}
@@ -0,0 +1,137 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import unam.ciencias.modeladoyprogramacion.raytracer.Camera;
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayPacket;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayTracer;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+import unam.ciencias.modeladoyprogramacion.raytracer.SceneLoader;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+
+/**
+ * Rayos primarios de {@code examples/ray_tracer/complex_scene.json}, uno por uno o en paquetes de
+ * 4x4 píxeles.
+ *
+ * <p>Ambos benchmarks se ejecutan con {@code packetTracing=true} (paquetes) y {@code false}
+ * (rayo por rayo):
+ *
+ * <ul>
+ *   <li>{@code primaryRays}: sólo la intersección de los rayos primarios de un cuadro de {@value
+ *       #WIDTH}x{@value #HEIGHT}; el resultado es el tiempo por rayo.
+ *   <li>{@code render}: el cuadro completo a 1 muestra por píxel con {@link RayTracer}; el
+ *       resultado es el tiempo por cuadro.
+ * </ul>
+ *
+ * <p>Ejecutar desde la raíz del proyecto con:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java --add-modules jdk.incubator.vector \
+ *     -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     org.openjdk.jmh.Main PacketTracingBenchmark
+ * </pre>
+ *
+ * @author Cristopher Carrada
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class PacketTracingBenchmark {
+  private static final String SCENE = "examples/ray_tracer/complex_scene.json";
+  private static final int WIDTH = 320;
+  private static final int HEIGHT = 240;
+  private static final int PACKET_SIDE = 4;
+
+  @Param({"true", "false"})
+  public boolean packetTracing;
+
+  private Scene scene;
+  private Ray[] rays;
+  private RayPacket[] packets;
+  private RayTracer tracer;
+
+  @Setup
+  public void setUp() throws IOException {
+    scene =
+        new SceneLoader()
+            .loadFromFile(SCENE)
+            .toBuilder()
+            .imageSize(WIDTH, HEIGHT)
+            .samplesPerPixel(1)
+            .build();
+    tracer = new RayTracer(scene, 1);
+    tracer.setPacketTracing(packetTracing);
+
+    // Los mismos rayos que genera el ray tracer por el centro de cada píxel
+    Camera camera = scene.getCamera();
+    double viewportHeight = 2.0 * Math.tan(Math.toRadians(camera.getFov()) / 2.0);
+    double viewportWidth = viewportHeight * WIDTH / HEIGHT;
+    Vector3D w = camera.getDirection().negate();
+    Vector3D horizontal = camera.getUp().cross(w).normalize().multiply(viewportWidth);
+    Vector3D vertical = w.cross(camera.getUp().cross(w).normalize()).multiply(viewportHeight);
+    Vector3D origin = camera.getPosition();
+    Vector3D lowerLeft =
+        origin.subtract(horizontal.multiply(0.5)).subtract(vertical.multiply(0.5)).subtract(w);
+
+    rays = new Ray[WIDTH * HEIGHT];
+    List<RayPacket> packetList = new ArrayList<>();
+    for (int packetRow = 0; packetRow < HEIGHT; packetRow += PACKET_SIDE) {
+      for (int packetCol = 0; packetCol < WIDTH; packetCol += PACKET_SIDE) {
+        List<Ray> packet = new ArrayList<>();
+        for (int row = packetRow; row < packetRow + PACKET_SIDE; row++) {
+          for (int col = packetCol; col < packetCol + PACKET_SIDE; col++) {
+            Vector3D target =
+                lowerLeft
+                    .add(horizontal.multiply((col + 0.5) / WIDTH))
+                    .add(vertical.multiply((row + 0.5) / HEIGHT));
+            Ray ray = new Ray(origin, target.subtract(origin));
+            rays[row * WIDTH + col] = ray;
+            packet.add(ray);
+          }
+        }
+        packetList.add(new RayPacket(packet));
+      }
+    }
+    packets = packetList.toArray(RayPacket[]::new);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @OperationsPerInvocation(WIDTH * HEIGHT)
+  public void primaryRays(Blackhole blackhole) {
+    if (packetTracing) {
+      for (RayPacket packet : packets) {
+        blackhole.consume(scene.intersect(packet));
+      }
+    } else {
+      for (Ray ray : rays) {
+        blackhole.consume(scene.intersect(ray));
+      }
+    }
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Object render() {
+    return tracer.render();
+  }
+}
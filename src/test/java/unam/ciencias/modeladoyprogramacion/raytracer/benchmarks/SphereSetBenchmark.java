@@ -0,0 +1,120 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Primitive;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Sphere;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.SphereSet;
+
+/**
+ * Intersección de {@value #RAYS} rayos con una nube de {@code spheres} esferas.
+ *
+ * <ul>
+ *   <li>{@code individual}: una {@link Sphere} por esfera, recorridas como en {@code Scene}.
+ *   <li>{@code scalar}: {@link SphereSet} con el ciclo escalar.
+ *   <li>{@code vector}: {@link SphereSet} con la Vector API.
+ * </ul>
+ *
+ * <p>El resultado es el tiempo por rayo. Ejecutar con:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java --add-modules jdk.incubator.vector \
+ *     -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     org.openjdk.jmh.Main SphereSetBenchmark
+ * </pre>
+ *
+ * @author Cristopher Carrada
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class SphereSetBenchmark {
+  private static final int RAYS = 1024;
+
+  @Param({"16", "256", "4096"})
+  public int spheres;
+
+  private List<Primitive> individual;
+  private SphereSet scalar;
+  private SphereSet vector;
+  private Ray[] rays;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    List<Sphere> cloud = new ArrayList<>();
+    for (int i = 0; i < spheres; i++) {
+      Vector3D center =
+          new Vector3D(
+              random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+      cloud.add(new Sphere("s" + i, "mat", center, 0.05 + random.nextDouble() * 0.2));
+    }
+    individual = new ArrayList<>(cloud);
+    scalar = new SphereSet("cloud", "mat", cloud, false);
+    vector = new SphereSet("cloud", "mat", cloud, true);
+
+    rays = new Ray[RAYS];
+    Vector3D eye = new Vector3D(0, 0, 30);
+    for (int i = 0; i < RAYS; i++) {
+      Vector3D target =
+          new Vector3D(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10, 0);
+      rays[i] = new Ray(eye, target.subtract(eye).normalize());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RAYS)
+  public void individual(Blackhole blackhole) {
+    for (Ray ray : rays) {
+      Intersection closest = null;
+      for (Primitive primitive : individual) {
+        Optional<Intersection> hit =
+            primitive.intersect(
+                ray, closest == null ? Double.POSITIVE_INFINITY : closest.getDistance());
+        if (hit.isPresent()) {
+          closest = hit.get();
+        }
+      }
+      blackhole.consume(closest);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RAYS)
+  public void scalar(Blackhole blackhole) {
+    for (Ray ray : rays) {
+      blackhole.consume(scalar.intersect(ray, Double.POSITIVE_INFINITY));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RAYS)
+  public void vector(Blackhole blackhole) {
+    for (Ray ray : rays) {
+      blackhole.consume(vector.intersect(ray, Double.POSITIVE_INFINITY));
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import unam.ciencias.modeladoyprogramacion.raytracer.Image;
+import unam.ciencias.modeladoyprogramacion.raytracer.Integrator;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayTracer;
+import unam.ciencias.modeladoyprogramacion.raytracer.SceneLoader;
+
+/**
+ * Render de escenas con reflexión y refracción con cada {@link Integrator}: el recursivo, el de
+ * frentes de onda y el de caminos por etapas.
+ *
+ * <p>Ejecutar desde la raíz del proyecto con:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java --add-modules jdk.incubator.vector \
+ *     -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     org.openjdk.jmh.Main WavefrontBenchmark
+ * </pre>
+ *
+ * @author Cristopher Carrada
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class WavefrontBenchmark {
+  private static final int WIDTH = 320;
+  private static final int HEIGHT = 240;
+
+  @Param({"complex_scene.json", "refraction_scene.json"})
+  public String scene;
+
+  @Param({"RECURSIVE", "WAVEFRONT", "PATH"})
+  public Integrator integrator;
+
+  private RayTracer tracer;
+
+  @Setup
+  public void setUp() throws IOException {
+    tracer =
+        new RayTracer(
+            new SceneLoader()
+                .loadFromFile("examples/ray_tracer/" + scene)
+                .toBuilder()
+                .imageSize(WIDTH, HEIGHT)
+                .samplesPerPixel(1)
+                .build(),
+            1);
+    tracer.setIntegrator(integrator);
+  }
+
+  @Benchmark
+  public Image render() {
+    return tracer.render();
+  }
+}
@@ -0,0 +1,183 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.distributed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.Image;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayTracer;
+import unam.ciencias.modeladoyprogramacion.raytracer.SceneLoader;
+
+class RenderCoordinatorTest {
+  // Resolución que no es múltiplo del tamaño de tile, con antialiasing y sombras suaves
+  private static final String SCENE =
+      """
+      {
+        "imageWidth": 70,
+        "imageHeight": 45,
+        "samplesPerPixel": 4,
+        "camera": {
+          "position": [0.0, 1.0, -5.0],
+          "direction": [0.0, -0.1, 1.0],
+          "normalUp": [0.0, 1.0, 0.0],
+          "angleOfVision": 60.0
+        },
+        "rayMaxBounces": 3,
+        "backgroundColor": [0.1, 0.1, 0.2],
+        "materials": [
+          {"id": "red", "color": [0.9, 0.1, 0.1], "diffuseCoefficient": 0.9,
+           "specularCoefficient": 0.3, "specularHardness": 30, "reflectivity": 0.2},
+          {"id": "floor", "color": [0.8, 0.8, 0.8], "diffuseCoefficient": 0.9,
+           "specularCoefficient": 0.0, "specularHardness": 1, "reflectivity": 0.0}
+        ],
+        "lights": [
+          {"type": "surface", "color": [1.0, 1.0, 1.0], "intensity": 1.0,
+           "position": [0.0, 5.0, 0.0], "normal": [0.0, -1.0, 0.0],
+           "width": 3.0, "height": 3.0, "samples": 9}
+        ],
+        "primitives": [
+          {"type": "sphere", "materialId": "red", "position": [0.0, 0.0, 0.0], "radius": 1.0},
+          {"type": "plane", "materialId": "floor", "position": [0.0, -1.0, 0.0],
+           "normal": [0.0, 1.0, 0.0]}
+        ]
+      }
+      """;
+
+  private final List<RenderWorker> workers = new ArrayList<>();
+
+  @BeforeEach
+  void setup() throws IOException {
+    for (int i = 0; i < 2; i++) {
+      RenderWorker worker = new RenderWorker(0, 2);
+      Thread.ofPlatform().daemon().start(() -> serveQuietly(worker));
+      workers.add(worker);
+    }
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    for (RenderWorker worker : workers) {
+      worker.close();
+    }
+  }
+
+  private static void serveQuietly(RenderWorker worker) {
+    try {
+      worker.serve();
+    } catch (IOException e) {
+      // El worker se cerró al terminar la prueba
+    }
+  }
+
+  private static InetSocketAddress local(int port) {
+    return InetSocketAddress.createUnresolved("localhost", port);
+  }
+
+  private static Image singleProcessRender() throws IOException {
+    return new RayTracer(new SceneLoader().loadFromString(SCENE), 1).render();
+  }
+
+  @Test
+  void render_matchesSingleProcessRenderBitForBit() throws IOException {
+    RenderCoordinator coordinator =
+        new RenderCoordinator(
+            SCENE, List.of(local(workers.get(0).getPort()), local(workers.get(1).getPort())));
+
+    Image distributed = coordinator.render();
+
+    assertEquals(singleProcessRender(), distributed);
+  }
+
+  @Test
+  void render_reassignsTilesFromWorkerThatDies() throws Exception {
+    try (ServerSocket dying = new ServerSocket(0)) {
+      // Worker que acepta la escena y muere al recibir su primer tile
+      Thread.ofPlatform()
+          .daemon()
+          .start(
+              () -> {
+                try (Socket socket = dying.accept()) {
+                  DataInputStream in = new DataInputStream(socket.getInputStream());
+                  DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                  RenderProtocol.readHello(in);
+                  RenderProtocol.writeReady(out, 1);
+                  in.readInt();
+                } catch (IOException e) {
+                  // Se cierra la conexión de todos modos
+                }
+              });
+
+      RenderCoordinator coordinator =
+          new RenderCoordinator(
+              SCENE, List.of(local(dying.getLocalPort()), local(workers.get(0).getPort())));
+
+      assertEquals(singleProcessRender(), coordinator.render());
+    }
+  }
+
+  @Test
+  void render_throwsWhenAllWorkersAreUnreachable() throws IOException {
+    int closedPort;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      closedPort = socket.getLocalPort();
+    }
+    RenderCoordinator coordinator = new RenderCoordinator(SCENE, List.of(local(closedPort)));
+
+    assertThrows(IOException.class, coordinator::render);
+  }
+
+  @Test
+  void render_rejectsSceneWithIndirectDiffuse() {
+    String scene =
+        SCENE.replace(
+            "\"reflectivity\": 0.0}", "\"reflectivity\": 0.0, \"indirectDiffuse\": true}");
+    RenderCoordinator coordinator =
+        new RenderCoordinator(scene, List.of(local(workers.get(0).getPort())));
+
+    IOException error = assertThrows(IOException.class, coordinator::render);
+    assertTrue(error.getMessage().contains("indirectDiffuse"));
+  }
+
+  @Test
+  void workerSurvivesSessionAndServesNextCoordinator() throws IOException {
+    List<InetSocketAddress> one = List.of(local(workers.get(0).getPort()));
+
+    Image first = new RenderCoordinator(SCENE, one).render();
+    Image second = new RenderCoordinator(SCENE, one).render();
+
+    assertEquals(first, second);
+  }
+
+  @Test
+  void parseWorkers_readsHostPortList() {
+    List<InetSocketAddress> addresses =
+        RenderCoordinator.parseWorkers("localhost:7001, 10.0.0.2:7002");
+
+    assertEquals(2, addresses.size());
+    assertEquals("localhost", addresses.get(0).getHostString());
+    assertEquals(7001, addresses.get(0).getPort());
+    assertEquals("10.0.0.2", addresses.get(1).getHostString());
+    assertEquals(7002, addresses.get(1).getPort());
+  }
+
+  @Test
+  void parseWorkers_rejectsMalformedEntries() {
+    assertThrows(IllegalArgumentException.class, () -> RenderCoordinator.parseWorkers("localhost"));
+    assertThrows(IllegalArgumentException.class, () -> RenderCoordinator.parseWorkers("host:abc"));
+    assertThrows(IllegalArgumentException.class, () -> RenderCoordinator.parseWorkers(""));
+  }
+
+  @Test
+  void constructor_requiresWorkers() {
+    assertThrows(IllegalArgumentException.class, () -> new RenderCoordinator(SCENE, List.of()));
+  }
+}
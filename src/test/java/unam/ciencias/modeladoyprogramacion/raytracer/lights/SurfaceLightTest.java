@@ -285,6 +285,27 @@ class SurfaceLightTest {
     assertEquals(5.0, distance, 1e-10);
   }
 
+  @Test
+  void pointAt_mapsUnitSquareOntoTheRectangle() {
+    SurfaceLight light =
+        new SurfaceLight(
+            new Vector3D(1, 1, 1),
+            1.0,
+            new Vector3D(0, 10, 0),
+            new Vector3D(0, -1, 0),
+            4.0,
+            2.0,
+            4);
+
+    Vector3D center = light.pointAt(0.5, 0.5);
+    Vector3D corner = light.pointAt(0, 0);
+    Vector3D opposite = light.pointAt(1, 1);
+
+    assertEquals(0, center.subtract(new Vector3D(0, 10, 0)).magnitude(), 1e-10);
+    assertEquals(10, corner.getY(), 1e-10);
+    assertEquals(Math.sqrt(4 * 4 + 2 * 2), opposite.subtract(corner).magnitude(), 1e-10);
+  }
+
   @Test
   void toString_returnsReadableString() {
     SurfaceLight light =
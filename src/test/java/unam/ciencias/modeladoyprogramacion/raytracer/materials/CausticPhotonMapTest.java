@@ -0,0 +1,158 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.materials;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+
+class CausticPhotonMapTest {
+  private static final Vector3D UP = new Vector3D(0, 1, 0);
+  private static final double CONE_FILTER = 1.1;
+
+  @Test
+  void constructor_rejectsInvalidParameters() {
+    double[] one = {0, 0, 0};
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new CausticPhotonMap(new double[2], new double[2], new double[2], 8, 1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new CausticPhotonMap(one, new double[6], one, 8, 1));
+    assertThrows(IllegalArgumentException.class, () -> new CausticPhotonMap(one, one, one, 0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new CausticPhotonMap(one, one, one, 8, 0));
+  }
+
+  @Test
+  void irradiance_emptyMap_isZero() {
+    CausticPhotonMap map = CausticPhotonMap.empty();
+
+    assertEquals(0, map.size());
+    assertEquals(new Vector3D(0, 0, 0), map.irradiance(new Vector3D(1, 2, 3), UP));
+  }
+
+  @Test
+  void irradiance_uniformGrid_matchesPhotonDensity() {
+    // Fotones cada 0.01 sobre el piso con potencia 1e-4: irradiancia 1
+    int side = 201;
+    double[] positions = new double[3 * side * side];
+    double[] directions = new double[positions.length];
+    double[] power = new double[positions.length];
+    for (int i = 0; i < side; i++) {
+      for (int j = 0; j < side; j++) {
+        int photon = 3 * (i * side + j);
+        positions[photon] = -1 + 0.01 * i;
+        positions[photon + 2] = -1 + 0.01 * j;
+        directions[photon + 1] = -1;
+        power[photon] = 1e-4;
+        power[photon + 1] = 0.5e-4;
+      }
+    }
+    CausticPhotonMap map = new CausticPhotonMap(positions, directions, power, 64, 0.25);
+
+    Vector3D irradiance = map.irradiance(new Vector3D(0.123, 0, -0.4), UP);
+
+    assertEquals(side * side, map.size());
+    assertEquals(1, irradiance.getX(), 0.1);
+    assertEquals(0.5, irradiance.getY(), 0.05);
+    assertEquals(0, irradiance.getZ());
+  }
+
+  @Test
+  void irradiance_matchesBruteForceNearestNeighbors() {
+    SplittableRandom random = new SplittableRandom(7);
+    int count = 5000;
+    double[] positions = new double[3 * count];
+    double[] directions = new double[3 * count];
+    double[] power = new double[3 * count];
+    for (int i = 0; i < 3 * count; i += 3) {
+      // Un cúmulo denso dentro de una nube dispersa
+      double spread = i % 2 == 0 ? 0.1 : 2;
+      positions[i] = random.nextGaussian() * spread;
+      positions[i + 1] = random.nextGaussian() * spread;
+      positions[i + 2] = random.nextGaussian() * spread;
+      directions[i + 1] = random.nextBoolean() ? -1 : 1;
+      power[i] = random.nextDouble();
+      power[i + 1] = random.nextDouble();
+      power[i + 2] = random.nextDouble();
+    }
+    CausticPhotonMap map =
+        new CausticPhotonMap(positions.clone(), directions.clone(), power.clone(), 16, 0.4);
+
+    for (int q = 0; q < 200; q++) {
+      double[] query = {
+        random.nextDouble(-3, 3), random.nextDouble(-3, 3), random.nextDouble(-3, 3)
+      };
+      Vector3D expected = bruteForce(positions, directions, power, query, 16, 0.4);
+      Vector3D actual = map.irradiance(new Vector3D(query[0], query[1], query[2]), UP);
+      assertEquals(expected.getX(), actual.getX(), 1e-9 * (1 + expected.getX()));
+      assertEquals(expected.getY(), actual.getY(), 1e-9 * (1 + expected.getY()));
+      assertEquals(expected.getZ(), actual.getZ(), 1e-9 * (1 + expected.getZ()));
+    }
+  }
+
+  @Test
+  void irradiance_ignoresPhotonsArrivingFromBehind() {
+    double[] positions = {0, 0, 0, 0.01, 0, 0};
+    double[] fromAbove = {0, -1, 0, 0, -1, 0};
+    double[] power = {1, 1, 1, 1, 1, 1};
+    CausticPhotonMap map = new CausticPhotonMap(positions, fromAbove, power, 8, 0.1);
+
+    assertTrue(map.irradiance(new Vector3D(0, 0, 0), UP).getX() > 0);
+    assertEquals(0, map.irradiance(new Vector3D(0, 0, 0), UP.negate()).getX());
+  }
+
+  @Test
+  void irradiance_ignoresPhotonsBeyondMaximumRadius() {
+    double[] positions = {5, 0, 0};
+    double[] directions = {0, -1, 0};
+    double[] power = {1, 1, 1};
+    CausticPhotonMap map = new CausticPhotonMap(positions, directions, power, 8, 0.5);
+
+    assertEquals(0, map.irradiance(new Vector3D(0, 0, 0), UP).getX());
+    assertTrue(map.irradiance(new Vector3D(5.2, 0, 0), UP).getX() > 0);
+  }
+
+  /** Estimación de referencia revisando todos los fotones. */
+  private static Vector3D bruteForce(
+      double[] positions,
+      double[] directions,
+      double[] power,
+      double[] query,
+      int gatherCount,
+      double maxRadius) {
+    int count = positions.length / 3;
+    Integer[] order = new Integer[count];
+    double[] distances = new double[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = i;
+      double dx = query[0] - positions[3 * i];
+      double dy = query[1] - positions[3 * i + 1];
+      double dz = query[2] - positions[3 * i + 2];
+      distances[i] = Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+    Arrays.sort(order, (a, b) -> Double.compare(distances[a], distances[b]));
+    int found = 0;
+    while (found < count && found < gatherCount && distances[order[found]] < maxRadius) {
+      found++;
+    }
+    if (found == 0) {
+      return new Vector3D(0, 0, 0);
+    }
+    double radius = found == gatherCount ? distances[order[found - 1]] : maxRadius;
+    double[] sum = new double[3];
+    for (int n = 0; n < found; n++) {
+      int i = order[n];
+      if (directions[3 * i + 1] >= 0) {
+        continue; // Llega por debajo de la normal (0, 1, 0)
+      }
+      double weight = 1 - distances[i] / (CONE_FILTER * radius);
+      for (int c = 0; c < 3; c++) {
+        sum[c] += weight * power[3 * i + c];
+      }
+    }
+    double area = (1 - 2 / (3 * CONE_FILTER)) * Math.PI * radius * radius;
+    return new Vector3D(sum[0] / area, sum[1] / area, sum[2] / area);
+  }
+}
@@ -0,0 +1,150 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.materials;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.Camera;
+import unam.ciencias.modeladoyprogramacion.raytracer.Material;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.DirectionalLight;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.Light;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.PointLight;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.SurfaceLight;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Plane;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Sphere;
+
+class CausticPhotonTracerTest {
+  private static final Vector3D UP = new Vector3D(0, 1, 0);
+  // Punto del piso donde la esfera de vidrio enfoca la luz que le llega desde arriba
+  private static final Vector3D FOCUS = new Vector3D(0, 0, 0);
+  private static final Vector3D FAR = new Vector3D(3, 0, 3);
+
+  @Test
+  void constructor_rejectsNegativePhotonCount() {
+    assertThrows(IllegalArgumentException.class, () -> new CausticPhotonTracer(-1));
+  }
+
+  @Test
+  void photonMap_withoutPhotons_isEmpty() {
+    Scene scene = glassScene(new PointLight(new Vector3D(1, 1, 1), 1, new Vector3D(0, 5, 0)), 0);
+
+    assertFalse(scene.usesCausticPhotons());
+    assertEquals(0, scene.getCausticPhotonMap().size());
+  }
+
+  @Test
+  void photonMap_withoutSpecularObjects_isEmpty() {
+    Scene scene =
+        baseScene(20000)
+            .addLight(new PointLight(new Vector3D(1, 1, 1), 1, new Vector3D(0, 5, 0)))
+            .addPrimitive(new Sphere("ball", "floor", new Vector3D(0, 1.2, 0), 1))
+            .build();
+
+    assertEquals(0, scene.getCausticPhotonMap().size());
+  }
+
+  @Test
+  void photonMap_glassSphereUnderPointLight_focusesLightOnTheFloor() {
+    Scene scene =
+        glassScene(new PointLight(new Vector3D(1, 1, 1), 1, new Vector3D(0, 5, 0)), 20000);
+
+    CausticPhotonMap map = scene.getCausticPhotonMap();
+
+    assertTrue(map.size() > 10000, "size=" + map.size());
+    // La luz directa en el piso vale 1; la esfera la concentra bajo su centro
+    assertTrue(map.irradiance(FOCUS, UP).getX() > 2, "focus=" + map.irradiance(FOCUS, UP));
+    assertEquals(0, map.irradiance(FAR, UP).getX(), 1e-3);
+  }
+
+  @Test
+  void photonMap_glassSphereUnderDirectionalAndSurfaceLights_focusesLight() {
+    Scene directional =
+        glassScene(new DirectionalLight(new Vector3D(1, 1, 1), 1, UP.negate()), 20000);
+    Scene surface =
+        glassScene(
+            new SurfaceLight(
+                new Vector3D(1, 1, 1), 1, new Vector3D(0, 6, 0), UP.negate(), 0.5, 0.5, 4),
+            20000);
+
+    assertTrue(directional.getCausticPhotonMap().irradiance(FOCUS, UP).getX() > 2);
+    assertTrue(surface.getCausticPhotonMap().irradiance(FOCUS, UP).getX() > 2);
+  }
+
+  @Test
+  void photonMap_concurrentRequests_buildTheSameMapAsOneThread() throws Exception {
+    Light light = new PointLight(new Vector3D(1, 1, 1), 1, new Vector3D(0.5, 5, 0));
+    CausticPhotonMap single = glassScene(light, 30000).getCausticPhotonMap();
+    Scene shared = glassScene(light, 30000);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<CausticPhotonMap> maps = new ArrayList<>();
+    try {
+      List<Future<CausticPhotonMap>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(shared::getCausticPhotonMap));
+      }
+      for (Future<CausticPhotonMap> future : futures) {
+        maps.add(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    for (CausticPhotonMap map : maps) {
+      assertSame(maps.get(0), map);
+    }
+    assertEquals(single.size(), maps.get(0).size());
+    for (double x = -1; x <= 1; x += 0.1) {
+      Vector3D point = new Vector3D(x, 0, 0.05);
+      assertEquals(single.irradiance(point, UP), maps.get(0).irradiance(point, UP));
+    }
+  }
+
+  @Test
+  void materialRoles_matchShading() {
+    MaterialStrategy glass =
+        new PhongMaterialStrategy(
+            "glass", new Vector3D(1, 1, 1), 0.1, 0.9, 100, 0.05, 0.9, 1.5, null);
+    MaterialStrategy plastic =
+        new PhongMaterialStrategy("plastic", new Vector3D(1, 1, 1), 0.8, 0.5, 32, 0.2, null);
+    MaterialStrategy mirror = new MetalMaterialStrategy(new Vector3D(1, 1, 1), 1.0, 0.0);
+
+    assertTrue(CausticPhotonTracer.isSpecular(glass));
+    assertFalse(CausticPhotonTracer.receivesCaustics(glass));
+    assertFalse(CausticPhotonTracer.isSpecular(plastic));
+    assertTrue(CausticPhotonTracer.receivesCaustics(plastic));
+    assertTrue(CausticPhotonTracer.isSpecular(mirror));
+    assertFalse(CausticPhotonTracer.receivesCaustics(mirror));
+  }
+
+  /** Esfera de vidrio de radio 1 a la altura de su distancia focal sobre un piso blanco. */
+  private static Scene glassScene(Light light, int photons) {
+    return baseScene(photons)
+        .addLight(light)
+        .addPrimitive(new Sphere("ball", "glass", new Vector3D(0, 1.5, 0), 1))
+        .build();
+  }
+
+  private static Scene.Builder baseScene(int photons) {
+    return new Scene.Builder()
+        .camera(new Camera(new Vector3D(0, 3, -5), new Vector3D(0, -0.5, 1), UP, 60, 1))
+        .maxBounces(5)
+        .causticPhotons(photons)
+        .addMaterial(
+            new Material(
+                "glass",
+                new PhongMaterialStrategy(
+                    "glass", new Vector3D(1, 1, 1), 0.0, 0.9, 100, 0.0, 1.0, 1.5, null)))
+        .addMaterial(
+            new Material(
+                "floor",
+                new PhongMaterialStrategy("floor", new Vector3D(1, 1, 1), 0.8, 0, 10, 0, null)))
+        .addPrimitive(new Plane("floor", "floor", new Vector3D(0, 0, 0), UP));
+  }
+}
@@ -0,0 +1,234 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.materials;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.Camera;
+import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
+import unam.ciencias.modeladoyprogramacion.raytracer.Material;
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Plane;
+import unam.ciencias.modeladoyprogramacion.raytracer.primitives.Sphere;
+
+class IrradianceCacheTest {
+  private static final Vector3D EYE = new Vector3D(0, 2, -3);
+  private static final Vector3D UP = new Vector3D(0, 1, 0);
+
+  @Test
+  void constructor_rejectsInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> new IrradianceCache(null, 0.01));
+    assertThrows(IllegalArgumentException.class, () -> new IrradianceCache(EYE, 0));
+    assertThrows(IllegalArgumentException.class, () -> new IrradianceCache(EYE, 0.01, 0, 8, 16));
+    assertThrows(IllegalArgumentException.class, () -> new IrradianceCache(EYE, 0.01, 0.2, 1, 16));
+  }
+
+  @Test
+  void irradiance_openScene_isBackground() {
+    Scene scene = scene(new Vector3D(0.2, 0.3, 0.4));
+    IrradianceCache cache = new IrradianceCache(EYE, 0.01);
+
+    Vector3D irradiance = cache.irradiance(new Vector3D(0, 0, 0), UP, scene);
+
+    assertEquals(0.2, irradiance.getX(), 1e-12);
+    assertEquals(0.3, irradiance.getY(), 1e-12);
+    assertEquals(0.4, irradiance.getZ(), 1e-12);
+  }
+
+  @Test
+  void irradiance_closedUniformEnvironment_isItsRadiance() {
+    Scene scene =
+        sceneBuilder(new Vector3D(0, 0, 0))
+            .addMaterial(new Material("glow", new Constant(new Vector3D(0.5, 0.25, 0.1))))
+            .addPrimitive(new Sphere("dome", "glow", new Vector3D(0, 0, 0), 10))
+            .build();
+    IrradianceCache cache = new IrradianceCache(EYE, 0.01);
+
+    Vector3D irradiance = cache.irradiance(new Vector3D(0, 0, 0), UP, scene);
+
+    assertEquals(0.5, irradiance.getX(), 1e-12);
+    assertEquals(0.25, irradiance.getY(), 1e-12);
+    assertEquals(0.1, irradiance.getZ(), 1e-12);
+  }
+
+  @Test
+  void irradiance_infiniteWall_coversHalfTheCosineWeightedHemisphere() {
+    // Toda dirección hacia -x golpea la pared, sin importar la distancia
+    Scene scene = wallScene();
+    IrradianceCache cache = new IrradianceCache(EYE, 0.01);
+
+    Vector3D irradiance = cache.irradiance(new Vector3D(0.5, 0, 0), UP, scene);
+
+    assertEquals(0.5, irradiance.getX(), 0.02);
+    assertEquals(0, irradiance.getY(), 1e-12);
+  }
+
+  @Test
+  void irradiance_reusesNearbyRecords_andComputesFarOnes() {
+    Scene scene = wallScene();
+    IrradianceCache cache = new IrradianceCache(EYE, 0.01);
+
+    Vector3D first = cache.irradiance(new Vector3D(0.5, 0, 0), UP, scene);
+    Vector3D near = cache.irradiance(new Vector3D(0.5005, 0, 0.0005), UP, scene);
+    assertEquals(1, cache.size());
+    assertEquals(first.getX(), near.getX(), 0.01);
+
+    // Lejos del primero: el octree crece para alojar el registro nuevo
+    cache.irradiance(new Vector3D(400, 0, 300), UP, scene);
+    assertEquals(2, cache.size());
+    assertTrue(cache.interpolate(new Vector3D(0.5, 0, 0), UP).isPresent());
+    assertTrue(cache.interpolate(new Vector3D(400, 0, 300), UP).isPresent());
+  }
+
+  @Test
+  void interpolate_rejectsRecordsWithDifferentOrientation() {
+    Scene scene = wallScene();
+    IrradianceCache cache = new IrradianceCache(EYE, 0.01);
+    cache.irradiance(new Vector3D(0.5, 0, 0), UP, scene);
+
+    assertTrue(cache.interpolate(new Vector3D(0.5, 0, 0), new Vector3D(1, 0, 0)).isEmpty());
+    assertTrue(cache.interpolate(new Vector3D(0.5, 0, 0), UP.negate()).isEmpty());
+  }
+
+  @Test
+  void irradiance_interpolatedValues_matchPerPointSampling() {
+    // La irradiancia cambia rápido cerca de la esfera
+    Scene scene = lampScene();
+    IrradianceCache cached = new IrradianceCache(EYE, 0.01);
+    // Con una precisión mínima ningún registro se reutiliza
+    IrradianceCache exact = new IrradianceCache(EYE, 0.01, 1e-9, 8, 16);
+
+    double maxError = 0;
+    for (double x = -2; x <= 2; x += 0.05) {
+      Vector3D point = new Vector3D(x, 0, 0.3);
+      maxError =
+          Math.max(
+              maxError,
+              Math.abs(
+                  cached.irradiance(point, UP, scene).getX()
+                      - exact.irradiance(point, UP, scene).getX()));
+    }
+
+    assertTrue(cached.size() < exact.size() / 2, "cached=" + cached.size());
+    // El pico bajo la esfera ronda 0.39; el error tolerado sigue la precisión por defecto
+    assertTrue(maxError < 0.08, "maxError=" + maxError);
+  }
+
+  @Test
+  void irradiance_concurrentLookups_shareRecords() throws Exception {
+    Scene scene = wallScene();
+    IrradianceCache cache = new IrradianceCache(EYE, 0.01);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        long seed = t;
+        futures.add(
+            executor.submit(
+                () -> {
+                  SplittableRandom random = new SplittableRandom(seed);
+                  for (int i = 0; i < 300; i++) {
+                    Vector3D point =
+                        new Vector3D(random.nextDouble(-0.9, 3), 0, random.nextDouble(-2, 2));
+                    Vector3D irradiance = cache.irradiance(point, UP, scene);
+                    assertTrue(irradiance.getX() >= 0 && irradiance.getX() <= 1);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertTrue(cache.size() > 0 && cache.size() < 1200, "size=" + cache.size());
+    assertTrue(cache.interpolate(new Vector3D(1, 0, 0), UP).isPresent());
+  }
+
+  @Test
+  void irradiance_fromIntersection_usesTheSideFacingTheRay() {
+    Scene scene =
+        sceneBuilder(new Vector3D(0, 0, 0))
+            .addMaterial(new Material("glow", new Constant(new Vector3D(1, 1, 1))))
+            .addMaterial(new Material("floor", new Constant(new Vector3D(0, 0, 0))))
+            .addPrimitive(new Sphere("lamp", "glow", new Vector3D(0, 0.8, 0), 0.5))
+            .addPrimitive(new Plane("floor", "floor", new Vector3D(0, 0, 0), UP))
+            .build();
+    IrradianceCache cache = new IrradianceCache(EYE, 0.01);
+    // Desde abajo del piso el lado visible mira hacia -y, lejos de la esfera
+    Ray below = new Ray(new Vector3D(0, -1, 0), UP);
+    Ray above = new Ray(new Vector3D(0, 0.2, -1), new Vector3D(0, -0.2, 1).normalize());
+
+    assertEquals(0, cache.irradiance(below, scene.intersect(below).orElseThrow(), scene).getX());
+    assertTrue(cache.irradiance(above, scene.intersect(above).orElseThrow(), scene).getX() > 0.2);
+  }
+
+  /** Una esfera emisora blanca flotando sobre el origen. */
+  private static Scene lampScene() {
+    return sceneBuilder(new Vector3D(0, 0, 0))
+        .addMaterial(new Material("glow", new Constant(new Vector3D(1, 1, 1))))
+        .addPrimitive(new Sphere("lamp", "glow", new Vector3D(0, 0.8, 0), 0.5))
+        .build();
+  }
+
+  /** Piso en y=0 y una pared roja emisora infinita en x=-1. */
+  private static Scene wallScene() {
+    return sceneBuilder(new Vector3D(0, 0, 0))
+        .addMaterial(new Material("glow", new Constant(new Vector3D(1, 0, 0))))
+        .addMaterial(new Material("floor", new Constant(new Vector3D(0, 0, 0))))
+        .addPrimitive(new Plane("wall", "glow", new Vector3D(-1, 0, 0), new Vector3D(1, 0, 0)))
+        .addPrimitive(new Plane("floor", "floor", new Vector3D(0, 0, 0), UP))
+        .build();
+  }
+
+  private static Scene scene(Vector3D background) {
+    return sceneBuilder(background).build();
+  }
+
+  private static Scene.Builder sceneBuilder(Vector3D background) {
+    return new Scene.Builder()
+        .camera(new Camera(EYE, new Vector3D(0, -0.5, 1), UP, 60, 1))
+        .backgroundColor(background);
+  }
+
+  /** Material que emite un color fijo en toda dirección. */
+  private record Constant(Vector3D color) implements MaterialStrategy {
+    @Override
+    public Vector3D scatter(Ray incident, Intersection intersection, Scene scene, int depth) {
+      return color;
+    }
+
+    @Override
+    public Vector3D getColor() {
+      return color;
+    }
+
+    @Override
+    public double getDiffuseCoefficient() {
+      return 0;
+    }
+
+    @Override
+    public double getSpecularCoefficient() {
+      return 0;
+    }
+
+    @Override
+    public double getSpecularHardness() {
+      return 0;
+    }
+
+    @Override
+    public double getReflectivity() {
+      return 0;
+    }
+  }
+}
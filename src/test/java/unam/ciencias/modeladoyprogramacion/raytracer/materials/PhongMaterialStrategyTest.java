@@ -516,6 +516,41 @@ class PhongMaterialStrategyTest {
     assertNotNull(color);
   }
 
+  @Test
+  void scatter_matchesResolvedPlan_withShadowedLight() {
+    Material floor = new Material("floor", new Vector3D(0.8, 0.8, 0.8), 0.7, 0.4, 16.0, 0.3);
+    Material ball = new Material("ball", new Vector3D(1, 0, 0), 0.8, 0.5, 32.0, 0.0);
+    Camera camera =
+        new Camera(
+            new Vector3D(0, 0, 5), new Vector3D(0, 0, -1), new Vector3D(0, 1, 0), 60.0, 1.0);
+    Plane plane = new Plane("plane1", "floor", new Vector3D(0, -1, 0), new Vector3D(0, 1, 0));
+    Sphere sphere = new Sphere("sphere1", "ball", new Vector3D(0, 1, 0), 0.5);
+
+    // La primera luz queda tapada por la esfera; la segunda ilumina el punto
+    Scene scene =
+        new Scene.Builder()
+            .camera(camera)
+            .addMaterial(floor)
+            .addMaterial(ball)
+            .addPrimitive(plane)
+            .addPrimitive(sphere)
+            .addLight(new PointLight(new Vector3D(1, 1, 1), 1.0, new Vector3D(0, 4, 0)))
+            .addLight(new PointLight(new Vector3D(1, 1, 1), 0.8, new Vector3D(4, 4, 0)))
+            .backgroundColor(new Vector3D(0.2, 0.2, 0.2))
+            .build();
+
+    Ray ray = new Ray(new Vector3D(1, 2, 3), new Vector3D(-1, -3, -3).normalize());
+    Intersection intersection =
+        new Intersection(
+            Math.sqrt(19), new Vector3D(0, -1, 0), new Vector3D(0, 1, 0), plane);
+    PhongMaterialStrategy strategy = (PhongMaterialStrategy) floor.getStrategy();
+
+    ShadingPlan plan = strategy.plan(ray, intersection, scene, 0).orElseThrow();
+    assertFalse(plan.shadowRays().get(0).isVisible(scene));
+    assertTrue(plan.shadowRays().get(1).isVisible(scene));
+    assertEquals(plan.resolve(scene), strategy.scatter(ray, intersection, scene, 0));
+  }
+
   @Test
   void getters_returnCorrectValues() {
     PhongMaterialStrategy material =
@@ -0,0 +1,86 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.shared.VectorSupport;
+
+class IntAdditionKernelTest {
+
+    @Test
+    @DisplayName("vector API is enabled in the test JVM")
+    void vectorModuleIsAvailable() {
+        assertThat(VectorSupport.isAvailable()).isTrue();
+        assertThat(IntAdditionKernel.auto()).isInstanceOf(VectorIntAdditionKernel.class);
+    }
+
+    @Test
+    @DisplayName("vector kernel matches the scalar kernel, including the tail and offsets")
+    void vectorMatchesScalar() {
+        var random = new Random(11);
+        int length = 1000;
+        int[] a = random.ints(length).toArray();
+        int[] b = random.ints(length).toArray();
+
+        // Rangos que no son múltiplos del ancho del vector ni empiezan alineados
+        int[][] ranges = { { 0, length }, { 3, 997 }, { 5, 9 }, { 17, 17 }, { 0, 1 } };
+        for (int[] range : ranges) {
+            int[] expected = new int[length];
+            int[] actual = new int[length];
+            IntAdditionKernel.scalar().add(a, b, expected, range[0], range[1]);
+            IntAdditionKernel.vector().add(a, b, actual, range[0], range[1]);
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("vector kernel wraps on overflow like scalar int addition")
+    void vectorOverflowWraps() {
+        int[] a = { Integer.MAX_VALUE, Integer.MIN_VALUE, -1, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14 };
+        int[] b = { 1, -1, 1, -1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 };
+        int[] result = new int[a.length];
+
+        IntAdditionKernel.vector().add(a, b, result, 0, a.length);
+
+        assertThat(result[0]).isEqualTo(Integer.MIN_VALUE);
+        assertThat(result[1]).isEqualTo(Integer.MAX_VALUE);
+        assertThat(result[16]).isEqualTo(14);
+    }
+
+    @Test
+    @DisplayName("multithreaded addition gives the same result with either kernel")
+    void engineWithVectorKernel() {
+        var random = new Random(3);
+        var a = new IntMatrix(41, 29);
+        var b = new IntMatrix(41, 29);
+        for (int i = 0; i < a.size(); i++) {
+            a.data()[i] = random.nextInt();
+            b.data()[i] = random.nextInt();
+        }
+
+        var expected = new MultiThreadedIntMatrixAddition(1, IntAdditionKernel.scalar()).add(a, b);
+        for (int threads : new int[] { 1, 3, 8 }) {
+            var actual = new MultiThreadedIntMatrixAddition(threads, IntAdditionKernel.vector()).add(a, b);
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("selects kernels by name")
+    void byName() {
+        assertThat(IntAdditionKernel.byName("vector")).isInstanceOf(VectorIntAdditionKernel.class);
+        assertThat(IntAdditionKernel.byName("scalar")).isNotInstanceOf(VectorIntAdditionKernel.class);
+        assertThat(IntAdditionKernel.byName(null)).isInstanceOf(VectorIntAdditionKernel.class);
+        assertThrows(IllegalArgumentException.class, () -> IntAdditionKernel.byName("gpu"));
+    }
+
+    @Test
+    @DisplayName("rejects a null kernel")
+    void nullKernelThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiThreadedIntMatrixAddition(2, null));
+    }
+}
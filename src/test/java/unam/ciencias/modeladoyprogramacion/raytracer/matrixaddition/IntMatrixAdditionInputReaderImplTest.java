@@ -0,0 +1,56 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+
+class IntMatrixAdditionInputReaderImplTest {
+
+    private static ByteArrayInputStream inputOf(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("reads two matrices into primitive storage")
+    void read_validInput_parsesMatrices() {
+        String input = """
+                2 3
+
+                8 9 11
+                24 -6 19
+
+                14 5 16
+                -5 15 -4
+                """;
+
+        var actual = new IntMatrixAdditionInputReaderImpl().read(inputOf(input));
+
+        var expected = new IntMatrixAdditionInput(
+                new IntMatrix(new int[][] { { 8, 9, 11 }, { 24, -6, 19 } }),
+                new IntMatrix(new int[][] { { 14, 5, 16 }, { -5, 15, -4 } }));
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("trims whitespace and supports negative numbers")
+    void read_handlesWhitespaceAndNegatives() {
+        String input = """
+                  2   2 \s
+
+                  1   -2
+                 -10  11
+
+                  4   4
+                 -3  -7
+                """;
+
+        var actual = new IntMatrixAdditionInputReaderImpl().read(inputOf(input));
+
+        assertThat(actual.matrixA()).isEqualTo(new IntMatrix(new int[][] { { 1, -2 }, { -10, 11 } }));
+        assertThat(actual.matrixB()).isEqualTo(new IntMatrix(new int[][] { { 4, 4 }, { -3, -7 } }));
+    }
+}
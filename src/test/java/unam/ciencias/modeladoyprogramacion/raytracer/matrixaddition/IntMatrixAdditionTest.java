@@ -0,0 +1,76 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.Matrix;
+
+class IntMatrixAdditionTest {
+
+    @Test
+    @DisplayName("sums two 2x2 matrices correctly")
+    void add_sumsElementWise() {
+        var addition = new MultiThreadedIntMatrixAddition(1);
+        var a = new IntMatrix(new int[][] { { 1, 2 }, { 3, 4 } });
+        var b = new IntMatrix(new int[][] { { 5, 6 }, { 7, 8 } });
+
+        var actual = addition.add(a, b);
+
+        assertThat(actual).isEqualTo(new IntMatrix(new int[][] { { 6, 8 }, { 10, 12 } }));
+    }
+
+    @Test
+    @DisplayName("matches the generic engine for any thread count")
+    void add_matchesGenericEngine() {
+        var random = new Random(7);
+        int rows = 37, columns = 23;
+        var a = new IntMatrix(rows, columns);
+        var b = new IntMatrix(rows, columns);
+        for (int i = 0; i < a.size(); i++) {
+            a.data()[i] = random.nextInt();
+            b.data()[i] = random.nextInt();
+        }
+        Matrix<Integer> expected =
+            new MultiThreadedMatrixAddition<Integer>(1, Integer::sum).add(a.toMatrix(), b.toMatrix());
+
+        for (int threads : new int[] { 1, 2, 3, 8, 64 }) {
+            var actual = new MultiThreadedIntMatrixAddition(threads).add(a, b);
+            assertThat(actual.toMatrix()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("supports empty matrices (0x0)")
+    void add_emptyMatrices_returnsEmptyMatrix() {
+        var actual = new MultiThreadedIntMatrixAddition(4).add(new IntMatrix(0, 0), new IntMatrix(0, 0));
+
+        assertThat(actual).isEqualTo(new IntMatrix(0, 0));
+    }
+
+    @Test
+    @DisplayName("throws on mismatched dimensions")
+    void add_mismatchedDimensions_throws() {
+        var addition = new MultiThreadedIntMatrixAddition(2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> addition.add(new IntMatrix(2, 2), new IntMatrix(2, 3)));
+    }
+
+    @Test
+    @DisplayName("adds into an existing matrix, including one of the operands")
+    void add_intoExistingMatrix() {
+        var addition = new MultiThreadedIntMatrixAddition(2);
+        var a = new IntMatrix(new int[][] { { 1, 2 }, { 3, 4 } });
+        var b = new IntMatrix(new int[][] { { 5, 6 }, { 7, 8 } });
+
+        addition.add(a, b, a);
+
+        assertThat(a).isEqualTo(new IntMatrix(new int[][] { { 6, 8 }, { 10, 12 } }));
+        assertThrows(IllegalArgumentException.class,
+                () -> addition.add(a, b, new IntMatrix(2, 3)));
+    }
+}
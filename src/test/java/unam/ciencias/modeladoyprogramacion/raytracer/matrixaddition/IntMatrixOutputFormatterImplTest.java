@@ -0,0 +1,29 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+
+class IntMatrixOutputFormatterImplTest {
+
+  @Test
+  @DisplayName("formats rows as space-separated values with trailing newlines")
+  void format_formatsRectangularMatrix() {
+    var result = new IntMatrix(new int[][] {{22, -14, 27}, {19, 9, Integer.MIN_VALUE}});
+
+    var formatted = new IntMatrixOutputFormatterImpl().format(result);
+
+    assertThat(formatted).isEqualTo("22 -14 27\n19 9 -2147483648\n");
+  }
+
+  @Test
+  @DisplayName("matches the generic formatter")
+  void format_matchesGenericFormatter() {
+    var result = new IntMatrix(new int[][] {{1, 2}, {3, 4}, {5, 6}});
+
+    assertThat(new IntMatrixOutputFormatterImpl().format(result))
+        .isEqualTo(new MatrixAdditionOutputFormatterImpl<Integer>().format(result.toMatrix()));
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.ExecutionStrategy;
 import unam.ciencias.modeladoyprogramacion.raytracer.Matrix;
 
 class MatrixAdditionTest {
@@ -23,6 +24,20 @@ class MatrixAdditionTest {
         assertThat(actualResult).isEqualTo(expectedResult);
     }
 
+    @Test
+    @DisplayName("sums correctly when tasks run on virtual threads")
+    void add_withVirtualThreads_producesCorrectResult() {
+        var matrixAddition = new MultiThreadedMatrixAddition<Integer>(3, Integer::sum);
+        matrixAddition.setExecutionStrategy(ExecutionStrategy.virtualThreads());
+        var a = new Matrix<Integer>(new Integer[][] { { 1, 2 }, { 3, 4 }, { 5, 6 } });
+        var b = new Matrix<Integer>(new Integer[][] { { 6, 5 }, { 4, 3 }, { 2, 1 } });
+
+        var actual = matrixAddition.add(a, b);
+        var expected = new Matrix<Integer>(new Integer[][] { { 7, 7 }, { 7, 7 }, { 7, 7 } });
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
     @Test
     @DisplayName("handles more threads than rows (work distribution)")
     void add_moreThreadsThanRows_producesCorrectResult() {
@@ -0,0 +1,97 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+
+class OutOfCoreMatrixAdditionTest {
+
+    @TempDir
+    Path dir;
+
+    private Path inputOf(String content) throws IOException {
+        Path file = dir.resolve("input.txt");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static String add(OutOfCoreMatrixAddition addition, Path input) throws IOException {
+        var out = new ByteArrayOutputStream();
+        addition.add(input, Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("adds the example input")
+    void add_example() throws IOException {
+        Path input = inputOf("2 3\n\n8 9 11\n24 -6 19\n\n14 5 16\n-5 15 -4\n");
+
+        var addition = new OutOfCoreMatrixAddition(1, IntAdditionKernel.scalar());
+
+        assertThat(add(addition, input)).isEqualTo("22 14 27\n19 9 15\n");
+    }
+
+    @Test
+    @DisplayName("matches the in-memory pipeline with tiny bands and mapped windows")
+    void add_matchesInMemoryPipeline() throws IOException {
+        var random = new Random(13);
+        int rows = 45, columns = 11;
+        var text = new StringBuilder(rows + " " + columns + "\n");
+        for (int matrix = 0; matrix < 2; matrix++) {
+            text.append("\n");
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < columns; col++) {
+                    text.append(random.nextInt()).append(col < columns - 1 ? " " : "\r\n");
+                }
+            }
+        }
+        Path input = inputOf(text.toString());
+        var matrices = new ParallelIntMatrixAdditionInputReaderImpl().read(input);
+        IntMatrix sum = new MultiThreadedIntMatrixAddition(1).add(matrices.matrixA(), matrices.matrixB());
+        String expected = new IntMatrixOutputFormatterImpl().format(sum);
+
+        // Bandas de una fila, bandas con una última banda más corta y una sola banda;
+        // ventanas de pocos bytes para que los enteros crucen de una ventana a otra
+        for (int bandBytes : new int[] { 1, 7 * columns * Integer.BYTES, 1 << 20 }) {
+            for (int windowBytes : new int[] { 5, 64, 1 << 20 }) {
+                for (int threads : new int[] { 1, 3 }) {
+                    var addition = new OutOfCoreMatrixAddition(
+                            threads, IntAdditionKernel.scalar(), bandBytes, windowBytes);
+                    assertThat(add(addition, input)).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("supports empty matrices")
+    void add_emptyMatrices() throws IOException {
+        var addition = new OutOfCoreMatrixAddition(2, IntAdditionKernel.scalar());
+
+        assertThat(add(addition, inputOf("0 0\n"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("rejects truncated input")
+    void add_truncatedInput_throws() throws IOException {
+        var addition = new OutOfCoreMatrixAddition(2, IntAdditionKernel.scalar());
+
+        assertThatThrownBy(() -> add(addition, inputOf("2 2\n\n1 2\n3 4\n\n5 6\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Missing values in row");
+        assertThatThrownBy(() -> add(addition, inputOf("2 2\n\n1 2\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Expected 2 matrix rows but found 1");
+    }
+}
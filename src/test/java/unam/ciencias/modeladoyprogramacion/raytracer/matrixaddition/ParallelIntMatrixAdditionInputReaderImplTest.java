@@ -0,0 +1,178 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.SparseIntMatrix;
+
+class ParallelIntMatrixAdditionInputReaderImplTest {
+
+    private static final String EXAMPLE = """
+            2 3
+
+            8 9 11
+            24 -6 19
+
+            14 5 16
+            -5 15 -4
+            """;
+
+    private static final IntMatrixAdditionInput EXAMPLE_MATRICES = new IntMatrixAdditionInput(
+            new IntMatrix(new int[][] { { 8, 9, 11 }, { 24, -6, 19 } }),
+            new IntMatrix(new int[][] { { 14, 5, 16 }, { -5, 15, -4 } }));
+
+    private static ByteArrayInputStream inputOf(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("reads two matrices into primitive storage")
+    void read_validInput_parsesMatrices() {
+        var actual = new ParallelIntMatrixAdditionInputReaderImpl().read(inputOf(EXAMPLE));
+
+        assertThat(actual).isEqualTo(EXAMPLE_MATRICES);
+    }
+
+    @Test
+    @DisplayName("handles extra whitespace, CRLF line endings and a missing final newline")
+    void read_handlesWhitespaceAndLineEndings() {
+        String input = "  2   2 \r\n\r\n  1\t-2\r\n -10  +11 \r\n\r\n\r\n 4 4\r\n-3 -7";
+
+        var actual = new ParallelIntMatrixAdditionInputReaderImpl(3).read(inputOf(input));
+
+        assertThat(actual.matrixA()).isEqualTo(new IntMatrix(new int[][] { { 1, -2 }, { -10, 11 } }));
+        assertThat(actual.matrixB()).isEqualTo(new IntMatrix(new int[][] { { 4, 4 }, { -3, -7 } }));
+    }
+
+    @Test
+    @DisplayName("matches the line-based reader for any thread count")
+    void read_matchesLineBasedReader() {
+        var random = new Random(5);
+        int rows = 53, columns = 17;
+        var text = new StringBuilder(rows + " " + columns + "\n");
+        for (int matrix = 0; matrix < 2; matrix++) {
+            text.append('\n');
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < columns; col++) {
+                    text.append(random.nextInt()).append(' ');
+                }
+                text.append('\n');
+            }
+        }
+        var expected = new IntMatrixAdditionInputReaderImpl().read(inputOf(text.toString()));
+
+        for (int threads : new int[] { 1, 2, 7, 200 }) {
+            var actual = new ParallelIntMatrixAdditionInputReaderImpl(threads).read(inputOf(text.toString()));
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("parses the int range limits")
+    void read_intLimits() {
+        String input = "1 2\n\n2147483647 -2147483648\n\n0 -0\n";
+
+        var actual = new ParallelIntMatrixAdditionInputReaderImpl().read(inputOf(input));
+
+        assertThat(actual.matrixA()).isEqualTo(new IntMatrix(new int[][] { { Integer.MAX_VALUE, Integer.MIN_VALUE } }));
+        assertThat(actual.matrixB()).isEqualTo(new IntMatrix(1, 2));
+    }
+
+    @Test
+    @DisplayName("reads a memory-mapped file")
+    void read_path(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("input.txt");
+        Files.writeString(file, EXAMPLE);
+
+        var actual = new ParallelIntMatrixAdditionInputReaderImpl(2).read(file);
+
+        assertThat(actual).isEqualTo(EXAMPLE_MATRICES);
+    }
+
+    @Test
+    @DisplayName("supports empty matrices")
+    void read_emptyMatrices() {
+        var actual = new ParallelIntMatrixAdditionInputReaderImpl().read(inputOf("0 0\n"));
+
+        assertThat(actual).isEqualTo(new IntMatrixAdditionInput(new IntMatrix(0, 0), new IntMatrix(0, 0)));
+    }
+
+    @Test
+    @DisplayName("rejects malformed input")
+    void read_malformedInput_throws() {
+        var reader = new ParallelIntMatrixAdditionInputReaderImpl(2);
+
+        assertThatThrownBy(() -> reader.read(inputOf("1 2\n\n1\n\n2 3\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Missing values in row");
+        assertThatThrownBy(() -> reader.read(inputOf("1 2\n\n1 2 3\n\n2 3\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Too many values in row");
+        assertThatThrownBy(() -> reader.read(inputOf("1 2\n\n1 x\n\n2 3\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid integer");
+        assertThatThrownBy(() -> reader.read(inputOf("1 2\n\n1 2147483648\n\n2 3\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Integer out of range");
+        assertThatThrownBy(() -> reader.read(inputOf("2 2\n\n1 2\n\n2 3\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expected 4 matrix rows but found 2");
+    }
+
+    @Test
+    @DisplayName("reads into CSR storage with the same values")
+    void read_sparseFormat() {
+        for (int threads : new int[] { 1, 3, 8 }) {
+            var actual = new ParallelIntMatrixAdditionInputReaderImpl(threads)
+                    .read(inputOf("3 3\n\n0 0 4\n0 0 0\n-2 0 0\n\n0 0 0\n1 0 0\n0 0 0\n"), MatrixFormat.SPARSE);
+
+            assertThat(actual.matrixA()).isEqualTo(SparseIntMatrix.fromDense(
+                    new IntMatrix(new int[][] { { 0, 0, 4 }, { 0, 0, 0 }, { -2, 0, 0 } })));
+            assertThat(actual.matrixB()).isEqualTo(SparseIntMatrix.fromDense(
+                    new IntMatrix(new int[][] { { 0, 0, 0 }, { 1, 0, 0 }, { 0, 0, 0 } })));
+        }
+    }
+
+    @Test
+    @DisplayName("auto format picks the representation of each matrix by density")
+    void read_autoFormat_choosesByDensity() {
+        var random = new Random(3);
+        int rows = 90, columns = 40;
+        var text = new StringBuilder(rows + " " + columns + "\n\n");
+        // A casi vacía, B completamente llena
+        for (int row = 0; row < 2 * rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                int value = row < rows ? (random.nextInt(50) == 0 ? 7 : 0) : random.nextInt(9) + 1;
+                text.append(value).append(col < columns - 1 ? " " : "\n");
+            }
+        }
+
+        var actual = new ParallelIntMatrixAdditionInputReaderImpl(2).read(inputOf(text.toString()), MatrixFormat.AUTO);
+        var dense = new ParallelIntMatrixAdditionInputReaderImpl(2).read(inputOf(text.toString()));
+
+        assertThat(actual.matrixA()).isInstanceOf(SparseIntMatrix.class);
+        assertThat(actual.matrixB()).isInstanceOf(IntMatrix.class);
+        assertThat(actual.matrixA().toDense()).isEqualTo(dense.matrixA());
+        assertThat(actual.matrixB()).isEqualTo(dense.matrixB());
+    }
+
+    @Test
+    @DisplayName("rejects malformed input in sparse format")
+    void read_sparseFormat_malformedInput_throws() {
+        var reader = new ParallelIntMatrixAdditionInputReaderImpl(2);
+
+        assertThatThrownBy(() -> reader.read(inputOf("1 2\n\n0 x\n\n2 3\n"), MatrixFormat.SPARSE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid integer");
+    }
+}
@@ -0,0 +1,99 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.SparseIntMatrix;
+
+class ParallelIntMatrixOutputWriterImplTest {
+
+    private static String writeToString(ParallelIntMatrixOutputWriterImpl writer, IntMatrix matrix)
+            throws IOException {
+        var out = new ByteArrayOutputStream();
+        writer.write(matrix, Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("formats one row per line with space-separated values")
+    void write_formatsRows() throws IOException {
+        var matrix = new IntMatrix(new int[][] { { 22, 14, 27 }, { 19, 9, 15 } });
+
+        assertThat(writeToString(new ParallelIntMatrixOutputWriterImpl(), matrix))
+                .isEqualTo("22 14 27\n19 9 15\n");
+    }
+
+    @Test
+    @DisplayName("writes the int range limits")
+    void write_intLimits() throws IOException {
+        var matrix = new IntMatrix(new int[][] { { Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -7, 10 } });
+
+        assertThat(writeToString(new ParallelIntMatrixOutputWriterImpl(), matrix))
+                .isEqualTo("-2147483648 2147483647 0 -7 10\n");
+    }
+
+    @Test
+    @DisplayName("matches the string formatter for any thread count and block size")
+    void write_matchesStringFormatter() throws IOException {
+        var random = new Random(9);
+        var matrix = new IntMatrix(67, 13);
+        for (int i = 0; i < matrix.size(); i++) {
+            matrix.data()[i] = random.nextInt();
+        }
+        String expected = new IntMatrixOutputFormatterImpl().format(matrix);
+
+        // Bloques de una fila, de varias filas y de la matriz completa
+        for (int blockBytes : new int[] { 1, 200, 1 << 20 }) {
+            for (int threads : new int[] { 1, 3, 8 }) {
+                var writer = new ParallelIntMatrixOutputWriterImpl(threads, blockBytes);
+                assertThat(writeToString(writer, matrix)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("writes sparse matrices as dense text")
+    void write_sparseMatchesDense() throws IOException {
+        var matrix = new IntMatrix(new int[][] { { 0, 0, 3 }, { 0, 0, 0 }, { -1, 0, 0 } });
+        var writer = new ParallelIntMatrixOutputWriterImpl(2, 10);
+        var out = new ByteArrayOutputStream();
+
+        writer.write(SparseIntMatrix.fromDense(matrix), Channels.newChannel(out));
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(writeToString(writer, matrix));
+    }
+
+    @Test
+    @DisplayName("supports empty matrices")
+    void write_emptyMatrices() throws IOException {
+        var writer = new ParallelIntMatrixOutputWriterImpl(2);
+
+        assertThat(writeToString(writer, new IntMatrix(0, 0))).isEmpty();
+        assertThat(writeToString(writer, new IntMatrix(2, 0))).isEqualTo("\n\n");
+    }
+
+    @Test
+    @DisplayName("writes to a file channel")
+    void write_fileChannel(@TempDir Path dir) throws IOException {
+        var matrix = new IntMatrix(new int[][] { { 1, -2 }, { 3, 4 } });
+        Path file = dir.resolve("output.txt");
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            new ParallelIntMatrixOutputWriterImpl(2, 1).write(matrix, channel);
+        }
+
+        assertThat(Files.readString(file)).isEqualTo("1 -2\n3 4\n");
+    }
+}
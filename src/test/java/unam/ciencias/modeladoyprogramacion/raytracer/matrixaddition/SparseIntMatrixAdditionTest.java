@@ -0,0 +1,99 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixaddition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+import unam.ciencias.modeladoyprogramacion.raytracer.SparseIntMatrix;
+
+class SparseIntMatrixAdditionTest {
+
+    private static IntMatrix randomMatrix(Random random, int rows, int columns, double density) {
+        var matrix = new IntMatrix(rows, columns);
+        int[] data = matrix.data();
+        for (int i = 0; i < data.length; i++) {
+            if (random.nextDouble() < density) {
+                data[i] = random.nextInt(21) - 10;
+            }
+        }
+        return matrix;
+    }
+
+    private static IntMatrix denseSum(IntMatrix a, IntMatrix b) {
+        return new MultiThreadedIntMatrixAddition().add(a, b);
+    }
+
+    @ParameterizedTest(name = "{0} threads")
+    @ValueSource(ints = { 1, 3, 8 })
+    @DisplayName("sparse + sparse matches the dense sum")
+    void add_sparseSparse_matchesDense(int threads) {
+        var random = new Random(threads);
+        IntMatrix a = randomMatrix(random, 41, 29, 0.1);
+        IntMatrix b = randomMatrix(random, 41, 29, 0.1);
+
+        SparseIntMatrix actual = new SparseIntMatrixAddition(threads)
+                .add(SparseIntMatrix.fromDense(a), SparseIntMatrix.fromDense(b));
+
+        assertThat(actual).isEqualTo(SparseIntMatrix.fromDense(denseSum(a, b)));
+    }
+
+    @Test
+    @DisplayName("drops elements that cancel out")
+    void add_sparseSparse_dropsZeroSums() {
+        var a = SparseIntMatrix.fromDense(new IntMatrix(new int[][] { { 1, 0, 2 }, { 0, 4, 0 } }));
+        var b = SparseIntMatrix.fromDense(new IntMatrix(new int[][] { { -1, 3, 0 }, { 0, -4, 0 } }));
+
+        SparseIntMatrix actual = new SparseIntMatrixAddition(2).add(a, b);
+
+        assertThat(actual.nonZeros()).isEqualTo(2);
+        assertThat(actual.toDense()).isEqualTo(new IntMatrix(new int[][] { { 0, 3, 2 }, { 0, 0, 0 } }));
+    }
+
+    @ParameterizedTest(name = "{0} threads")
+    @ValueSource(ints = { 1, 4 })
+    @DisplayName("sparse + dense matches the dense sum")
+    void add_sparseDense_matchesDense(int threads) {
+        var random = new Random(7);
+        IntMatrix sparse = randomMatrix(random, 33, 18, 0.05);
+        IntMatrix dense = randomMatrix(random, 33, 18, 1);
+
+        IntMatrix actual = new SparseIntMatrixAddition(threads).add(SparseIntMatrix.fromDense(sparse), dense);
+
+        assertThat(actual).isEqualTo(denseSum(sparse, dense));
+    }
+
+    @Test
+    @DisplayName("rejects matrices with different dimensions")
+    void add_mismatchedDimensions_throws() {
+        var adder = new SparseIntMatrixAddition();
+
+        assertThatThrownBy(() -> adder.add(new SparseIntMatrix(2, 3), new SparseIntMatrix(3, 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> adder.add(new SparseIntMatrix(2, 3), new IntMatrix(2, 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("adaptive addition picks the result representation from the operands")
+    void adaptive_choosesRepresentation() {
+        var random = new Random(11);
+        IntMatrix sparse = randomMatrix(random, 20, 20, 0.02);
+        IntMatrix dense = randomMatrix(random, 20, 20, 0.9);
+        var adder = new AdaptiveIntMatrixAddition(2, IntAdditionKernel.scalar());
+
+        var sparseSum = adder.add(SparseIntMatrix.fromDense(sparse), SparseIntMatrix.fromDense(sparse));
+        var mixedSum = adder.add(dense, SparseIntMatrix.fromDense(sparse));
+        // Una matriz densa guardada como CSR se convierte antes de sumar
+        var densifiedSum = adder.add(SparseIntMatrix.fromDense(dense), SparseIntMatrix.fromDense(sparse));
+
+        assertThat(sparseSum).isInstanceOf(SparseIntMatrix.class);
+        assertThat(sparseSum.toDense()).isEqualTo(denseSum(sparse, sparse));
+        assertThat(mixedSum).isEqualTo(denseSum(dense, sparse));
+        assertThat(densifiedSum).isEqualTo(denseSum(dense, sparse));
+    }
+}
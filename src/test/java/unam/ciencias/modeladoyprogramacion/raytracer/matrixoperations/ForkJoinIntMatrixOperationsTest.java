@@ -0,0 +1,132 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixoperations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+
+class ForkJoinIntMatrixOperationsTest {
+
+    private final ForkJoinIntMatrixOperations operations = new ForkJoinIntMatrixOperations(3);
+
+    @AfterEach
+    void tearDown() {
+        operations.close();
+    }
+
+    private static IntMatrix randomMatrix(Random random, int rows, int columns) {
+        var matrix = new IntMatrix(rows, columns);
+        for (int i = 0; i < matrix.size(); i++) {
+            matrix.data()[i] = random.nextInt(2001) - 1000;
+        }
+        return matrix;
+    }
+
+    private static IntMatrix naiveMultiply(IntMatrix a, IntMatrix b) {
+        var result = new IntMatrix(a.getRows(), b.getColumns());
+        for (int i = 0; i < a.getRows(); i++) {
+            for (int j = 0; j < b.getColumns(); j++) {
+                int sum = 0;
+                for (int k = 0; k < a.getColumns(); k++) {
+                    sum += a.getValue(i, k) * b.getValue(k, j);
+                }
+                result.setValue(i, j, sum);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    @DisplayName("multiplies small matrices")
+    void multiply_small() {
+        var a = new IntMatrix(new int[][] { { 1, 2, 3 }, { 4, 5, 6 } });
+        var b = new IntMatrix(new int[][] { { 7, 8 }, { 9, 10 }, { 11, 12 } });
+
+        assertThat(operations.multiply(a, b)).isEqualTo(new IntMatrix(new int[][] { { 58, 64 }, { 139, 154 } }));
+    }
+
+    @Test
+    @DisplayName("blocked multiply matches the naive triple loop across block boundaries")
+    void multiply_matchesNaive() {
+        var random = new Random(21);
+        // Dimensiones que no son múltiplos de los bloques y cruzan varios de ellos
+        var a = randomMatrix(random, 150, ForkJoinIntMatrixOperations.BLOCK_DEPTH + 37);
+        var b = randomMatrix(random, ForkJoinIntMatrixOperations.BLOCK_DEPTH + 37,
+                             ForkJoinIntMatrixOperations.BLOCK_COLUMNS + 19);
+
+        assertThat(operations.multiply(a, b)).isEqualTo(naiveMultiply(a, b));
+    }
+
+    @Test
+    @DisplayName("rejects incompatible dimensions")
+    void multiply_incompatible_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> operations.multiply(new IntMatrix(2, 3), new IntMatrix(2, 3)));
+    }
+
+    @Test
+    @DisplayName("transposes rectangular matrices")
+    void transpose() {
+        var random = new Random(8);
+        var matrix = randomMatrix(random, 70, 45);
+
+        var actual = operations.transpose(matrix);
+
+        assertThat(actual.getRows()).isEqualTo(45);
+        assertThat(actual.getColumns()).isEqualTo(70);
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getColumns(); j++) {
+                assertThat(actual.getValue(j, i)).isEqualTo(matrix.getValue(i, j));
+            }
+        }
+        assertThat(operations.transpose(actual)).isEqualTo(matrix);
+    }
+
+    @Test
+    @DisplayName("applies scalar operations element-wise")
+    void scalarOperations() {
+        var matrix = new IntMatrix(new int[][] { { 1, -2 }, { 3, Integer.MAX_VALUE } });
+
+        assertThat(operations.scale(matrix, 3))
+                .isEqualTo(new IntMatrix(new int[][] { { 3, -6 }, { 9, Integer.MAX_VALUE * 3 } }));
+        assertThat(operations.addScalar(matrix, -1))
+                .isEqualTo(new IntMatrix(new int[][] { { 0, -3 }, { 2, Integer.MAX_VALUE - 1 } }));
+    }
+
+    @Test
+    @DisplayName("scales matrices larger than one grain")
+    void scale_large() {
+        var matrix = randomMatrix(new Random(2), 700, 300);
+
+        var actual = operations.scale(matrix, -7);
+
+        for (int i = 0; i < matrix.size(); i++) {
+            assertThat(actual.data()[i]).isEqualTo(matrix.data()[i] * -7);
+        }
+    }
+
+    @Test
+    @DisplayName("supports empty matrices")
+    void emptyMatrices() {
+        assertThat(operations.multiply(new IntMatrix(0, 3), new IntMatrix(3, 2))).isEqualTo(new IntMatrix(0, 2));
+        assertThat(operations.multiply(new IntMatrix(2, 0), new IntMatrix(0, 2))).isEqualTo(new IntMatrix(2, 2));
+        assertThat(operations.transpose(new IntMatrix(0, 4))).isEqualTo(new IntMatrix(4, 0));
+        assertThat(operations.scale(new IntMatrix(0, 0), 2)).isEqualTo(new IntMatrix(0, 0));
+    }
+
+    @Test
+    @DisplayName("runs on a shared pool without closing it")
+    void sharedPool() {
+        var pool = new ForkJoinPool(2);
+        try (var shared = new ForkJoinIntMatrixOperations(pool)) {
+            assertThat(shared.scale(new IntMatrix(new int[][] { { 2 } }), 5)).isEqualTo(new IntMatrix(new int[][] { { 10 } }));
+        }
+        assertThat(pool.isShutdown()).isFalse();
+        pool.close();
+    }
+}
@@ -0,0 +1,53 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.matrixoperations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.IntMatrix;
+
+class IntMatrixListReaderImplTest {
+
+    private static ByteArrayInputStream inputOf(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("reads matrices with their own dimensions")
+    void read_matricesWithDimensions() {
+        String input = """
+                2 3
+                1 2 3
+                4 5 6
+
+                3 1
+
+                7
+                8
+                9
+                """;
+
+        var actual = new IntMatrixListReaderImpl().read(inputOf(input));
+
+        assertThat(actual).containsExactly(
+                new IntMatrix(new int[][] { { 1, 2, 3 }, { 4, 5, 6 } }),
+                new IntMatrix(new int[][] { { 7 }, { 8 }, { 9 } }));
+    }
+
+    @Test
+    @DisplayName("returns no matrices for blank input")
+    void read_blankInput() {
+        assertThat(new IntMatrixListReaderImpl().read(inputOf("\n  \n"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("rejects rows with missing values")
+    void read_missingValues_throws() {
+        assertThatThrownBy(() -> new IntMatrixListReaderImpl().read(inputOf("1 2\n5\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Missing values in row");
+    }
+}
@@ -0,0 +1,35 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class HistogramTest {
+
+  @Test
+  void observe_countsCumulativeBuckets() {
+    Histogram histogram = new Histogram(0.1, 1, 10);
+
+    histogram.observe(0.05);
+    histogram.observe(0.1); // En el límite cuenta en su cubeta
+    histogram.observe(5);
+    histogram.observe(50);
+
+    assertArrayEquals(new long[] {2, 2, 3, 4}, histogram.cumulativeCounts());
+    assertEquals(4, histogram.count());
+    assertEquals(55.15, histogram.sum(), 1e-9);
+    assertEquals(55.15 / 4, histogram.mean(), 1e-9);
+  }
+
+  @Test
+  void mean_isZeroWithoutValues() {
+    assertEquals(0, new Histogram(1).mean());
+  }
+
+  @Test
+  void constructor_rejectsInvalidBounds() {
+    assertThrows(IllegalArgumentException.class, () -> new Histogram());
+    assertThrows(IllegalArgumentException.class, () -> new Histogram(1, 1));
+    assertThrows(IllegalArgumentException.class, () -> new Histogram(2, 1));
+  }
+}
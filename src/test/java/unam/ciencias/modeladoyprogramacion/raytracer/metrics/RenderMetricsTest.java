@@ -0,0 +1,129 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RenderMetricsTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void tiles_updateCountersAndGauges() {
+    RenderMetrics metrics = new RenderMetrics();
+    metrics.addQueuedTiles(3);
+    metrics.addQueuedTiles(-1);
+    metrics.tileStarted();
+    metrics.addQueuedTiles(-1);
+    metrics.tileStarted();
+
+    assertEquals(1, metrics.getQueueDepth());
+    assertEquals(2, metrics.getTilesInFlight());
+
+    metrics.tileFinished(500, 100);
+    metrics.tileAborted();
+
+    assertEquals(0, metrics.getTilesInFlight());
+    assertEquals(1, metrics.getTilesCompleted());
+    assertEquals(500, metrics.getRaysTotal());
+    assertEquals(100, metrics.getSamplesTotal());
+  }
+
+  @Test
+  void refresh_computesRatesSincePreviousRefresh() throws InterruptedException {
+    RenderMetrics metrics = new RenderMetrics();
+    metrics.refresh();
+    metrics.tileStarted();
+    metrics.tileFinished(1_000_000, 1000);
+    Thread.sleep(20);
+    metrics.refresh();
+
+    assertTrue(metrics.getRaysPerSecond() > 0);
+    // 1e6 rayos en al menos 20 ms: a lo más 5e7 por segundo
+    assertTrue(metrics.getRaysPerSecond() <= 5e7);
+    assertEquals(metrics.getRaysPerSecond() / 1000, metrics.getSamplesPerSecond(), 1e-6);
+
+    metrics.refresh();
+    assertEquals(0, metrics.getRaysPerSecond());
+  }
+
+  @Test
+  void renderFinished_recordsDurationAndHeap() {
+    RenderMetrics metrics = new RenderMetrics();
+    metrics.renderFinished(Duration.ofSeconds(2));
+
+    assertEquals(1, metrics.getRendersCompleted());
+    assertEquals(2.0, metrics.getRenderDurationMeanSeconds(), 1e-9);
+    assertTrue(metrics.getLastRenderHeapBytes() > 0);
+  }
+
+  @Test
+  void writePrometheus_writesCountersGaugesAndHistograms() throws IOException {
+    RenderMetrics metrics = new RenderMetrics();
+    metrics.tileStarted();
+    metrics.tileFinished(42, 7);
+    metrics.recordEncode(Duration.ofMillis(30));
+
+    StringWriter writer = new StringWriter();
+    metrics.writePrometheus(writer);
+    String text = writer.toString();
+
+    assertTrue(text.contains("# TYPE raytracer_rays_total counter\nraytracer_rays_total 42\n"));
+    assertTrue(text.contains("raytracer_samples_total 7\n"));
+    assertTrue(text.contains("# TYPE raytracer_tiles_in_flight gauge\nraytracer_tiles_in_flight 0\n"));
+    assertTrue(text.contains("# TYPE raytracer_encode_seconds histogram\n"));
+    assertTrue(text.contains("raytracer_encode_seconds_bucket{le=\"0.025\"} 0\n"));
+    assertTrue(text.contains("raytracer_encode_seconds_bucket{le=\"0.05\"} 1\n"));
+    assertTrue(text.contains("raytracer_encode_seconds_bucket{le=\"+Inf\"} 1\n"));
+    assertTrue(text.contains("raytracer_encode_seconds_count 1\n"));
+  }
+
+  @Test
+  void registerMBean_exposesMetricsOverJmx() throws Exception {
+    RenderMetrics.global().registerMBean();
+    // Registrar dos veces no falla
+    RenderMetrics.global().registerMBean();
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(RenderMetrics.OBJECT_NAME);
+    assertTrue(server.isRegistered(name));
+    assertEquals(RenderMetrics.global().getRaysTotal(), server.getAttribute(name, "RaysTotal"));
+  }
+
+  @Test
+  void reporter_writesFileAndFinalStateOnClose() throws IOException {
+    RenderMetrics metrics = new RenderMetrics();
+    Path file = tempDir.resolve("raytracer.prom");
+
+    try (MetricsReporter reporter = new MetricsReporter(metrics, file, Duration.ofHours(1))) {
+      reporter.write();
+      assertTrue(Files.readString(file).contains("raytracer_tiles_total 0\n"));
+      metrics.tileStarted();
+      metrics.tileFinished(1, 1);
+    }
+
+    assertTrue(Files.readString(file).contains("raytracer_tiles_total 1\n"));
+    assertFalse(Files.exists(tempDir.resolve("raytracer.prom.tmp")));
+  }
+
+  @Test
+  void reporter_rejectsInvalidArguments() {
+    Path file = tempDir.resolve("raytracer.prom");
+    RenderMetrics metrics = new RenderMetrics();
+    assertThrows(
+        IllegalArgumentException.class, () -> new MetricsReporter(null, file, Duration.ofSeconds(1)));
+    assertThrows(
+        IllegalArgumentException.class, () -> new MetricsReporter(metrics, null, Duration.ofSeconds(1)));
+    assertThrows(IllegalArgumentException.class, () -> new MetricsReporter(metrics, file, Duration.ZERO));
+    assertNull(MetricsReporter.exportGlobal(null));
+  }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.time.Duration;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -149,6 +150,29 @@ class ConsoleProgressListenerTest {
     assertEquals(1, count);
   }
 
+  @Test
+  void onProgress_logsCrossedStepWithRateAndEta() {
+    listener.onRenderStart(1000);
+    listener.onProgress(new RenderProgress(0, 1000, 0, 4, 0, Duration.ofMillis(5)));
+    listener.onProgress(new RenderProgress(370, 1000, 1, 4, 2000, Duration.ofSeconds(1)));
+    listener.onProgress(new RenderProgress(390, 1000, 1, 4, 2100, Duration.ofSeconds(1)));
+
+    String output = outputStream.toString();
+    assertTrue(output.contains("Rendering progress: 0% (0.00 rays/s, ETA unknown)"));
+    assertTrue(output.contains("Rendering progress: 30% (2.00e+03 rays/s, ETA 1.7s)"));
+    assertEquals(1, countOccurrences(output, "Rendering progress: 30%"));
+  }
+
+  @Test
+  void onRenderStart_resetsPercentageForNextRender() {
+    listener.onRenderStart(1000);
+    listener.onProgressUpdate(1000, 1000);
+    listener.onRenderStart(1000);
+    listener.onProgressUpdate(1000, 1000);
+
+    assertEquals(2, countOccurrences(outputStream.toString(), "Rendering progress: 100%"));
+  }
+
   private int countOccurrences(String text, String substring) {
     int count = 0;
     int index = 0;
@@ -0,0 +1,59 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.observers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class RenderProgressTest {
+
+  @Test
+  void fraction_andRaysPerSecond() {
+    RenderProgress progress = new RenderProgress(250, 1000, 2, 8, 5000, Duration.ofSeconds(2));
+
+    assertEquals(0.25, progress.fraction());
+    assertEquals(2500, progress.raysPerSecond(), 1e-9);
+  }
+
+  @Test
+  void estimatedRemaining_extrapolatesElapsedTime() {
+    RenderProgress progress = new RenderProgress(250, 1000, 2, 8, 5000, Duration.ofSeconds(2));
+
+    assertEquals(Optional.of(Duration.ofSeconds(6)), progress.estimatedRemaining());
+  }
+
+  @Test
+  void estimatedRemaining_isEmptyBeforeFirstTile() {
+    RenderProgress progress = new RenderProgress(0, 1000, 0, 8, 0, Duration.ofMillis(10));
+
+    assertTrue(progress.estimatedRemaining().isEmpty());
+    assertEquals(0, progress.raysPerSecond());
+  }
+
+  @Test
+  void defaultOnProgress_delegatesToOnProgressUpdate() {
+    int[] received = new int[2];
+    RenderProgressListener listener =
+        new RenderProgressListener() {
+          @Override
+          public void onProgressUpdate(int pixelsRendered, int totalPixels) {
+            received[0] = pixelsRendered;
+            received[1] = totalPixels;
+          }
+
+          @Override
+          public void onTileCompleted(int tileId) {}
+
+          @Override
+          public void onRenderStart(int totalPixels) {}
+
+          @Override
+          public void onRenderComplete() {}
+        };
+
+    listener.onProgress(new RenderProgress(30, 40, 1, 2, 0, Duration.ZERO));
+
+    assertArrayEquals(new int[] {30, 40}, received);
+  }
+}
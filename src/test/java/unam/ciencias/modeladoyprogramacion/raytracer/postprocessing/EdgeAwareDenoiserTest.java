@@ -0,0 +1,172 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.postprocessing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.AuxiliaryBuffers;
+import unam.ciencias.modeladoyprogramacion.raytracer.Image;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+
+class EdgeAwareDenoiserTest {
+  private static final int SIZE = 64;
+  private static final Vector3D UP = new Vector3D(0, 1, 0);
+  private static final Vector3D GRAY = new Vector3D(0.8, 0.8, 0.8);
+
+  @Test
+  void constructor_rejectsInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> new EdgeAwareDenoiser(1, 0, 0.5));
+    assertThrows(IllegalArgumentException.class, () -> new EdgeAwareDenoiser(1, 3, 0));
+  }
+
+  @Test
+  void denoise_rejectsMissingOrMismatchedGuides() {
+    EdgeAwareDenoiser denoiser = new EdgeAwareDenoiser(1);
+    Image image = Image.fromPixels(4, 4, new int[16]);
+
+    assertThrows(IllegalArgumentException.class, () -> denoiser.denoise(null, floor()));
+    assertThrows(IllegalArgumentException.class, () -> denoiser.denoise(image, null));
+    assertThrows(
+        IllegalArgumentException.class, () -> denoiser.denoise(image, new AuxiliaryBuffers(4, 5)));
+  }
+
+  @Test
+  void denoise_keepsUniformImageUniform() {
+    int[] pixels = new int[SIZE * SIZE];
+    Arrays.fill(pixels, 0x336699);
+
+    Image result = new EdgeAwareDenoiser(1).denoise(Image.fromPixels(SIZE, SIZE, pixels), floor());
+
+    result.forEach((r, c, value) -> assertEquals(0x336699, value));
+  }
+
+  @Test
+  void denoise_smoothsNoiseOnOneSurface() {
+    int[] pixels = noisy(SIZE, (row, col) -> 128);
+
+    int[] result = new EdgeAwareDenoiser(1).denoise(image(pixels), floor()).toPixels();
+
+    assertTrue(deviation(result, 0, SIZE) < deviation(pixels, 0, SIZE) / 4);
+    assertEquals(128, mean(result, 0, SIZE), 2);
+  }
+
+  @Test
+  void denoise_doesNotBlurAcrossMaterials() {
+    // Misma geometría; la mitad izquierda es oscura y la derecha clara
+    AuxiliaryBuffers guides = floor();
+    for (int row = 0; row < SIZE; row++) {
+      for (int col = SIZE / 2; col < SIZE; col++) {
+        guides.setSurface(row, col, depth(row), UP, new Vector3D(0.2, 0.2, 0.8), 0, 1);
+      }
+    }
+    int[] pixels = noisy(SIZE, (row, col) -> col < SIZE / 2 ? 60 : 200);
+
+    int[] result = new EdgeAwareDenoiser(1).denoise(image(pixels), guides).toPixels();
+
+    assertEquals(60, mean(result, SIZE / 2 - 1, SIZE / 2), 6);
+    assertEquals(200, mean(result, SIZE / 2, SIZE / 2 + 1), 6);
+  }
+
+  @Test
+  void denoise_doesNotBlurAcrossSilhouettes() {
+    // La mitad derecha es una pared más cercana, del mismo material y con la misma normal
+    AuxiliaryBuffers guides = new AuxiliaryBuffers(SIZE, SIZE);
+    Vector3D facing = new Vector3D(0, 0, -1);
+    for (int row = 0; row < SIZE; row++) {
+      for (int col = 0; col < SIZE; col++) {
+        guides.setSurface(
+            row, col, col < SIZE / 2 ? 10 : 5, facing, GRAY, col < SIZE / 2 ? 0 : 1, 0);
+      }
+    }
+    int[] pixels = noisy(SIZE, (row, col) -> col < SIZE / 2 ? 60 : 200);
+
+    int[] result = new EdgeAwareDenoiser(1).denoise(image(pixels), guides).toPixels();
+
+    assertEquals(60, mean(result, SIZE / 2 - 1, SIZE / 2), 6);
+    assertEquals(200, mean(result, SIZE / 2, SIZE / 2 + 1), 6);
+  }
+
+  @Test
+  void denoise_copiesBackgroundPixels() {
+    AuxiliaryBuffers guides = floor();
+    for (int col = 0; col < SIZE; col++) {
+      guides.setBackground(0, col, new Vector3D(0, 0, 0));
+    }
+    int[] pixels = noisy(SIZE, (row, col) -> 128);
+
+    int[] result = new EdgeAwareDenoiser(1).denoise(image(pixels), guides).toPixels();
+
+    assertArrayEquals(Arrays.copyOf(pixels, SIZE), Arrays.copyOf(result, SIZE));
+  }
+
+  @Test
+  void denoise_withSeveralThreads_matchesOneThread() {
+    int[] pixels = noisy(SIZE, (row, col) -> row < col ? 90 : 170);
+
+    Image one = new EdgeAwareDenoiser(1).denoise(image(pixels), floor());
+    Image four = new EdgeAwareDenoiser(4).denoise(image(pixels), floor());
+
+    assertEquals(one, four);
+  }
+
+  /** Piso gris visto en perspectiva: la profundidad crece hacia arriba de la imagen. */
+  private static AuxiliaryBuffers floor() {
+    AuxiliaryBuffers guides = new AuxiliaryBuffers(SIZE, SIZE);
+    for (int row = 0; row < SIZE; row++) {
+      for (int col = 0; col < SIZE; col++) {
+        guides.setSurface(row, col, depth(row), UP, GRAY, 0, 0);
+      }
+    }
+    return guides;
+  }
+
+  private static double depth(int row) {
+    return 2 + 0.1 * (SIZE - row);
+  }
+
+  /** Imagen gris con ruido uniforme de ±40 niveles alrededor de un valor por píxel. */
+  private static int[] noisy(int size, Level level) {
+    SplittableRandom random = new SplittableRandom(3);
+    int[] pixels = new int[size * size];
+    for (int row = 0; row < size; row++) {
+      for (int col = 0; col < size; col++) {
+        int value = level.at(row, col) + random.nextInt(-40, 41);
+        pixels[row * size + col] = value << 16 | value << 8 | value;
+      }
+    }
+    return pixels;
+  }
+
+  private static Image image(int[] pixels) {
+    return Image.fromPixels(SIZE, SIZE, pixels);
+  }
+
+  /** Promedio del canal azul en las columnas {@code [from, to)}. */
+  private static double mean(int[] pixels, int from, int to) {
+    double sum = 0;
+    for (int row = 0; row < SIZE; row++) {
+      for (int col = from; col < to; col++) {
+        sum += pixels[row * SIZE + col] & 0xFF;
+      }
+    }
+    return sum / (SIZE * (to - from));
+  }
+
+  private static double deviation(int[] pixels, int from, int to) {
+    double mean = mean(pixels, from, to);
+    double sum = 0;
+    for (int row = 0; row < SIZE; row++) {
+      for (int col = from; col < to; col++) {
+        double difference = (pixels[row * SIZE + col] & 0xFF) - mean;
+        sum += difference * difference;
+      }
+    }
+    return Math.sqrt(sum / (SIZE * (to - from)));
+  }
+
+  @FunctionalInterface
+  private interface Level {
+    int at(int row, int col);
+  }
+}
@@ -0,0 +1,58 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.postprocessing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.Image;
+
+class EdgeAwareUpsamplerTest {
+
+  @Test
+  void constructor_rejectsNonPositiveSigma() {
+    assertThrows(IllegalArgumentException.class, () -> new EdgeAwareUpsampler(0));
+  }
+
+  @Test
+  void upsample_throwsOnNullSource() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new EdgeAwareUpsampler().upsample(null, 4, 4));
+  }
+
+  @Test
+  void upsample_producesTargetDimensions() {
+    Image source = Image.fromPixels(3, 2, new int[6]);
+    Image result = new EdgeAwareUpsampler().upsample(source, 13, 7);
+    assertEquals(7, result.getRows());
+    assertEquals(13, result.getColumns());
+  }
+
+  @Test
+  void upsample_keepsUniformImageUniform() {
+    int[] pixels = new int[16];
+    java.util.Arrays.fill(pixels, 0x336699);
+    Image result = new EdgeAwareUpsampler().upsample(Image.fromPixels(4, 4, pixels), 16, 16);
+    result.forEach((r, c, value) -> assertEquals(0x336699, value));
+  }
+
+  @Test
+  void upsample_preservesHardEdges() {
+    // Mitad izquierda negra, mitad derecha blanca
+    int[] pixels = {0x000000, 0x000000, 0xFFFFFF, 0xFFFFFF};
+    Image source = Image.fromPixels(4, 1, pixels);
+
+    Image result = new EdgeAwareUpsampler(8.0).upsample(source, 16, 1);
+
+    // Sin mezclas grises a través del borde
+    result.forEach((r, c, value) -> assertTrue(value == 0x000000 || value == 0xFFFFFF));
+    assertEquals(0x000000, result.getValue(0, 7));
+    assertEquals(0xFFFFFF, result.getValue(0, 8));
+  }
+
+  @Test
+  void upsample_interpolatesSmoothGradients() {
+    int[] pixels = {0x101010, 0x181818};
+    Image result = new EdgeAwareUpsampler().upsample(Image.fromPixels(2, 1, pixels), 4, 1);
+    int middle = result.getValue(0, 1) & 0xFF;
+    assertTrue(middle > 0x10 && middle < 0x18);
+  }
+}
@@ -0,0 +1,172 @@
+package unam.ciencias.modeladoyprogramacion.raytracer.primitives;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import unam.ciencias.modeladoyprogramacion.raytracer.Camera;
+import unam.ciencias.modeladoyprogramacion.raytracer.Intersection;
+import unam.ciencias.modeladoyprogramacion.raytracer.Material;
+import unam.ciencias.modeladoyprogramacion.raytracer.Ray;
+import unam.ciencias.modeladoyprogramacion.raytracer.RayTracer;
+import unam.ciencias.modeladoyprogramacion.raytracer.Scene;
+import unam.ciencias.modeladoyprogramacion.raytracer.Vector3D;
+import unam.ciencias.modeladoyprogramacion.raytracer.lights.PointLight;
+
+/**
+ * Tests unitarios para SphereSet.
+ *
+ * @author Cristopher Carrada
+ */
+class SphereSetTest {
+
+  private static List<Sphere> randomSpheres(Random random, int count) {
+    List<Sphere> spheres = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Vector3D center =
+          new Vector3D(
+              random.nextDouble() * 10 - 5, random.nextDouble() * 10 - 5, random.nextDouble() * 10 - 5);
+      spheres.add(new Sphere("s" + i, "mat", center, 0.2 + random.nextDouble()));
+    }
+    return spheres;
+  }
+
+  private static Ray randomRay(Random random) {
+    Vector3D origin =
+        new Vector3D(
+            random.nextDouble() * 12 - 6, random.nextDouble() * 12 - 6, random.nextDouble() * 12 - 6);
+    Vector3D direction =
+        new Vector3D(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+    return new Ray(origin, direction.normalize());
+  }
+
+  /** Intersección de referencia: esfera por esfera, como en Scene. */
+  private static Optional<Intersection> closestSphere(List<Sphere> spheres, Ray ray) {
+    Intersection closest = null;
+    for (Sphere sphere : spheres) {
+      Optional<Intersection> hit =
+          sphere.intersect(ray, closest == null ? Double.POSITIVE_INFINITY : closest.getDistance());
+      if (hit.isPresent()) {
+        closest = hit.get();
+      }
+    }
+    return Optional.ofNullable(closest);
+  }
+
+  private static void assertMatchesSpheres(boolean useVectorApi) {
+    Random random = new Random(useVectorApi ? 3 : 4);
+    // 37 esferas: varios bloques vectoriales más una cola escalar
+    List<Sphere> spheres = randomSpheres(random, 37);
+    SphereSet set = new SphereSet("set", "mat", spheres, useVectorApi);
+
+    int hits = 0;
+    for (int i = 0; i < 2000; i++) {
+      Ray ray = randomRay(random);
+      Optional<Intersection> expected = closestSphere(spheres, ray);
+      Optional<Intersection> actual = set.intersect(ray, Double.POSITIVE_INFINITY);
+
+      assertEquals(expected.isPresent(), actual.isPresent());
+      assertEquals(expected.map(Intersection::getDistance), set.intersect(ray));
+      if (expected.isPresent()) {
+        hits++;
+        assertEquals(expected.get().getDistance(), actual.get().getDistance());
+        assertEquals(expected.get().getNormal(), actual.get().getNormal());
+        assertSame(set, actual.get().getPrimitive());
+        assertEquals(
+            expected.get().getPrimitive().getName(), set.getPartName(actual.get().getPart()));
+      }
+    }
+    assertTrue(hits > 100, "Too few rays hit a sphere: " + hits);
+  }
+
+  @Test
+  void scalarIntersection_matchesIndividualSpheresExactly() {
+    assertMatchesSpheres(false);
+  }
+
+  @Test
+  void vectorIntersection_matchesIndividualSpheresExactly() {
+    assertMatchesSpheres(true);
+  }
+
+  @Test
+  void intersect_ignoresHitsBeyondMaxDistance() {
+    SphereSet set =
+        new SphereSet(
+            "set", "mat", List.of(new Sphere("s", "mat", new Vector3D(0, 0, -5), 1.0)), false);
+    Ray ray = new Ray(new Vector3D(0, 0, 0), new Vector3D(0, 0, -1));
+
+    assertEquals(4.0, set.intersect(ray, 4.5).orElseThrow().getDistance(), 1e-9);
+    assertTrue(set.intersect(ray, 3.0).isEmpty());
+  }
+
+  @Test
+  void getNormalAt_usesTheSphereUnderThePoint() {
+    SphereSet set =
+        new SphereSet(
+            "set",
+            "mat",
+            List.of(
+                new Sphere("a", "mat", new Vector3D(0, 0, 0), 1.0),
+                new Sphere("b", "mat", new Vector3D(5, 0, 0), 1.0)),
+            false);
+
+    assertEquals(new Vector3D(-1, 0, 0), set.getNormalAt(new Vector3D(4, 0, 0)));
+    assertEquals(new Vector3D(0, 1, 0), set.getNormalAt(new Vector3D(0, 1, 0)));
+  }
+
+  @Test
+  void getSpheres_rebuildsTheOriginalGeometry() {
+    List<Sphere> spheres = randomSpheres(new Random(1), 5);
+    List<Sphere> rebuilt = new SphereSet("set", "mat", spheres).getSpheres();
+
+    assertEquals(5, rebuilt.size());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(spheres.get(i).getCenter(), rebuilt.get(i).getCenter());
+      assertEquals(spheres.get(i).getRadius(), rebuilt.get(i).getRadius());
+      assertEquals(spheres.get(i).getName(), rebuilt.get(i).getName());
+    }
+  }
+
+  @Test
+  void getPartName_keepsTheNameOfEachSphere() {
+    SphereSet set = new SphereSet("set", "mat", randomSpheres(new Random(2), 3));
+
+    assertEquals(3, set.getPartCount());
+    assertEquals("s0", set.getPartName(0));
+    assertEquals("s2", set.getPartName(2));
+    assertThrows(IllegalArgumentException.class, () -> set.getPartName(3));
+  }
+
+  @Test
+  void constructor_rejectsEmptySets() {
+    assertThrows(IllegalArgumentException.class, () -> new SphereSet("set", "mat", List.of()));
+  }
+
+  @Test
+  void render_isIdenticalToIndividualSpheres() {
+    List<Sphere> spheres = randomSpheres(new Random(8), 12);
+    Scene.Builder individual = sceneBuilder();
+    spheres.forEach(individual::addPrimitive);
+    Scene.Builder packed = sceneBuilder().addPrimitive(new SphereSet("set", "mat", spheres));
+
+    assertArrayEquals(
+        new RayTracer(individual.build(), 2).render().toPixels(),
+        new RayTracer(packed.build(), 2).render().toPixels());
+  }
+
+  private static Scene.Builder sceneBuilder() {
+    Camera camera =
+        new Camera(
+            new Vector3D(0, 0, 15), new Vector3D(0, 0, -1), new Vector3D(0, 1, 0), 60.0, 1.0);
+    return new Scene.Builder()
+        .camera(camera)
+        .addMaterial(new Material("mat", new Vector3D(1, 0, 0), 0.8, 0.5, 32.0, 0.3))
+        .addLight(new PointLight(new Vector3D(1, 1, 1), 1.0, new Vector3D(5, 5, 20)))
+        .imageSize(48, 48)
+        .maxBounces(2);
+  }
+}